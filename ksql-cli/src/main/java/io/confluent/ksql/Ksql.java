@@ -83,6 +83,7 @@ public final class Ksql {
         .orElseGet(Collections::emptyMap);
 
     try (KsqlRestClient restClient = buildClient(configProps)) {
+      restClient.setBinaryQueryResults(options.isBinaryQueryResults());
 
       final KsqlVersionCheckerAgent versionChecker = new KsqlVersionCheckerAgent(() -> false);
       versionChecker.start(KsqlModuleType.CLI, PropertiesUtil.asProperties(configProps));
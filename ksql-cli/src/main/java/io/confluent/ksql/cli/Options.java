@@ -42,6 +42,7 @@ public class Options {
   private static final String PASSWORD_OPTION = "--password";
   private static final String PASSWORD_SHORT_OPTION = "-p";
   private static final String OUTPUT_FORMAT_OPTION_NAME = "--output";
+  private static final String BINARY_QUERY_RESULTS_OPTION_NAME = "--binary-query-results";
 
   // Only here so that the help message generated by Help.help() is accurate
   @Inject
@@ -113,6 +114,13 @@ public class Options {
           + "defaults to TABULAR)")
   private String outputFormat = OutputFormat.TABULAR.name();
 
+  @SuppressWarnings("unused") // Accessed via reflection
+  @Option(
+      name = BINARY_QUERY_RESULTS_OPTION_NAME,
+      description = "Request the results of streamed queries in the compact binary format, "
+          + "rather than JSON")
+  private boolean binaryQueryResults;
+
   public static Options parse(final String...args) throws IOException {
     final SingleCommand<Options> optionsParser = SingleCommand.singleCommand(Options.class);
 
@@ -158,6 +166,10 @@ public class Options {
     return OutputFormat.valueOf(outputFormat);
   }
 
+  public boolean isBinaryQueryResults() {
+    return binaryQueryResults;
+  }
+
   public Optional<BasicCredentials> getUserNameAndPassword() {
     if ((userName == null && password != null) || (password == null && userName != null)) {
       throw new ConfigException(
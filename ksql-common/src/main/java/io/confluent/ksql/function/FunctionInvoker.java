@@ -15,6 +15,9 @@
 
 package io.confluent.ksql.function;
 
+import java.lang.reflect.Method;
+import java.util.Optional;
+
 /**
  * This interface is used to invoke UDFs and UDTFs
  */
@@ -29,4 +32,11 @@ public interface FunctionInvoker {
    * @return the result of evaluating the UDF/UDTF
    */
   Object eval(Object udf, Object... udfArgs);
+
+  /**
+   * @return the method invoked by {@link #eval}, if the invoker calls a single method.
+   */
+  default Optional<Method> getMethod() {
+    return Optional.empty();
+  }
 }
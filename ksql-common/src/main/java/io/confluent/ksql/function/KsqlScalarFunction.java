@@ -116,6 +116,14 @@ public final class KsqlScalarFunction extends KsqlFunction {
         + '}';
   }
 
+  /**
+   * @return {@code true} if the function is packaged with KSQL, rather than loaded from the
+   *     extension directory.
+   */
+  public boolean isInternal() {
+    return INTERNAL_PATH.equals(getPathLoadedFrom());
+  }
+
   public Kudf newInstance(final KsqlConfig ksqlConfig) {
     return udfFactory.apply(ksqlConfig);
   }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udf;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * A {@link Kudf} that evaluates by calling a method on a UDF instance.
+ *
+ * <p>Code generation can use this to call the method directly, rather than via
+ * {@link #evaluate(Object...)}.
+ */
+public interface MethodBackedUdf extends Kudf {
+
+  /**
+   * @return the UDF instance the method is invoked on.
+   */
+  Object getUdf();
+
+  /**
+   * @return the method invoked by {@link #evaluate(Object...)}, if known.
+   */
+  Optional<Method> getMethod();
+}
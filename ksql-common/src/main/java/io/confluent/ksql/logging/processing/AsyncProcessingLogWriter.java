@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.logging.processing;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes processing log messages on a single background thread.
+ *
+ * <p>Messages are handed over through a bounded queue, so that the threads processing records
+ * never block on, or pay for building, the messages they log. Messages logged while the queue is
+ * full are dropped, and the number dropped is reported in the server log.
+ */
+final class AsyncProcessingLogWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncProcessingLogWriter.class);
+
+  private final BlockingQueue<Runnable> queue;
+  private final AtomicLong dropped = new AtomicLong();
+
+  AsyncProcessingLogWriter(final int queueSize) {
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+
+    final Thread thread = new Thread(this::run, "ksql-processing-log-writer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * @param inner the logger to write messages to.
+   * @return a logger that writes messages to {@code inner} on the background thread.
+   */
+  ProcessingLogger wrap(final ProcessingLogger inner) {
+    Objects.requireNonNull(inner, "inner");
+    return msgFactory -> submit(() -> inner.error(msgFactory));
+  }
+
+  void submit(final Runnable write) {
+    if (!queue.offer(write)) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  private void run() {
+    while (true) {
+      try {
+        queue.take().run();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final Exception e) {
+        LOG.warn("Failed to write processing log message", e);
+      }
+
+      if (queue.isEmpty()) {
+        final long count = dropped.getAndSet(0);
+        if (count > 0) {
+          LOG.warn("Dropped {} processing log messages as the processing log queue was full",
+              count);
+        }
+      }
+    }
+  }
+}
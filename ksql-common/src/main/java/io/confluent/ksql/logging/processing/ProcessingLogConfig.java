@@ -20,6 +20,7 @@ import java.util.Map;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
+import org.apache.kafka.common.config.ConfigDef.Range;
 import org.apache.kafka.common.config.ConfigDef.Type;
 
 public class ProcessingLogConfig extends AbstractConfig {
@@ -80,6 +81,26 @@ public class ProcessingLogConfig extends AbstractConfig {
   private static final String INCLUDE_ROWS_DOC =
       "Toggles whether or not the processing log should include rows in log messages";
 
+  public static final String RATE_LIMIT = propertyName("rate.limit");
+  private static final String RATE_LIMIT_DOC =
+      "The maximum number of messages per second each processing logger writes for each kind "
+          + "of error. Further messages are suppressed, and their count is written in summary "
+          + "messages instead. A value of 0 disables rate limiting.";
+
+  public static final String RATE_LIMIT_SUMMARY_INTERVAL_MS =
+      propertyName("rate.limit.summary.interval.ms");
+  private static final long RATE_LIMIT_SUMMARY_INTERVAL_MS_DEFAULT = 30000L;
+  private static final String RATE_LIMIT_SUMMARY_INTERVAL_MS_DOC =
+      "The interval, in milliseconds, at which a processing logger that is suppressing messages "
+          + "writes a summary of the number of messages it has suppressed.";
+
+  public static final String ASYNC_QUEUE_SIZE = propertyName("async.queue.size");
+  private static final String ASYNC_QUEUE_SIZE_DOC =
+      "The number of messages that can be waiting to be written by the processing log when it "
+          + "writes asynchronously. Messages logged while the queue is full are dropped. A value "
+          + "of 0 disables asynchronous writing, so that messages are written by the thread that "
+          + "logs them.";
+
   private static final ConfigDef CONFIG_DEF = new ConfigDef()
       .define(
           STREAM_AUTO_CREATE,
@@ -123,7 +144,28 @@ public class ProcessingLogConfig extends AbstractConfig {
           false,
           Importance.HIGH,
           INCLUDE_ROWS_DOC
-      );
+      )
+      .define(
+          RATE_LIMIT,
+          Type.INT,
+          0,
+          Range.atLeast(0),
+          Importance.LOW,
+          RATE_LIMIT_DOC)
+      .define(
+          RATE_LIMIT_SUMMARY_INTERVAL_MS,
+          Type.LONG,
+          RATE_LIMIT_SUMMARY_INTERVAL_MS_DEFAULT,
+          Range.atLeast(1L),
+          Importance.LOW,
+          RATE_LIMIT_SUMMARY_INTERVAL_MS_DOC)
+      .define(
+          ASYNC_QUEUE_SIZE,
+          Type.INT,
+          0,
+          Range.atLeast(0),
+          Importance.LOW,
+          ASYNC_QUEUE_SIZE_DOC);
 
   public ProcessingLogConfig(final Map<?, ?> properties) {
     super(CONFIG_DEF, properties);
@@ -18,12 +18,17 @@ package io.confluent.ksql.logging.processing;
 import io.confluent.common.logging.StructuredLogger;
 import io.confluent.common.logging.StructuredLoggerFactory;
 import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
 
 public class ProcessingLoggerFactoryImpl implements ProcessingLoggerFactory {
   private final ProcessingLogConfig config;
   private final StructuredLoggerFactory innerFactory;
   private final BiFunction<ProcessingLogConfig, StructuredLogger, ProcessingLogger> loggerFactory;
+  private final Optional<AsyncProcessingLogWriter> asyncWriter;
+  private ScheduledExecutorService summaryExecutor;
 
   ProcessingLoggerFactoryImpl(
       final ProcessingLogConfig config,
@@ -39,11 +44,44 @@ public class ProcessingLoggerFactoryImpl implements ProcessingLoggerFactory {
     this.config = config;
     this.innerFactory = innerFactory;
     this.loggerFactory = loggerFactory;
+
+    final int queueSize = config.getInt(ProcessingLogConfig.ASYNC_QUEUE_SIZE);
+    this.asyncWriter = queueSize > 0
+        ? Optional.of(new AsyncProcessingLogWriter(queueSize))
+        : Optional.empty();
   }
 
   @Override
   public ProcessingLogger getLogger(final String name) {
-    return loggerFactory.apply(config, innerFactory.getLogger(name));
+    ProcessingLogger logger = loggerFactory.apply(config, innerFactory.getLogger(name));
+
+    if (asyncWriter.isPresent()) {
+      logger = asyncWriter.get().wrap(logger);
+    }
+
+    final int rateLimit = config.getInt(ProcessingLogConfig.RATE_LIMIT);
+    if (rateLimit > 0) {
+      final RateLimitedProcessingLogger rateLimited = new RateLimitedProcessingLogger(
+          logger,
+          rateLimit,
+          config.getLong(ProcessingLogConfig.RATE_LIMIT_SUMMARY_INTERVAL_MS)
+      );
+      rateLimited.scheduleFlush(getSummaryExecutor());
+      logger = rateLimited;
+    }
+
+    return logger;
+  }
+
+  private synchronized ScheduledExecutorService getSummaryExecutor() {
+    if (summaryExecutor == null) {
+      summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ksql-processing-log-summary");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return summaryExecutor;
   }
 
   @Override
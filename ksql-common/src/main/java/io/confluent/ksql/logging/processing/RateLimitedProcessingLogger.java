@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.logging.processing;
+
+import io.confluent.ksql.logging.processing.ProcessingLogMessageSchema.MessageType;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A processing logger that limits the rate at which each kind of error is logged.
+ *
+ * <p>The kind of an error is identified by the class of its message factory, e.g. deserialization
+ * errors and record processing errors, so that no message needs to be built to decide whether
+ * it is suppressed. Each kind has its own token bucket, refilled at the configured rate and
+ * holding at most one second's worth of messages.
+ *
+ * <p>The number of messages suppressed is logged as a summary message of the same type as the
+ * messages it counts. At most one summary is logged per kind of error per summary interval, either
+ * when the first error of that kind after the interval has elapsed is logged, or when pending
+ * summaries are {@link #flush() flushed}.
+ */
+final class RateLimitedProcessingLogger implements ProcessingLogger {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RateLimitedProcessingLogger.class);
+
+  private final ProcessingLogger inner;
+  private final int ratePerSecond;
+  private final long summaryIntervalMs;
+  private final LongSupplier clock;
+  private final Map<Class<?>, Bucket> buckets = new ConcurrentHashMap<>();
+
+  RateLimitedProcessingLogger(
+      final ProcessingLogger inner,
+      final int ratePerSecond,
+      final long summaryIntervalMs
+  ) {
+    this(inner, ratePerSecond, summaryIntervalMs, System::currentTimeMillis);
+  }
+
+  RateLimitedProcessingLogger(
+      final ProcessingLogger inner,
+      final int ratePerSecond,
+      final long summaryIntervalMs,
+      final LongSupplier clock
+  ) {
+    this.inner = Objects.requireNonNull(inner, "inner");
+    this.ratePerSecond = ratePerSecond;
+    this.summaryIntervalMs = summaryIntervalMs;
+    this.clock = Objects.requireNonNull(clock, "clock");
+
+    if (ratePerSecond <= 0) {
+      throw new IllegalArgumentException("ratePerSecond must be positive: " + ratePerSecond);
+    }
+  }
+
+  @Override
+  public void error(final Function<ProcessingLogConfig, SchemaAndValue> msgFactory) {
+    final Bucket bucket = buckets.computeIfAbsent(msgFactory.getClass(), k -> new Bucket());
+    final long now = clock.getAsLong();
+
+    final long suppressed;
+    final boolean permitted;
+    synchronized (bucket) {
+      permitted = bucket.tryAcquire(now);
+      if (!permitted) {
+        bucket.suppressed++;
+      }
+
+      suppressed = bucket.takeSummary(now);
+    }
+
+    if (suppressed > 0) {
+      inner.error(summary(bucket, suppressed));
+    }
+
+    if (permitted) {
+      inner.error(config -> bucket.recordType(msgFactory.apply(config)));
+    }
+  }
+
+  /**
+   * Log the summary of any messages suppressed, for each kind of error whose summary interval has
+   * elapsed.
+   *
+   * <p>Without this, messages suppressed at the end of an error storm would not be reported
+   * until the next error of the same kind, which may never come.
+   */
+  void flush() {
+    final long now = clock.getAsLong();
+    for (final Bucket bucket : buckets.values()) {
+      final long suppressed;
+      synchronized (bucket) {
+        suppressed = bucket.takeSummary(now);
+      }
+
+      if (suppressed > 0) {
+        inner.error(summary(bucket, suppressed));
+      }
+    }
+  }
+
+  /**
+   * Flush the logger every summary interval, until the logger is no longer referenced.
+   *
+   * @param executor the executor to flush the logger on.
+   */
+  void scheduleFlush(final ScheduledExecutorService executor) {
+    scheduleFlush(new WeakReference<>(this), summaryIntervalMs, executor);
+  }
+
+  private static void scheduleFlush(
+      final WeakReference<RateLimitedProcessingLogger> ref,
+      final long intervalMs,
+      final ScheduledExecutorService executor
+  ) {
+    executor.schedule(() -> {
+      final RateLimitedProcessingLogger logger = ref.get();
+      if (logger == null) {
+        return;
+      }
+
+      try {
+        logger.flush();
+      } catch (final Exception e) {
+        LOG.warn("Failed to log summary of suppressed processing log messages", e);
+      }
+
+      scheduleFlush(ref, intervalMs, executor);
+    }, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  private static Function<ProcessingLogConfig, SchemaAndValue> summary(
+      final Bucket bucket,
+      final long suppressed
+  ) {
+    return config -> {
+      final MessageType type = bucket.type;
+      final Field field = fieldFor(type);
+      final Struct detail = new Struct(type.getSchema())
+          .put("errorMessage", "Suppressed " + suppressed + " further processing log messages "
+              + "of this type due to rate limiting.");
+
+      final Struct struct = new Struct(ProcessingLogMessageSchema.PROCESSING_LOG_SCHEMA)
+          .put(ProcessingLogMessageSchema.TYPE, type.getTypeId())
+          .put(field, detail);
+
+      return new SchemaAndValue(ProcessingLogMessageSchema.PROCESSING_LOG_SCHEMA, struct);
+    };
+  }
+
+  private static Field fieldFor(final MessageType type) {
+    return ProcessingLogMessageSchema.PROCESSING_LOG_SCHEMA.fields().stream()
+        .filter(f -> f.schema().equals(type.getSchema()))
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("No field for message type: " + type));
+  }
+
+  private final class Bucket {
+
+    private double tokens = ratePerSecond;
+    private long lastRefillMs = clock.getAsLong();
+    private long lastSummaryMs = lastRefillMs;
+    private long suppressed;
+
+    // Set once a message of this kind has been built:
+    private volatile MessageType type = MessageType.RECORD_PROCESSING_ERROR;
+
+    boolean tryAcquire(final long now) {
+      if (now > lastRefillMs) {
+        tokens = Math.min(ratePerSecond, tokens + (now - lastRefillMs) * ratePerSecond / 1000.0);
+        lastRefillMs = now;
+      }
+
+      if (tokens < 1) {
+        return false;
+      }
+
+      tokens--;
+      return true;
+    }
+
+    long takeSummary(final long now) {
+      if (suppressed == 0 || now - lastSummaryMs < summaryIntervalMs) {
+        return 0;
+      }
+
+      final long count = suppressed;
+      suppressed = 0;
+      lastSummaryMs = now;
+      return count;
+    }
+
+    SchemaAndValue recordType(final SchemaAndValue msg) {
+      if (msg.schema().equals(ProcessingLogMessageSchema.PROCESSING_LOG_SCHEMA)
+          && msg.value() instanceof Struct) {
+        final Integer typeId = ((Struct) msg.value()).getInt32(ProcessingLogMessageSchema.TYPE);
+        for (final MessageType candidate : MessageType.values()) {
+          if (Objects.equals(typeId, candidate.getTypeId())) {
+            type = candidate;
+          }
+        }
+      }
+      return msg;
+    }
+  }
+}
@@ -20,12 +20,10 @@ import io.confluent.common.utils.Time;
 import io.confluent.ksql.metrics.TopicSensors.SensorMetric;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerInterceptor;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -45,17 +43,19 @@ public class ConsumerCollector implements MetricCollector, ConsumerInterceptor<O
   public static final String CONSUMER_TOTAL_MESSAGES = "consumer-total-messages";
   public static final String CONSUMER_TOTAL_BYTES = "consumer-total-bytes";
 
-  private final Map<String, TopicSensors<ConsumerRecord<Object, Object>>> topicSensors =
-      new HashMap<>();
+  private final Map<String, TopicSensors<RecordBatch>> topicSensors =
+      new ConcurrentHashMap<>();
   private Metrics metrics;
   private String id;
   private String groupId;
   private Time time;
+  private QueryConsumption queryConsumption;
 
   public void configure(final Map<String, ?> map) {
     String id = (String) map.get(ConsumerConfig.GROUP_ID_CONFIG);
     if (id != null) {
       this.groupId = id;
+      this.queryConsumption = MetricCollectors.addQueryConsumer(id);
     }
     if (id == null) {
       id = (String) map.get(ConsumerConfig.CLIENT_ID_CONFIG);
@@ -92,29 +92,46 @@ public class ConsumerCollector implements MetricCollector, ConsumerInterceptor<O
   }
 
   private void collect(final ConsumerRecords<Object, Object> consumerRecords) {
-    final Stream<ConsumerRecord<Object, Object>> stream =
-        StreamSupport.stream(consumerRecords.spliterator(), false);
-    stream.forEach(record -> record(record.topic().toLowerCase(), false, record));
+    // Sensors are recorded once per partition in the batch, rather than once per record:
+    for (final TopicPartition partition : consumerRecords.partitions()) {
+      final List<ConsumerRecord<Object, Object>> records = consumerRecords.records(partition);
+
+      long bytes = 0;
+      for (final ConsumerRecord<Object, Object> record : records) {
+        bytes += record.serializedKeySize() + record.serializedValueSize();
+      }
+
+      record(partition.topic().toLowerCase(), false, new RecordBatch(records.size(), bytes));
+
+      MetricCollectors.recordConsumed(records.size(), bytes);
+      if (queryConsumption != null && !records.isEmpty()) {
+        queryConsumption.record(records.size(), records.get(records.size() - 1).timestamp());
+      }
+    }
   }
 
   private void record(
       final String topic,
       final boolean isError,
-      final ConsumerRecord<Object, Object> record
+      final RecordBatch batch
   ) {
-    topicSensors.computeIfAbsent(getCounterKey(topic), k ->
-        new TopicSensors<>(topic, buildSensors(k))
-    ).increment(record, isError);
+    TopicSensors<RecordBatch> sensors = topicSensors.get(getCounterKey(topic));
+    if (sensors == null) {
+      sensors = topicSensors.computeIfAbsent(getCounterKey(topic), k ->
+          new TopicSensors<>(topic, buildSensors(k))
+      );
+    }
+    sensors.increment(batch, isError);
   }
 
   private String getCounterKey(final String topic) {
     return topic;
   }
 
-  private List<SensorMetric<ConsumerRecord<Object, Object>>> buildSensors(
+  private List<SensorMetric<RecordBatch>> buildSensors(
       final String key
   ) {
-    final List<SensorMetric<ConsumerRecord<Object, Object>>> sensors = new ArrayList<>();
+    final List<SensorMetric<RecordBatch>> sensors = new ArrayList<>();
 
     // Note: synchronized due to metrics registry not handling concurrent add/check-exists
     // activity in a reliable way
@@ -122,13 +139,7 @@ public class ConsumerCollector implements MetricCollector, ConsumerInterceptor<O
       addSensor(key, CONSUMER_MESSAGES_PER_SEC, new Rate(), sensors, false);
       addSensor(key, CONSUMER_TOTAL_MESSAGES, new CumulativeSum(), sensors, false);
       addSensor(key, CONSUMER_TOTAL_BYTES, new CumulativeSum(), sensors, false,
-          (r) -> {
-            if (r == null) {
-              return 0.0;
-            } else {
-              return ((double) r.serializedValueSize() + r.serializedKeySize());
-            }
-          });
+          (r) -> (double) r.bytes);
     }
     return sensors;
   }
@@ -137,19 +148,19 @@ public class ConsumerCollector implements MetricCollector, ConsumerInterceptor<O
       final String key,
       final String metricNameString,
       final MeasurableStat stat,
-      final List<SensorMetric<ConsumerRecord<Object, Object>>> sensors,
+      final List<SensorMetric<RecordBatch>> sensors,
       final boolean isError
   ) {
-    addSensor(key, metricNameString, stat, sensors, isError, (r) -> (double)1);
+    addSensor(key, metricNameString, stat, sensors, isError, (r) -> (double) r.count);
   }
 
   private void addSensor(
       final String key,
       final String metricNameString,
       final MeasurableStat stat,
-      final List<SensorMetric<ConsumerRecord<Object, Object>>> sensors,
+      final List<SensorMetric<RecordBatch>> sensors,
       final boolean isError,
-      final Function<ConsumerRecord<Object, Object>, Double> recordValue
+      final Function<RecordBatch, Double> recordValue
   ) {
     final String name = "cons-" + key + "-" + metricNameString + "-" + id;
 
@@ -169,16 +180,19 @@ public class ConsumerCollector implements MetricCollector, ConsumerInterceptor<O
 
     final KafkaMetric metric = metrics.metrics().get(metricName);
 
-    sensors.add(new SensorMetric<ConsumerRecord<Object, Object>>(sensor, metric, time, isError) {
-      void record(final ConsumerRecord<Object, Object> record) {
-        sensor.record(recordValue.apply(record));
-        super.record(record);
+    sensors.add(new SensorMetric<RecordBatch>(sensor, metric, time, isError) {
+      void record(final RecordBatch batch) {
+        sensor.record(recordValue.apply(batch));
+        super.record(batch);
       }
     });
   }
 
   public void close() {
     MetricCollectors.remove(this.id);
+    if (groupId != null) {
+      MetricCollectors.removeQueryConsumer(groupId);
+    }
     topicSensors.values().forEach(v -> v.close(metrics));
   }
 
@@ -196,4 +210,18 @@ public class ConsumerCollector implements MetricCollector, ConsumerInterceptor<O
   public String toString() {
     return getClass().getSimpleName() + " id:" + this.id + " " + topicSensors.keySet();
   }
+
+  /**
+   * The number of records, and their total size, consumed from one partition in one poll.
+   */
+  static final class RecordBatch {
+
+    private final int count;
+    private final long bytes;
+
+    RecordBatch(final int count, final long bytes) {
+      this.count = count;
+      this.bytes = bytes;
+    }
+  }
 }
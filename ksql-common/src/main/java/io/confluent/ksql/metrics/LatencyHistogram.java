@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A histogram of latencies that can be recorded to concurrently without locking.
+ *
+ * <p>Values are bucketed by their highest set bit, with each power of two range split into
+ * sixteen linear sub-buckets, so that any recorded value is reported to within about 6%
+ * regardless of its magnitude. Percentiles are computed on read, by scanning the buckets.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Record a value. Negative values are recorded as zero.
+   *
+   * @param value the value to record.
+   */
+  public void record(final long value) {
+    final long nonNegative = Math.max(0, value);
+    counts.incrementAndGet(bucket(nonNegative));
+    max.accumulate(nonNegative);
+  }
+
+  /**
+   * @return the number of values recorded.
+   */
+  public long count() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * @return the largest value recorded, or zero if none have been.
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * @param percentile the percentile, between 0 and 100.
+   * @return the value at the given percentile, or zero if no values have been recorded.
+   */
+  public long percentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+    }
+
+    final long count = count();
+    if (count == 0) {
+      return 0;
+    }
+
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max());
+      }
+    }
+    return max();
+  }
+
+  static int bucket(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    final int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBound(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    final int shift = bucket / SUB_BUCKETS - 1;
+    final long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
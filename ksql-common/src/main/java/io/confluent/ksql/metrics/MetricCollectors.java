@@ -21,9 +21,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import org.apache.kafka.common.metrics.JmxReporter;
 import org.apache.kafka.common.metrics.MetricConfig;
@@ -39,12 +41,20 @@ public final class MetricCollectors {
   private static Map<String, MetricCollector> collectorMap;
   private static Metrics metrics;
 
+  // Totals for the node and for each query, maintained as collectors record rather than
+  // computed from all collectors on each read:
+  private static Map<String, QueryConsumption> queryConsumption;
+  private static RateCounter messagesConsumed;
+  private static RateCounter messagesProduced;
+  private static RateCounter errors;
+  private static LongAdder bytesConsumed;
+
+  private static final Time time = new io.confluent.common.utils.SystemTime();
+
   static {
     initialize();
   }
 
-  private static final Time time = new io.confluent.common.utils.SystemTime();
-
   private MetricCollectors() {
   }
 
@@ -67,6 +77,11 @@ public final class MetricCollectors {
     // another test that used MetricsCollector without running cleanUp will behave correctly.
     metrics = new Metrics(metricConfig, reporters, new SystemTime());
     collectorMap = new ConcurrentHashMap<>();
+    queryConsumption = new ConcurrentHashMap<>();
+    messagesConsumed = new RateCounter(metricConfig, time);
+    messagesProduced = new RateCounter(metricConfig, time);
+    errors = new RateCounter(metricConfig, time);
+    bytesConsumed = new LongAdder();
   }
 
   // visible for testing.
@@ -78,6 +93,7 @@ public final class MetricCollectors {
       metrics.close();
     }
     collectorMap.clear();
+    queryConsumption.clear();
   }
 
   static String addCollector(final String id, final MetricCollector collector) {
@@ -104,6 +120,41 @@ public final class MetricCollectors {
     collectorMap.remove(id);
   }
 
+  static QueryConsumption addQueryConsumer(final String groupId) {
+    return queryConsumption.compute(groupId, (k, v) -> {
+      final QueryConsumption consumption = v == null
+          ? new QueryConsumption(metrics.config(), time)
+          : v;
+      consumption.addConsumer();
+      return consumption;
+    });
+  }
+
+  static void removeQueryConsumer(final String groupId) {
+    queryConsumption.computeIfPresent(groupId, (k, v) -> v.removeConsumer() ? null : v);
+  }
+
+  static void recordConsumed(final int messages, final long bytes) {
+    messagesConsumed.add(messages);
+    bytesConsumed.add(bytes);
+  }
+
+  static void recordProduced(final int messages) {
+    messagesProduced.add(messages);
+  }
+
+  static void recordError() {
+    errors.add(1);
+  }
+
+  /**
+   * @param groupId the consumer group id of the query, i.e. its application id.
+   * @return the consumption of the query, if any of its consumers are running.
+   */
+  public static Optional<QueryConsumption> getQueryConsumption(final String groupId) {
+    return Optional.ofNullable(queryConsumption.get(groupId));
+  }
+
   static Map<String, TopicSensors.Stat> getStatsFor(
       final String topic, final boolean isError) {
     return getAggregateMetrics(
@@ -147,46 +198,39 @@ public final class MetricCollectors {
   }
 
   public static Collection<Double> currentConsumptionRateByQuery() {
-    return collectorMap.values()
-        .stream()
-        .filter(collector -> collector.getGroupId() != null)
-        .collect(
-            Collectors.groupingBy(
-              MetricCollector::getGroupId,
-              Collectors.summingDouble(
-                  m -> m.aggregateStat(ConsumerCollector.CONSUMER_MESSAGES_PER_SEC, false)
-              )
-          )
-        )
-        .values();
+    final List<Double> rates = new ArrayList<>(queryConsumption.size());
+    for (final QueryConsumption consumption : queryConsumption.values()) {
+      rates.add(consumption.consumptionRate());
+    }
+    return rates;
   }
 
   public static double aggregateStat(final String name, final boolean isError) {
-    return collectorMap.values().stream()
-        .mapToDouble(m -> m.aggregateStat(name, isError))
-        .sum();
+    double total = 0;
+    for (final MetricCollector collector : collectorMap.values()) {
+      total += collector.aggregateStat(name, isError);
+    }
+    return total;
   }
 
   public static double currentProductionRate() {
-    return aggregateStat(ProducerCollector.PRODUCER_MESSAGES_PER_SEC, false);
+    return messagesProduced.rate();
   }
 
   public static double currentConsumptionRate() {
-    return aggregateStat(ConsumerCollector.CONSUMER_MESSAGES_PER_SEC, false);
+    return messagesConsumed.rate();
   }
 
   public static double totalMessageConsumption() {
-    return aggregateStat(ConsumerCollector.CONSUMER_TOTAL_MESSAGES, false);
+    return messagesConsumed.total();
   }
 
   public static double totalBytesConsumption() {
-    return aggregateStat(ConsumerCollector.CONSUMER_TOTAL_BYTES, false);
+    return bytesConsumed.sum();
   }
 
   public static double currentErrorRate() {
-    return collectorMap.values().stream()
-        .mapToDouble(MetricCollector::errorRate)
-        .sum();
+    return errors.rate();
   }
 
   public static Metrics getMetrics() {
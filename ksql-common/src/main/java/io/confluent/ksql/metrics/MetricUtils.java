@@ -26,11 +26,11 @@ public final class MetricUtils {
       final String name,
       final boolean isError,
       final Collection<TopicSensors<T>> sensors) {
-    return sensors.stream()
-        .flatMap(r -> r.stats(isError).stream())
-        .filter(s -> s.name().equals(name))
-        .mapToDouble(TopicSensors.Stat::getValue)
-        .sum();
+    double total = 0;
+    for (final TopicSensors<T> sensor : sensors) {
+      total += sensor.aggregateStat(name, isError);
+    }
+    return total;
   }
 
   public static <T> Collection<TopicSensors.Stat> stats(
@@ -20,9 +20,11 @@ import io.confluent.common.utils.Time;
 import io.confluent.ksql.metrics.TopicSensors.SensorMetric;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerInterceptor;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -39,8 +41,12 @@ public class ProducerCollector implements MetricCollector, ProducerInterceptor<O
   public static final String PRODUCER_MESSAGES_PER_SEC = "messages-per-sec";
   public static final String PRODUCER_TOTAL_MESSAGES = "total-messages";
 
-  private final Map<String, TopicSensors<ProducerRecord<Object, Object>>> topicSensors =
-      new HashMap<>();
+  // Sends are counted per topic, and only folded into the sensors periodically, as recording a
+  // sensor takes a lock and the producer may be shared by many threads:
+  private static final long FLUSH_INTERVAL_MS = 100;
+
+  private final Map<String, TopicCounter> topicCounters = new ConcurrentHashMap<>();
+  private final AtomicLong lastFlushMs = new AtomicLong();
   private Metrics metrics;
   private String id;
   private Time time;
@@ -76,14 +82,35 @@ public class ProducerCollector implements MetricCollector, ProducerInterceptor<O
   }
 
   private void collect(final boolean isError, final String topic) {
-    topicSensors
-        .computeIfAbsent(getKey(topic), k -> new TopicSensors<>(topic, buildSensors(k)))
-        .increment(null, isError);
+    TopicCounter counter = topicCounters.get(getKey(topic));
+    if (counter == null) {
+      counter = topicCounters.computeIfAbsent(getKey(topic), k ->
+          new TopicCounter(new TopicSensors<>(topic, buildSensors(k)), isError)
+      );
+    }
+    counter.sent.increment();
+    MetricCollectors.recordProduced(1);
+
+    final long now = time.milliseconds();
+    final long lastFlush = lastFlushMs.get();
+    if (now - lastFlush >= FLUSH_INTERVAL_MS && lastFlushMs.compareAndSet(lastFlush, now)) {
+      flush();
+    }
   }
 
+  private synchronized void flush() {
+    for (final TopicCounter counter : topicCounters.values()) {
+      final long sent = counter.sent.sum();
+      final long delta = sent - counter.flushed;
+      if (delta > 0) {
+        counter.flushed = sent;
+        counter.sensors.increment(delta, counter.isError);
+      }
+    }
+  }
 
-  private List<SensorMetric<ProducerRecord<Object, Object>>> buildSensors(final String key) {
-    final List<SensorMetric<ProducerRecord<Object, Object>>> sensors = new ArrayList<>();
+  private List<SensorMetric<Long>> buildSensors(final String key) {
+    final List<SensorMetric<Long>> sensors = new ArrayList<>();
 
     // Note: synchronized due to metrics registry not handling concurrent add/check-exists
     // activity in a reliable way
@@ -98,7 +125,7 @@ public class ProducerCollector implements MetricCollector, ProducerInterceptor<O
       final String key,
       final String metricNameString,
       final MeasurableStat stat,
-      final List<SensorMetric<ProducerRecord<Object, Object>>> results
+      final List<SensorMetric<Long>> results
   ) {
     final String name = "prod-" + key + "-" + metricNameString + "-" + id;
 
@@ -118,10 +145,10 @@ public class ProducerCollector implements MetricCollector, ProducerInterceptor<O
     final KafkaMetric metric = metrics.metrics().get(metricName);
 
     results.add(
-        new SensorMetric<ProducerRecord<Object, Object>>(sensor, metric, time, false) {
-          void record(final ProducerRecord<Object, Object> record) {
-            sensor.record(1);
-            super.record(record);
+        new SensorMetric<Long>(sensor, metric, time, false) {
+          void record(final Long sent) {
+            sensor.record(sent);
+            super.record(sent);
           }
         });
   }
@@ -133,21 +160,44 @@ public class ProducerCollector implements MetricCollector, ProducerInterceptor<O
 
   public void close() {
     MetricCollectors.remove(this.id);
-    topicSensors.values().forEach(v -> v.close(metrics));
+    topicCounters.values().forEach(v -> v.sensors.close(metrics));
   }
 
   @Override
   public Collection<TopicSensors.Stat> stats(final String topic, final boolean isError) {
-    return MetricUtils.stats(topic, isError, topicSensors.values());
+    flush();
+    return MetricUtils.stats(topic, isError, topicSensors());
   }
 
   @Override
   public double aggregateStat(final String name, final boolean isError) {
-    return MetricUtils.aggregateStat(name, isError, topicSensors.values());
+    flush();
+    return MetricUtils.aggregateStat(name, isError, topicSensors());
+  }
+
+  private List<TopicSensors<Long>> topicSensors() {
+    final List<TopicSensors<Long>> sensors = new ArrayList<>(topicCounters.size());
+    for (final TopicCounter counter : topicCounters.values()) {
+      sensors.add(counter.sensors);
+    }
+    return sensors;
   }
 
   @Override
   public String toString() {
-    return getClass().getSimpleName() + " " + this.id + " " + this.topicSensors.toString();
+    return getClass().getSimpleName() + " " + this.id + " " + this.topicCounters.keySet();
+  }
+
+  private static final class TopicCounter {
+
+    private final TopicSensors<Long> sensors;
+    private final boolean isError;
+    private final LongAdder sent = new LongAdder();
+    private long flushed;
+
+    TopicCounter(final TopicSensors<Long> sensors, final boolean isError) {
+      this.sensors = sensors;
+      this.isError = isError;
+    }
   }
 }
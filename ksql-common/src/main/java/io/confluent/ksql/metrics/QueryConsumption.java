@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.metrics;
+
+import io.confluent.common.utils.Time;
+import java.util.Objects;
+import org.apache.kafka.common.metrics.MetricConfig;
+
+/**
+ * Running consumption totals for a single query, i.e. for all the consumers in its consumer
+ * group.
+ *
+ * <p>Consumers add each batch they consume as it is consumed, so reading the totals does not
+ * depend on the number of consumers, topics or partitions involved.
+ */
+public final class QueryConsumption {
+
+  private final Time time;
+  private final RateCounter messages;
+  private final long createdMs;
+  private volatile long lastConsumedMs;
+  private volatile long endToEndLagMs;
+  private int consumers;
+
+  QueryConsumption(final MetricConfig config, final Time time) {
+    this.time = Objects.requireNonNull(time, "time");
+    this.messages = new RateCounter(config, time);
+    this.createdMs = time.milliseconds();
+  }
+
+  /**
+   * @return the number of messages consumed per second.
+   */
+  public double consumptionRate() {
+    return messages.rate();
+  }
+
+  /**
+   * @return the total number of messages consumed.
+   */
+  public long totalMessagesConsumed() {
+    return messages.total();
+  }
+
+  /**
+   * @return the time since the query last consumed a message, or since it started if it has
+   *         not yet consumed any.
+   */
+  public long idleTimeMs() {
+    final long lastConsumed = lastConsumedMs;
+    return time.milliseconds() - (lastConsumed == 0 ? createdMs : lastConsumed);
+  }
+
+  /**
+   * @return the difference between the time the most recent batch was consumed and the
+   *         timestamp of the last message in it, or zero if nothing has been consumed yet.
+   */
+  public long endToEndLagMs() {
+    return endToEndLagMs;
+  }
+
+  void record(final int count, final long lastRecordTimestamp) {
+    final long now = time.milliseconds();
+    messages.add(count);
+    lastConsumedMs = now;
+    if (lastRecordTimestamp >= 0) {
+      endToEndLagMs = Math.max(0, now - lastRecordTimestamp);
+    }
+  }
+
+  // Reference counting is guarded by MetricCollectors:
+  void addConsumer() {
+    consumers++;
+  }
+
+  boolean removeConsumer() {
+    return --consumers == 0;
+  }
+}
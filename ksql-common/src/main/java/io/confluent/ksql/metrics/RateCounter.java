@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.metrics;
+
+import io.confluent.common.utils.Time;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.stats.Rate;
+
+/**
+ * A count that is cheap to increment from many threads, along with its rate.
+ *
+ * <p>Increments only touch a {@link LongAdder}. The count is folded into a {@link Rate} when
+ * the rate is read, so only readers take a lock.
+ */
+final class RateCounter {
+
+  private final MetricConfig config;
+  private final Time time;
+  private final LongAdder count = new LongAdder();
+  private final Rate rate = new Rate();
+  private long folded;
+
+  RateCounter(final MetricConfig config, final Time time) {
+    this.config = Objects.requireNonNull(config, "config");
+    this.time = Objects.requireNonNull(time, "time");
+  }
+
+  void add(final long delta) {
+    count.add(delta);
+  }
+
+  long total() {
+    return count.sum();
+  }
+
+  synchronized double rate() {
+    final long now = time.milliseconds();
+    final long total = count.sum();
+    rate.record(config, total - folded, now);
+    folded = total;
+    return rate.measure(config, now);
+  }
+}
@@ -58,6 +58,7 @@ public final class StreamsErrorCollector implements MetricCollector {
     topicSensors
         .computeIfAbsent(topic, this::buildSensors)
         .increment(null, true);
+    MetricCollectors.recordError();
   }
 
   private TopicSensors<Object> buildSensors(final String topic) {
@@ -64,6 +64,16 @@ class TopicSensors<R> {
         .collect(Collectors.toList());
   }
 
+  double aggregateStat(final String name, final boolean isError) {
+    double total = 0;
+    for (final SensorMetric<R> sensor : sensors) {
+      if (sensor.errorMetric == isError && sensor.name().equals(name)) {
+        total += sensor.value();
+      }
+    }
+    return total;
+  }
+
   Collection<Stat> errorRateStats() {
     return sensors.stream()
         .filter(sensor -> sensor.isError() && sensor.isRate())
@@ -199,6 +209,10 @@ class TopicSensors<R> {
       metrics.removeMetric(metric.metricName());
     }
 
+    String name() {
+      return metric.metricName().name();
+    }
+
     public boolean isRate() {
       return metric.measurable() instanceof Rate;
     }
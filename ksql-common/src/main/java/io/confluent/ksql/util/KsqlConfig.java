@@ -38,6 +38,7 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
+import org.apache.kafka.common.config.ConfigDef.Range;
 import org.apache.kafka.common.config.ConfigDef.Type;
 import org.apache.kafka.common.config.ConfigDef.ValidString;
 import org.apache.kafka.common.config.ConfigDef.Validator;
@@ -154,6 +155,22 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_INJECT_LEGACY_MAP_VALUES_NODE =
       "ksql.query.inject.legacy.map.values.node";
 
+  public static final String KSQL_STREAM_JOIN_GRACE_MS_CONFIG =
+      "ksql.query.stream.join.grace.ms";
+  private static final String KSQL_STREAM_JOIN_GRACE_MS_DOC =
+      "The grace period, in milliseconds, for stream-stream joins: records arriving later than "
+          + "this after their join window has closed are dropped. Join state is retained for the "
+          + "join window size plus the grace period. If not set, the Kafka Streams default of "
+          + "24 hours is used.";
+
+  public static final String KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_CONFIG =
+      "ksql.query.stream.join.in.memory.store.max.retention.ms";
+  private static final String KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_DOC =
+      "Stream-stream joins whose state retention, i.e. the join window size plus the grace "
+          + "period, is no more than this many milliseconds buffer their records in in-memory "
+          + "window stores rather than RocksDB. The stores are still backed by changelog topics. "
+          + "A value of 0 disables in-memory join stores.";
+
   public static final String KSQL_WRAP_SINGLE_VALUES =
       "ksql.persistence.wrap.single.values";
 
@@ -173,7 +190,15 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_STREAMS_PREFIX = "ksql.streams.";
 
   public static final String KSQL_COLLECT_UDF_METRICS = "ksql.udf.collect.metrics";
+  public static final String KSQL_UDF_METRICS_SAMPLE_INTERVAL_CONFIG =
+      "ksql.udf.metrics.sample.interval";
+  public static final String KSQL_UDF_METRICS_SAMPLE_INTERVAL_DOC =
+      "When udf metrics are collected, on average only one in this many invocations of a udf "
+      + "is timed. Invocations are always counted.";
+  public static final int KSQL_UDF_METRICS_SAMPLE_INTERVAL_DEFAULT = 1;
   public static final String KSQL_UDF_SECURITY_MANAGER_ENABLED = "ksql.udf.enable.security.manager";
+  public static final String KSQL_UDF_DIRECT_INVOCATION_ENABLED =
+      "ksql.udf.direct.invocation.enable";
 
   public static final String KSQL_INSERT_INTO_VALUES_ENABLED = "ksql.insert.into.values.enabled";
 
@@ -201,6 +226,86 @@ public class KsqlConfig extends AbstractConfig {
       "Config to enable or disable transient pull queries on a specific KSQL server.";
   public static final boolean KSQL_PULL_QUERIES_ENABLE_DEFAULT = true;
 
+  public static final String KSQL_STATELESS_FUSION_ENABLE_CONFIG =
+      "ksql.query.stateless.fusion.enable";
+  public static final String KSQL_STATELESS_FUSION_ENABLE_DOC =
+      "Config to enable or disable fusing a stream filter and the projection that follows it "
+      + "into a single processor node, saving a processor hop per record.";
+  public static final boolean KSQL_STATELESS_FUSION_ENABLE_DEFAULT = false;
+
+  public static final String KSQL_AGGREGATE_COMBINE_ENABLE_CONFIG =
+      "ksql.query.aggregate.combine.enable";
+  private static final String KSQL_AGGREGATE_COMBINE_ENABLE_DOC =
+      "Config to enable or disable combining partial aggregates before the repartition of a "
+      + "non-windowed GROUP BY. Only used when every aggregate function is one of COUNT, SUM, "
+      + "MIN, MAX, AVG or TOPK. Partial aggregates are buffered in a changelogged state store "
+      + "and written to the repartition topic when the buffer is full or on the flush interval.";
+
+  public static final String KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_CONFIG =
+      "ksql.query.aggregate.combine.max.entries";
+  public static final String KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_DOC =
+      "The maximum number of group keys that a combining GROUP BY buffers per task before "
+      + "writing its partial aggregates to the repartition topic.";
+  public static final int KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_DEFAULT = 10000;
+
+  public static final String KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG =
+      "ksql.query.aggregate.combine.flush.interval.ms";
+  public static final String KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DOC =
+      "The maximum time, in milliseconds, that a combining GROUP BY buffers partial aggregates "
+      + "before writing them to the repartition topic.";
+  public static final long KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DEFAULT = 1000L;
+
+  public static final String KSQL_QUERY_LATENCY_METRICS_ENABLE_CONFIG =
+      "ksql.query.latency.metrics.enable";
+  public static final String KSQL_QUERY_LATENCY_METRICS_ENABLE_DOC =
+      "Config to enable or disable recording, for each persistent query, histograms of the time "
+      + "spent deserializing, filtering, projecting, aggregating, joining and serializing records, "
+      + "and of the latency between a record's timestamp and its write to the sink topic. "
+      + "Percentiles are reported via JMX. The histograms are cumulative from the start of the "
+      + "query and never decay, so they reflect the query's whole lifetime rather than its "
+      + "recent behaviour.";
+  public static final boolean KSQL_QUERY_LATENCY_METRICS_ENABLE_DEFAULT = false;
+
+  public static final String KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_CONFIG =
+      "ksql.query.latency.metrics.sample.interval";
+  public static final String KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_DOC =
+      "When query latency metrics are enabled, on average only one in this many records is "
+      + "timed at each step, bounding the overhead of the timing.";
+  public static final int KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_DEFAULT = 100;
+
+  public static final String KSQL_AVRO_DIRECT_SERDE_ENABLE_CONFIG =
+      "ksql.avro.direct.serde.enable";
+  public static final String KSQL_AVRO_DIRECT_SERDE_ENABLE_DOC =
+      "Config to enable or disable reading and writing AVRO data directly between its binary "
+      + "form and KSQL values, rather than via Avro and Connect objects. Data written with "
+      + "schemas the direct path does not support is still handled via Connect.";
+
+  public static final String KSQL_QUERY_PUSH_SHARED_SCAN_ENABLE_CONFIG =
+      "ksql.query.push.shared.scan.enable";
+  public static final String KSQL_QUERY_PUSH_SHARED_SCAN_ENABLE_DOC =
+      "Config to enable or disable sharing a single read of a stream between concurrent push "
+      + "queries that only filter and project it, and that read from the latest offset. A read "
+      + "uses the credentials of the request that executed the queries, and is only shared "
+      + "between queries executed with that same request context. A query whose client cannot "
+      + "keep up with the read is failed, rather than slowing down the other queries.";
+
+  public static final String KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_CONFIG =
+      "ksql.query.push.materialized.subscription.enable";
+  public static final String KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_DOC =
+      "Config to enable or disable serving push queries that select a single ROWKEY from a "
+      + "materialized table from the updates of the query that materializes it, rather than by "
+      + "reading the table's topic. Must be enabled when the materializing query is started. If "
+      + "the query reads from the earliest offset, it first receives the key's current value, "
+      + "with the time of the lookup as its ROWTIME. A client that can not keep up, or a "
+      + "rebalance of the materializing query, ends the push query with an error.";
+
+  public static final String KSQL_WINDOWED_AGGREGATE_COMPACT_STORE_ENABLE_CONFIG =
+      "ksql.query.windowed.aggregate.compact.store.enable";
+  private static final String KSQL_WINDOWED_AGGREGATE_COMPACT_STORE_ENABLE_DOC =
+      "Config to enable or disable storing the values of windowed aggregate state stores, and "
+      + "their changelogs, in an internal compact binary format, rather than the value format "
+      + "of the query's sink.";
+
   public static final Collection<CompatibilityBreakingConfigDef> COMPATIBLY_BREAKING_CONFIG_DEFS
       = ImmutableList.of(
           new CompatibilityBreakingConfigDef(
@@ -293,6 +398,42 @@ public class KsqlConfig extends AbstractConfig {
               ConfigDef.Importance.LOW,
               Optional.empty(),
               "Ensures legacy queries maintian the same topology"
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_AGGREGATE_COMBINE_ENABLE_CONFIG,
+              ConfigDef.Type.BOOLEAN,
+              false,
+              false,
+              ConfigDef.Importance.LOW,
+              Optional.empty(),
+              KSQL_AGGREGATE_COMBINE_ENABLE_DOC
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_WINDOWED_AGGREGATE_COMPACT_STORE_ENABLE_CONFIG,
+              ConfigDef.Type.BOOLEAN,
+              false,
+              false,
+              ConfigDef.Importance.LOW,
+              Optional.empty(),
+              KSQL_WINDOWED_AGGREGATE_COMPACT_STORE_ENABLE_DOC
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_STREAM_JOIN_GRACE_MS_CONFIG,
+              ConfigDef.Type.LONG,
+              null,
+              null,
+              ConfigDef.Importance.LOW,
+              Optional.empty(),
+              KSQL_STREAM_JOIN_GRACE_MS_DOC
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_CONFIG,
+              ConfigDef.Type.LONG,
+              0L,
+              0L,
+              ConfigDef.Importance.LOW,
+              Optional.empty(),
+              KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_DOC
           )
   );
 
@@ -484,8 +625,15 @@ public class KsqlConfig extends AbstractConfig {
             false,
             ConfigDef.Importance.LOW,
             "Whether or not metrics should be collected for custom udfs. Default is false. Note: "
-                + "this will add some overhead to udf invocation. It is recommended that this "
-                + " be set to false in production."
+                + "this will add some overhead to udf invocation, which can be reduced by "
+                + "setting " + KSQL_UDF_METRICS_SAMPLE_INTERVAL_CONFIG + "."
+        ).define(
+            KSQL_UDF_METRICS_SAMPLE_INTERVAL_CONFIG,
+            Type.INT,
+            KSQL_UDF_METRICS_SAMPLE_INTERVAL_DEFAULT,
+            Range.atLeast(1),
+            ConfigDef.Importance.LOW,
+            KSQL_UDF_METRICS_SAMPLE_INTERVAL_DOC
         ).define(
             KSQL_EXT_DIR,
             ConfigDef.Type.STRING,
@@ -505,6 +653,15 @@ public class KsqlConfig extends AbstractConfig {
             ConfigDef.Importance.LOW,
             "Enable the security manager for UDFs. Default is true and will stop UDFs from"
                + " calling System.exit or executing processes"
+        ).define(
+            KSQL_UDF_DIRECT_INVOCATION_ENABLED,
+            ConfigDef.Type.BOOLEAN,
+            false,
+            ConfigDef.Importance.LOW,
+            "Enable generated code to call the methods of built-in UDFs directly, rather than"
+               + " reflectively. Directly called built-in UDFs are trusted: they are not run"
+               + " under the security manager. UDFs loaded from the extension directory are"
+               + " always called via the security manager."
         ).define(
             KSQL_INSERT_INTO_VALUES_ENABLED,
             Type.BOOLEAN,
@@ -571,6 +728,64 @@ public class KsqlConfig extends AbstractConfig {
             KSQL_PULL_QUERIES_ENABLE_DEFAULT,
             Importance.LOW,
             KSQL_PULL_QUERIES_ENABLE_DOC
+        ).define(
+            KSQL_STATELESS_FUSION_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_STATELESS_FUSION_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_STATELESS_FUSION_ENABLE_DOC
+        )
+        .define(
+            KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_CONFIG,
+            Type.INT,
+            KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_DEFAULT,
+            Range.atLeast(1),
+            Importance.LOW,
+            KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_DOC
+        )
+        .define(
+            KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG,
+            Type.LONG,
+            KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DEFAULT,
+            Range.atLeast(1L),
+            Importance.LOW,
+            KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_DOC
+        )
+        .define(
+            KSQL_QUERY_LATENCY_METRICS_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_LATENCY_METRICS_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_LATENCY_METRICS_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_CONFIG,
+            Type.INT,
+            KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_DEFAULT,
+            Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_DOC
+        )
+        .define(
+            KSQL_AVRO_DIRECT_SERDE_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            false,
+            Importance.LOW,
+            KSQL_AVRO_DIRECT_SERDE_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_SHARED_SCAN_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            false,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_SHARED_SCAN_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            false,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_DOC
         )
         .withClientSslSupport();
     for (final CompatibilityBreakingConfigDef compatibilityBreakingConfigDef
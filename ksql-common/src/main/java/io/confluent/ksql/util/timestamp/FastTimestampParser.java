@@ -0,0 +1,322 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util.timestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A hand-written parser for common ISO-8601 like timestamp patterns.
+ *
+ * <p>Supports patterns of the form {@code yyyy-MM-dd HH:mm:ss} or {@code yyyy-MM-dd'T'HH:mm:ss},
+ * optionally followed by {@code .SSS}, and then optionally by an {@code X} or {@code XXX} offset.
+ *
+ * <p>The parser only handles text in the exact layout of its pattern, with valid field values.
+ * Anything else, including local times that fall into a daylight savings gap or overlap, is
+ * reported as {@link #NOT_PARSED}, for the caller to handle with a {@code DateTimeFormatter}, so
+ * that lenient parsing and errors are left to the formatter. Text that is parsed resolves to the
+ * same instant as {@code ZonedDateTime.of(localDateTime, zone)}.
+ *
+ * <p>Parsing does not allocate, other than when resolving the offset of a zone for a time outside
+ * the period between the zone's transitions that was last resolved.
+ */
+final class FastTimestampParser {
+
+  static final long NOT_PARSED = Long.MIN_VALUE;
+
+  private static final long SECONDS_PER_DAY = 86_400L;
+  private static final long DAYS_0000_TO_1970 = 719_528L;
+  private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+
+  private enum OffsetStyle {
+    NONE,
+    HOURS_OPTIONAL_MINUTES, // X: Z, +HH or +HHmm
+    HOURS_COLON_MINUTES     // XXX: Z or +HH:MM
+  }
+
+  private final char dateTimeSeparator;
+  private final boolean hasMillis;
+  private final OffsetStyle offsetStyle;
+  private final int offsetStart;
+
+  private volatile ZoneWindow lastZoneWindow;
+
+  private FastTimestampParser(
+      final char dateTimeSeparator,
+      final boolean hasMillis,
+      final OffsetStyle offsetStyle
+  ) {
+    this.dateTimeSeparator = dateTimeSeparator;
+    this.hasMillis = hasMillis;
+    this.offsetStyle = offsetStyle;
+    this.offsetStart = hasMillis ? 23 : 19;
+  }
+
+  /**
+   * @param pattern the {@code DateTimeFormatter} pattern.
+   * @return a fast parser for the pattern, or empty if the pattern is not supported.
+   */
+  static Optional<FastTimestampParser> forPattern(final String pattern) {
+    final char separator;
+    String remaining;
+    if (pattern.startsWith("yyyy-MM-dd HH:mm:ss")) {
+      separator = ' ';
+      remaining = pattern.substring("yyyy-MM-dd HH:mm:ss".length());
+    } else if (pattern.startsWith("yyyy-MM-dd'T'HH:mm:ss")) {
+      separator = 'T';
+      remaining = pattern.substring("yyyy-MM-dd'T'HH:mm:ss".length());
+    } else {
+      return Optional.empty();
+    }
+
+    final boolean hasMillis = remaining.startsWith(".SSS");
+    if (hasMillis) {
+      remaining = remaining.substring(".SSS".length());
+    }
+
+    switch (remaining) {
+      case "":
+        return Optional.of(new FastTimestampParser(separator, hasMillis, OffsetStyle.NONE));
+      case "X":
+        return Optional.of(new FastTimestampParser(
+            separator, hasMillis, OffsetStyle.HOURS_OPTIONAL_MINUTES));
+      case "XXX":
+        return Optional.of(new FastTimestampParser(
+            separator, hasMillis, OffsetStyle.HOURS_COLON_MINUTES));
+      default:
+        return Optional.empty();
+    }
+  }
+
+  /**
+   * @param text the text to parse.
+   * @param zoneId the zone to use if the pattern has no offset.
+   * @return the millis since epoch {@code text} represents, or {@link #NOT_PARSED}.
+   */
+  long parse(final String text, final ZoneId zoneId) {
+    if (text == null || text.length() < offsetStart) {
+      return NOT_PARSED;
+    }
+
+    final int year = digits(text, 0, 4);
+    final int month = digits(text, 5, 2);
+    final int day = digits(text, 8, 2);
+    final int hour = digits(text, 11, 2);
+    final int minute = digits(text, 14, 2);
+    final int second = digits(text, 17, 2);
+    final int millis = hasMillis ? digits(text, 20, 3) : 0;
+
+    if (text.charAt(4) != '-'
+        || text.charAt(7) != '-'
+        || text.charAt(10) != dateTimeSeparator
+        || text.charAt(13) != ':'
+        || text.charAt(16) != ':'
+        || (hasMillis && text.charAt(19) != '.')
+        || (year | month | day | hour | minute | second | millis) < 0
+        || year < 1
+        || month < 1 || month > 12
+        || day < 1 || day > lengthOfMonth(year, month)
+        || hour > 23
+        || minute > 59
+        || second > 59) {
+      return NOT_PARSED;
+    }
+
+    final long localSeconds = epochDay(year, month, day) * SECONDS_PER_DAY
+        + hour * 3600L + minute * 60L + second;
+
+    final int offsetSeconds = offsetStyle == OffsetStyle.NONE
+        ? zoneOffset(zoneId, localSeconds, text.length())
+        : parseOffset(text);
+
+    if (offsetSeconds == Integer.MIN_VALUE) {
+      return NOT_PARSED;
+    }
+
+    return (localSeconds - offsetSeconds) * 1000L + millis;
+  }
+
+  private int zoneOffset(final ZoneId zoneId, final long localSeconds, final int length) {
+    if (length != offsetStart) {
+      return Integer.MIN_VALUE;
+    }
+
+    if (zoneId instanceof ZoneOffset) {
+      return ((ZoneOffset) zoneId).getTotalSeconds();
+    }
+
+    ZoneWindow window = lastZoneWindow;
+    if (window == null || !window.contains(zoneId, localSeconds)) {
+      window = ZoneWindow.resolve(zoneId, localSeconds);
+      if (window == null) {
+        return Integer.MIN_VALUE;
+      }
+      lastZoneWindow = window;
+    }
+    return window.offsetSeconds;
+  }
+
+  private int parseOffset(final String text) {
+    final int length = text.length() - offsetStart;
+    if (length == 1 && text.charAt(offsetStart) == 'Z') {
+      return 0;
+    }
+
+    final int hours;
+    final int minutes;
+    if (offsetStyle == OffsetStyle.HOURS_COLON_MINUTES) {
+      if (length != 6 || text.charAt(offsetStart + 3) != ':') {
+        return Integer.MIN_VALUE;
+      }
+      hours = digits(text, offsetStart + 1, 2);
+      minutes = digits(text, offsetStart + 4, 2);
+    } else if (length == 3) {
+      hours = digits(text, offsetStart + 1, 2);
+      minutes = 0;
+    } else if (length == 5) {
+      hours = digits(text, offsetStart + 1, 2);
+      minutes = digits(text, offsetStart + 3, 2);
+    } else {
+      return Integer.MIN_VALUE;
+    }
+
+    final char sign = text.charAt(offsetStart);
+    if ((sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59) {
+      return Integer.MIN_VALUE;
+    }
+
+    final int seconds = hours * 3600 + minutes * 60;
+    if (seconds > MAX_OFFSET_SECONDS) {
+      return Integer.MIN_VALUE;
+    }
+    return sign == '+' ? seconds : -seconds;
+  }
+
+  private static int digits(final String text, final int start, final int count) {
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      final int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static boolean isLeapYear(final long year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int lengthOfMonth(final int year, final int month) {
+    switch (month) {
+      case 2:
+        return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  // Same algorithm as LocalDate.toEpochDay, for positive years:
+  private static long epochDay(final int year, final int month, final int day) {
+    final long y = year;
+    long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  /**
+   * The range of local times, in seconds since the local epoch, for which a zone has a single
+   * valid offset.
+   */
+  private static final class ZoneWindow {
+
+    private final ZoneId zoneId;
+    private final long startLocalSeconds;
+    private final long endLocalSeconds;
+    private final int offsetSeconds;
+
+    private ZoneWindow(
+        final ZoneId zoneId,
+        final long startLocalSeconds,
+        final long endLocalSeconds,
+        final int offsetSeconds
+    ) {
+      this.zoneId = zoneId;
+      this.startLocalSeconds = startLocalSeconds;
+      this.endLocalSeconds = endLocalSeconds;
+      this.offsetSeconds = offsetSeconds;
+    }
+
+    boolean contains(final ZoneId zoneId, final long localSeconds) {
+      return this.zoneId.equals(zoneId)
+          && localSeconds >= startLocalSeconds
+          && localSeconds < endLocalSeconds;
+    }
+
+    static ZoneWindow resolve(final ZoneId zoneId, final long localSeconds) {
+      final ZoneRules rules = zoneId.getRules();
+      final List<ZoneOffset> offsets = rules.getValidOffsets(
+          LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC));
+
+      if (offsets.size() != 1) {
+        // Daylight savings gap or overlap:
+        return null;
+      }
+
+      final int offsetSeconds = offsets.get(0).getTotalSeconds();
+      if (rules.isFixedOffset()) {
+        return new ZoneWindow(zoneId, Long.MIN_VALUE, Long.MAX_VALUE, offsetSeconds);
+      }
+
+      final Instant instant = Instant.ofEpochSecond(localSeconds - offsetSeconds);
+      final ZoneOffsetTransition previous = rules.previousTransition(instant);
+      final ZoneOffsetTransition next = rules.nextTransition(instant);
+
+      final long start = previous == null
+          ? Long.MIN_VALUE
+          : previous.toEpochSecond() + Math.max(
+              previous.getOffsetBefore().getTotalSeconds(),
+              previous.getOffsetAfter().getTotalSeconds());
+
+      final long end = next == null
+          ? Long.MAX_VALUE
+          : next.toEpochSecond() + Math.min(
+              next.getOffsetBefore().getTotalSeconds(),
+              next.getOffsetAfter().getTotalSeconds());
+
+      return new ZoneWindow(zoneId, start, end, offsetSeconds);
+    }
+  }
+}
@@ -25,6 +25,7 @@ import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalField;
 import java.time.temporal.TemporalQueries;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.function.Function;
 import org.apache.commons.lang3.ObjectUtils;
 
@@ -34,18 +35,23 @@ public class StringToTimestampParser {
       zid -> ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, zid);
 
   private final DateTimeFormatter formatter;
+  private final Optional<FastTimestampParser> fastParser;
+  private final ZoneId systemDefaultZone;
 
   public StringToTimestampParser(final String pattern) {
     formatter = DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+    fastParser = FastTimestampParser.forPattern(pattern);
+    systemDefaultZone = ZoneId.systemDefault();
   }
 
   /**
-   * Parse with a default time zone of {@code ZoneId#systemDefault}
+   * Parse with a default time zone of {@code ZoneId#systemDefault}, as resolved when this parser
+   * was created.
    *
    * @see #parse(String, ZoneId)
    */
   public long parse(final String text) {
-    return parse(text, ZoneId.systemDefault());
+    return parse(text, systemDefaultZone);
   }
 
   /**
@@ -55,6 +61,13 @@ public class StringToTimestampParser {
    * @return the millis since epoch that {@code text} represents
    */
   public long parse(final String text, final ZoneId zoneId) {
+    if (fastParser.isPresent()) {
+      final long millis = fastParser.get().parse(text, zoneId);
+      if (millis != FastTimestampParser.NOT_PARSED) {
+        return millis;
+      }
+    }
+
     return parseZoned(text, zoneId).toInstant().toEpochMilli();
   }
 
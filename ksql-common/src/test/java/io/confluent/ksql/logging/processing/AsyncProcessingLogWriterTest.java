@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.logging.processing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AsyncProcessingLogWriterTest {
+
+  private final List<String> written = new CopyOnWriteArrayList<>();
+
+  @Test
+  public void shouldWriteOnBackgroundThread() throws Exception {
+    // Given:
+    final AsyncProcessingLogWriter writer = new AsyncProcessingLogWriter(10);
+    final CountDownLatch done = new CountDownLatch(1);
+    final Thread caller = Thread.currentThread();
+
+    // When:
+    writer.submit(() -> {
+      written.add(Thread.currentThread() == caller ? "caller" : "background");
+      done.countDown();
+    });
+
+    // Then:
+    assertThat(done.await(30, TimeUnit.SECONDS), is(true));
+    assertThat(written, contains("background"));
+  }
+
+  @Test
+  public void shouldDropMessagesWhenQueueIsFull() throws Exception {
+    // Given:
+    final AsyncProcessingLogWriter writer = new AsyncProcessingLogWriter(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+
+    writer.submit(() -> {
+      started.countDown();
+      awaitQuietly(release);
+    });
+    assertThat(started.await(30, TimeUnit.SECONDS), is(true));
+
+    // When:
+    writer.submit(() -> {
+      written.add("queued");
+      done.countDown();
+    });
+    writer.submit(() -> written.add("dropped"));
+    release.countDown();
+
+    // Then:
+    assertThat(done.await(30, TimeUnit.SECONDS), is(true));
+    assertThat(written, contains("queued"));
+  }
+
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package io.confluent.ksql.logging.processing;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -69,6 +70,19 @@ public class ProcessingLoggerFactoryImplTest {
     verify(loggerFactory).apply(config, innerLogger);
   }
 
+  @Test
+  public void shouldRateLimitLoggerIfConfigured() {
+    // Given:
+    when(config.getInt(ProcessingLogConfig.RATE_LIMIT)).thenReturn(10);
+    when(config.getLong(ProcessingLogConfig.RATE_LIMIT_SUMMARY_INTERVAL_MS)).thenReturn(10_000L);
+
+    // When:
+    final ProcessingLogger logger = factory.getLogger("foo.bar");
+
+    // Then:
+    assertThat(logger, instanceOf(RateLimitedProcessingLogger.class));
+  }
+
   @Test
   public void shouldGetLoggers() {
     // When:
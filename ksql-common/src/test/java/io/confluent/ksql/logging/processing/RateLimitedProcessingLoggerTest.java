@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.logging.processing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.confluent.ksql.logging.processing.ProcessingLogMessageSchema.MessageType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RateLimitedProcessingLoggerTest {
+
+  private static final int RATE = 2;
+  private static final long SUMMARY_INTERVAL_MS = 10_000L;
+
+  private final ProcessingLogConfig config = mock(ProcessingLogConfig.class);
+  private final List<Function<ProcessingLogConfig, SchemaAndValue>> logged = new ArrayList<>();
+  private long now = 1000L;
+  private RateLimitedProcessingLogger logger;
+
+  @Before
+  public void setUp() {
+    logger = new RateLimitedProcessingLogger(logged::add, RATE, SUMMARY_INTERVAL_MS, () -> now);
+  }
+
+  @Test
+  public void shouldLogUpToRate() {
+    // When:
+    logDeserializationErrors(RATE);
+
+    // Then:
+    assertThat(messages(), contains("deserialization", "deserialization"));
+  }
+
+  @Test
+  public void shouldSuppressMessagesAboveRate() {
+    // When:
+    logDeserializationErrors(RATE + 5);
+
+    // Then:
+    assertThat(logged, hasSize(RATE));
+  }
+
+  @Test
+  public void shouldLimitEachKindOfErrorSeparately() {
+    // When:
+    logDeserializationErrors(RATE + 5);
+    logProcessingError();
+
+    // Then:
+    assertThat(messages(), contains("deserialization", "deserialization", "processing"));
+  }
+
+  @Test
+  public void shouldNotLogSummaryBeforeInterval() {
+    // Given:
+    logDeserializationErrors(RATE + 5);
+    clearLogged();
+    now += 1000L;
+
+    // When:
+    logDeserializationErrors(1);
+
+    // Then:
+    assertThat(messages(), contains("deserialization"));
+  }
+
+  @Test
+  public void shouldLogSummaryOnceIntervalHasElapsed() {
+    // Given:
+    logDeserializationErrors(RATE + 5);
+    clearLogged();
+    now += SUMMARY_INTERVAL_MS;
+
+    // When:
+    logDeserializationErrors(1);
+
+    // Then:
+    assertThat(messages(), contains(
+        "Suppressed 5 further processing log messages of this type due to rate limiting.",
+        "deserialization"
+    ));
+    assertThat(typeOf(logged.get(0)), is(MessageType.DESERIALIZATION_ERROR.getTypeId()));
+  }
+
+  @Test
+  public void shouldLogSummaryEachInterval() {
+    // Given:
+    logDeserializationErrors(RATE + 5);
+    now += SUMMARY_INTERVAL_MS;
+    logDeserializationErrors(RATE + 2);
+    clearLogged();
+    now += SUMMARY_INTERVAL_MS;
+
+    // When:
+    logDeserializationErrors(1);
+
+    // Then:
+    assertThat(messages(), contains(
+        "Suppressed 2 further processing log messages of this type due to rate limiting.",
+        "deserialization"
+    ));
+  }
+
+  @Test
+  public void shouldFlushSummaryOnceIntervalHasElapsed() {
+    // Given:
+    logDeserializationErrors(RATE + 5);
+    clearLogged();
+    now += SUMMARY_INTERVAL_MS;
+
+    // When:
+    logger.flush();
+
+    // Then:
+    assertThat(messages(), contains(
+        "Suppressed 5 further processing log messages of this type due to rate limiting."
+    ));
+    assertThat(typeOf(logged.get(0)), is(MessageType.DESERIALIZATION_ERROR.getTypeId()));
+  }
+
+  @Test
+  public void shouldNotFlushSummaryBeforeInterval() {
+    // Given:
+    logDeserializationErrors(RATE + 5);
+    clearLogged();
+    now += 1000L;
+
+    // When:
+    logger.flush();
+
+    // Then:
+    assertThat(logged, is(empty()));
+  }
+
+  @Test
+  public void shouldNotLogFlushedSummaryAgain() {
+    // Given:
+    logDeserializationErrors(RATE + 5);
+    clearLogged();
+    now += SUMMARY_INTERVAL_MS;
+    logger.flush();
+    clearLogged();
+    now += SUMMARY_INTERVAL_MS;
+
+    // When:
+    logger.flush();
+
+    // Then:
+    assertThat(logged, is(empty()));
+  }
+
+  @Test
+  public void shouldScheduleFlushEverySummaryInterval() {
+    // Given:
+    final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+
+    // When:
+    logger.scheduleFlush(executor);
+
+    // Then:
+    verify(executor)
+        .schedule(any(Runnable.class), eq(SUMMARY_INTERVAL_MS), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnNonPositiveRate() {
+    new RateLimitedProcessingLogger(logged::add, 0, SUMMARY_INTERVAL_MS);
+  }
+
+  private void logDeserializationErrors(final int count) {
+    for (int i = 0; i != count; ++i) {
+      logger.error(c -> message(MessageType.DESERIALIZATION_ERROR, "deserialization"));
+    }
+  }
+
+  private void logProcessingError() {
+    logger.error(c -> message(MessageType.RECORD_PROCESSING_ERROR, "processing"));
+  }
+
+  private void clearLogged() {
+    // Build the messages logged so far, as the appender would:
+    messages();
+    logged.clear();
+  }
+
+  private List<String> messages() {
+    return logged.stream()
+        .map(msgFactory -> msgFactory.apply(config))
+        .map(RateLimitedProcessingLoggerTest::errorMessage)
+        .collect(Collectors.toList());
+  }
+
+  private Integer typeOf(final Function<ProcessingLogConfig, SchemaAndValue> msgFactory) {
+    return ((Struct) msgFactory.apply(config).value()).getInt32(ProcessingLogMessageSchema.TYPE);
+  }
+
+  private static String errorMessage(final SchemaAndValue msg) {
+    final Struct struct = (Struct) msg.value();
+    final Struct detail = struct.getInt32(ProcessingLogMessageSchema.TYPE)
+        == MessageType.DESERIALIZATION_ERROR.getTypeId()
+        ? struct.getStruct(ProcessingLogMessageSchema.DESERIALIZATION_ERROR)
+        : struct.getStruct(ProcessingLogMessageSchema.RECORD_PROCESSING_ERROR);
+    return detail.getString("errorMessage");
+  }
+
+  private static SchemaAndValue message(final MessageType type, final String errorMessage) {
+    final String field = type == MessageType.DESERIALIZATION_ERROR
+        ? ProcessingLogMessageSchema.DESERIALIZATION_ERROR
+        : ProcessingLogMessageSchema.RECORD_PROCESSING_ERROR;
+
+    final Struct struct = new Struct(ProcessingLogMessageSchema.PROCESSING_LOG_SCHEMA)
+        .put(ProcessingLogMessageSchema.TYPE, type.getTypeId())
+        .put(field, new Struct(type.getSchema()).put("errorMessage", errorMessage));
+
+    return new SchemaAndValue(ProcessingLogMessageSchema.PROCESSING_LOG_SCHEMA, struct);
+  }
+}
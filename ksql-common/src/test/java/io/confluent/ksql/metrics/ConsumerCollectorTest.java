@@ -16,6 +16,7 @@
 package io.confluent.ksql.metrics;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
@@ -58,4 +59,22 @@ public class ConsumerCollectorTest {
     assertThat( stats.toString(), containsString("name=consumer-messages-per-sec,"));
     assertThat( stats.toString(), containsString("total-messages, value=100.0"));
   }
+
+  @Test
+  public void shouldAggregateAcrossPartitionsOfBatch() {
+    final ConsumerCollector collector = new ConsumerCollector();
+    collector.configure(new Metrics(), "group", new SystemTime());
+
+    final Map<TopicPartition, List<ConsumerRecord<Object, Object>>> records = ImmutableMap.of(
+        new TopicPartition(TEST_TOPIC, 1), Arrays.asList(
+            new ConsumerRecord<>(TEST_TOPIC, 1, 0, 1L, TimestampType.CREATE_TIME, 1L, 3, 10, "key", "1234567890"),
+            new ConsumerRecord<>(TEST_TOPIC, 1, 1, 1L, TimestampType.CREATE_TIME, 1L, 3, 10, "key", "1234567890")),
+        new TopicPartition(TEST_TOPIC, 2), Arrays.asList(
+            new ConsumerRecord<>(TEST_TOPIC, 2, 0, 1L, TimestampType.CREATE_TIME, 1L, 3, 10, "key", "1234567890")));
+
+    collector.onConsume(new ConsumerRecords<>(records));
+
+    assertThat(collector.aggregateStat(ConsumerCollector.CONSUMER_TOTAL_MESSAGES, false), is(3.0));
+    assertThat(collector.aggregateStat(ConsumerCollector.CONSUMER_TOTAL_BYTES, false), is(39.0));
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void shouldReturnZeroIfNothingRecorded() {
+    assertThat(histogram.count(), is(0L));
+    assertThat(histogram.max(), is(0L));
+    assertThat(histogram.percentile(99), is(0L));
+  }
+
+  @Test
+  public void shouldReportSmallValuesExactly() {
+    // Given:
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+
+    // Then:
+    assertThat(histogram.count(), is(10L));
+    assertThat(histogram.percentile(50), is(5L));
+    assertThat(histogram.percentile(100), is(10L));
+    assertThat(histogram.max(), is(10L));
+  }
+
+  @Test
+  public void shouldReportLargeValuesWithinBoundedError() {
+    // Given:
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1_000_000L);
+    }
+
+    // Then:
+    assertThat(histogram.percentile(50),
+        is(allOf(greaterThanOrEqualTo(500_000_000L), lessThanOrEqualTo(532_000_000L))));
+    assertThat(histogram.percentile(99),
+        is(allOf(greaterThanOrEqualTo(990_000_000L), lessThanOrEqualTo(1_000_000_000L))));
+  }
+
+  @Test
+  public void shouldRecordNegativeValuesAsZero() {
+    // When:
+    histogram.record(-5);
+
+    // Then:
+    assertThat(histogram.count(), is(1L));
+    assertThat(histogram.max(), is(0L));
+  }
+
+  @Test
+  public void shouldMapEveryValueToABucketThatContainsIt() {
+    for (long value = 1; value > 0; value = value * 3 + 1) {
+      final int bucket = LatencyHistogram.bucket(value);
+      assertThat(LatencyHistogram.upperBound(bucket), is(greaterThanOrEqualTo(value)));
+      assertThat(LatencyHistogram.upperBound(bucket - 1), is(lessThanOrEqualTo(value - 1)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnInvalidPercentile() {
+    histogram.percentile(101);
+  }
+}
@@ -18,6 +18,7 @@ package io.confluent.ksql.metrics;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -287,6 +288,51 @@ public class MetricCollectorsTest {
     assertEquals(10.0, Math.floor(consumptionByQuery.get(1)), 0.1);
   }
 
+  @Test
+  public void shouldKeepTotalMessageConsumptionAfterConsumerClosed() {
+    final ConsumerCollector collector = new ConsumerCollector();
+    collector.configure(ImmutableMap.of(ConsumerConfig.GROUP_ID_CONFIG, "group1"));
+    collector.onConsume(consumerRecords(10, 1L));
+
+    collector.close();
+
+    assertEquals(10, MetricCollectors.totalMessageConsumption(), 0);
+  }
+
+  @Test
+  public void shouldTrackConsumptionByQuery() {
+    final ConsumerCollector collector1 = new ConsumerCollector();
+    collector1.configure(ImmutableMap.of(ConsumerConfig.GROUP_ID_CONFIG, "group1"));
+
+    final ConsumerCollector collector2 = new ConsumerCollector();
+    collector2.configure(ImmutableMap.of(ConsumerConfig.GROUP_ID_CONFIG, "group1"));
+
+    final long timestamp = System.currentTimeMillis() - 60_000;
+    collector1.onConsume(consumerRecords(10, 1L));
+    collector2.onConsume(consumerRecords(5, timestamp));
+
+    final QueryConsumption consumption = MetricCollectors.getQueryConsumption("group1").get();
+    assertEquals(15, consumption.totalMessagesConsumed());
+    assertTrue(consumption.endToEndLagMs() >= 60_000);
+    assertTrue(consumption.idleTimeMs() < 60_000);
+  }
+
+  @Test
+  public void shouldRemoveQueryConsumptionWhenLastConsumerClosed() {
+    final ConsumerCollector collector1 = new ConsumerCollector();
+    collector1.configure(ImmutableMap.of(ConsumerConfig.GROUP_ID_CONFIG, "group1"));
+
+    final ConsumerCollector collector2 = new ConsumerCollector();
+    collector2.configure(ImmutableMap.of(ConsumerConfig.GROUP_ID_CONFIG, "group1"));
+
+    collector1.close();
+    assertTrue(MetricCollectors.getQueryConsumption("group1").isPresent());
+
+    collector2.close();
+    assertFalse(MetricCollectors.getQueryConsumption("group1").isPresent());
+    assertTrue(MetricCollectors.currentConsumptionRateByQuery().isEmpty());
+  }
+
   @Test
   public void shouldAggregateDeserializationErrors() {
     for (int i = 0; i < 2000; i++) {
@@ -297,4 +343,17 @@ public class MetricCollectorsTest {
     assertEquals(20.0, Math.floor(MetricCollectors.currentErrorRate()), 0.1);
     StreamsErrorCollector.notifyApplicationClose("test-application");
   }
-}
\ No newline at end of file
+
+  private static ConsumerRecords<Object, Object> consumerRecords(
+      final int count,
+      final long timestamp
+  ) {
+    final List<ConsumerRecord<Object, Object>> recordList = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      recordList.add(new ConsumerRecord<>(TEST_TOPIC, 1, i, timestamp, TimestampType
+          .CREATE_TIME, 1L, 10, 10, "key", "1234567890"));
+    }
+    return new ConsumerRecords<>(
+        ImmutableMap.of(new TopicPartition(TEST_TOPIC, 1), recordList));
+  }
+}
@@ -16,6 +16,7 @@
 package io.confluent.ksql.metrics;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.util.Collection;
@@ -40,4 +41,15 @@ public class ProducerCollectorTest {
 
     assertThat( stats.toString(), containsString("name=messages-per-sec,"));
   }
+
+  @Test
+  public void shouldCountAllSendsWhenReadBeforeNextFlush() {
+    final ProducerCollector collector = new ProducerCollector().configure(new Metrics(), "clientid", MetricCollectors.getTime());
+
+    for (int i = 0; i < 1000; i++){
+      collector.onSend(new ProducerRecord<>(TEST_TOPIC, 1, "key", "value"));
+    }
+
+    assertThat(collector.aggregateStat(ProducerCollector.PRODUCER_TOTAL_MESSAGES, false), is(1000.0));
+  }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util.timestamp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class FastTimestampParserTest {
+
+  private static final List<ZoneId> ZONES = ImmutableList.of(
+      ZoneOffset.UTC,
+      ZoneId.of("GMT+3"),
+      ZoneId.of("America/Los_Angeles"),
+      ZoneId.of("Europe/London"),
+      ZoneId.of("Australia/Lord_Howe")
+  );
+
+  @Test
+  public void shouldSupportCommonPatterns() {
+    assertSupported("yyyy-MM-dd HH:mm:ss");
+    assertSupported("yyyy-MM-dd HH:mm:ss.SSS");
+    assertSupported("yyyy-MM-dd'T'HH:mm:ss");
+    assertSupported("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    assertSupported("yyyy-MM-dd'T'HH:mm:ssX");
+    assertSupported("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+  }
+
+  @Test
+  public void shouldNotSupportOtherPatterns() {
+    assertNotSupported("yyyy-MM-dd");
+    assertNotSupported("yyyy-MM-dd HH:mm");
+    assertNotSupported("yyyy-MM-dd HH:mm:ss:SSS");
+    assertNotSupported("yyyy-MM-dd HH:mm:ss.SS");
+    assertNotSupported("yyyy-MM-dd'T'HH:mm:ssZ");
+    assertNotSupported("yyyy-MM-dd'T'HH:mm:ssVV");
+    assertNotSupported("dd/MM/yyyy HH:mm:ss");
+  }
+
+  @Test
+  public void shouldMatchFormatterForLocalTimes() {
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-11-26 10:15:30");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "1605-11-05 23:59:59");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2020-02-29 00:00:00");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss.SSS", "1970-01-01 00:00:00.001");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss.SSS", "1969-12-31 23:59:59.999");
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ss", "2000-06-15T12:00:00");
+  }
+
+  @Test
+  public void shouldMatchFormatterAroundDaylightSavingsTransitions() {
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-03-10 01:59:59");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-03-10 02:30:00");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-03-10 03:00:00");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-11-03 00:59:59");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-11-03 01:30:00");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-11-03 02:00:00");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-10-27 01:30:00");
+    assertMatchesFormatter("yyyy-MM-dd HH:mm:ss", "2019-04-07 01:45:00");
+  }
+
+  @Test
+  public void shouldMatchFormatterForOffsets() {
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ssX", "2019-11-26T10:15:30Z");
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ssX", "2019-11-26T10:15:30+05");
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ssX", "2019-11-26T10:15:30-0830");
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "2019-11-26T10:15:30.123Z");
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "2019-11-26T10:15:30.123+05:30");
+    assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "2019-11-26T10:15:30.123-18:00");
+  }
+
+  @Test
+  public void shouldParseLastDayOfLeapYear() {
+    // When:
+    final long result = parser("yyyy-MM-dd HH:mm:ss").parse("2020-12-31 10:00:00", ZoneOffset.UTC);
+
+    // Then:
+    assertThat(result, is(
+        LocalDateTime.of(2020, 12, 31, 10, 0).toEpochSecond(ZoneOffset.UTC) * 1000));
+  }
+
+  @Test
+  public void shouldNotParseTextItCanNotHandle() {
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-11-26 10:15");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-11-26 10:15:30 ");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-11-26T10:15:30");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-13-26 10:15:30");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-02-29 10:15:30");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-11-26 24:00:00");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", "2019-11-2a 10:15:30");
+    assertNotParsed("yyyy-MM-dd HH:mm:ss", null);
+    assertNotParsed("yyyy-MM-dd'T'HH:mm:ssX", "2019-11-26T10:15:30");
+    assertNotParsed("yyyy-MM-dd'T'HH:mm:ssX", "2019-11-26T10:15:30+05:30");
+    assertNotParsed("yyyy-MM-dd'T'HH:mm:ssX", "2019-11-26T10:15:30+19");
+    assertNotParsed("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "2019-11-26T10:15:30.123+0530");
+  }
+
+  @Test
+  public void shouldNotParseLocalTimesInDaylightSavingsGapsOrOverlaps() {
+    // Given:
+    final FastTimestampParser parser = parser("yyyy-MM-dd HH:mm:ss");
+    final ZoneId zone = ZoneId.of("America/Los_Angeles");
+
+    // Then:
+    assertThat(parser.parse("2019-03-10 02:30:00", zone), is(FastTimestampParser.NOT_PARSED));
+    assertThat(parser.parse("2019-11-03 01:30:00", zone), is(FastTimestampParser.NOT_PARSED));
+  }
+
+  private static void assertSupported(final String pattern) {
+    assertThat(pattern, FastTimestampParser.forPattern(pattern).isPresent(), is(true));
+  }
+
+  private static void assertNotSupported(final String pattern) {
+    assertThat(pattern, FastTimestampParser.forPattern(pattern), is(Optional.empty()));
+  }
+
+  private static void assertNotParsed(final String pattern, final String text) {
+    assertThat(text, parser(pattern).parse(text, ZoneOffset.UTC),
+        is(FastTimestampParser.NOT_PARSED));
+  }
+
+  private static void assertMatchesFormatter(final String pattern, final String text) {
+    final StringToTimestampParser parser = new StringToTimestampParser(pattern);
+
+    for (final ZoneId zone : ZONES) {
+      final long expected = parser.parseZoned(text, zone).toInstant().toEpochMilli();
+      assertThat(text + " in " + zone, parser.parse(text, zone), is(expected));
+    }
+  }
+
+  private static FastTimestampParser parser(final String pattern) {
+    return FastTimestampParser.forPattern(pattern).get();
+  }
+}
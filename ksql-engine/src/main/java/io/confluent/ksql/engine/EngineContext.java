@@ -33,6 +33,7 @@ import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.ExecutableDdlStatement;
 import io.confluent.ksql.query.QueryExecutor;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.SharedScans;
 import io.confluent.ksql.query.id.QueryIdGenerator;
 import io.confluent.ksql.services.SandboxedServiceContext;
 import io.confluent.ksql.services.ServiceContext;
@@ -63,6 +64,7 @@ final class EngineContext {
   private final KsqlParser parser;
   private final BiConsumer<ServiceContext, QueryMetadata> outerOnQueryCloseCallback;
   private final Map<QueryId, PersistentQueryMetadata> persistentQueries;
+  private final SharedScans sharedScans = new SharedScans();
 
   static EngineContext create(
       final ServiceContext serviceContext,
@@ -133,6 +135,10 @@ final class EngineContext {
     return serviceContext;
   }
 
+  SharedScans getSharedScans() {
+    return sharedScans;
+  }
+
   List<ParsedStatement> parse(final String sql) {
     return parser.parse(sql);
   }
@@ -115,11 +115,41 @@ final class EngineExecutor {
   TransientQueryMetadata executeQuery(final ConfiguredStatement<Query> statement) {
     final ExecutorPlans plans = planQuery(statement, statement.getStatement(), Optional.empty());
     final OutputNode outputNode = plans.logicalPlan.getNode().get();
+
     final QueryExecutor executor = engineContext.createQueryExecutor(
         ksqlConfig,
         overriddenProperties,
         serviceContext
     );
+
+    final Optional<TransientQueryMetadata> subscription = executor.buildTableSubscription(
+        engineContext.getPersistentQueries().values(),
+        statement.getStatementText(),
+        plans.physicalPlan.getQueryId(),
+        getSourceNames(outputNode),
+        plans.physicalPlan.getPhysicalPlan(),
+        plans.physicalPlan.getPlanSummary(),
+        outputNode.getSchema(),
+        outputNode.getLimit()
+    );
+    if (subscription.isPresent()) {
+      return subscription.get();
+    }
+
+    final Optional<TransientQueryMetadata> shared = executor.buildSharedTransientQuery(
+        engineContext.getSharedScans(),
+        statement.getStatementText(),
+        plans.physicalPlan.getQueryId(),
+        getSourceNames(outputNode),
+        plans.physicalPlan.getPhysicalPlan(),
+        plans.physicalPlan.getPlanSummary(),
+        outputNode.getSchema(),
+        outputNode.getLimit()
+    );
+    if (shared.isPresent()) {
+      return shared.get();
+    }
+
     return executor.buildTransientQuery(
         statement.getStatementText(),
         plans.physicalPlan.getQueryId(),
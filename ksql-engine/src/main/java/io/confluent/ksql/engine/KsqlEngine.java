@@ -209,6 +209,8 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
       return;
     }
 
+    engineMetrics.unregisterQuery(query);
+
     if (query.hasEverBeenStarted()) {
       SchemaRegistryUtil
           .cleanUpInternalTopicAvroSchemas(applicationId, serviceContext.getSchemaRegistryClient());
@@ -19,6 +19,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.TypeVariable;
+import java.util.Optional;
 
 /**
  * An implementation of UdfInvoker which invokes the UDF using reflection
@@ -56,6 +57,11 @@ public class DynamicFunctionInvoker implements FunctionInvoker {
     }
   }
 
+  @Override
+  public Optional<Method> getMethod() {
+    return Optional.of(method);
+  }
+
   /*
   Method.invoke() is a pain and expects any varargs to be packaged up in a further Object[]
    */
@@ -49,7 +49,7 @@ import org.apache.kafka.connect.data.Schema;
  */
 public final class FunctionLoaderUtils {
 
-  private static final String UDF_METRIC_GROUP = "ksql-udf";
+  static final String UDF_METRIC_GROUP = "ksql-udf";
 
   private FunctionLoaderUtils() {
   }
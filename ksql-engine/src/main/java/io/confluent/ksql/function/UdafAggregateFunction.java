@@ -161,6 +161,10 @@ public class UdafAggregateFunction<I, A, O> extends BaseAggregateFunction<I, A,
 
   @Override
   public A aggregate(final I currentValue, final A aggregateValue) {
+    if (!aggregateSensor.isPresent()) {
+      // Avoid capturing a lambda and reading the clock per record when metrics are disabled:
+      return udaf.aggregate(currentValue, aggregateValue);
+    }
     return timed(aggregateSensor, () -> udaf.aggregate(currentValue, aggregateValue));
   }
 
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.KafkaMetric;
+import org.apache.kafka.common.metrics.Measurable;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Rate;
+import org.apache.kafka.common.metrics.stats.WindowedSum;
+
+/**
+ * Invocation metrics for a single udf, shared by all instances of the udf.
+ *
+ * <p>Recording only touches {@link LongAdder}s and a {@link LongAccumulator}, which are striped
+ * internally, so stream threads invoking the same udf don't contend on a lock. The recorded
+ * values are folded into Kafka's windowed stats when a metric is read.
+ */
+final class UdfInvocationMetrics {
+
+  private final LongAdder invocations = new LongAdder();
+  private final LongAdder timedInvocations = new LongAdder();
+  private final LongAdder timedNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  private final WindowedSum invocationCount = new WindowedSum();
+  private final Rate invocationRate = new Rate(TimeUnit.SECONDS, new WindowedSum());
+  private final WindowedSum timedCount = new WindowedSum();
+  private final WindowedSum timedSum = new WindowedSum();
+  private final Max max = new Max();
+  private long foldedInvocations;
+  private long foldedTimedInvocations;
+  private long foldedTimedNanos;
+
+  /**
+   * Get the metrics of the udf, registering them with {@code metrics} if not already registered.
+   */
+  static UdfInvocationMetrics getOrCreate(
+      final String sensorName,
+      final String udfName,
+      final Metrics metrics
+  ) {
+    synchronized (metrics) {
+      final KafkaMetric existing = metrics.metric(
+          metrics.metricName(sensorName + "-count", FunctionLoaderUtils.UDF_METRIC_GROUP));
+      if (existing != null && existing.measurable() instanceof InvocationMetric) {
+        return ((InvocationMetric) existing.measurable()).owner;
+      }
+
+      final UdfInvocationMetrics invocationMetrics = new UdfInvocationMetrics();
+      invocationMetrics.register(sensorName, udfName, metrics);
+      return invocationMetrics;
+    }
+  }
+
+  private UdfInvocationMetrics() {
+  }
+
+  /**
+   * Record an invocation that was not timed.
+   */
+  void recordInvocation() {
+    invocations.increment();
+  }
+
+  /**
+   * Record an invocation that took {@code nanos} nanoseconds.
+   */
+  void recordInvocation(final long nanos) {
+    maxNanos.accumulate(nanos);
+    timedNanos.add(nanos);
+    timedInvocations.increment();
+    invocations.increment();
+  }
+
+  private void register(final String sensorName, final String udfName, final Metrics metrics) {
+    add(metrics, sensorName + "-avg",
+        "Average time for an invocation of " + udfName + " udf",
+        (config, now) -> {
+          final double count = timedCount.measure(config, now);
+          return count == 0 ? Double.NaN : timedSum.measure(config, now) / count;
+        });
+
+    add(metrics, sensorName + "-max",
+        "Max time for an invocation of " + udfName + " udf",
+        max::measure);
+
+    add(metrics, sensorName + "-count",
+        "Total number of invocations of " + udfName + " udf",
+        invocationCount::measure);
+
+    add(metrics, sensorName + "-rate",
+        "The average number of occurrence of " + udfName + " operation per second "
+            + udfName + " udf",
+        invocationRate::measure);
+  }
+
+  private void add(
+      final Metrics metrics,
+      final String name,
+      final String description,
+      final BiFunction<MetricConfig, Long, Double> stat
+  ) {
+    final MetricName metricName =
+        metrics.metricName(name, FunctionLoaderUtils.UDF_METRIC_GROUP, description);
+    metrics.addMetric(metricName, new InvocationMetric(this, stat));
+  }
+
+  private synchronized double measure(
+      final MetricConfig config,
+      final long now,
+      final BiFunction<MetricConfig, Long, Double> stat
+  ) {
+    fold(config, now);
+    return stat.apply(config, now);
+  }
+
+  private void fold(final MetricConfig config, final long now) {
+    final long invocationTotal = invocations.sum();
+    final long invocationDelta = invocationTotal - foldedInvocations;
+    invocationCount.record(config, invocationDelta, now);
+    invocationRate.record(config, invocationDelta, now);
+    foldedInvocations = invocationTotal;
+
+    final long timedTotal = timedInvocations.sum();
+    final long nanosTotal = timedNanos.sum();
+    final long maxSinceFold = maxNanos.getThenReset();
+    if (timedTotal != foldedTimedInvocations || maxSinceFold != 0) {
+      timedCount.record(config, timedTotal - foldedTimedInvocations, now);
+      timedSum.record(config, nanosTotal - foldedTimedNanos, now);
+      max.record(config, maxSinceFold, now);
+      foldedTimedInvocations = timedTotal;
+      foldedTimedNanos = nanosTotal;
+    }
+  }
+
+  private static final class InvocationMetric implements Measurable {
+
+    private final UdfInvocationMetrics owner;
+    private final BiFunction<MetricConfig, Long, Double> stat;
+
+    InvocationMetric(
+        final UdfInvocationMetrics owner,
+        final BiFunction<MetricConfig, Long, Double> stat
+    ) {
+      this.owner = Objects.requireNonNull(owner, "owner");
+      this.stat = Objects.requireNonNull(stat, "stat");
+    }
+
+    @Override
+    public double measure(final MetricConfig config, final long now) {
+      return owner.measure(config, now, stat);
+    }
+  }
+}
@@ -83,7 +83,8 @@ public class UdfLoader {
     @SuppressWarnings("unchecked") final Class<? extends Kudf> udfClass = metrics
         .map(m -> (Class) UdfMetricProducer.class)
         .orElse(PluggableUdf.class);
-    FunctionLoaderUtils.addSensor(sensorName, functionName, metrics);
+    final Optional<UdfInvocationMetrics> invocationMetrics = metrics
+        .map(m -> UdfInvocationMetrics.getOrCreate(sensorName, functionName, m));
 
     final UdfFactory factory = new UdfFactory(
         udfClass,
@@ -105,7 +106,7 @@ public class UdfLoader {
         final KsqlScalarFunction function;
         try {
           function = createFunction(theClass, udfDescriptionAnnotation, udfAnnotation, method, path,
-              sensorName, udfClass
+              invocationMetrics, udfClass
           );
         } catch (final KsqlException e) {
           if (throwExceptionOnLoadFailure) {
@@ -131,7 +132,7 @@ public class UdfLoader {
       final Udf udfAnnotation,
       final Method method,
       final String path,
-      final String sensorName,
+      final Optional<UdfInvocationMetrics> invocationMetrics,
       final Class<? extends Kudf> udfClass
   ) {
     // sanity check
@@ -162,7 +163,8 @@ public class UdfLoader {
         parameters,
         FunctionName.of(functionName.toUpperCase()),
         udfClass,
-        getUdfFactory(method, udfDescriptionAnnotation, functionName, invoker, sensorName),
+        getUdfFactory(
+            method, udfDescriptionAnnotation, functionName, invoker, invocationMetrics),
         udfAnnotation.description(),
         path,
         method.isVarArgs()
@@ -174,7 +176,7 @@ public class UdfLoader {
       final UdfDescription udfDescriptionAnnotation,
       final String functionName,
       final FunctionInvoker invoker,
-      final String sensorName
+      final Optional<UdfInvocationMetrics> invocationMetrics
   ) {
     return ksqlConfig -> {
       final Object actualUdf = FunctionLoaderUtils.instantiateFunctionInstance(
@@ -184,10 +186,11 @@ public class UdfLoader {
             .configure(ksqlConfig.getKsqlFunctionsConfigProps(functionName));
       }
       final PluggableUdf theUdf = new PluggableUdf(invoker, actualUdf);
-      return metrics.<Kudf>map(m -> new UdfMetricProducer(
-          m.getSensor(sensorName),
+      return invocationMetrics.<Kudf>map(m -> new UdfMetricProducer(
+          m,
           theUdf,
-          Time.SYSTEM
+          Time.SYSTEM,
+          ksqlConfig.getInt(KsqlConfig.KSQL_UDF_METRICS_SAMPLE_INTERVAL_CONFIG)
       )).orElse(theUdf);
     };
   }
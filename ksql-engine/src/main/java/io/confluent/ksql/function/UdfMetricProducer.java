@@ -17,33 +17,47 @@ package io.confluent.ksql.function;
 
 import io.confluent.ksql.function.udf.Kudf;
 import java.util.Objects;
-import org.apache.kafka.common.metrics.Sensor;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.kafka.common.utils.Time;
 
 /**
  * Capture metrics for a given Kudf
+ *
+ * <p>Every invocation is counted, but on average only one in every {@code sampleInterval}
+ * invocations is timed.
  */
 class UdfMetricProducer implements Kudf {
 
-  private final Sensor sensor;
+  private final UdfInvocationMetrics metrics;
   private final Kudf kudf;
   private final Time time;
+  private final int sampleInterval;
 
-  UdfMetricProducer(final Sensor sensor,
+  UdfMetricProducer(final UdfInvocationMetrics metrics,
                     final Kudf kudf,
-                    final Time time) {
-    this.sensor = Objects.requireNonNull(sensor, "sensor can't be null");
+                    final Time time,
+                    final int sampleInterval) {
+    this.metrics = Objects.requireNonNull(metrics, "metrics can't be null");
     this.kudf = Objects.requireNonNull(kudf, "kudf can't be null");
     this.time = Objects.requireNonNull(time, "time can't be null");
+    if (sampleInterval < 1) {
+      throw new IllegalArgumentException("sampleInterval must be positive: " + sampleInterval);
+    }
+    this.sampleInterval = sampleInterval;
   }
 
   @Override
   public Object evaluate(final Object... args) {
+    if (sampleInterval != 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+      metrics.recordInvocation();
+      return kudf.evaluate(args);
+    }
+
     final long start = time.nanoseconds();
     try {
       return kudf.evaluate(args);
     } finally {
-      sensor.record(time.nanoseconds() - start);
+      metrics.recordInvocation(time.nanoseconds() - start);
     }
   }
 }
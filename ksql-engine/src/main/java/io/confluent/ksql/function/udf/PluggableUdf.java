@@ -17,7 +17,9 @@ package io.confluent.ksql.function.udf;
 
 import io.confluent.ksql.function.FunctionInvoker;
 import io.confluent.ksql.security.ExtensionSecurityManager;
+import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Class to allow conversion from Kudf to UdfInvoker.
@@ -25,7 +27,7 @@ import java.util.Objects;
  * to do a conversion from custom UDF -> Kudf so we can support strong
  * typing etc.
  */
-public class PluggableUdf implements Kudf {
+public class PluggableUdf implements MethodBackedUdf {
 
   private final FunctionInvoker udf;
   private final Object actualUdf;
@@ -38,6 +40,16 @@ public class PluggableUdf implements Kudf {
     this.actualUdf = Objects.requireNonNull(actualUdf, "actualUdf");
   }
 
+  @Override
+  public Object getUdf() {
+    return actualUdf;
+  }
+
+  @Override
+  public Optional<Method> getMethod() {
+    return udf.getMethod();
+  }
+
   @Override
   public Object evaluate(final Object... args) {
     try {
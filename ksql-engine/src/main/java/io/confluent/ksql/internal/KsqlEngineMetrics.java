@@ -15,9 +15,12 @@
 
 package io.confluent.ksql.internal;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.metrics.MetricCollectors;
+import io.confluent.ksql.metrics.QueryConsumption;
 import io.confluent.ksql.util.KsqlConstants;
+import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import java.io.Closeable;
 import java.util.ArrayList;
@@ -28,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.metrics.Gauge;
@@ -49,6 +53,7 @@ public class KsqlEngineMetrics implements Closeable {
 
   private final List<Sensor> sensors;
   private final List<CountMetric> countMetrics;
+  private final Map<String, List<MetricName>> queryMetrics = new ConcurrentHashMap<>();
   private final String metricGroupPrefix;
   private final String metricGroupName;
   private final Sensor messagesIn;
@@ -118,6 +123,8 @@ public class KsqlEngineMetrics implements Closeable {
   public void close() {
     sensors.forEach(sensor -> metrics.removeSensor(sensor.name()));
     countMetrics.forEach(countMetric -> metrics.removeMetric(countMetric.getMetricName()));
+    queryMetrics.values().forEach(names -> names.forEach(metrics::removeMetric));
+    queryMetrics.clear();
   }
 
   public void updateMetrics() {
@@ -150,6 +157,52 @@ public class KsqlEngineMetrics implements Closeable {
     );
 
     query.registerQueryStateListener(listener);
+
+    configureQueryConsumptionMetrics(metricsPrefix, query);
+  }
+
+  public void unregisterQuery(final QueryMetadata query) {
+    final List<MetricName> names = queryMetrics.remove(query.getQueryApplicationId());
+    if (names != null) {
+      names.forEach(metrics::removeMetric);
+    }
+  }
+
+  private void configureQueryConsumptionMetrics(
+      final String metricsPrefix,
+      final QueryMetadata query
+  ) {
+    final String queryApplicationId = query.getQueryApplicationId();
+    final Map<String, String> tags = Collections.singletonMap("query-id", queryApplicationId);
+
+    final MetricName idleTime = metrics.metricName(
+        "query-idle-time-ms",
+        metricsPrefix + "ksql-queries",
+        "The time since the given query last consumed a message.",
+        tags);
+    metrics.addMetric(idleTime, (Gauge<Long>) (config, now) ->
+        MetricCollectors.getQueryConsumption(queryApplicationId)
+            .map(QueryConsumption::idleTimeMs)
+            .orElse(0L));
+
+    final MetricName endToEndLag = metrics.metricName(
+        "query-end-to-end-lag-ms",
+        metricsPrefix + "ksql-queries",
+        "The time between a message's timestamp and the given query consuming it, "
+            + "for the most recently consumed message.",
+        tags);
+    metrics.addMetric(endToEndLag, (Gauge<Long>) (config, now) ->
+        MetricCollectors.getQueryConsumption(queryApplicationId)
+            .map(QueryConsumption::endToEndLagMs)
+            .orElse(0L));
+
+    final List<MetricName> names = new ArrayList<>(ImmutableList.of(idleTime, endToEndLag));
+    if (query instanceof PersistentQueryMetadata) {
+      ((PersistentQueryMetadata) query).getLatencyMetrics().ifPresent(latencyMetrics ->
+          names.addAll(latencyMetrics.register(metrics, metricsPrefix + "ksql-queries", tags)));
+    }
+
+    queryMetrics.put(queryApplicationId, names);
   }
 
   private void recordMessageConsumptionByQueryStats(
@@ -44,6 +44,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.connect.data.Struct;
 
 public class JoinNode extends PlanNode {
 
@@ -58,6 +59,7 @@ public class JoinNode extends PlanNode {
   private final ColumnRef leftJoinFieldName;
   private final ColumnRef rightJoinFieldName;
   private final KeyField keyField;
+  private final boolean foreignKeyJoin;
   private final Optional<WithinExpression> withinExpression;
   private final List<SelectExpression> selectExpressions;
 
@@ -83,9 +85,13 @@ public class JoinNode extends PlanNode {
     final Column leftKeyCol = validateSchemaColumn(leftJoinFieldName, left.getSchema());
     validateSchemaColumn(rightJoinFieldName, right.getSchema());
 
+    this.foreignKeyJoin = calculateSinkType(left, right) == DataSourceType.KTABLE
+        && !isKeyColumn(left, leftJoinFieldName)
+        && isKeyColumn(right, rightJoinFieldName);
+
     this.keyField = joinType == JoinType.OUTER
         ? KeyField.none() // Both source key columns can be null, hence neither can be the keyField
-        : left.getSchema().isKeyColumn(leftKeyCol.name())
+        : left.getSchema().isKeyColumn(leftKeyCol.name()) || foreignKeyJoin
             ? left.getKeyField()
             : KeyField.of(leftKeyCol.ref());
 
@@ -125,10 +131,21 @@ public class JoinNode extends PlanNode {
     return right;
   }
 
+  /**
+   * @return {@code true} if this is a table-table join of a non-key column of the left table
+   *         to the key of the right table.
+   */
+  public boolean isForeignKeyJoin() {
+    return foreignKeyJoin;
+  }
+
   @Override
   public SchemaKStream<?> buildStream(final KsqlQueryBuilder builder) {
 
-    ensureMatchingPartitionCounts(builder.getServiceContext().getTopicClient());
+    if (!foreignKeyJoin) {
+      // Foreign key joins repartition internally, so do not need co-partitioned sources:
+      ensureMatchingPartitionCounts(builder.getServiceContext().getTopicClient());
+    }
 
     final JoinerFactory joinerFactory = new JoinerFactory(
         builder,
@@ -140,7 +157,9 @@ public class JoinNode extends PlanNode {
 
   @Override
   protected int getPartitions(final KafkaTopicClient kafkaTopicClient) {
-    return right.getPartitions(kafkaTopicClient);
+    return foreignKeyJoin
+        ? left.getPartitions(kafkaTopicClient)
+        : right.getPartitions(kafkaTopicClient);
   }
 
   private void ensureMatchingPartitionCounts(final KafkaTopicClient kafkaTopicClient) {
@@ -162,6 +181,17 @@ public class JoinNode extends PlanNode {
     return node.getDataSource().getName().name();
   }
 
+  private static boolean isKeyColumn(final DataSourceNode node, final ColumnRef column) {
+    if (column.equals(ColumnRef.of(node.getAlias(), SchemaUtil.ROWKEY_NAME))) {
+      return true;
+    }
+
+    return node.getKeyField()
+        .resolve(node.getSchema())
+        .map(keyColumn -> keyColumn.ref().equals(column))
+        .orElse(false);
+  }
+
   private static Column validateSchemaColumn(final ColumnRef column, final LogicalSchema schema) {
     return schema.findValueColumn(column)
         .orElseThrow(() -> new IllegalArgumentException(
@@ -229,11 +259,7 @@ public class JoinNode extends PlanNode {
     }
 
     @SuppressWarnings("unchecked")
-    SchemaKTable<K> buildTable(
-        final PlanNode node,
-        final ColumnRef joinFieldName,
-        final SourceName tableName
-    ) {
+    <T> SchemaKTable<T> buildSourceTable(final PlanNode node) {
       final SchemaKStream<?> schemaKStream = node.buildStream(
           builder.withKsqlConfig(builder.getKsqlConfig()
               .cloneWithPropertyOverwrite(Collections.singletonMap(
@@ -244,6 +270,16 @@ public class JoinNode extends PlanNode {
         throw new RuntimeException("Expected to find a Table, found a stream instead.");
       }
 
+      return (SchemaKTable<T>) schemaKStream;
+    }
+
+    <T> SchemaKTable<T> buildTable(
+        final PlanNode node,
+        final ColumnRef joinFieldName,
+        final SourceName tableName
+    ) {
+      final SchemaKTable<T> schemaKStream = buildSourceTable(node);
+
       final Optional<Column> keyColumn = schemaKStream
           .getKeyField()
           .resolve(schemaKStream.getSchema());
@@ -258,7 +294,7 @@ public class JoinNode extends PlanNode {
           .orElse(false);
 
       if (namesMatch || joinFieldName.equals(rowKey)) {
-        return (SchemaKTable) schemaKStream;
+        return schemaKStream;
       }
 
       if (!keyColumn.isPresent()) {
@@ -425,6 +461,10 @@ public class JoinNode extends PlanNode {
             + "join again.");
       }
 
+      if (joinNode.foreignKeyJoin) {
+        return foreignKeyJoin();
+      }
+
       final SchemaKTable<K> leftTable = buildTable(
           joinNode.getLeft(), joinNode.leftJoinFieldName, joinNode.left.getAlias());
       final SchemaKTable<K> rightTable = buildTable(
@@ -453,6 +493,40 @@ public class JoinNode extends PlanNode {
           throw new KsqlException("Invalid join type encountered: " + joinNode.joinType);
       }
     }
+
+    private SchemaKTable<K> foreignKeyJoin() {
+      if (joinNode.joinType == JoinType.OUTER) {
+        throw new KsqlException("Full outer joins between tables are only supported on the "
+            + "key columns of both tables. "
+            + joinNode.leftJoinFieldName.toString(FormatOptions.noEscape())
+            + " is not the key column of " + joinNode.left.getAlias().name() + ".");
+      }
+
+      if (joinNode.right.getDataSource().getKsqlTopic().getKeyFormat().isWindowed()) {
+        throw new KsqlException("Joins on a foreign key are not supported for windowed tables. "
+            + joinNode.right.getAlias().name() + " is windowed.");
+      }
+
+      final SchemaKTable<K> leftTable = buildSourceTable(joinNode.getLeft());
+      final SchemaKTable<Struct> rightTable = buildTable(
+          joinNode.getRight(), joinNode.rightJoinFieldName, joinNode.right.getAlias());
+
+      if (joinNode.joinType == JoinType.LEFT) {
+        return leftTable.foreignKeyLeftJoin(
+            rightTable,
+            joinNode.leftJoinFieldName,
+            joinNode.schema,
+            joinNode.keyField,
+            contextStacker);
+      }
+
+      return leftTable.foreignKeyJoin(
+          rightTable,
+          joinNode.leftJoinFieldName,
+          joinNode.schema,
+          joinNode.keyField,
+          contextStacker);
+    }
   }
 
   private static DataSourceType calculateSinkType(
@@ -18,17 +18,24 @@ package io.confluent.ksql.query;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.errors.ProductionExceptionHandlerUtil;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.materialization.MaterializationInfo;
 import io.confluent.ksql.execution.materialization.MaterializationInfo.Builder;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics;
 import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.streams.KSPlanBuilder;
+import io.confluent.ksql.execution.streams.RowPipelineBuilder;
 import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationProvider;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterialization;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory;
+import io.confluent.ksql.execution.util.SinkSchemaUtil;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.NoopProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
@@ -50,6 +57,7 @@ import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.TransientQueryMetadata;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -59,14 +67,18 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.Topology.AutoOffsetReset;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KTable;
 
@@ -182,6 +194,212 @@ public final class QueryExecutor {
     );
   }
 
+  /**
+   * Build a transient query that reads its rows from a scan shared with other transient queries.
+   *
+   * <p>Only queries that filter and project a stream, reading from the latest offset, can share
+   * a scan.
+   *
+   * @return the query, or empty if sharing is disabled or the query does not support it.
+   */
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  public Optional<TransientQueryMetadata> buildSharedTransientQuery(
+      final SharedScans sharedScans,
+      final String statementText,
+      final QueryId queryId,
+      final Set<SourceName> sources,
+      final ExecutionStep<?> physicalPlan,
+      final String planSummary,
+      final LogicalSchema schema,
+      final OptionalInt limit
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_SHARED_SCAN_ENABLE_CONFIG)) {
+      return Optional.empty();
+    }
+
+    final Optional<StreamSource> source = RowPipelineBuilder.getSource(physicalPlan)
+        .filter(s -> s.getOffsetReset().equals(Optional.of(AutoOffsetReset.LATEST)));
+    if (!source.isPresent()) {
+      return Optional.empty();
+    }
+
+    final TransientQueryQueue queue = new TransientQueryQueue(limit);
+    final SharedScan.Subscriber subscriber = new SharedScan.Subscriber(
+        RowPipelineBuilder.build(physicalPlan, queryBuilder(queryId)),
+        queue.populator()
+    );
+
+    final SharedScan scan = sharedScans.acquire(
+        serviceContext,
+        source.get(),
+        overrides,
+        () -> buildSharedScan(source.get(), queryId)
+    );
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        queryId
+    ));
+
+    return Optional.of(new SharedScanQueryMetadata(
+        statementText,
+        schema,
+        sources,
+        planSummary,
+        applicationId,
+        overrides,
+        queryCloseCallback,
+        sharedScans,
+        scan,
+        subscriber,
+        queue
+    ));
+  }
+
+  /**
+   * Build a transient query that is fed the updates to a materialized table by the query that
+   * materializes it, rather than reading the table's topic.
+   *
+   * <p>Only queries that project a table filtered to a single ROWKEY, which is stored on this
+   * node, can subscribe. Queries reading from the earliest offset first receive the key's current
+   * row from the table's state store.
+   *
+   * @return the query, or empty if subscriptions are disabled or the query does not support it.
+   */
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  public Optional<TransientQueryMetadata> buildTableSubscription(
+      final Collection<PersistentQueryMetadata> persistentQueries,
+      final String statementText,
+      final QueryId queryId,
+      final Set<SourceName> sources,
+      final ExecutionStep<?> physicalPlan,
+      final String planSummary,
+      final LogicalSchema schema,
+      final OptionalInt limit
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    if (!subscriptionsEnabled()) {
+      return Optional.empty();
+    }
+
+    final Optional<StreamSource> source = RowPipelineBuilder.getTableSource(physicalPlan);
+    if (!source.isPresent()) {
+      return Optional.empty();
+    }
+
+    final Optional<String> rowKey = RowPipelineBuilder.getTableFilter(physicalPlan)
+        .flatMap(TableChangeFeed::getSelectedRowKey);
+    if (!rowKey.isPresent()) {
+      return Optional.empty();
+    }
+
+    final Optional<PersistentQueryMetadata> materializingQuery = persistentQueries.stream()
+        .filter(query -> query.getChangeFeed().isPresent())
+        .filter(query -> query.getResultTopic().getKafkaTopicName()
+            .equals(source.get().getTopicName()))
+        .findFirst();
+    if (!materializingQuery.isPresent()) {
+      return Optional.empty();
+    }
+
+    final Optional<Materialization> materialization = materializingQuery.get()
+        .getMaterialization(queryId, new QueryContext.Stacker());
+    if (!materialization.isPresent()) {
+      return Optional.empty();
+    }
+
+    final Schema keySchema = source.get().getSourceSchema().keyConnectSchema();
+    if (keySchema.fields().size() != 1
+        || keySchema.fields().get(0).schema().type() != Schema.Type.STRING) {
+      return Optional.empty();
+    }
+
+    final Struct key = new Struct(keySchema).put(keySchema.fields().get(0), rowKey.get());
+    final boolean local = materialization.get().locator().locate(key)
+        .map(KsqlNode::isLocal)
+        .orElse(false);
+    if (!local) {
+      return Optional.empty();
+    }
+
+    final OptionalInt partition = materialization.get().locator().partition(key);
+    if (!partition.isPresent()) {
+      return Optional.empty();
+    }
+
+    final boolean fromEarliest =
+        source.get().getOffsetReset().equals(Optional.of(AutoOffsetReset.EARLIEST));
+    if (fromEarliest && !materialization.get().schema().withoutAlias().value()
+        .equals(source.get().getSourceSchema().withoutAlias().value())) {
+      return Optional.empty();
+    }
+
+    final Supplier<Optional<KeyValue<Struct, GenericRow>>> snapshot = fromEarliest
+        ? () -> materialization.get().nonWindowed().get(key).map(row -> new KeyValue<>(
+            key,
+            TableChangeFeed.sourceRow(
+                System.currentTimeMillis(),
+                rowKey.get(),
+                row.value().getColumns()
+            )))
+        : Optional::empty;
+
+    final TransientQueryQueue queue = new TransientQueryQueue(limit);
+    final TableChangeFeed.Subscription subscription = new TableChangeFeed.Subscription(
+        rowKey.get(),
+        partition.getAsInt(),
+        RowPipelineBuilder.buildTable(physicalPlan, queryBuilder(queryId)),
+        queue.populator()
+    );
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        queryId
+    ));
+
+    return Optional.of(new TableSubscriptionQueryMetadata(
+        statementText,
+        schema,
+        sources,
+        planSummary,
+        applicationId,
+        overrides,
+        queryCloseCallback,
+        materializingQuery.get(),
+        materializingQuery.get().getChangeFeed().get(),
+        subscription,
+        snapshot,
+        queue
+    ));
+  }
+
+  private SharedScan buildSharedScan(final StreamSource source, final QueryId queryId) {
+    final QueryId scanId = new QueryId("SHARED_" + queryId);
+    final KStreamHolder<Struct> stream = source.build(new KSPlanBuilder(queryBuilder(scanId)));
+
+    final SharedScan.Dispatcher dispatcher = new SharedScan.Dispatcher();
+    stream.getStream().foreach(dispatcher);
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        scanId
+    ));
+    final Map<String, Object> streamsProperties = buildStreamsProperties(applicationId, scanId);
+    final KafkaStreams streams =
+        kafkaStreamsBuilder.buildKafkaStreams(streamsBuilder, streamsProperties);
+    return new SharedScan(
+        dispatcher,
+        streams,
+        applicationId,
+        streamsBuilder.build(),
+        streamsProperties
+    );
+  }
+
   private static Optional<MaterializationInfo> getMaterializationInfo(final Object result) {
     if (result instanceof KTableHolder) {
       return ((KTableHolder<?>) result).getMaterializationBuilder().map(Builder::build);
@@ -197,9 +415,13 @@ public final class QueryExecutor {
       final ExecutionStep<?> physicalPlan,
       final String planSummary
   ) {
-    final KsqlQueryBuilder ksqlQueryBuilder = queryBuilder(queryId);
+    final Optional<QueryLatencyMetrics> latencyMetrics = QueryLatencyMetrics.from(ksqlConfig);
+    final KsqlQueryBuilder ksqlQueryBuilder = queryBuilder(queryId)
+        .withLatencyMetrics(latencyMetrics);
     final PlanBuilder planBuilder = new KSPlanBuilder(ksqlQueryBuilder);
     final Object result = physicalPlan.build(planBuilder);
+    final Optional<TableChangeFeed> changeFeed =
+        buildChangeFeed(result, physicalPlan, sinkDataSource);
     final String persistanceQueryPrefix =
         ksqlConfig.getString(KsqlConfig.KSQL_PERSISTENT_QUERY_NAME_PREFIX_CONFIG);
     final String applicationId = getQueryApplicationId(
@@ -233,6 +455,8 @@ public final class QueryExecutor {
         queryId,
         sinkDataSource.getDataSourceType(),
         materializationBuilder,
+        changeFeed,
+        latencyMetrics,
         applicationId,
         sinkDataSource.getKsqlTopic(),
         topology,
@@ -243,6 +467,33 @@ public final class QueryExecutor {
     );
   }
 
+  @SuppressWarnings("unchecked")
+  private Optional<TableChangeFeed> buildChangeFeed(
+      final Object result,
+      final ExecutionStep<?> physicalPlan,
+      final DataSource<?> sinkDataSource
+  ) {
+    if (!subscriptionsEnabled()
+        || !getMaterializationInfo(result).isPresent()
+        || sinkDataSource.getKsqlTopic().getKeyFormat().isWindowed()) {
+      return Optional.empty();
+    }
+
+    final TableChangeFeed feed = new TableChangeFeed(
+        sinkDataSource.getSchema(),
+        SinkSchemaUtil.implicitAndKeyColumnIndexesInValueSchema(physicalPlan)
+    );
+
+    ((KTableHolder<Struct>) result).getTable().toStream().process(feed);
+    return Optional.of(feed);
+  }
+
+  private boolean subscriptionsEnabled() {
+    return ksqlConfig.getBoolean(
+        KsqlConfig.KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_CONFIG
+    );
+  }
+
   private TransientQueryQueue buildTransientQueryQueue(
       final QueryId queryId,
       final ExecutionStep<?> physicalPlan,
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.query.TransientQueryQueue.QueuePopulator;
+import io.confluent.ksql.util.KafkaStreamsUncaughtExceptionHandler;
+import io.confluent.ksql.util.KsqlException;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.kstream.ForeachAction;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+
+/**
+ * A single streams app reading a source, whose rows are fed to any number of transient queries.
+ *
+ * <p>Each subscribed query applies its own filter and projection to the rows read. The streams
+ * app is started when the first query subscribes.
+ *
+ * <p>The scan never waits on a subscriber: a subscriber that fails, or whose queue is full, is
+ * detached from the scan and its query failed, leaving the other subscribers unaffected.
+ */
+final class SharedScan {
+
+  private final Dispatcher dispatcher;
+  private final KafkaStreams kafkaStreams;
+  private final String applicationId;
+  private final Topology topology;
+  private final Map<String, Object> streamsProperties;
+  private boolean started;
+
+  SharedScan(
+      final Dispatcher dispatcher,
+      final KafkaStreams kafkaStreams,
+      final String applicationId,
+      final Topology topology,
+      final Map<String, Object> streamsProperties
+  ) {
+    this.dispatcher = Objects.requireNonNull(dispatcher, "dispatcher");
+    this.kafkaStreams = Objects.requireNonNull(kafkaStreams, "kafkaStreams");
+    this.applicationId = Objects.requireNonNull(applicationId, "applicationId");
+    this.topology = Objects.requireNonNull(topology, "topology");
+    this.streamsProperties = Objects.requireNonNull(streamsProperties, "streamsProperties");
+
+    kafkaStreams.setUncaughtExceptionHandler(dispatcher);
+  }
+
+  KafkaStreams getKafkaStreams() {
+    return kafkaStreams;
+  }
+
+  String getApplicationId() {
+    return applicationId;
+  }
+
+  Topology getTopology() {
+    return topology;
+  }
+
+  Map<String, Object> getStreamsProperties() {
+    return streamsProperties;
+  }
+
+  /**
+   * @return {@code false} once the streams app has failed or is shutting down.
+   */
+  boolean isUsable() {
+    final State state = kafkaStreams.state();
+    return state != State.ERROR
+        && state != State.PENDING_SHUTDOWN
+        && state != State.NOT_RUNNING;
+  }
+
+  /**
+   * Add a subscriber, starting the streams app if it is not already running.
+   *
+   * <p>Rows read before the subscriber was added are not seen by the subscriber.
+   */
+  synchronized void subscribe(final Subscriber subscriber) {
+    dispatcher.subscribers.add(subscriber);
+
+    if (!started) {
+      started = true;
+      kafkaStreams.start();
+    }
+  }
+
+  void unsubscribe(final Subscriber subscriber) {
+    dispatcher.subscribers.remove(subscriber);
+  }
+
+  void close() {
+    kafkaStreams.close();
+    kafkaStreams.cleanUp();
+  }
+
+  /**
+   * Passes each row read to the current subscribers.
+   */
+  static final class Dispatcher
+      implements ForeachAction<Struct, GenericRow>, UncaughtExceptionHandler {
+
+    private final UncaughtExceptionHandler logger = new KafkaStreamsUncaughtExceptionHandler();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void apply(final Struct key, final GenericRow row) {
+      if (row == null) {
+        return;
+      }
+
+      for (final Subscriber subscriber : subscribers) {
+        if (!subscriber.apply(key, row)) {
+          subscribers.remove(subscriber);
+        }
+      }
+    }
+
+    @Override
+    public void uncaughtException(final Thread t, final Throwable e) {
+      logger.uncaughtException(t, e);
+
+      for (final Subscriber subscriber : subscribers) {
+        subscriber.handler.uncaughtException(t, e);
+      }
+    }
+  }
+
+  /**
+   * A query's view of the scan: its filter and projection, and where to send its rows.
+   */
+  static final class Subscriber {
+
+    private final ValueMapperWithKey<Struct, GenericRow, GenericRow> pipeline;
+    private final QueuePopulator<Struct> sink;
+    private volatile UncaughtExceptionHandler handler = (t, e) -> { };
+    private volatile boolean failed;
+
+    Subscriber(
+        final ValueMapperWithKey<Struct, GenericRow, GenericRow> pipeline,
+        final QueuePopulator<Struct> sink
+    ) {
+      this.pipeline = Objects.requireNonNull(pipeline, "pipeline");
+      this.sink = Objects.requireNonNull(sink, "sink");
+    }
+
+    void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+      this.handler = Objects.requireNonNull(handler, "handler");
+    }
+
+    /**
+     * @return {@code false} if the subscriber has failed and should be detached from the scan.
+     */
+    boolean apply(final Struct key, final GenericRow row) {
+      if (failed) {
+        return false;
+      }
+
+      try {
+        // Never block the scan, and so every other subscriber, on a slow client:
+        if (sink.offer(key, pipeline.apply(key, row))) {
+          return true;
+        }
+
+        fail(new KsqlException("The push query could not keep up with the rows read."));
+      } catch (final RuntimeException e) {
+        fail(e);
+      }
+      return false;
+    }
+
+    private synchronized void fail(final Throwable e) {
+      if (failed) {
+        return;
+      }
+
+      failed = true;
+      handler.uncaughtException(Thread.currentThread(), e);
+    }
+  }
+}
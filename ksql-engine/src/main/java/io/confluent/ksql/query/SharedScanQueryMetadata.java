@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.SharedScan.Subscriber;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.QueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.kafka.streams.KafkaStreams.State;
+
+/**
+ * Metadata of a transient query that reads its rows from a {@link SharedScan}.
+ *
+ * <p>Starting and closing the query subscribes to, and unsubscribes from, the scan. The scan
+ * itself is closed once no queries are using it.
+ */
+final class SharedScanQueryMetadata extends TransientQueryMetadata {
+
+  private final SharedScans sharedScans;
+  private final SharedScan scan;
+  private final Subscriber subscriber;
+  private volatile boolean closed;
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  SharedScanQueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final String queryApplicationId,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final SharedScans sharedScans,
+      final SharedScan scan,
+      final Subscriber subscriber,
+      final TransientQueryQueue queue
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        scan.getKafkaStreams(),
+        logicalSchema,
+        sourceNames,
+        queue::setLimitHandler,
+        executionPlan,
+        queue.getQueue(),
+        queryApplicationId,
+        scan.getTopology(),
+        scan.getStreamsProperties(),
+        overriddenProperties,
+        closeCallback
+    );
+    this.sharedScans = Objects.requireNonNull(sharedScans, "sharedScans");
+    this.scan = Objects.requireNonNull(scan, "scan");
+    this.subscriber = Objects.requireNonNull(subscriber, "subscriber");
+  }
+
+  @Override
+  public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    subscriber.setUncaughtExceptionHandler(handler);
+  }
+
+  @Override
+  public String getState() {
+    return closed
+        ? State.NOT_RUNNING.toString()
+        : super.getState();
+  }
+
+  @Override
+  protected void startKafkaStreams(final Optional<QueryStateListener> stateListener) {
+    scan.subscribe(subscriber);
+  }
+
+  @Override
+  protected void closeKafkaStreams() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    scan.unsubscribe(subscriber);
+    sharedScans.release(scan);
+  }
+}
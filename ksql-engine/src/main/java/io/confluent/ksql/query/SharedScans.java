@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.services.ServiceContext;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The shared scans in use by transient queries, keyed on the service context they were executed
+ * with, the source they read and the property overrides they were started with.
+ *
+ * <p>A scan reads with the Kafka clients of the service context that created it, so it is only
+ * shared between queries executed with that same context. As each of those queries is closed
+ * before its context is, the scan never outlives the context whose credentials it uses.
+ *
+ * <p>A scan is closed once the last query using it is closed. A scan that has failed is not
+ * handed out again: the next query for the same source gets a new scan.
+ */
+public final class SharedScans {
+
+  private final Map<Key, SharedScan> scans = new HashMap<>();
+  private final Map<SharedScan, Integer> references = new IdentityHashMap<>();
+
+  synchronized SharedScan acquire(
+      final ServiceContext serviceContext,
+      final StreamSource source,
+      final Map<String, Object> overrides,
+      final Supplier<SharedScan> factory
+  ) {
+    final Key key = new Key(serviceContext, source, overrides);
+
+    SharedScan scan = scans.get(key);
+    if (scan == null || !scan.isUsable()) {
+      scan = factory.get();
+      scans.put(key, scan);
+    }
+
+    references.merge(scan, 1, Integer::sum);
+    return scan;
+  }
+
+  void release(final SharedScan scan) {
+    synchronized (this) {
+      final int remaining = references.merge(scan, -1, Integer::sum);
+      if (remaining > 0) {
+        return;
+      }
+
+      references.remove(scan);
+      scans.values().remove(scan);
+    }
+
+    scan.close();
+  }
+
+  synchronized int size() {
+    return references.size();
+  }
+
+  private static final class Key {
+
+    private final ServiceContext serviceContext;
+    private final StreamSource source;
+    private final Map<String, Object> overrides;
+
+    Key(
+        final ServiceContext serviceContext,
+        final StreamSource source,
+        final Map<String, Object> overrides
+    ) {
+      this.serviceContext = Objects.requireNonNull(serviceContext, "serviceContext");
+      this.source = Objects.requireNonNull(source, "source");
+      this.overrides = ImmutableMap.copyOf(Objects.requireNonNull(overrides, "overrides"));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key that = (Key) o;
+      // Service contexts are compared by identity: each request gets its own.
+      return serviceContext == that.serviceContext
+          && Objects.equals(source, that.source)
+          && Objects.equals(overrides, that.overrides);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(serviceContext), source, overrides);
+    }
+  }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.query.TransientQueryQueue.QueuePopulator;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.SchemaUtil;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+import org.apache.kafka.streams.processor.Processor;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.ProcessorSupplier;
+
+/**
+ * Passes the updates made to a materialized table, by the query that materializes it, to the push
+ * queries subscribed to them.
+ *
+ * <p>Rows are passed in the layout the table's source step produces when reading them back from
+ * the table's topic, i.e. ROWTIME and ROWKEY followed by the value columns. Subscriptions are
+ * keyed on ROWKEY, so each update is only passed to the push queries selecting its key.
+ */
+public final class TableChangeFeed implements ProcessorSupplier<Struct, GenericRow> {
+
+  private final Field keyField;
+  private final Set<Integer> implicitAndKeyColumnIndexes;
+  private final ConcurrentMap<String, List<Subscription>> subscriptions =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @param schema the schema of the table.
+   * @param implicitAndKeyColumnIndexes the indexes of the columns in the materializing query's
+   *     rows that are not written to the table's topic.
+   */
+  TableChangeFeed(final LogicalSchema schema, final Set<Integer> implicitAndKeyColumnIndexes) {
+    final List<Field> keyFields = schema.keyConnectSchema().fields();
+    if (keyFields.size() != 1) {
+      throw new IllegalArgumentException("Only single key fields are currently supported");
+    }
+
+    this.keyField = keyFields.get(0);
+    this.implicitAndKeyColumnIndexes =
+        Objects.requireNonNull(implicitAndKeyColumnIndexes, "implicitAndKeyColumnIndexes");
+  }
+
+  /**
+   * Get the single ROWKEY the supplied {@code filter} selects, if any.
+   *
+   * <p>Rows that do not have the returned key will never pass the filter.
+   *
+   * @param filter the filter expression.
+   * @return the key, or empty if the filter may pass rows with different keys.
+   */
+  static Optional<String> getSelectedRowKey(final Expression filter) {
+    if (filter instanceof LogicalBinaryExpression) {
+      final LogicalBinaryExpression binary = (LogicalBinaryExpression) filter;
+      if (binary.getType() != LogicalBinaryExpression.Type.AND) {
+        return Optional.empty();
+      }
+
+      final Optional<String> left = getSelectedRowKey(binary.getLeft());
+      return left.isPresent()
+          ? left
+          : getSelectedRowKey(binary.getRight());
+    }
+
+    if (!(filter instanceof ComparisonExpression)) {
+      return Optional.empty();
+    }
+
+    final ComparisonExpression comparison = (ComparisonExpression) filter;
+    if (comparison.getType() != ComparisonExpression.Type.EQUAL) {
+      return Optional.empty();
+    }
+
+    final Optional<String> key = getSelectedRowKey(comparison.getLeft(), comparison.getRight());
+    return key.isPresent()
+        ? key
+        : getSelectedRowKey(comparison.getRight(), comparison.getLeft());
+  }
+
+  private static Optional<String> getSelectedRowKey(
+      final Expression column,
+      final Expression value
+  ) {
+    if (!(column instanceof ColumnReferenceExp) || !(value instanceof StringLiteral)) {
+      return Optional.empty();
+    }
+
+    final ColumnReferenceExp ref = (ColumnReferenceExp) column;
+    if (!ref.getReference().name().equals(SchemaUtil.ROWKEY_NAME)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(((StringLiteral) value).getValue());
+  }
+
+  /**
+   * Subscribe to the updates to the subscription's key.
+   *
+   * @param subscription the subscription.
+   * @param snapshot supplies the key's current row, if any, once subscribed.
+   */
+  void subscribe(
+      final Subscription subscription,
+      final Supplier<Optional<KeyValue<Struct, GenericRow>>> snapshot
+  ) {
+    subscriptions.compute(subscription.rowKey, (key, existing) -> {
+      final List<Subscription> list = existing == null
+          ? new CopyOnWriteArrayList<>()
+          : existing;
+
+      list.add(subscription);
+      return list;
+    });
+
+    subscription.start(this, snapshot);
+  }
+
+  void unsubscribe(final Subscription subscription) {
+    subscriptions.computeIfPresent(subscription.rowKey, (key, existing) -> {
+      existing.remove(subscription);
+      return existing.isEmpty() ? null : existing;
+    });
+  }
+
+  /**
+   * Build the row the table's source step would produce for a row of the table.
+   *
+   * @param rowTime the row's ROWTIME.
+   * @param rowKey the row's ROWKEY.
+   * @param values the value columns of the row, as written to the table's topic.
+   * @return the row.
+   */
+  static GenericRow sourceRow(final long rowTime, final String rowKey, final List<?> values) {
+    final List<Object> columns = new ArrayList<>(values.size() + 2);
+    columns.add(rowTime);
+    columns.add(rowKey);
+    columns.addAll(values);
+    return new GenericRow(columns);
+  }
+
+  @Override
+  public Processor<Struct, GenericRow> get() {
+    return new FeedProcessor();
+  }
+
+  private String getRowKey(final Struct key) {
+    if (key == null) {
+      return null;
+    }
+
+    final Object k = key.get(keyField);
+    return k == null
+        ? null
+        : k.toString();
+  }
+
+  private List<Object> getValues(final GenericRow row) {
+    final List<Object> columns = row.getColumns();
+    final List<Object> values = new ArrayList<>(columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      if (!implicitAndKeyColumnIndexes.contains(i)) {
+        values.add(columns.get(i));
+      }
+    }
+    return values;
+  }
+
+  private final class FeedProcessor implements Processor<Struct, GenericRow> {
+
+    private ProcessorContext processorContext;
+
+    @Override
+    public void init(final ProcessorContext processorContext) {
+      this.processorContext = Objects.requireNonNull(processorContext, "processorContext");
+    }
+
+    @Override
+    public void process(final Struct key, final GenericRow row) {
+      if (row == null || subscriptions.isEmpty()) {
+        return;
+      }
+
+      final String rowKey = getRowKey(key);
+      if (rowKey == null) {
+        return;
+      }
+
+      final List<Subscription> subscribers = subscriptions.get(rowKey);
+      if (subscribers == null) {
+        return;
+      }
+
+      final GenericRow sourceRow = sourceRow(processorContext.timestamp(), rowKey, getValues(row));
+      for (final Subscription subscription : subscribers) {
+        subscription.apply(key, sourceRow);
+      }
+    }
+
+    @Override
+    public void close() {
+      // The task may be moving to another node, taking its keys' updates with it:
+      final int partition = processorContext.taskId().partition;
+      for (final List<Subscription> subscribers : subscriptions.values()) {
+        for (final Subscription subscription : subscribers) {
+          if (subscription.partition != partition) {
+            continue;
+          }
+
+          subscription.fail(new KsqlException(
+              "The query materializing the table was rebalanced or stopped. "
+                  + "Please re-issue the push query."));
+        }
+      }
+    }
+  }
+
+  /**
+   * A push query's subscription: its key, filter and projection, and where to send its rows.
+   *
+   * <p>Updates received while the subscription is starting are held back until the snapshot of
+   * the key's current row has been sent. The snapshot is taken without holding the subscription's
+   * lock, so that the materializing query never waits on it.
+   */
+  static final class Subscription {
+
+    private final String rowKey;
+    private final int partition;
+    private final ValueMapperWithKey<Struct, GenericRow, GenericRow> pipeline;
+    private final QueuePopulator<Struct> sink;
+    private final Queue<KeyValue<Struct, GenericRow>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private UncaughtExceptionHandler handler = (t, e) -> { };
+    private volatile TableChangeFeed feed;
+    private volatile boolean started;
+    private volatile Throwable failure;
+
+    /**
+     * @param rowKey the ROWKEY subscribed to.
+     * @param partition the partition of the materializing query's store that holds the key.
+     * @param pipeline the push query's filter and projection.
+     * @param sink where to send the push query's rows.
+     */
+    Subscription(
+        final String rowKey,
+        final int partition,
+        final ValueMapperWithKey<Struct, GenericRow, GenericRow> pipeline,
+        final QueuePopulator<Struct> sink
+    ) {
+      this.rowKey = Objects.requireNonNull(rowKey, "rowKey");
+      this.partition = partition;
+      this.pipeline = Objects.requireNonNull(pipeline, "pipeline");
+      this.sink = Objects.requireNonNull(sink, "sink");
+    }
+
+    synchronized void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+      this.handler = Objects.requireNonNull(handler, "handler");
+
+      if (failure != null) {
+        handler.uncaughtException(Thread.currentThread(), failure);
+      }
+    }
+
+    void apply(final Struct key, final GenericRow row) {
+      if (!started) {
+        if (pendingCount.incrementAndGet() > TransientQueryQueue.BLOCKING_QUEUE_CAPACITY) {
+          fail(new KsqlException("Too many updates to the key while subscribing."));
+          return;
+        }
+
+        pending.add(new KeyValue<>(key, row));
+
+        if (!started) {
+          // Sent by start(), once the snapshot has been sent:
+          return;
+        }
+
+        synchronized (this) {
+          sendPending();
+        }
+        return;
+      }
+
+      synchronized (this) {
+        sendPending();
+        send(key, row);
+      }
+    }
+
+    synchronized void fail(final Throwable e) {
+      if (failure != null) {
+        return;
+      }
+
+      failure = e;
+      if (feed != null) {
+        feed.unsubscribe(this);
+      }
+
+      handler.uncaughtException(Thread.currentThread(), e);
+    }
+
+    private void start(
+        final TableChangeFeed feed,
+        final Supplier<Optional<KeyValue<Struct, GenericRow>>> snapshot
+    ) {
+      this.feed = feed;
+
+      if (failure != null) {
+        feed.unsubscribe(this);
+        return;
+      }
+
+      final Optional<KeyValue<Struct, GenericRow>> current;
+      try {
+        current = snapshot.get();
+      } catch (final RuntimeException e) {
+        fail(e);
+        return;
+      }
+
+      synchronized (this) {
+        current.ifPresent(kv -> send(kv.key, kv.value));
+
+        // Any update held back after this is sent by apply(), any before it is sent here:
+        started = true;
+        sendPending();
+      }
+    }
+
+    private void sendPending() {
+      KeyValue<Struct, GenericRow> kv;
+      while ((kv = pending.poll()) != null) {
+        pendingCount.decrementAndGet();
+        send(kv.key, kv.value);
+      }
+    }
+
+    private void send(final Struct key, final GenericRow row) {
+      if (failure != null) {
+        return;
+      }
+
+      try {
+        // Never block the materializing query on a slow client:
+        if (!sink.offer(key, pipeline.apply(key, row))) {
+          fail(new KsqlException("The push query could not keep up with the updates to the key."));
+        }
+      } catch (final RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+}
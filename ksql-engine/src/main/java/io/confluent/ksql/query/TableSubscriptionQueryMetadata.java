@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.TableChangeFeed.Subscription;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.util.PersistentQueryMetadata;
+import io.confluent.ksql.util.QueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.KeyValue;
+
+/**
+ * Metadata of a transient query that is fed its rows by the {@link TableChangeFeed} of the
+ * persistent query materializing the table it reads.
+ *
+ * <p>Starting and closing the query subscribes to, and unsubscribes from, the feed. The state of
+ * the query is that of the materializing query.
+ */
+final class TableSubscriptionQueryMetadata extends TransientQueryMetadata {
+
+  private final TableChangeFeed feed;
+  private final Subscription subscription;
+  private final Supplier<Optional<KeyValue<Struct, GenericRow>>> snapshot;
+  private volatile boolean closed;
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  TableSubscriptionQueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final String queryApplicationId,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final PersistentQueryMetadata materializingQuery,
+      final TableChangeFeed feed,
+      final Subscription subscription,
+      final Supplier<Optional<KeyValue<Struct, GenericRow>>> snapshot,
+      final TransientQueryQueue queue
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        materializingQuery.getKafkaStreams(),
+        logicalSchema,
+        sourceNames,
+        queue::setLimitHandler,
+        executionPlan,
+        queue.getQueue(),
+        queryApplicationId,
+        materializingQuery.getTopology(),
+        materializingQuery.getStreamsProperties(),
+        overriddenProperties,
+        closeCallback
+    );
+    this.feed = Objects.requireNonNull(feed, "feed");
+    this.subscription = Objects.requireNonNull(subscription, "subscription");
+    this.snapshot = Objects.requireNonNull(snapshot, "snapshot");
+  }
+
+  @Override
+  public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    subscription.setUncaughtExceptionHandler(handler);
+  }
+
+  @Override
+  public String getState() {
+    return closed
+        ? State.NOT_RUNNING.toString()
+        : super.getState();
+  }
+
+  @Override
+  protected void startKafkaStreams(final Optional<QueryStateListener> stateListener) {
+    feed.subscribe(subscription, snapshot);
+  }
+
+  @Override
+  protected void closeKafkaStreams() {
+    closed = true;
+    feed.unsubscribe(subscription);
+  }
+}
@@ -31,16 +31,26 @@ import org.apache.kafka.streams.kstream.Windowed;
  */
 class TransientQueryQueue {
 
+  static final int BLOCKING_QUEUE_CAPACITY = 100;
+
   private final LimitQueueCallback callback;
   private final BlockingQueue<KeyValue<String, GenericRow>> rowQueue =
-      new LinkedBlockingQueue<>(100);
+      new LinkedBlockingQueue<>(BLOCKING_QUEUE_CAPACITY);
 
   TransientQueryQueue(final KStream<?, GenericRow> kstream, final OptionalInt limit) {
+    this(limit);
+
+    kstream.foreach(populator());
+  }
+
+  TransientQueryQueue(final OptionalInt limit) {
     this.callback = limit.isPresent()
         ? new LimitedQueueCallback(limit.getAsInt())
         : new UnlimitedQueueCallback();
+  }
 
-    kstream.foreach(new TransientQueryQueue.QueuePopulator<>(rowQueue, callback));
+  <K> QueuePopulator<K> populator() {
+    return new QueuePopulator<>(rowQueue, callback);
   }
 
   BlockingQueue<KeyValue<String, GenericRow>> getQueue() {
@@ -85,6 +95,28 @@ class TransientQueryQueue {
       }
     }
 
+    /**
+     * Queue the row without waiting for space in the queue.
+     *
+     * @return {@code false} if the queue was full, {@code true} otherwise.
+     */
+    boolean offer(final K key, final GenericRow row) {
+      if (row == null) {
+        return true;
+      }
+
+      if (!callback.shouldQueue()) {
+        return true;
+      }
+
+      if (!queue.offer(new KeyValue<>(getStringKey(key), row))) {
+        return false;
+      }
+
+      callback.onQueued();
+      return true;
+    }
+
     private String getStringKey(final K key) {
       if (key instanceof Windowed) {
         final Windowed windowedKey = (Windowed) key;
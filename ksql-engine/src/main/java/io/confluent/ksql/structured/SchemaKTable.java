@@ -28,6 +28,7 @@ import io.confluent.ksql.execution.plan.TableFilter;
 import io.confluent.ksql.execution.plan.TableGroupBy;
 import io.confluent.ksql.execution.plan.TableMapValues;
 import io.confluent.ksql.execution.plan.TableSink;
+import io.confluent.ksql.execution.plan.TableTableForeignKeyJoin;
 import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.streams.ExecutionStepFactory;
 import io.confluent.ksql.function.FunctionRegistry;
@@ -44,6 +45,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.kafka.connect.data.Struct;
 
 // CHECKSTYLE_RULES.OFF: ClassDataAbstractionCoupling
 public class SchemaKTable<K> extends SchemaKStream<K> {
@@ -253,4 +255,53 @@ public class SchemaKTable<K> extends SchemaKStream<K> {
         functionRegistry
     );
   }
+
+  public SchemaKTable<K> foreignKeyJoin(
+      final SchemaKTable<Struct> schemaKTable,
+      final ColumnRef leftJoinColumn,
+      final LogicalSchema joinSchema,
+      final KeyField keyField,
+      final QueryContext.Stacker contextStacker
+  ) {
+    return foreignKeyJoin(
+        JoinType.INNER, schemaKTable, leftJoinColumn, joinSchema, keyField, contextStacker);
+  }
+
+  public SchemaKTable<K> foreignKeyLeftJoin(
+      final SchemaKTable<Struct> schemaKTable,
+      final ColumnRef leftJoinColumn,
+      final LogicalSchema joinSchema,
+      final KeyField keyField,
+      final QueryContext.Stacker contextStacker
+  ) {
+    return foreignKeyJoin(
+        JoinType.LEFT, schemaKTable, leftJoinColumn, joinSchema, keyField, contextStacker);
+  }
+
+  private SchemaKTable<K> foreignKeyJoin(
+      final JoinType joinType,
+      final SchemaKTable<Struct> schemaKTable,
+      final ColumnRef leftJoinColumn,
+      final LogicalSchema joinSchema,
+      final KeyField keyField,
+      final QueryContext.Stacker contextStacker
+  ) {
+    final TableTableForeignKeyJoin<K> step = ExecutionStepFactory.tableTableForeignKeyJoin(
+        contextStacker,
+        joinType,
+        leftJoinColumn,
+        sourceTableStep,
+        schemaKTable.getSourceTableStep(),
+        joinSchema
+    );
+    return new SchemaKTable<>(
+        step,
+        keyFormat,
+        keyField,
+        ImmutableList.of(this, schemaKTable),
+        Type.JOIN,
+        ksqlConfig,
+        functionRegistry
+    );
+  }
 }
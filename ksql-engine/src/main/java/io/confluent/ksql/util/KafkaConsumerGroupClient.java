@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import org.apache.kafka.common.TopicPartition;
@@ -29,6 +30,14 @@ public interface KafkaConsumerGroupClient {
 
   ConsumerGroupSummary describeConsumerGroup(String group);
 
+  /**
+   * Describe several consumer groups in a single batched request.
+   *
+   * @param groups the groups to describe.
+   * @return the summary of each group, by group id.
+   */
+  Map<String, ConsumerGroupSummary> describeConsumerGroups(Collection<String> groups);
+
   /**
    * API POJOs
    */
@@ -17,7 +17,10 @@ package io.confluent.ksql.util;
 
 import io.confluent.ksql.exception.KafkaResponseGetFailedException;
 import io.confluent.ksql.util.ExecutorUtil.RetryBehaviour;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,6 +28,7 @@ import java.util.stream.Collectors;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.ConsumerGroupDescription;
 import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.MemberDescription;
 
 public class KafkaConsumerGroupClientImpl implements KafkaConsumerGroupClient {
 
@@ -47,27 +51,40 @@ public class KafkaConsumerGroupClientImpl implements KafkaConsumerGroupClient {
     }
   }
 
+  @Override
   public ConsumerGroupSummary describeConsumerGroup(final String group) {
+    final ConsumerGroupSummary summary =
+        describeConsumerGroups(Collections.singleton(group)).get(group);
+
+    return summary == null ? new ConsumerGroupSummary(Collections.emptySet()) : summary;
+  }
+
+  @Override
+  public Map<String, ConsumerGroupSummary> describeConsumerGroups(
+      final Collection<String> groups
+  ) {
+    if (groups.isEmpty()) {
+      return Collections.emptyMap();
+    }
 
     try {
-      final Map<String, ConsumerGroupDescription> groups = ExecutorUtil
+      // The admin client sends the requests for each group coordinator in parallel:
+      final Map<String, ConsumerGroupDescription> descriptions = ExecutorUtil
           .executeWithRetries(
-              () -> adminClient.describeConsumerGroups(Collections.singleton(group)).all().get(),
+              () -> adminClient.describeConsumerGroups(groups).all().get(),
               RetryBehaviour.ON_RETRYABLE);
 
-      final Set<ConsumerSummary> results = groups
-          .values()
-          .stream()
-          .flatMap(g ->
-              g.members()
-                  .stream()
-                  .map(member -> {
-                    final ConsumerSummary summary = new ConsumerSummary(member.consumerId());
-                    summary.addPartitions(member.assignment().topicPartitions());
-                    return summary;
-                  })).collect(Collectors.toSet());
-
-      return new ConsumerGroupSummary(results);
+      final Map<String, ConsumerGroupSummary> results = new HashMap<>(descriptions.size());
+      for (final Map.Entry<String, ConsumerGroupDescription> e : descriptions.entrySet()) {
+        final Set<ConsumerSummary> summaries = new HashSet<>();
+        for (final MemberDescription member : e.getValue().members()) {
+          final ConsumerSummary summary = new ConsumerSummary(member.consumerId());
+          summary.addPartitions(member.assignment().topicPartitions());
+          summaries.add(summary);
+        }
+        results.put(e.getKey(), new ConsumerGroupSummary(summaries));
+      }
+      return results;
 
     } catch (final Exception e) {
       throw new KafkaResponseGetFailedException("Failed to describe Kafka consumer groups", e);
@@ -19,11 +19,13 @@ import static java.util.Objects.requireNonNull;
 
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationProvider;
 import io.confluent.ksql.metastore.model.DataSource.DataSourceType;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.TableChangeFeed;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import java.util.Map;
 import java.util.Objects;
@@ -45,6 +47,8 @@ public class PersistentQueryMetadata extends QueryMetadata {
   private final PhysicalSchema resultSchema;
   private final DataSourceType dataSourceType;
   private final Optional<MaterializationProvider> materializationProvider;
+  private final Optional<TableChangeFeed> changeFeed;
+  private final Optional<QueryLatencyMetrics> latencyMetrics;
 
   // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
   public PersistentQueryMetadata(
@@ -57,6 +61,8 @@ public class PersistentQueryMetadata extends QueryMetadata {
       final QueryId id,
       final DataSourceType dataSourceType,
       final Optional<MaterializationProvider> materializationProvider,
+      final Optional<TableChangeFeed> changeFeed,
+      final Optional<QueryLatencyMetrics> latencyMetrics,
       final String queryApplicationId,
       final KsqlTopic resultTopic,
       final Topology topology,
@@ -85,6 +91,8 @@ public class PersistentQueryMetadata extends QueryMetadata {
     this.resultSchema = requireNonNull(schema, "schema");
     this.materializationProvider =
         requireNonNull(materializationProvider, "materializationProvider");
+    this.changeFeed = requireNonNull(changeFeed, "changeFeed");
+    this.latencyMetrics = requireNonNull(latencyMetrics, "latencyMetrics");
     this.dataSourceType = Objects.requireNonNull(dataSourceType, "dataSourceType");
   }
 
@@ -99,6 +107,8 @@ public class PersistentQueryMetadata extends QueryMetadata {
     this.schemas = other.schemas;
     this.resultSchema = other.resultSchema;
     this.materializationProvider = other.materializationProvider;
+    this.changeFeed = other.changeFeed;
+    this.latencyMetrics = other.latencyMetrics;
     this.dataSourceType = other.dataSourceType;
   }
 
@@ -136,4 +146,12 @@ public class PersistentQueryMetadata extends QueryMetadata {
   ) {
     return materializationProvider.map(builder -> builder.build(queryId, contextStacker));
   }
+
+  public Optional<TableChangeFeed> getChangeFeed() {
+    return changeFeed;
+  }
+
+  public Optional<QueryLatencyMetrics> getLatencyMetrics() {
+    return latencyMetrics;
+  }
 }
@@ -104,6 +104,10 @@ public class QueryMetadata {
     return statementString;
   }
 
+  public KafkaStreams getKafkaStreams() {
+    return kafkaStreams;
+  }
+
   public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
     kafkaStreams.setUncaughtExceptionHandler(handler);
   }
@@ -141,9 +145,7 @@ public class QueryMetadata {
   }
 
   public void close() {
-    kafkaStreams.close();
-
-    kafkaStreams.cleanUp();
+    closeKafkaStreams();
 
     queryStateListener.ifPresent(QueryStateListener::close);
 
@@ -153,10 +155,30 @@ public class QueryMetadata {
   public void start() {
     LOG.info("Starting query with application id: {}", queryApplicationId);
     everStarted = true;
-    queryStateListener.ifPresent(kafkaStreams::setStateListener);
+    startKafkaStreams(queryStateListener);
+  }
+
+  /**
+   * Start the streams app running the query.
+   *
+   * <p>Overridden by queries that do not own their streams app.
+   */
+  protected void startKafkaStreams(final Optional<QueryStateListener> stateListener) {
+    stateListener.ifPresent(kafkaStreams::setStateListener);
     kafkaStreams.start();
   }
 
+  /**
+   * Stop the streams app running the query.
+   *
+   * <p>Overridden by queries that do not own their streams app.
+   */
+  protected void closeKafkaStreams() {
+    kafkaStreams.close();
+
+    kafkaStreams.cleanUp();
+  }
+
   public String getTopologyDescription() {
     return topology.describe().toString();
   }
@@ -34,6 +34,7 @@ import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.analyzer.Analysis;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
+import io.confluent.ksql.execution.codegen.CodeGenSpec.ArgumentSpec;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
 import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
 import io.confluent.ksql.execution.expression.tree.Expression;
@@ -42,6 +43,7 @@ import io.confluent.ksql.function.KsqlScalarFunction;
 import io.confluent.ksql.function.MutableFunctionRegistry;
 import io.confluent.ksql.function.UdfLoaderUtil;
 import io.confluent.ksql.function.udf.Kudf;
+import io.confluent.ksql.function.udf.TestUdf;
 import io.confluent.ksql.metastore.MutableMetaStore;
 import io.confluent.ksql.metastore.model.KeyField;
 import io.confluent.ksql.metastore.model.KsqlStream;
@@ -67,6 +69,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
@@ -866,6 +869,89 @@ public class CodeGenRunnerTest {
         assertThat(columns, equalTo(Collections.singletonList("doStuffLongLongString")));
     }
 
+    @Test
+    public void shouldCallBuiltInUdfsDirectlyIfEnabled() {
+        // Given:
+        givenDirectUdfInvocation();
+
+        final String query =
+            "SELECT UCASE(col1), SUBSTRING(col1, 2, 4), test_udf(col0, 'x'), test_udf(col15),"
+            + " test_udf(col0, col0, col0), test_udf(col0, NULL) FROM codegen_test EMIT CHANGES;";
+
+        final Map<Integer, Object> inputValues = ImmutableMap.of(
+            0, 0L,
+            1, " Hello ",
+            STRUCT_INDEX, new Struct(STRUCT_SCHEMA).put("A", "VALUE"));
+
+        // When:
+        final List<Object> columns = executeExpression(query, inputValues);
+
+        // Then:
+        assertThat(columns, contains(
+            " HELLO ", "Hell", "doStuffLongString", "VALUE", "doStuffLongVarargs",
+            "doStuffLongString"));
+    }
+
+    @Test
+    public void shouldPassUdfInstanceToDirectlyCalledUdf() {
+        // Given:
+        givenDirectUdfInvocation();
+
+        final Expression expression = analyzeQuery(
+            "SELECT test_udf(col0, 'x') FROM codegen_test EMIT CHANGES;", metaStore)
+            .getSelectExpressions()
+            .get(0)
+            .getExpression();
+
+        // When:
+        final ExpressionMetadata metadata = codeGenRunner
+            .buildCodeGenFromParseTree(expression, "Select");
+
+        // Then:
+        final List<Object> functions = metadata.arguments().stream()
+            .map(ArgumentSpec::function)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toList());
+
+        assertThat(functions, contains(instanceOf(TestUdf.class)));
+    }
+
+    @Test
+    public void shouldNotCallUdfsDirectlyByDefault() {
+        // Given:
+        final Expression expression = analyzeQuery(
+            "SELECT test_udf(col0, 'x') FROM codegen_test EMIT CHANGES;", metaStore)
+            .getSelectExpressions()
+            .get(0)
+            .getExpression();
+
+        // When:
+        final ExpressionMetadata metadata = codeGenRunner
+            .buildCodeGenFromParseTree(expression, "Select");
+
+        // Then:
+        final List<Object> functions = metadata.arguments().stream()
+            .map(ArgumentSpec::function)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toList());
+
+        assertThat(functions, contains(instanceOf(Kudf.class)));
+    }
+
+    private void givenDirectUdfInvocation() {
+        final KsqlConfig config = new KsqlConfig(ImmutableMap.of(
+            KsqlConfig.KSQL_UDF_DIRECT_INVOCATION_ENABLED, true
+        ));
+
+        codeGenRunner = new CodeGenRunner(
+            META_STORE_SCHEMA.withAlias(SourceName.of("CODEGEN_TEST")),
+            config,
+            functionRegistry
+        );
+    }
+
     private List<Object> executeExpression(final String query,
                                            final Map<Integer, Object> inputValues) {
         final Analysis analysis = analyzeQuery(query, metaStore);
@@ -62,7 +62,6 @@ import java.util.Set;
 import org.apache.kafka.common.Configurable;
 import org.apache.kafka.common.metrics.KafkaMetric;
 import org.apache.kafka.common.metrics.Metrics;
-import org.apache.kafka.common.metrics.Sensor;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
@@ -514,8 +513,6 @@ public class UdfLoaderTest {
 
     // Then:
     assertThat(kudf, instanceOf(UdfMetricProducer.class));
-    final Sensor sensor = METRICS.getSensor("ksql-udf-substring");
-    assertThat(sensor, not(nullValue()));
     assertThat(METRICS.metric(METRICS.metricName("ksql-udf-substring-count", "ksql-udf")),
         not(nullValue()));
     assertThat(METRICS.metric(METRICS.metricName("ksql-udf-substring-max", "ksql-udf")),
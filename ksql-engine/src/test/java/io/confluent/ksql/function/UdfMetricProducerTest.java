@@ -19,50 +19,42 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.util.concurrent.TimeUnit;
-import org.apache.kafka.common.MetricName;
-import org.apache.kafka.common.metrics.KafkaMetric;
 import org.apache.kafka.common.metrics.Metrics;
-import org.apache.kafka.common.metrics.Sensor;
-import org.apache.kafka.common.metrics.stats.Avg;
 import org.apache.kafka.common.utils.MockTime;
 import org.apache.kafka.common.utils.Time;
-import org.junit.Before;
 import org.junit.Test;
 
 public class UdfMetricProducerTest {
 
   private final Time time = new MockTime();
   private final Metrics metrics = new Metrics(time);
-  private final Sensor sensor = metrics.sensor("my-udf");
-  private final MetricName metricName = metrics.metricName("avg", "blah");
-
-  @Before
-  public void before() {
-    sensor.add(metricName, new Avg());
-  }
+  private final UdfInvocationMetrics invocationMetrics =
+      UdfInvocationMetrics.getOrCreate("my-udf", "udf", metrics);
 
   @Test
   public void shouldRecordMetrics() {
     final UdfMetricProducer metricProducer
-        = new UdfMetricProducer(sensor, args -> {
+        = new UdfMetricProducer(invocationMetrics, args -> {
       time.sleep(100);
       return null;
-    }, time);
+    }, time, 1);
 
     metricProducer.evaluate("foo");
 
-    final KafkaMetric metric = metrics.metric(metricName);
-    final Double actual = (Double) metric.metricValue();
-    assertThat(actual.longValue(), equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(metricValue("my-udf-avg").longValue(),
+        equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(metricValue("my-udf-max").longValue(),
+        equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(metricValue("my-udf-count"), equalTo(1.0));
   }
 
   @Test
   public void shouldRecordEvenIfExceptionThrown(){
     final UdfMetricProducer metricProducer
-        = new UdfMetricProducer(sensor, args -> {
+        = new UdfMetricProducer(invocationMetrics, args -> {
           time.sleep(10);
      throw new RuntimeException("boom");
-    }, time);
+    }, time, 1);
 
     try {
       metricProducer.evaluate("foo");
@@ -70,8 +62,46 @@ public class UdfMetricProducerTest {
       // ignored
     }
 
-    final KafkaMetric metric = metrics.metric(metricName);
-    final Double actual = (Double) metric.metricValue();
-    assertThat(actual.longValue(), equalTo(TimeUnit.MILLISECONDS.toNanos(10)));
+    assertThat(metricValue("my-udf-avg").longValue(),
+        equalTo(TimeUnit.MILLISECONDS.toNanos(10)));
+  }
+
+  @Test
+  public void shouldCountInvocationsThatAreNotTimed() {
+    // Given:
+    final UdfMetricProducer metricProducer
+        = new UdfMetricProducer(invocationMetrics, args -> null, time, Integer.MAX_VALUE);
+
+    // When:
+    metricProducer.evaluate("foo");
+    metricProducer.evaluate("bar");
+
+    // Then:
+    assertThat(metricValue("my-udf-count"), equalTo(2.0));
+  }
+
+  @Test
+  public void shouldShareMetricsBetweenInstancesOfUdf() {
+    // Given:
+    final UdfMetricProducer first = new UdfMetricProducer(
+        UdfInvocationMetrics.getOrCreate("my-udf", "udf", metrics), args -> null, time, 1);
+    final UdfMetricProducer second = new UdfMetricProducer(
+        UdfInvocationMetrics.getOrCreate("my-udf", "udf", metrics), args -> null, time, 1);
+
+    // When:
+    first.evaluate("foo");
+    second.evaluate("bar");
+
+    // Then:
+    assertThat(metricValue("my-udf-count"), equalTo(2.0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnNonPositiveSampleInterval() {
+    new UdfMetricProducer(invocationMetrics, args -> null, time, 0);
+  }
+
+  private Double metricValue(final String name) {
+    return (Double) metrics.metric(metrics.metricName(name, "ksql-udf")).metricValue();
   }
-}
\ No newline at end of file
+}
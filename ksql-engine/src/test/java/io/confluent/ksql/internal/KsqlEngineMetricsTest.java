@@ -17,6 +17,7 @@ package io.confluent.ksql.internal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.number.IsCloseTo.closeTo;
 import static org.junit.Assert.assertTrue;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.when;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics;
 import io.confluent.ksql.metrics.ConsumerCollector;
 import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.metrics.ProducerCollector;
@@ -278,6 +280,61 @@ public class KsqlEngineMetricsTest {
     verify(query1).registerQueryStateListener(any());
   }
 
+  @Test
+  public void shouldRecordQueryIdleTime() {
+    // Given:
+    engineMetrics.registerQuery(query1);
+    consumeMessages(10, "app-1");
+
+    // When:
+    final long value = getQueryMetricValue("query-idle-time-ms");
+
+    // Then:
+    assertThat(value, is(lessThan(60_000L)));
+  }
+
+  @Test
+  public void shouldRemoveQueryMetricsOnUnregister() {
+    // Given:
+    engineMetrics.registerQuery(query1);
+
+    // When:
+    engineMetrics.unregisterQuery(query1);
+
+    // Then:
+    final Metrics metrics = engineMetrics.getMetrics();
+    assertThat(metrics.metric(metrics.metricName(
+        "query-idle-time-ms", "testGroupksql-queries", ImmutableMap.of("query-id", "app-1"))),
+        is(nullValue()));
+  }
+
+  @Test
+  public void shouldRegisterQueryLatencyMetrics() {
+    // Given:
+    final QueryLatencyMetrics latencyMetrics = new QueryLatencyMetrics(1);
+    latencyMetrics.getEndToEndLatency().record(25);
+    final PersistentQueryMetadata query = mock(PersistentQueryMetadata.class);
+    when(query.getQueryApplicationId()).thenReturn("app-1");
+    when(query.getLatencyMetrics()).thenReturn(Optional.of(latencyMetrics));
+
+    // When:
+    engineMetrics.registerQuery(query);
+
+    // Then:
+    assertThat(getQueryMetricValue("end-to-end-latency-ms-max"), is(25L));
+    assertThat(getQueryMetricValue("filter-time-ns-p99"), is(0L));
+  }
+
+  private long getQueryMetricValue(final String metricName) {
+    final Metrics metrics = engineMetrics.getMetrics();
+    return Long.parseLong(
+        metrics.metric(
+            metrics.metricName(
+                metricName, METRIC_GROUP + "ksql-queries", ImmutableMap.of("query-id", "app-1"))
+        ).metricValue().toString()
+    );
+  }
+
   private double getMetricValue(final String metricName) {
     final Metrics metrics = engineMetrics.getMetrics();
     return Double.valueOf(
@@ -41,6 +41,7 @@ import io.confluent.ksql.function.InternalFunctionRegistry;
 import io.confluent.ksql.metastore.MetaStore;
 import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.metastore.model.KeyField;
+import io.confluent.ksql.model.WindowType;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.parser.tree.WithinExpression;
@@ -53,7 +54,9 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.serde.Format;
 import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.KeyFormat;
 import io.confluent.ksql.serde.ValueFormat;
+import io.confluent.ksql.serde.WindowInfo;
 import io.confluent.ksql.services.KafkaTopicClient;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.structured.SchemaKStream;
@@ -63,6 +66,7 @@ import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.MetaStoreFixture;
 import io.confluent.ksql.util.SchemaUtil;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -659,13 +663,15 @@ public class JoinNodeTest {
   }
 
   @Test
-  public void shouldFailTableTableJoinIfLeftCriteriaColumnIsNotKey() {
+  public void shouldFailTableTableJoinIfNeitherCriteriaColumnIsKey() {
     // Given:
     setupTable(left, leftSchemaKTable);
     setupTable(right, rightSchemaKTable);
 
     final ColumnRef leftCriteriaColumn = getNonKeyColumn(LEFT_SOURCE_SCHEMA, LEFT_ALIAS,
         LEFT_JOIN_FIELD_REF);
+    final ColumnRef rightCriteriaColumn =
+        getNonKeyColumn(RIGHT_SOURCE_SCHEMA, RIGHT_ALIAS, RIGHT_JOIN_FIELD_REF);
 
     final JoinNode joinNode = new JoinNode(
         nodeId,
@@ -674,7 +680,7 @@ public class JoinNodeTest {
         left,
         right,
         leftCriteriaColumn,
-        RIGHT_JOIN_FIELD_REF,
+        rightCriteriaColumn,
         Optional.empty()
     );
 
@@ -692,6 +698,138 @@ public class JoinNodeTest {
     joinNode.buildStream(ksqlStreamBuilder);
   }
 
+  @Test
+  public void shouldPerformTableToTableForeignKeyLeftJoin() {
+    // Given:
+    setupTable(left, leftSchemaKTable);
+    setupTable(right, rightSchemaKTable);
+    givenRightKeyFormat(KeyFormat.nonWindowed(FormatInfo.of(Format.KAFKA)));
+
+    final ColumnRef leftCriteriaColumn = getNonKeyColumn(LEFT_SOURCE_SCHEMA, LEFT_ALIAS,
+        LEFT_JOIN_FIELD_REF);
+
+    final JoinNode joinNode = new JoinNode(
+        nodeId,
+        Collections.emptyList(),
+        JoinNode.JoinType.LEFT,
+        left,
+        right,
+        leftCriteriaColumn,
+        RIGHT_JOIN_FIELD_REF,
+        Optional.empty()
+    );
+
+    // When:
+    joinNode.buildStream(ksqlStreamBuilder);
+
+    // Then:
+    assertThat(joinNode.isForeignKeyJoin(), is(true));
+    assertThat(joinNode.getKeyField(), is(leftJoinField));
+    verify(leftSchemaKTable).foreignKeyLeftJoin(
+        eq(rightSchemaKTable),
+        eq(leftCriteriaColumn),
+        eq(JOIN_SCHEMA),
+        eq(leftJoinField),
+        eq(CONTEXT_STACKER));
+  }
+
+  @Test
+  public void shouldPerformTableToTableForeignKeyInnerJoinWithoutCheckingPartitions() {
+    // Given:
+    setupTable(left, leftSchemaKTable);
+    setupTable(right, rightSchemaKTable);
+    givenRightKeyFormat(KeyFormat.nonWindowed(FormatInfo.of(Format.KAFKA)));
+    when(right.getPartitions(mockKafkaTopicClient)).thenReturn(4);
+
+    final ColumnRef leftCriteriaColumn = getNonKeyColumn(LEFT_SOURCE_SCHEMA, LEFT_ALIAS,
+        LEFT_JOIN_FIELD_REF);
+
+    final JoinNode joinNode = new JoinNode(
+        nodeId,
+        Collections.emptyList(),
+        JoinNode.JoinType.INNER,
+        left,
+        right,
+        leftCriteriaColumn,
+        RIGHT_JOIN_FIELD_REF,
+        Optional.empty()
+    );
+
+    // When:
+    joinNode.buildStream(ksqlStreamBuilder);
+
+    // Then:
+    verify(leftSchemaKTable).foreignKeyJoin(
+        eq(rightSchemaKTable),
+        eq(leftCriteriaColumn),
+        eq(JOIN_SCHEMA),
+        eq(leftJoinField),
+        eq(CONTEXT_STACKER));
+  }
+
+  @Test
+  public void shouldNotPerformTableToTableForeignKeyOuterJoin() {
+    // Given:
+    setupTable(left, leftSchemaKTable);
+    setupTable(right, rightSchemaKTable);
+
+    final ColumnRef leftCriteriaColumn = getNonKeyColumn(LEFT_SOURCE_SCHEMA, LEFT_ALIAS,
+        LEFT_JOIN_FIELD_REF);
+
+    final JoinNode joinNode = new JoinNode(
+        nodeId,
+        Collections.emptyList(),
+        JoinNode.JoinType.OUTER,
+        left,
+        right,
+        leftCriteriaColumn,
+        RIGHT_JOIN_FIELD_REF,
+        Optional.empty()
+    );
+
+    // Then:
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage(
+        "Full outer joins between tables are only supported on the key columns of both tables."
+    );
+
+    // When:
+    joinNode.buildStream(ksqlStreamBuilder);
+  }
+
+  @Test
+  public void shouldNotPerformTableToTableForeignKeyJoinOnWindowedTable() {
+    // Given:
+    setupTable(left, leftSchemaKTable);
+    setupTable(right, rightSchemaKTable);
+    givenRightKeyFormat(KeyFormat.windowed(
+        FormatInfo.of(Format.KAFKA),
+        WindowInfo.of(WindowType.TUMBLING, Optional.of(Duration.ofSeconds(10)))
+    ));
+
+    final ColumnRef leftCriteriaColumn = getNonKeyColumn(LEFT_SOURCE_SCHEMA, LEFT_ALIAS,
+        LEFT_JOIN_FIELD_REF);
+
+    final JoinNode joinNode = new JoinNode(
+        nodeId,
+        Collections.emptyList(),
+        JoinNode.JoinType.INNER,
+        left,
+        right,
+        leftCriteriaColumn,
+        RIGHT_JOIN_FIELD_REF,
+        Optional.empty()
+    );
+
+    // Then:
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage(
+        "Joins on a foreign key are not supported for windowed tables.");
+
+    // When:
+    joinNode.buildStream(ksqlStreamBuilder);
+  }
+
   @Test
   public void shouldFailTableTableJoinIfRightCriteriaColumnIsNotKey() {
     // Given:
@@ -929,6 +1067,7 @@ public class JoinNodeTest {
     final LogicalSchema schema = node.getSchema();
     when(table.getSchema()).thenReturn(schema);
     when(node.getDataSourceType()).thenReturn(DataSourceType.KTABLE);
+    when(node.getKeyField()).thenAnswer(inv -> table.getKeyField());
   }
 
   private void setupTable(
@@ -1039,6 +1178,10 @@ public class JoinNodeTest {
     return ColumnRef.of(alias, field.name());
   }
 
+  private void givenRightKeyFormat(final KeyFormat keyFormat) {
+    when(rightSource.getKsqlTopic().getKeyFormat()).thenReturn(keyFormat);
+  }
+
   @SuppressWarnings("unchecked")
   private static void setUpSource(
       final DataSourceNode node,
@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,6 +22,7 @@ import io.confluent.ksql.execution.context.QueryContext.Stacker;
 import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
 import io.confluent.ksql.execution.materialization.MaterializationInfo;
 import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepProperties;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
@@ -104,6 +106,10 @@ public class QueryExecutorTest {
   @Mock
   private ExecutionStep physicalPlan;
   @Mock
+  private ExecutionStep<?> sinkSource;
+  @Mock
+  private ExecutionStepProperties sinkSourceProperties;
+  @Mock
   private KTable<Struct, GenericRow> ktable;
   @Mock
   private KStream<Struct, GenericRow> kstream;
@@ -220,6 +226,88 @@ public class QueryExecutorTest {
     assertThat(queryMetadata.getStreamsProperties(), equalTo(propertyCaptor.getValue()));
   }
 
+  @Test
+  public void shouldNotShareScansByDefault() {
+    // When:
+    final Optional<TransientQueryMetadata> result = queryBuilder.buildSharedTransientQuery(
+        new SharedScans(),
+        STATEMENT_TEXT,
+        QUERY_ID,
+        SOURCES,
+        physicalPlan,
+        SUMMARY,
+        SINK_SCHEMA,
+        LIMIT
+    );
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+    verify(kafkaStreamsBuilder, never()).buildKafkaStreams(any(), any());
+  }
+
+  @Test
+  public void shouldNotShareScansForUnsupportedPlans() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_SHARED_SCAN_ENABLE_CONFIG))
+        .thenReturn(true);
+
+    // When:
+    final Optional<TransientQueryMetadata> result = queryBuilder.buildSharedTransientQuery(
+        new SharedScans(),
+        STATEMENT_TEXT,
+        QUERY_ID,
+        SOURCES,
+        physicalPlan,
+        SUMMARY,
+        SINK_SCHEMA,
+        LIMIT
+    );
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+    verify(kafkaStreamsBuilder, never()).buildKafkaStreams(any(), any());
+  }
+
+  @Test
+  public void shouldNotSubscribeToTablesByDefault() {
+    // When:
+    final Optional<TransientQueryMetadata> result = queryBuilder.buildTableSubscription(
+        ImmutableList.of(),
+        STATEMENT_TEXT,
+        QUERY_ID,
+        SOURCES,
+        physicalPlan,
+        SUMMARY,
+        SINK_SCHEMA,
+        LIMIT
+    );
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotSubscribeToTablesForUnsupportedPlans() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_CONFIG))
+        .thenReturn(true);
+
+    // When:
+    final Optional<TransientQueryMetadata> result = queryBuilder.buildTableSubscription(
+        ImmutableList.of(),
+        STATEMENT_TEXT,
+        QUERY_ID,
+        SOURCES,
+        physicalPlan,
+        SUMMARY,
+        SINK_SCHEMA,
+        LIMIT
+    );
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
   @Test
   public void shouldBuildPersistentQueryCorrectly() {
     // When:
@@ -281,6 +369,48 @@ public class QueryExecutorTest {
     assertThat(result.get(), is(materialization));
   }
 
+  @Test
+  public void shouldNotAddChangeFeedByDefault() {
+    // When:
+    final PersistentQueryMetadata queryMetadata = queryBuilder.buildQuery(
+        STATEMENT_TEXT,
+        QUERY_ID,
+        sink,
+        SOURCES,
+        physicalPlan,
+        SUMMARY
+    );
+
+    // Then:
+    assertThat(queryMetadata.getChangeFeed(), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldAddChangeFeedToMaterializedTableIfEnabled() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_MATERIALIZED_SUBSCRIPTION_ENABLE_CONFIG))
+        .thenReturn(true);
+    when(physicalPlan.getSources()).thenReturn(ImmutableList.of(sinkSource));
+    when(sinkSource.getProperties()).thenReturn(sinkSourceProperties);
+    when(sinkSourceProperties.getSchema()).thenReturn(SINK_SCHEMA);
+    when(tableHolder.getTable()).thenReturn(ktable);
+    when(ktable.toStream()).thenReturn(kstream);
+
+    // When:
+    final PersistentQueryMetadata queryMetadata = queryBuilder.buildQuery(
+        STATEMENT_TEXT,
+        QUERY_ID,
+        sink,
+        SOURCES,
+        physicalPlan,
+        SUMMARY
+    );
+
+    // Then:
+    assertThat(queryMetadata.getChangeFeed().isPresent(), is(true));
+    verify(kstream).process(queryMetadata.getChangeFeed().get());
+  }
+
   @Test
   public void shouldCreateKSMaterializationCorrectly() {
     // When:
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.query.SharedScan.Dispatcher;
+import io.confluent.ksql.query.SharedScan.Subscriber;
+import io.confluent.ksql.util.KsqlException;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedScanTest {
+
+  private static final Struct KEY = null;
+  private static final GenericRow ROW = new GenericRow("a", 1);
+  private static final GenericRow PROJECTED = new GenericRow("a");
+
+  @Mock
+  private KafkaStreams kafkaStreams;
+  @Mock
+  private Topology topology;
+  @Mock
+  private ValueMapperWithKey<Struct, GenericRow, GenericRow> pipeline;
+  @Mock
+  private UncaughtExceptionHandler handler;
+
+  private TransientQueryQueue queue;
+  private Dispatcher dispatcher;
+  private SharedScan scan;
+
+  @Before
+  public void setUp() {
+    queue = new TransientQueryQueue(OptionalInt.empty());
+    dispatcher = new Dispatcher();
+    scan = new SharedScan(dispatcher, kafkaStreams, "appId", topology, ImmutableMap.of());
+  }
+
+  @Test
+  public void shouldHandleUncaughtExceptionsOfStreams() {
+    verify(kafkaStreams).setUncaughtExceptionHandler(dispatcher);
+  }
+
+  @Test
+  public void shouldStartStreamsOnFirstSubscription() {
+    // When:
+    scan.subscribe(mock(Subscriber.class));
+    scan.subscribe(mock(Subscriber.class));
+
+    // Then:
+    verify(kafkaStreams).start();
+  }
+
+  @Test
+  public void shouldPassRowsThroughSubscriberPipeline() {
+    // Given:
+    when(pipeline.apply(KEY, ROW)).thenReturn(PROJECTED);
+    scan.subscribe(new Subscriber(pipeline, queue.populator()));
+
+    // When:
+    dispatcher.apply(KEY, ROW);
+
+    // Then:
+    assertThat(rows(queue), contains(PROJECTED));
+  }
+
+  @Test
+  public void shouldDetachRatherThanBlockOnSubscriberWithFullQueue() {
+    // Given:
+    final TransientQueryQueue other = new TransientQueryQueue(OptionalInt.empty());
+    final Subscriber subscriber = new Subscriber((k, row) -> row, queue.populator());
+    subscriber.setUncaughtExceptionHandler(handler);
+    scan.subscribe(subscriber);
+    scan.subscribe(new Subscriber((k, row) -> row, other.populator()));
+    for (int i = 0; i < TransientQueryQueue.BLOCKING_QUEUE_CAPACITY; i++) {
+      dispatcher.apply(KEY, ROW);
+    }
+    other.getQueue().clear();
+
+    // When:
+    dispatcher.apply(KEY, ROW);
+
+    // Then:
+    verify(handler).uncaughtException(any(), any(KsqlException.class));
+    assertThat(rows(other), contains(ROW));
+    queue.getQueue().clear();
+    dispatcher.apply(KEY, ROW);
+    assertThat(queue.getQueue(), is(empty()));
+  }
+
+  @Test
+  public void shouldDetachFailingSubscriberWithoutAffectingOthers() {
+    // Given:
+    final TransientQueryQueue other = new TransientQueryQueue(OptionalInt.empty());
+    final Exception e = new IllegalStateException("boom");
+    when(pipeline.apply(KEY, ROW)).thenThrow(e);
+    final Subscriber subscriber = new Subscriber(pipeline, queue.populator());
+    subscriber.setUncaughtExceptionHandler(handler);
+    scan.subscribe(subscriber);
+    scan.subscribe(new Subscriber((k, row) -> row, other.populator()));
+
+    // When:
+    dispatcher.apply(KEY, ROW);
+    dispatcher.apply(KEY, ROW);
+
+    // Then:
+    verify(handler).uncaughtException(Thread.currentThread(), e);
+    verify(pipeline).apply(KEY, ROW);
+    assertThat(rows(other), contains(ROW, ROW));
+  }
+
+  @Test
+  public void shouldNotPassNullRowsToSubscribers() {
+    // Given:
+    scan.subscribe(new Subscriber(pipeline, queue.populator()));
+
+    // When:
+    dispatcher.apply(KEY, null);
+
+    // Then:
+    verify(pipeline, never()).apply(any(), any());
+  }
+
+  @Test
+  public void shouldNotPassRowsToUnsubscribed() {
+    // Given:
+    final Subscriber subscriber = new Subscriber(pipeline, queue.populator());
+    scan.subscribe(subscriber);
+    scan.unsubscribe(subscriber);
+
+    // When:
+    dispatcher.apply(KEY, ROW);
+
+    // Then:
+    verify(pipeline, never()).apply(any(), any());
+  }
+
+  @Test
+  public void shouldPassUncaughtExceptionsToSubscribers() {
+    // Given:
+    final Subscriber subscriber = new Subscriber(pipeline, queue.populator());
+    subscriber.setUncaughtExceptionHandler(handler);
+    scan.subscribe(subscriber);
+    final Exception e = new RuntimeException("Boom");
+
+    // When:
+    dispatcher.uncaughtException(Thread.currentThread(), e);
+
+    // Then:
+    verify(handler).uncaughtException(Thread.currentThread(), e);
+  }
+
+  private static List<GenericRow> rows(final TransientQueryQueue queue) {
+    return queue.getQueue().stream()
+        .map(kv -> kv.value)
+        .collect(Collectors.toList());
+  }
+}
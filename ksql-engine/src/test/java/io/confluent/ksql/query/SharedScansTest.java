@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.services.ServiceContext;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedScansTest {
+
+  private static final Map<String, Object> OVERRIDES = ImmutableMap.of();
+
+  @Mock
+  private ServiceContext serviceContext;
+  @Mock
+  private ServiceContext otherServiceContext;
+  @Mock
+  private StreamSource source;
+  @Mock
+  private StreamSource otherSource;
+  @Mock
+  private SharedScan scan;
+  @Mock
+  private SharedScan otherScan;
+  @Mock
+  private Supplier<SharedScan> factory;
+
+  private SharedScans sharedScans;
+
+  @Before
+  public void setUp() {
+    when(factory.get()).thenReturn(scan, otherScan);
+
+    sharedScans = new SharedScans();
+  }
+
+  @Test
+  public void shouldShareScanOfSameSource() {
+    // Given:
+    when(scan.isUsable()).thenReturn(true);
+
+    // When:
+    final SharedScan first = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    final SharedScan second = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+
+    // Then:
+    assertThat(first, is(sameInstance(scan)));
+    assertThat(second, is(sameInstance(scan)));
+    assertThat(sharedScans.size(), is(1));
+  }
+
+  @Test
+  public void shouldNotShareScanOfDifferentSource() {
+    // When:
+    final SharedScan first = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    final SharedScan second =
+        sharedScans.acquire(serviceContext, otherSource, OVERRIDES, factory);
+
+    // Then:
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void shouldNotShareScanBetweenServiceContexts() {
+    // When:
+    final SharedScan first = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    final SharedScan second =
+        sharedScans.acquire(otherServiceContext, source, OVERRIDES, factory);
+
+    // Then:
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void shouldNotShareScanWithDifferentOverrides() {
+    // When:
+    final SharedScan first = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    final SharedScan second =
+        sharedScans.acquire(
+            serviceContext, source, ImmutableMap.of("auto.offset.reset", "latest"), factory);
+
+    // Then:
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void shouldReplaceScanThatIsNoLongerUsable() {
+    // Given:
+    sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    when(scan.isUsable()).thenReturn(false);
+
+    // When:
+    final SharedScan result = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+
+    // Then:
+    assertThat(result, is(sameInstance(otherScan)));
+  }
+
+  @Test
+  public void shouldOnlyCloseScanOnceLastUserReleasesIt() {
+    // Given:
+    when(scan.isUsable()).thenReturn(true);
+    sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+
+    // When:
+    sharedScans.release(scan);
+
+    // Then:
+    verify(scan, never()).close();
+
+    // When:
+    sharedScans.release(scan);
+
+    // Then:
+    verify(scan).close();
+    assertThat(sharedScans.size(), is(0));
+  }
+
+  @Test
+  public void shouldCreateNewScanOnceReleased() {
+    // Given:
+    sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+    sharedScans.release(scan);
+
+    // When:
+    final SharedScan result = sharedScans.acquire(serviceContext, source, OVERRIDES, factory);
+
+    // Then:
+    assertThat(result, is(sameInstance(otherScan)));
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.query.TableChangeFeed.Subscription;
+import io.confluent.ksql.schema.ksql.ColumnRef;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlException;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.Processor;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.TaskId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TableChangeFeedTest {
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("V0"), SqlTypes.STRING)
+      .build();
+
+  private static final Expression ROWKEY = new ColumnReferenceExp(
+      ColumnRef.withoutSource(ColumnName.of("ROWKEY")));
+  private static final Expression OTHER = new ColumnReferenceExp(
+      ColumnRef.withoutSource(ColumnName.of("V0")));
+
+  private static final Struct KEY_X = key("x");
+  private static final Struct KEY_Y = key("y");
+  private static final int PARTITION = 1;
+
+  @Mock
+  private ProcessorContext processorContext;
+  @Mock
+  private UncaughtExceptionHandler handler;
+  private TableChangeFeed feed;
+  private Processor<Struct, GenericRow> processor;
+
+  @Before
+  public void setUp() {
+    feed = new TableChangeFeed(SCHEMA, ImmutableSet.of(0, 1));
+    processor = feed.get();
+    processor.init(processorContext);
+  }
+
+  @Test
+  public void shouldGetRowKeySelectedByFilter() {
+    // Given:
+    final Expression filter = equal(ROWKEY, new StringLiteral("x"));
+
+    // Then:
+    assertThat(TableChangeFeed.getSelectedRowKey(filter), is(Optional.of("x")));
+  }
+
+  @Test
+  public void shouldGetRowKeySelectedByEitherSideOfConjunction() {
+    // Given:
+    final Expression filter = LogicalBinaryExpression.and(
+        new ComparisonExpression(
+            ComparisonExpression.Type.GREATER_THAN,
+            OTHER,
+            new IntegerLiteral(1)
+        ),
+        equal(new StringLiteral("x"), ROWKEY)
+    );
+
+    // Then:
+    assertThat(TableChangeFeed.getSelectedRowKey(filter), is(Optional.of("x")));
+  }
+
+  @Test
+  public void shouldNotGetRowKeyIfFilterPassesOtherKeys() {
+    // Given:
+    final Expression filter = LogicalBinaryExpression.or(
+        equal(ROWKEY, new StringLiteral("x")),
+        equal(ROWKEY, new StringLiteral("y"))
+    );
+
+    // Then:
+    assertThat(TableChangeFeed.getSelectedRowKey(filter), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotGetRowKeyIfFilterIsOnOtherColumns() {
+    // Given:
+    final Expression filter = equal(OTHER, new StringLiteral("x"));
+
+    // Then:
+    assertThat(TableChangeFeed.getSelectedRowKey(filter), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldPassUpdatesOnlyToSubscribersOfTheirKey() {
+    // Given:
+    when(processorContext.timestamp()).thenReturn(10L);
+    final TransientQueryQueue x = subscribe("x");
+    final TransientQueryQueue y = subscribe("y");
+
+    // When:
+    processor.process(KEY_X, new GenericRow(1L, "x", "a"));
+
+    // Then:
+    assertThat(rows(x), contains(new GenericRow(10L, "x", "a")));
+    assertThat(y.getQueue(), is(empty()));
+  }
+
+  @Test
+  public void shouldNotPassUpdatesAfterUnsubscribing() {
+    // Given:
+    final TransientQueryQueue queue = new TransientQueryQueue(OptionalInt.empty());
+    final Subscription subscription =
+        new Subscription("x", PARTITION, (k, row) -> row, queue.populator());
+    feed.subscribe(subscription, Optional::empty);
+
+    // When:
+    feed.unsubscribe(subscription);
+    processor.process(KEY_X, new GenericRow(1L, "x", "a"));
+
+    // Then:
+    assertThat(queue.getQueue(), is(empty()));
+  }
+
+  @Test
+  public void shouldSendSnapshotBeforeUpdatesReceivedWhileSubscribing() {
+    // Given:
+    when(processorContext.timestamp()).thenReturn(10L);
+    final TransientQueryQueue queue = new TransientQueryQueue(OptionalInt.empty());
+    final Subscription subscription =
+        new Subscription("x", PARTITION, (k, row) -> row, queue.populator());
+
+    // When:
+    feed.subscribe(subscription, () -> {
+      processor.process(KEY_X, new GenericRow(1L, "x", "b"));
+      return Optional.of(new KeyValue<>(KEY_X, TableChangeFeed.sourceRow(5L, "x", row("a"))));
+    });
+
+    // Then:
+    assertThat(rows(queue), contains(
+        new GenericRow(5L, "x", "a"),
+        new GenericRow(10L, "x", "b")
+    ));
+  }
+
+  @Test
+  public void shouldFailSubscriptionRatherThanBlockIfQueueIsFull() {
+    // Given:
+    final TransientQueryQueue queue = subscribe("x");
+    for (int i = 0; i < TransientQueryQueue.BLOCKING_QUEUE_CAPACITY; i++) {
+      processor.process(KEY_X, new GenericRow(1L, "x", "a"));
+    }
+
+    // When:
+    processor.process(KEY_X, new GenericRow(1L, "x", "a"));
+
+    // Then:
+    verify(handler).uncaughtException(any(), any(KsqlException.class));
+    queue.getQueue().clear();
+    processor.process(KEY_X, new GenericRow(1L, "x", "a"));
+    assertThat(queue.getQueue(), is(empty()));
+  }
+
+  @Test
+  public void shouldNotHoldUpUpdatesWhileTakingSnapshot() throws Exception {
+    // Given:
+    when(processorContext.timestamp()).thenReturn(10L);
+    final TransientQueryQueue queue = new TransientQueryQueue(OptionalInt.empty());
+    final Subscription subscription =
+        new Subscription("x", PARTITION, (k, row) -> row, queue.populator());
+    final Thread streamThread =
+        new Thread(() -> processor.process(KEY_X, new GenericRow(1L, "x", "b")));
+
+    // When:
+    feed.subscribe(subscription, () -> {
+      streamThread.start();
+      try {
+        streamThread.join(TimeUnit.SECONDS.toMillis(30));
+      } catch (final InterruptedException e) {
+        throw new AssertionError(e);
+      }
+      return Optional.of(new KeyValue<>(KEY_X, TableChangeFeed.sourceRow(5L, "x", row("a"))));
+    });
+
+    // Then:
+    assertThat(streamThread.isAlive(), is(false));
+    assertThat(rows(queue), contains(
+        new GenericRow(5L, "x", "a"),
+        new GenericRow(10L, "x", "b")
+    ));
+  }
+
+  @Test
+  public void shouldFailSubscriptionsWhenClosed() {
+    // Given:
+    when(processorContext.taskId()).thenReturn(new TaskId(0, PARTITION));
+    subscribe("y");
+
+    // When:
+    processor.close();
+
+    // Then:
+    verify(handler).uncaughtException(any(), any(KsqlException.class));
+  }
+
+  @Test
+  public void shouldNotFailSubscriptionsOfOtherPartitionsWhenClosed() {
+    // Given:
+    when(processorContext.taskId()).thenReturn(new TaskId(0, PARTITION));
+    subscribe("y", PARTITION + 1);
+
+    // When:
+    processor.close();
+
+    // Then:
+    verify(handler, never()).uncaughtException(any(), any());
+  }
+
+  @Test
+  public void shouldReportFailureToHandlerSetAfterwards() {
+    // Given:
+    final TransientQueryQueue queue = new TransientQueryQueue(OptionalInt.empty());
+    final Subscription subscription =
+        new Subscription("x", PARTITION, (k, row) -> row, queue.populator());
+    feed.subscribe(subscription, () -> {
+      throw new IllegalStateException("boom");
+    });
+
+    // When:
+    subscription.setUncaughtExceptionHandler(handler);
+
+    // Then:
+    verify(handler).uncaughtException(any(), any(IllegalStateException.class));
+  }
+
+  @Test
+  public void shouldIgnoreDeletes() {
+    // Given:
+    final TransientQueryQueue queue = subscribe("y");
+
+    // When:
+    processor.process(KEY_Y, null);
+
+    // Then:
+    assertThat(queue.getQueue(), is(empty()));
+  }
+
+  private TransientQueryQueue subscribe(final String rowKey) {
+    return subscribe(rowKey, PARTITION);
+  }
+
+  private TransientQueryQueue subscribe(final String rowKey, final int partition) {
+    final TransientQueryQueue queue = new TransientQueryQueue(OptionalInt.empty());
+    final Subscription subscription =
+        new Subscription(rowKey, partition, (k, row) -> row, queue.populator());
+    subscription.setUncaughtExceptionHandler(handler);
+    feed.subscribe(subscription, Optional::empty);
+    return queue;
+  }
+
+  private static List<GenericRow> rows(final TransientQueryQueue queue) {
+    return queue.getQueue().stream()
+        .map(kv -> kv.value)
+        .collect(Collectors.toList());
+  }
+
+  private static List<Object> row(final Object... values) {
+    return Arrays.asList(values);
+  }
+
+  private static Expression equal(final Expression left, final Expression right) {
+    return new ComparisonExpression(ComparisonExpression.Type.EQUAL, left, right);
+  }
+
+  private static Struct key(final String rowKey) {
+    return new Struct(SCHEMA.keyConnectSchema()).put("ROWKEY", rowKey);
+  }
+}
@@ -131,4 +131,20 @@ public class TransientQueryQueueTest {
     // Then:
     verify(limitHandler, times(1)).limitReached();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldNotWaitForSpaceWhenOffering() {
+    // Given:
+    final TransientQueryQueue unlimited = new TransientQueryQueue(OptionalInt.empty());
+    final QueuePopulator<String> populator = unlimited.populator();
+    IntStream.range(0, TransientQueryQueue.BLOCKING_QUEUE_CAPACITY)
+        .forEach(idx -> populator.offer("key1", ROW_ONE));
+
+    // When:
+    final boolean result = populator.offer("key1", ROW_TWO);
+
+    // Then:
+    assertThat(result, is(false));
+    assertThat(unlimited.getQueue(), hasSize(TransientQueryQueue.BLOCKING_QUEUE_CAPACITY));
+  }
+}
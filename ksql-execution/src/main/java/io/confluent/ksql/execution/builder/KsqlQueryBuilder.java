@@ -21,6 +21,7 @@ import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.query.QueryId;
@@ -37,6 +38,7 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.QuerySchemas;
 import java.util.LinkedHashMap;
+import java.util.Optional;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.StreamsBuilder;
@@ -52,6 +54,7 @@ public final class KsqlQueryBuilder {
   private final KeySerdeFactory keySerdeFactory;
   private final ValueSerdeFactory valueSerdeFactory;
   private final QueryId queryId;
+  private final Optional<QueryLatencyMetrics> latencyMetrics;
   private final LinkedHashMap<String, PersistenceSchema> schemas = new LinkedHashMap<>();
 
   public static KsqlQueryBuilder of(
@@ -75,6 +78,25 @@ public final class KsqlQueryBuilder {
       StreamsBuilder streamsBuilder, KsqlConfig ksqlConfig, ServiceContext serviceContext,
       ProcessingLogContext processingLogContext, FunctionRegistry functionRegistry, QueryId queryId,
       KeySerdeFactory keySerdeFactory, ValueSerdeFactory valueSerdeFactory
+  ) {
+    this(
+        streamsBuilder,
+        ksqlConfig,
+        serviceContext,
+        processingLogContext,
+        functionRegistry,
+        queryId,
+        keySerdeFactory,
+        valueSerdeFactory,
+        Optional.empty()
+    );
+  }
+
+  private KsqlQueryBuilder(
+      StreamsBuilder streamsBuilder, KsqlConfig ksqlConfig, ServiceContext serviceContext,
+      ProcessingLogContext processingLogContext, FunctionRegistry functionRegistry, QueryId queryId,
+      KeySerdeFactory keySerdeFactory, ValueSerdeFactory valueSerdeFactory,
+      Optional<QueryLatencyMetrics> latencyMetrics
   ) {
     this.streamsBuilder = requireNonNull(streamsBuilder, "streamsBuilder");
     this.ksqlConfig = requireNonNull(ksqlConfig, "ksqlConfig");
@@ -84,6 +106,7 @@ public final class KsqlQueryBuilder {
     this.queryId = requireNonNull(queryId, "queryId");
     this.keySerdeFactory = requireNonNull(keySerdeFactory, "keySerdeFactory");
     this.valueSerdeFactory = requireNonNull(valueSerdeFactory, "valueSerdeFactory");
+    this.latencyMetrics = requireNonNull(latencyMetrics, "latencyMetrics");
   }
 
   public ProcessingLogContext getProcessingLogContext() {
@@ -114,14 +137,38 @@ public final class KsqlQueryBuilder {
     return queryId;
   }
 
+  /**
+   * @return the latency metrics step builders should time their processing with, if enabled.
+   */
+  public Optional<QueryLatencyMetrics> getLatencyMetrics() {
+    return latencyMetrics;
+  }
+
   public KsqlQueryBuilder withKsqlConfig(KsqlConfig newConfig) {
-    return of(
+    return new KsqlQueryBuilder(
         streamsBuilder,
         newConfig,
         serviceContext,
         processingLogContext,
         functionRegistry,
-        queryId
+        queryId,
+        new GenericKeySerDe(),
+        new GenericRowSerDe(),
+        latencyMetrics
+    );
+  }
+
+  public KsqlQueryBuilder withLatencyMetrics(Optional<QueryLatencyMetrics> latencyMetrics) {
+    return new KsqlQueryBuilder(
+        streamsBuilder,
+        ksqlConfig,
+        serviceContext,
+        processingLogContext,
+        functionRegistry,
+        queryId,
+        keySerdeFactory,
+        valueSerdeFactory,
+        latencyMetrics
     );
   }
 
@@ -168,7 +215,7 @@ public final class KsqlQueryBuilder {
 
     track(loggerNamePrefix, schema.valueSchema());
 
-    return valueSerdeFactory.create(
+    Serde<GenericRow> serde = valueSerdeFactory.create(
         format,
         schema.valueSchema(),
         ksqlConfig,
@@ -176,6 +223,10 @@ public final class KsqlQueryBuilder {
         loggerNamePrefix,
         processingLogContext
     );
+
+    return latencyMetrics
+        .map(metrics -> metrics.timeSerde(serde))
+        .orElse(serde);
   }
 
   private void track(String loggerNamePrefix, PersistenceSchema schema) {
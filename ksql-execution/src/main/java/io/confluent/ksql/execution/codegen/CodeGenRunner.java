@@ -28,6 +28,8 @@ import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.function.KsqlScalarFunction;
 import io.confluent.ksql.function.UdfFactory;
+import io.confluent.ksql.function.udf.Kudf;
+import io.confluent.ksql.function.udf.MethodBackedUdf;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.ColumnRef;
@@ -37,9 +39,11 @@ import io.confluent.ksql.schema.ksql.SchemaConverters.SqlToJavaTypeConverter;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Schema;
@@ -167,14 +171,41 @@ public class CodeGenRunner {
 
       UdfFactory holder = functionRegistry.getUdfFactory(functionName.name());
       KsqlScalarFunction function = holder.getFunction(argumentTypes);
-      spec.addFunction(
-          function.getFunctionName(),
-          function.newInstance(ksqlConfig)
-      );
+      Kudf kudf = function.newInstance(ksqlConfig);
+
+      Optional<Method> directMethod = getDirectMethod(function, kudf, argumentTypes);
+      if (directMethod.isPresent()) {
+        spec.addDirectFunction(
+            function.getFunctionName(),
+            ((MethodBackedUdf) kudf).getUdf(),
+            directMethod.get()
+        );
+      } else {
+        spec.addFunction(function.getFunctionName(), kudf);
+      }
 
       return null;
     }
 
+    /**
+     * Only built-in functions are called directly: their classes are visible to the compiler and
+     * they are trusted, i.e. need not run under the security manager.
+     */
+    private Optional<Method> getDirectMethod(
+        KsqlScalarFunction function,
+        Kudf kudf,
+        List<Schema> argumentTypes
+    ) {
+      if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_UDF_DIRECT_INVOCATION_ENABLED)
+          || !function.isInternal()
+          || !(kudf instanceof MethodBackedUdf)) {
+        return Optional.empty();
+      }
+
+      return ((MethodBackedUdf) kudf).getMethod()
+          .filter(method -> DirectUdfCall.canCall(method, argumentTypes));
+    }
+
     @Override
     public Void visitSubscriptExpression(SubscriptExpression node, Void context) {
       if (node.getBase() instanceof ColumnReferenceExp) {
@@ -24,6 +24,7 @@ import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.ColumnRef;
 import io.confluent.ksql.util.KsqlException;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,14 +37,17 @@ public final class CodeGenSpec {
   private final ImmutableList<ArgumentSpec> arguments;
   private final ImmutableMap<ColumnRef, String> columnToCodeName;
   private final ImmutableListMultimap<FunctionName, String> functionToCodeName;
+  private final ImmutableMap<String, Method> directMethods;
 
   private CodeGenSpec(
       ImmutableList<ArgumentSpec> arguments, ImmutableMap<ColumnRef, String> columnToCodeName,
-      ImmutableListMultimap<FunctionName, String> functionToCodeName
+      ImmutableListMultimap<FunctionName, String> functionToCodeName,
+      ImmutableMap<String, Method> directMethods
   ) {
     this.arguments = arguments;
     this.columnToCodeName = columnToCodeName;
     this.functionToCodeName = functionToCodeName;
+    this.directMethods = directMethods;
   }
 
   public String[] argumentNames() {
@@ -70,6 +74,15 @@ public final class CodeGenSpec {
     return names.get(index);
   }
 
+  /**
+   * @param functionCodeName the unique name of a function.
+   * @return the method to call directly on the function's argument, if it is a UDF instance,
+   *     rather than a {@code Kudf}.
+   */
+  public Optional<Method> getDirectMethod(String functionCodeName) {
+    return Optional.ofNullable(directMethods.get(functionCodeName));
+  }
+
   public void resolve(GenericRow row, Object[] parameters) {
     for (int paramIdx = 0; paramIdx < arguments.size(); paramIdx++) {
       ArgumentSpec spec = arguments.get(paramIdx);
@@ -79,7 +92,7 @@ public final class CodeGenSpec {
         parameters[paramIdx] = row.getColumns().get(colIndex);
       } else {
         int copyOfParamIdxForLambda = paramIdx;
-        parameters[paramIdx] = spec.kudf()
+        parameters[paramIdx] = spec.function()
             .orElseThrow(() -> new KsqlException(
                 "Expected parameter at index "
                     + copyOfParamIdxForLambda
@@ -95,6 +108,8 @@ public final class CodeGenSpec {
     private final Map<ColumnRef, String> columnRefToName = new HashMap<>();
     private final ImmutableListMultimap.Builder<FunctionName, String> functionNameBuilder =
         ImmutableListMultimap.builder();
+    private final ImmutableMap.Builder<String, Method> directMethodBuilder =
+        ImmutableMap.builder();
 
     private int argumentCount = 0;
 
@@ -122,18 +137,32 @@ public final class CodeGenSpec {
       argumentCount++;
     }
 
+    void addDirectFunction(FunctionName functionName, Object udf, Method method) {
+      String codeName = CodeGenUtil.functionName(functionName, argumentCount);
+      functionNameBuilder.put(functionName, codeName);
+      directMethodBuilder.put(codeName, method);
+      argumentBuilder.add(new ArgumentSpec(
+          codeName,
+          method.getDeclaringClass(),
+          OptionalInt.empty(),
+          Optional.of(udf)
+      ));
+      argumentCount++;
+    }
+
     CodeGenSpec build() {
       return new CodeGenSpec(
           argumentBuilder.build(),
           ImmutableMap.copyOf(columnRefToName),
-          functionNameBuilder.build()
+          functionNameBuilder.build(),
+          directMethodBuilder.build()
       );
     }
   }
 
   /**
-   * Represents either a named reference to a column in a generic row, or a function wrapped in a
-   * {@code Kudf}.
+   * Represents either a named reference to a column in a generic row, or a function. The function
+   * is either wrapped in a {@code Kudf}, or is a UDF instance whose method is called directly.
    */
   @Immutable
   public static class ArgumentSpec {
@@ -141,13 +170,15 @@ public final class CodeGenSpec {
     private final String name;
     private final Class<?> type;
     private final OptionalInt columnIndex;
-    private final Optional<Kudf> kudf;
+    private final Optional<Object> function;
 
-    ArgumentSpec(String name, Class<?> type, OptionalInt columnIndex, Optional<Kudf> kudf) {
+    ArgumentSpec(
+        String name, Class<?> type, OptionalInt columnIndex, Optional<Object> function
+    ) {
       this.name = name;
       this.type = type;
       this.columnIndex = columnIndex;
-      this.kudf = kudf;
+      this.function = function;
     }
 
     public String name() {
@@ -162,8 +193,8 @@ public final class CodeGenSpec {
       return columnIndex;
     }
 
-    public Optional<Kudf> kudf() {
-      return kudf;
+    public Optional<Object> function() {
+      return function;
     }
 
     @Override
@@ -172,7 +203,7 @@ public final class CodeGenSpec {
           + "name='" + name + '\''
           + ", type=" + type
           + ", columnIndex=" + columnIndex
-          + ", kudf=" + kudf
+          + ", function=" + function
           + '}';
     }
   }
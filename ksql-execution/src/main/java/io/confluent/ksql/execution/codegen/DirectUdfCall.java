@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import com.google.common.primitives.Primitives;
+import io.confluent.ksql.util.SchemaUtil;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Helpers for generating code that calls a UDF method directly, i.e. as a statically typed call
+ * on the UDF instance, rather than reflectively via {@code Kudf.evaluate}.
+ */
+final class DirectUdfCall {
+
+  private DirectUdfCall() {
+  }
+
+  /**
+   * Determine if the supplied {@code method} can be called directly with arguments of the
+   * supplied types.
+   *
+   * <p>The check is strict: the argument types must match the parameter types without any
+   * conversion other than unboxing, so that the generated call binds to {@code method} and
+   * behaves as the reflective call would. Varargs methods are not called directly.
+   *
+   * @param method the UDF method.
+   * @param argumentSchemas the types of the arguments.
+   * @return {@code true} if the method can be called directly.
+   */
+  static boolean canCall(final Method method, final List<Schema> argumentSchemas) {
+    if (method.isVarArgs()
+        || method.getParameterCount() != argumentSchemas.size()
+        || method.getReturnType() == void.class
+        || !Modifier.isPublic(method.getModifiers())
+        || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+      return false;
+    }
+
+    final Class<?>[] parameterTypes = method.getParameterTypes();
+    for (int i = 0; i != parameterTypes.length; ++i) {
+      final Schema argumentSchema = argumentSchemas.get(i);
+      if (argumentSchema == null || !canPass(parameterTypes[i], argumentSchema)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Format the code to call the supplied {@code method} directly.
+   *
+   * <p>Each argument is cast to the parameter type, so that null literals resolve correctly.
+   * Primitive results are boxed.
+   *
+   * @param instanceName the name of the parameter holding the UDF instance.
+   * @param method the method to call.
+   * @param arguments the code for each argument.
+   * @param javaReturnType the simple name of the java type the result should be cast to.
+   * @return the code.
+   */
+  static String formatCall(
+      final String instanceName,
+      final Method method,
+      final List<String> arguments,
+      final String javaReturnType
+  ) {
+    final Class<?>[] parameterTypes = method.getParameterTypes();
+
+    final StringBuilder call = new StringBuilder()
+        .append(instanceName)
+        .append('.')
+        .append(method.getName())
+        .append('(');
+
+    for (int i = 0; i != parameterTypes.length; ++i) {
+      if (i != 0) {
+        call.append(", ");
+      }
+
+      final Class<?> argType = Primitives.wrap(parameterTypes[i]);
+      call.append("((")
+          .append(argType.getCanonicalName())
+          .append(") (")
+          .append(arguments.get(i))
+          .append("))");
+    }
+
+    call.append(')');
+
+    final Class<?> returnType = method.getReturnType();
+    final String result = returnType.isPrimitive()
+        ? Primitives.wrap(returnType).getSimpleName() + ".valueOf(" + call + ")"
+        : call.toString();
+
+    return "((" + javaReturnType + ") ((Object) " + result + "))";
+  }
+
+  private static boolean canPass(final Class<?> parameterType, final Schema argumentSchema) {
+    final Class<?> argType;
+    try {
+      argType = SchemaUtil.getJavaType(argumentSchema);
+    } catch (final RuntimeException e) {
+      return false;
+    }
+
+    if (parameterType.isPrimitive()) {
+      return Primitives.wrap(parameterType).equals(argType);
+    }
+
+    return parameterType.getCanonicalName() != null
+        && parameterType.isAssignableFrom(argType);
+  }
+}
@@ -74,12 +74,14 @@ import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.Pair;
 import io.confluent.ksql.util.SchemaUtil;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -135,6 +137,7 @@ public class SqlToJavaVisitor {
   private final ExpressionTypeManager expressionTypeManager;
   private final Function<FunctionName, String> funNameToCodeName;
   private final Function<ColumnRef, String> colRefToCodeName;
+  private final Function<String, Optional<Method>> directMethods;
 
   public static SqlToJavaVisitor of(
       LogicalSchema schema, FunctionRegistry functionRegistry, CodeGenSpec spec
@@ -147,7 +150,8 @@ public class SqlToJavaVisitor {
         name -> {
           int index = nameCounts.add(name, 1);
           return spec.getUniqueNameForFunction(name, index);
-        }
+        },
+        spec::getDirectMethod
     );
   }
 
@@ -155,6 +159,15 @@ public class SqlToJavaVisitor {
   SqlToJavaVisitor(
       LogicalSchema schema, FunctionRegistry functionRegistry,
       Function<ColumnRef, String> colRefToCodeName, Function<FunctionName, String> funNameToCodeName
+  ) {
+    this(schema, functionRegistry, colRefToCodeName, funNameToCodeName, name -> Optional.empty());
+  }
+
+  private SqlToJavaVisitor(
+      LogicalSchema schema, FunctionRegistry functionRegistry,
+      Function<ColumnRef, String> colRefToCodeName,
+      Function<FunctionName, String> funNameToCodeName,
+      Function<String, Optional<Method>> directMethods
   ) {
     this.expressionTypeManager =
         new ExpressionTypeManager(schema, functionRegistry);
@@ -162,6 +175,7 @@ public class SqlToJavaVisitor {
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
     this.colRefToCodeName = Objects.requireNonNull(colRefToCodeName, "colRefToCodeName");
     this.funNameToCodeName = Objects.requireNonNull(funNameToCodeName, "funNameToCodeName");
+    this.directMethods = Objects.requireNonNull(directMethods, "directMethods");
   }
 
   public String process(Expression expression) {
@@ -317,11 +331,19 @@ public class SqlToJavaVisitor {
 
       Schema functionReturnSchema = getFunctionReturnSchema(node);
       String javaReturnType = SchemaUtil.getJavaType(functionReturnSchema).getSimpleName();
-      String arguments = node.getArguments().stream()
+      List<String> arguments = node.getArguments().stream()
           .map(arg -> process(arg, context).getLeft())
-          .collect(Collectors.joining(", "));
+          .collect(Collectors.toList());
+
+      Optional<Method> directMethod = directMethods.apply(instanceName);
+      if (directMethod.isPresent()) {
+        String codeString = DirectUdfCall
+            .formatCall(instanceName, directMethod.get(), arguments, javaReturnType);
+        return new Pair<>(codeString, functionReturnSchema);
+      }
+
       String codeString = "((" + javaReturnType + ") " + instanceName
-          + ".evaluate(" + arguments + "))";
+          + ".evaluate(" + String.join(", ", arguments) + "))";
       return new Pair<>(codeString, functionReturnSchema);
     }
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function.udaf;
+
+/**
+ * A mutable accumulator of a single aggregate function's result.
+ *
+ * <p>Accumulators of the built-in functions over primitive types update primitive fields in
+ * place, so that no boxed aggregate is built per record. The boxed aggregate, in the form the
+ * function itself uses, is only built by {@link #get()}.
+ */
+interface Accumulator {
+
+  /**
+   * Set the accumulated value from an aggregate built by the function, or by {@link #get()}.
+   *
+   * @param aggregate the aggregate.
+   */
+  void set(Object aggregate);
+
+  /**
+   * Add a value to the accumulated value.
+   *
+   * @param value the value to add, which may be {@code null}.
+   */
+  void add(Object value);
+
+  /**
+   * @return the accumulated value, as an aggregate of the function.
+   */
+  Object get();
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function.udaf;
+
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Factory of {@link Accumulator}s.
+ *
+ * <p>SUM, COUNT, MIN, MAX and AVG over INT, BIGINT and DOUBLE accumulate into primitive fields.
+ * All other functions accumulate by calling the function itself.
+ */
+final class Accumulators {
+
+  private static final String AVG_SUM = "SUM";
+  private static final String AVG_COUNT = "COUNT";
+
+  private Accumulators() {
+  }
+
+  static Supplier<Accumulator> factoryFor(final KsqlAggregateFunction<?, ?, ?> function) {
+    final String name = function.getFunctionName().name().toUpperCase(Locale.ROOT);
+    final Schema aggregateType = function.getAggregateType();
+
+    switch (name) {
+      case "COUNT":
+        if (aggregateType.type() == Schema.Type.INT64) {
+          return CountAccumulator::new;
+        }
+        break;
+      case "SUM":
+        switch (aggregateType.type()) {
+          case INT32:
+            return IntSumAccumulator::new;
+          case INT64:
+            return LongSumAccumulator::new;
+          case FLOAT64:
+            return DoubleSumAccumulator::new;
+          default:
+            break;
+        }
+        break;
+      case "MIN":
+      case "MAX":
+        final boolean max = name.equals("MAX");
+        switch (aggregateType.type()) {
+          case INT32:
+            return () -> new IntExtremeAccumulator(max);
+          case INT64:
+            return () -> new LongExtremeAccumulator(max);
+          case FLOAT64:
+            return () -> new DoubleExtremeAccumulator(max);
+          default:
+            break;
+        }
+        break;
+      case "AVG":
+        if (aggregateType.type() == Schema.Type.STRUCT) {
+          final Field sum = aggregateType.field(AVG_SUM);
+          final Field count = aggregateType.field(AVG_COUNT);
+          if (sum != null && count != null && count.schema().type() == Schema.Type.INT64) {
+            switch (sum.schema().type()) {
+              case INT32:
+                return () -> new AvgAccumulator(aggregateType, false, true);
+              case INT64:
+                return () -> new AvgAccumulator(aggregateType, false, false);
+              case FLOAT64:
+                return () -> new AvgAccumulator(aggregateType, true, false);
+              default:
+                break;
+            }
+          }
+        }
+        break;
+      default:
+        break;
+    }
+
+    return () -> new FunctionAccumulator(function);
+  }
+
+  private static final class FunctionAccumulator implements Accumulator {
+
+    @SuppressWarnings("rawtypes")
+    private final KsqlAggregateFunction function;
+    private Object aggregate;
+
+    FunctionAccumulator(final KsqlAggregateFunction<?, ?, ?> function) {
+      this.function = function;
+    }
+
+    @Override
+    public void set(final Object aggregate) {
+      this.aggregate = aggregate;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void add(final Object value) {
+      aggregate = function.aggregate(value, aggregate);
+    }
+
+    @Override
+    public Object get() {
+      return aggregate;
+    }
+  }
+
+  private static final class CountAccumulator implements Accumulator {
+
+    private long count;
+
+    @Override
+    public void set(final Object aggregate) {
+      count = aggregate == null ? 0 : (Long) aggregate;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value != null) {
+        count++;
+      }
+    }
+
+    @Override
+    public Object get() {
+      return count;
+    }
+  }
+
+  private static final class IntSumAccumulator implements Accumulator {
+
+    private int sum;
+
+    @Override
+    public void set(final Object aggregate) {
+      sum = aggregate == null ? 0 : (Integer) aggregate;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value != null) {
+        sum += (Integer) value;
+      }
+    }
+
+    @Override
+    public Object get() {
+      return sum;
+    }
+  }
+
+  private static final class LongSumAccumulator implements Accumulator {
+
+    private long sum;
+
+    @Override
+    public void set(final Object aggregate) {
+      sum = aggregate == null ? 0 : (Long) aggregate;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value != null) {
+        sum += (Long) value;
+      }
+    }
+
+    @Override
+    public Object get() {
+      return sum;
+    }
+  }
+
+  private static final class DoubleSumAccumulator implements Accumulator {
+
+    private double sum;
+
+    @Override
+    public void set(final Object aggregate) {
+      sum = aggregate == null ? 0 : (Double) aggregate;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value != null) {
+        sum += (Double) value;
+      }
+    }
+
+    @Override
+    public Object get() {
+      return sum;
+    }
+  }
+
+  private static final class IntExtremeAccumulator implements Accumulator {
+
+    private final boolean max;
+    private boolean present;
+    private int value;
+
+    IntExtremeAccumulator(final boolean max) {
+      this.max = max;
+    }
+
+    @Override
+    public void set(final Object aggregate) {
+      present = aggregate != null;
+      value = present ? (Integer) aggregate : 0;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value == null) {
+        return;
+      }
+
+      final int v = (Integer) value;
+      if (!present) {
+        this.value = v;
+        present = true;
+      } else {
+        this.value = max ? Math.max(this.value, v) : Math.min(this.value, v);
+      }
+    }
+
+    @Override
+    public Object get() {
+      if (!present) {
+        return null;
+      }
+      return value;
+    }
+  }
+
+  private static final class LongExtremeAccumulator implements Accumulator {
+
+    private final boolean max;
+    private boolean present;
+    private long value;
+
+    LongExtremeAccumulator(final boolean max) {
+      this.max = max;
+    }
+
+    @Override
+    public void set(final Object aggregate) {
+      present = aggregate != null;
+      value = present ? (Long) aggregate : 0;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value == null) {
+        return;
+      }
+
+      final long v = (Long) value;
+      if (!present) {
+        this.value = v;
+        present = true;
+      } else {
+        this.value = max ? Math.max(this.value, v) : Math.min(this.value, v);
+      }
+    }
+
+    @Override
+    public Object get() {
+      if (!present) {
+        return null;
+      }
+      return value;
+    }
+  }
+
+  private static final class DoubleExtremeAccumulator implements Accumulator {
+
+    private final boolean max;
+    private boolean present;
+    private double value;
+
+    DoubleExtremeAccumulator(final boolean max) {
+      this.max = max;
+    }
+
+    @Override
+    public void set(final Object aggregate) {
+      present = aggregate != null;
+      value = present ? (Double) aggregate : 0;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value == null) {
+        return;
+      }
+
+      final double v = (Double) value;
+      if (!present) {
+        this.value = v;
+        present = true;
+      } else {
+        this.value = max ? Math.max(this.value, v) : Math.min(this.value, v);
+      }
+    }
+
+    @Override
+    public Object get() {
+      if (!present) {
+        return null;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * AVG accumulates a sum and a count, held by the function's aggregate as a struct.
+   */
+  private static final class AvgAccumulator implements Accumulator {
+
+    private final Schema schema;
+    private final boolean floating;
+    private final boolean integer;
+    private long longSum;
+    private double doubleSum;
+    private long count;
+
+    AvgAccumulator(final Schema schema, final boolean floating, final boolean integer) {
+      this.schema = schema;
+      this.floating = floating;
+      this.integer = integer;
+    }
+
+    @Override
+    public void set(final Object aggregate) {
+      final Struct struct = (Struct) aggregate;
+      final Number sum = struct == null ? null : (Number) struct.get(AVG_SUM);
+      final Long count = struct == null ? null : (Long) struct.get(AVG_COUNT);
+
+      if (floating) {
+        doubleSum = sum == null ? 0 : sum.doubleValue();
+      } else {
+        longSum = sum == null ? 0 : sum.longValue();
+      }
+      this.count = count == null ? 0 : count;
+    }
+
+    @Override
+    public void add(final Object value) {
+      if (value == null) {
+        return;
+      }
+
+      if (floating) {
+        doubleSum += (Double) value;
+      } else if (integer) {
+        // Matches the function's own int arithmetic, including on overflow:
+        longSum = (int) longSum + (Integer) value;
+      } else {
+        longSum += (Long) value;
+      }
+      count++;
+    }
+
+    @Override
+    public Object get() {
+      final Object sum;
+      if (floating) {
+        sum = doubleSum;
+      } else if (integer) {
+        sum = (int) longSum;
+      } else {
+        sum = longSum;
+      }
+
+      return new Struct(schema)
+          .put(AVG_SUM, sum)
+          .put(AVG_COUNT, count);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function.udaf;
+
+import io.confluent.ksql.GenericRow;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mutable aggregate row, as built by a {@link KudafAggregator}.
+ *
+ * <p>Each record is accumulated in place. The aggregate row itself is only built by
+ * {@link #toRow()}, e.g. when the aggregate is stored or forwarded.
+ */
+public final class KudafAccumulator {
+
+  private final int initialUdafIndex;
+  private final int[] argIndexes;
+  private final Object[] columns;
+  private final Accumulator[] accumulators;
+
+  KudafAccumulator(
+      final int initialUdafIndex,
+      final int[] argIndexes,
+      final Accumulator[] accumulators,
+      final GenericRow aggRow
+  ) {
+    this.initialUdafIndex = initialUdafIndex;
+    this.argIndexes = argIndexes;
+    this.accumulators = accumulators;
+    this.columns = new Object[initialUdafIndex];
+
+    final List<Object> aggColumns = aggRow.getColumns();
+    for (int idx = 0; idx < initialUdafIndex; idx++) {
+      columns[idx] = aggColumns.get(idx);
+    }
+
+    for (int i = 0; i < accumulators.length; i++) {
+      accumulators[i].set(aggColumns.get(initialUdafIndex + i));
+    }
+  }
+
+  /**
+   * Accumulate a row, as {@link KudafAggregator#apply} would.
+   *
+   * @param row the row to accumulate.
+   */
+  public void add(final GenericRow row) {
+    final List<Object> rowColumns = row.getColumns();
+
+    for (int idx = 0; idx < initialUdafIndex; idx++) {
+      columns[idx] = rowColumns.get(idx);
+    }
+
+    for (int i = 0; i < accumulators.length; i++) {
+      accumulators[i].add(rowColumns.get(argIndexes[i]));
+    }
+  }
+
+  /**
+   * @return the aggregate row.
+   */
+  public GenericRow toRow() {
+    final List<Object> row = new ArrayList<>(initialUdafIndex + accumulators.length);
+
+    for (final Object column : columns) {
+      row.add(column);
+    }
+
+    for (final Accumulator accumulator : accumulators) {
+      row.add(accumulator.get());
+    }
+
+    return new GenericRow(row);
+  }
+}
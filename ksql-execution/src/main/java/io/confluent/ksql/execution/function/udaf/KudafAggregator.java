@@ -17,12 +17,13 @@ package io.confluent.ksql.execution.function.udaf;
 
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.function.KsqlAggregateFunction;
 import io.confluent.ksql.function.UdafAggregator;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Merger;
 import org.apache.kafka.streams.kstream.ValueMapper;
@@ -30,56 +31,91 @@ import org.apache.kafka.streams.kstream.ValueMapper;
 public class KudafAggregator implements UdafAggregator {
 
   private final int initialUdafIndex;
-  private final List<KsqlAggregateFunction<?, ?, ?>> aggregateFunctions;
+  private final KsqlAggregateFunction[] aggregateFunctions;
+  private final int[] argIndexes;
   private final int columnCount;
 
   public KudafAggregator(int initialUdafIndex, List<KsqlAggregateFunction<?, ?, ?>> functions) {
     this.initialUdafIndex = initialUdafIndex;
-    this.aggregateFunctions = ImmutableList.copyOf(requireNonNull(functions, "functions"));
-    this.columnCount = initialUdafIndex + aggregateFunctions.size();
+    this.aggregateFunctions = requireNonNull(functions, "functions")
+        .toArray(new KsqlAggregateFunction[0]);
+    this.columnCount = initialUdafIndex + aggregateFunctions.length;
 
-    if (aggregateFunctions.isEmpty()) {
+    if (aggregateFunctions.length == 0) {
       throw new IllegalArgumentException("Aggregator needs aggregate functions");
     }
+
+    // Resolved once, rather than per record:
+    this.argIndexes = new int[aggregateFunctions.length];
+    for (int i = 0; i < aggregateFunctions.length; i++) {
+      argIndexes[i] = aggregateFunctions[i].getArgIndexInValue();
+    }
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public GenericRow apply(Struct k, GenericRow rowValue, GenericRow aggRowValue) {
+    final List<Object> row = rowValue.getColumns();
+    final List<Object> aggRow = aggRowValue.getColumns();
+
     // copy over group-by and aggregate parameter columns into the output row
     for (int idx = 0; idx < initialUdafIndex; idx++) {
-      aggRowValue.getColumns().set(idx, rowValue.getColumns().get(idx));
+      aggRow.set(idx, row.get(idx));
     }
 
-    // compute the aggregation and write it into the output row. Its assumed that
+    // compute the aggregation and write it into the output row, in place. Its assumed that
     // the columns written by this statement do not overlap with those written by
     // the above statement.
-    for (int idx = initialUdafIndex; idx < columnCount; idx++) {
-      KsqlAggregateFunction function = aggregateFunctionForColumn(idx);
-      Object currentValue = rowValue.getColumns().get(function.getArgIndexInValue());
-      Object currentAggregate = aggRowValue.getColumns().get(idx);
-      Object newAggregate = function.aggregate(currentValue, currentAggregate);
-      aggRowValue.getColumns().set(idx, newAggregate);
+    for (int i = 0; i < aggregateFunctions.length; i++) {
+      final int idx = initialUdafIndex + i;
+      final Object currentValue = row.get(argIndexes[i]);
+      final Object currentAggregate = aggRow.get(idx);
+      aggRow.set(idx, aggregateFunctions[i].aggregate(currentValue, currentAggregate));
     }
 
     return aggRowValue;
   }
 
+  /**
+   * Get a factory of mutable accumulators that aggregate rows as {@link #apply} does, updating
+   * primitive fields in place where the function allows it.
+   *
+   * @return the factory, which initializes each accumulator from the supplied aggregate row.
+   */
+  public Function<GenericRow, KudafAccumulator> getAccumulatorFactory() {
+    // Resolved once, rather than per accumulator:
+    final Supplier[] factories = new Supplier[aggregateFunctions.length];
+    for (int i = 0; i < aggregateFunctions.length; i++) {
+      factories[i] = Accumulators.factoryFor(aggregateFunctions[i]);
+    }
+
+    return aggRow -> {
+      final Accumulator[] accumulators = new Accumulator[factories.length];
+      for (int i = 0; i < factories.length; i++) {
+        accumulators[i] = (Accumulator) factories[i].get();
+      }
+      return new KudafAccumulator(initialUdafIndex, argIndexes, accumulators, aggRow);
+    };
+  }
+
   @SuppressWarnings("unchecked")
   public ValueMapper<GenericRow, GenericRow> getResultMapper() {
+    // Obtained once, as some functions build a new mapper on each call:
+    final Function[] resultMappers = new Function[aggregateFunctions.length];
+    for (int i = 0; i < aggregateFunctions.length; i++) {
+      resultMappers[i] = aggregateFunctions[i].getResultMapper();
+    }
 
     return aggRow -> {
-      List<Object> columns = new ArrayList<>(columnCount);
+      final List<Object> aggColumns = aggRow.getColumns();
+      final List<Object> columns = new ArrayList<>(columnCount);
 
       for (int idx = 0; idx < initialUdafIndex; idx++) {
-        columns.add(idx, aggRow.getColumns().get(idx));
+        columns.add(aggColumns.get(idx));
       }
 
-      for (int idx = initialUdafIndex; idx < columnCount; idx++) {
-        KsqlAggregateFunction function = aggregateFunctionForColumn(idx);
-        Object agg = aggRow.getColumns().get(idx);
-        Object reduced = function.getResultMapper().apply(agg);
-        columns.add(idx, reduced);
+      for (int i = 0; i < resultMappers.length; i++) {
+        columns.add(resultMappers[i].apply(aggColumns.get(initialUdafIndex + i)));
       }
 
       return new GenericRow(columns);
@@ -89,31 +125,28 @@ public class KudafAggregator implements UdafAggregator {
   @SuppressWarnings("unchecked")
   @Override
   public Merger<Struct, GenericRow> getMerger() {
+    // Obtained once, as some functions build a new merger on each call:
+    final Merger[] mergers = new Merger[aggregateFunctions.length];
+    for (int i = 0; i < aggregateFunctions.length; i++) {
+      mergers[i] = aggregateFunctions[i].getMerger();
+    }
 
     return (key, aggRowOne, aggRowTwo) -> {
-      List<Object> columns = new ArrayList<>(columnCount);
+      final List<Object> one = aggRowOne.getColumns();
+      final List<Object> two = aggRowTwo.getColumns();
+      final List<Object> columns = new ArrayList<>(columnCount);
 
       for (int idx = 0; idx < initialUdafIndex; idx++) {
-        if (aggRowOne.getColumns().get(idx) == null) {
-          columns.add(idx, aggRowTwo.getColumns().get(idx));
-        } else {
-          columns.add(idx, aggRowOne.getColumns().get(idx));
-        }
+        final Object value = one.get(idx);
+        columns.add(value == null ? two.get(idx) : value);
       }
 
-      for (int idx = initialUdafIndex; idx < columnCount; idx++) {
-        KsqlAggregateFunction function = aggregateFunctionForColumn(idx);
-        Object aggOne = aggRowOne.getColumns().get(idx);
-        Object aggTwo = aggRowTwo.getColumns().get(idx);
-        Object merged = function.getMerger().apply(key, aggOne, aggTwo);
-        columns.add(idx, merged);
+      for (int i = 0; i < mergers.length; i++) {
+        final int idx = initialUdafIndex + i;
+        columns.add(mergers[i].apply(key, one.get(idx), two.get(idx)));
       }
 
       return new GenericRow(columns);
     };
   }
-
-  private KsqlAggregateFunction aggregateFunctionForColumn(int columnIndex) {
-    return aggregateFunctions.get(columnIndex - initialUdafIndex);
-  }
 }
@@ -17,11 +17,10 @@ package io.confluent.ksql.execution.function.udaf;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.apache.kafka.streams.kstream.Initializer;
 
 public class KudafInitializer implements Initializer<GenericRow> {
@@ -38,11 +37,14 @@ public class KudafInitializer implements Initializer<GenericRow> {
 
   @Override
   public GenericRow apply() {
-    List<Object> values = IntStream.range(0, nonAggValSize)
-        .mapToObj(value -> null)
-        .collect(Collectors.toList());
+    final List<Object> values = new ArrayList<>(nonAggValSize + initialValueSuppliers.size());
+    for (int i = 0; i < nonAggValSize; i++) {
+      values.add(null);
+    }
 
-    initialValueSuppliers.forEach(supplier -> values.add(supplier.get()));
+    for (final Supplier supplier : initialValueSuppliers) {
+      values.add(supplier.get());
+    }
     return new GenericRow(values);
   }
 }
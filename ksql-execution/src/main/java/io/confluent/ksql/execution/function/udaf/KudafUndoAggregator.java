@@ -39,15 +39,18 @@ public class KudafUndoAggregator implements Aggregator<Struct, GenericRow, Gener
   @SuppressWarnings("unchecked")
   @Override
   public GenericRow apply(Struct k, GenericRow rowValue, GenericRow aggRowValue) {
+    final List<Object> row = rowValue.getColumns();
+    final List<Object> aggRow = aggRowValue.getColumns();
+
     int idx = 0;
     for (; idx < initialUdafIndex; idx++) {
-      aggRowValue.getColumns().set(idx, rowValue.getColumns().get(idx));
+      aggRow.set(idx, row.get(idx));
     }
 
     for (TableAggregationFunction function : aggregateFunctions) {
-      Object argument = rowValue.getColumns().get(function.getArgIndexInValue());
-      Object previous = aggRowValue.getColumns().get(idx);
-      aggRowValue.getColumns().set(idx, function.undo(argument, previous));
+      Object argument = row.get(function.getArgIndexInValue());
+      Object previous = aggRow.get(idx);
+      aggRow.set(idx, function.undo(argument, previous));
       idx++;
     }
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function.udtf;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The columns of a row produced by a table function: the columns of the parent row, followed by
+ * one value per table function.
+ *
+ * <p>The parent columns are shared, not copied, between all rows exploded from the same parent.
+ * Setting a parent column copies them first, so that sibling rows are unaffected.
+ */
+final class ExplodedColumns extends AbstractList<Object> implements RandomAccess {
+
+  private List<Object> parent;
+  private final int parentSize;
+  private final Object[] exploded;
+  private boolean parentCopied;
+
+  ExplodedColumns(final List<Object> parent, final Object[] exploded) {
+    this.parent = parent;
+    this.parentSize = parent.size();
+    this.exploded = exploded;
+  }
+
+  @Override
+  public Object get(final int index) {
+    if (index < parentSize) {
+      return parent.get(index);
+    }
+    return exploded[checkExplodedIndex(index)];
+  }
+
+  @Override
+  public Object set(final int index, final Object element) {
+    if (index < parentSize) {
+      if (!parentCopied) {
+        parent = new ArrayList<>(parent);
+        parentCopied = true;
+      }
+      return parent.set(index, element);
+    }
+
+    final int explodedIndex = checkExplodedIndex(index);
+    final Object previous = exploded[explodedIndex];
+    exploded[explodedIndex] = element;
+    return previous;
+  }
+
+  @Override
+  public int size() {
+    return parentSize + exploded.length;
+  }
+
+  private int checkExplodedIndex(final int index) {
+    final int explodedIndex = index - parentSize;
+    if (index < 0 || explodedIndex >= exploded.length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+    return explodedIndex;
+  }
+}
@@ -17,9 +17,9 @@ package io.confluent.ksql.execution.function.udtf;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.GenericRow;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import org.apache.kafka.streams.kstream.ValueMapper;
 
@@ -38,28 +38,57 @@ public class KudtfFlatMapper implements ValueMapper<GenericRow, Iterable<Generic
   /*
   This function zips results from multiple table functions together as described in KLIP-9
   in the design-proposals directory.
+
+  The table functions are evaluated up front, but the output rows are only built as they are
+  iterated, and each shares the columns of the parent row rather than copying them.
    */
   @Override
   public Iterable<GenericRow> apply(GenericRow row) {
-    List<Iterator<?>> iters = new ArrayList<>(tableFunctionAppliers.size());
+    final List<Object> parentColumns = row.getColumns();
+    final List<?>[] exploded = new List<?>[tableFunctionAppliers.size()];
     int maxLength = 0;
-    for (TableFunctionApplier applier : tableFunctionAppliers) {
-      List<?> exploded = applier.apply(row);
-      iters.add(exploded.iterator());
-      maxLength = Math.max(maxLength, exploded.size());
+    for (int i = 0; i < exploded.length; i++) {
+      exploded[i] = tableFunctionAppliers.get(i).apply(row);
+      maxLength = Math.max(maxLength, exploded[i].size());
     }
-    List<GenericRow> rows = new ArrayList<>(maxLength);
-    for (int i = 0; i < maxLength; i++) {
-      List<Object> newRow = new ArrayList<>(row.getColumns());
-      for (Iterator<?> iter : iters) {
-        if (iter.hasNext()) {
-          newRow.add(iter.next());
-        } else {
-          newRow.add(null);
-        }
+
+    final int numRows = maxLength;
+    return () -> new ExplodedRowIterator(parentColumns, exploded, numRows);
+  }
+
+  private static final class ExplodedRowIterator implements Iterator<GenericRow> {
+
+    private final List<Object> parentColumns;
+    private final Iterator<?>[] iters;
+    private final int numRows;
+    private int rowIndex;
+
+    ExplodedRowIterator(List<Object> parentColumns, List<?>[] exploded, int numRows) {
+      this.parentColumns = parentColumns;
+      this.numRows = numRows;
+      this.iters = new Iterator<?>[exploded.length];
+      for (int i = 0; i < exploded.length; i++) {
+        iters[i] = exploded[i].iterator();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return rowIndex < numRows;
+    }
+
+    @Override
+    public GenericRow next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      rowIndex++;
+      Object[] values = new Object[iters.length];
+      for (int i = 0; i < iters.length; i++) {
+        values[i] = iters[i].hasNext() ? iters[i].next() : null;
       }
-      rows.add(new GenericRow(newRow));
+      return new GenericRow(new ExplodedColumns(parentColumns, values));
     }
-    return rows;
   }
 }
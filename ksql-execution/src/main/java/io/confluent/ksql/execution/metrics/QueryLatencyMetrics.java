@@ -0,0 +1,404 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.metrics.LatencyHistogram;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.streams.kstream.Aggregator;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueJoiner;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
+import org.apache.kafka.streams.processor.ProcessorContext;
+
+/**
+ * Latency histograms for a single persistent query.
+ *
+ * <p>Step builders wrap the functions they hand to Kafka Streams, e.g. predicates, mappers and
+ * serdes, with the methods of this class to time them. On average only one in every
+ * {@code sampleInterval} invocations is timed.
+ */
+public final class QueryLatencyMetrics {
+
+  private static final int[] PERCENTILES = {50, 95, 99};
+
+  /**
+   * The processing steps that are timed.
+   */
+  public enum Step {
+    DESERIALIZE,
+    FILTER,
+    PROJECT,
+    AGGREGATE,
+    JOIN,
+    SERIALIZE
+  }
+
+  private final int sampleInterval;
+  private final Map<Step, LatencyHistogram> processingTimes;
+  private final LatencyHistogram endToEndLatency = new LatencyHistogram();
+
+  public static Optional<QueryLatencyMetrics> from(final KsqlConfig ksqlConfig) {
+    if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_LATENCY_METRICS_ENABLE_CONFIG)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new QueryLatencyMetrics(
+        ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_LATENCY_METRICS_SAMPLE_INTERVAL_CONFIG)));
+  }
+
+  public QueryLatencyMetrics(final int sampleInterval) {
+    if (sampleInterval < 1) {
+      throw new IllegalArgumentException("sampleInterval must be positive: " + sampleInterval);
+    }
+
+    this.sampleInterval = sampleInterval;
+
+    final Map<Step, LatencyHistogram> histograms = new EnumMap<>(Step.class);
+    for (final Step step : Step.values()) {
+      histograms.put(step, new LatencyHistogram());
+    }
+    this.processingTimes = ImmutableMap.copyOf(histograms);
+  }
+
+  /**
+   * @param step the step.
+   * @return the time, in nanoseconds, spent processing a record in the step.
+   */
+  public LatencyHistogram getProcessingTime(final Step step) {
+    return processingTimes.get(Objects.requireNonNull(step, "step"));
+  }
+
+  /**
+   * @return the time, in milliseconds, between a record's timestamp and its write to the sink.
+   */
+  public LatencyHistogram getEndToEndLatency() {
+    return endToEndLatency;
+  }
+
+  public <K, V> Predicate<K, V> timePredicate(final Step step, final Predicate<K, V> predicate) {
+    final LatencyHistogram histogram = getProcessingTime(step);
+    return (key, value) -> {
+      if (!sample()) {
+        return predicate.test(key, value);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return predicate.test(key, value);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  public <V, R> ValueMapper<V, R> timeMapper(final Step step, final ValueMapper<V, R> mapper) {
+    final LatencyHistogram histogram = getProcessingTime(step);
+    return value -> {
+      if (!sample()) {
+        return mapper.apply(value);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return mapper.apply(value);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  public <K, V, R> ValueMapperWithKey<K, V, R> timeMapperWithKey(
+      final Step step,
+      final ValueMapperWithKey<K, V, R> mapper
+  ) {
+    final LatencyHistogram histogram = getProcessingTime(step);
+    return (key, value) -> {
+      if (!sample()) {
+        return mapper.apply(key, value);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return mapper.apply(key, value);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  public <K, V, A> Aggregator<K, V, A> timeAggregator(
+      final Step step,
+      final Aggregator<K, V, A> aggregator
+  ) {
+    final LatencyHistogram histogram = getProcessingTime(step);
+    return (key, value, aggregate) -> {
+      if (!sample()) {
+        return aggregator.apply(key, value, aggregate);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return aggregator.apply(key, value, aggregate);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  public <V1, V2, R> ValueJoiner<V1, V2, R> timeJoiner(
+      final Step step,
+      final ValueJoiner<V1, V2, R> joiner
+  ) {
+    final LatencyHistogram histogram = getProcessingTime(step);
+    return (left, right) -> {
+      if (!sample()) {
+        return joiner.apply(left, right);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return joiner.apply(left, right);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  /**
+   * Time the serializer and deserializer of a serde, as the {@link Step#SERIALIZE} and
+   * {@link Step#DESERIALIZE} steps respectively.
+   */
+  public <T> Serde<T> timeSerde(final Serde<T> serde) {
+    return Serdes.serdeFrom(
+        new TimedSerializer<>(serde.serializer(), getProcessingTime(Step.SERIALIZE)),
+        new TimedDeserializer<>(serde.deserializer(), getProcessingTime(Step.DESERIALIZE))
+    );
+  }
+
+  /**
+   * @return a pass through transformer that records the end to end latency of the records
+   *         passing through it. To be placed immediately before the sink.
+   */
+  public <K, V> ValueTransformerWithKeySupplier<K, V, V> endToEndLatencyRecorder() {
+    return () -> new ValueTransformerWithKey<K, V, V>() {
+      private ProcessorContext context;
+
+      @Override
+      public void init(final ProcessorContext context) {
+        this.context = context;
+      }
+
+      @Override
+      public V transform(final K key, final V value) {
+        if (sample()) {
+          endToEndLatency.record(System.currentTimeMillis() - context.timestamp());
+        }
+        return value;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  /**
+   * Add gauges reporting the percentiles of each histogram to the supplied {@code metrics}.
+   *
+   * @return the names of the metrics added.
+   */
+  public List<MetricName> register(
+      final Metrics metrics,
+      final String group,
+      final Map<String, String> tags
+  ) {
+    final List<MetricName> names = new ArrayList<>();
+    for (final Step step : Step.values()) {
+      final String stepName = step.name().toLowerCase(Locale.ROOT);
+      names.addAll(addGauges(
+          metrics,
+          group,
+          tags,
+          stepName + "-time-ns",
+          "The time, in nanoseconds, spent in the " + stepName + " step of the given query",
+          getProcessingTime(step)
+      ));
+    }
+
+    names.addAll(addGauges(
+        metrics,
+        group,
+        tags,
+        "end-to-end-latency-ms",
+        "The time, in milliseconds, between a record's timestamp and the given query writing "
+            + "it to its sink topic",
+        endToEndLatency
+    ));
+    return names;
+  }
+
+  private boolean sample() {
+    return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+  }
+
+  private static List<MetricName> addGauges(
+      final Metrics metrics,
+      final String group,
+      final Map<String, String> tags,
+      final String name,
+      final String description,
+      final LatencyHistogram histogram
+  ) {
+    final List<MetricName> names = new ArrayList<>();
+    for (final int percentile : PERCENTILES) {
+      final MetricName metricName = metrics.metricName(
+          name + "-p" + percentile,
+          group,
+          description + ", at the " + percentile + "th percentile.",
+          tags);
+      metrics.addMetric(metricName, (Gauge<Long>) (config, now) ->
+          histogram.percentile(percentile));
+      names.add(metricName);
+    }
+
+    final MetricName max = metrics.metricName(
+        name + "-max",
+        group,
+        description + ", at its maximum.",
+        tags);
+    metrics.addMetric(max, (Gauge<Long>) (config, now) -> histogram.max());
+    names.add(max);
+    return names;
+  }
+
+  private final class TimedSerializer<T> implements Serializer<T> {
+
+    private final Serializer<T> delegate;
+    private final LatencyHistogram histogram;
+
+    TimedSerializer(final Serializer<T> delegate, final LatencyHistogram histogram) {
+      this.delegate = Objects.requireNonNull(delegate, "delegate");
+      this.histogram = Objects.requireNonNull(histogram, "histogram");
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+      delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final T data) {
+      if (!sample()) {
+        return delegate.serialize(topic, data);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return delegate.serialize(topic, data);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final T data) {
+      if (!sample()) {
+        return delegate.serialize(topic, headers, data);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return delegate.serialize(topic, headers, data);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+
+  private final class TimedDeserializer<T> implements Deserializer<T> {
+
+    private final Deserializer<T> delegate;
+    private final LatencyHistogram histogram;
+
+    TimedDeserializer(final Deserializer<T> delegate, final LatencyHistogram histogram) {
+      this.delegate = Objects.requireNonNull(delegate, "delegate");
+      this.histogram = Objects.requireNonNull(histogram, "histogram");
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+      delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(final String topic, final byte[] data) {
+      if (!sample()) {
+        return delegate.deserialize(topic, data);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return delegate.deserialize(topic, data);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public T deserialize(final String topic, final Headers headers, final byte[] data) {
+      if (!sample()) {
+        return delegate.deserialize(topic, headers, data);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return delegate.deserialize(topic, headers, data);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+}
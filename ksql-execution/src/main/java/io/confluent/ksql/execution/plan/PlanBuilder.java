@@ -69,4 +69,7 @@ public interface PlanBuilder {
   <K> KTableHolder<K> visitTableSink(TableSink<K> tableSink);
 
   <K> KTableHolder<K> visitTableTableJoin(TableTableJoin<K> tableTableJoin);
+
+  <K> KTableHolder<K> visitTableTableForeignKeyJoin(
+      TableTableForeignKeyJoin<K> tableTableForeignKeyJoin);
 }
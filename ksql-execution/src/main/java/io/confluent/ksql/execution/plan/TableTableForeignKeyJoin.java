@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.plan;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Immutable;
+import io.confluent.ksql.schema.ksql.ColumnRef;
+import java.util.List;
+import java.util.Objects;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * A join between two tables where a column of the left table references the key of the
+ * right table.
+ *
+ * <p>Unlike a {@link TableTableJoin}, the tables do not need to be co-partitioned. The result is
+ * keyed by the key of the left table.
+ */
+@Immutable
+public class TableTableForeignKeyJoin<K> implements ExecutionStep<KTableHolder<K>> {
+  private final ExecutionStepProperties properties;
+  private final JoinType joinType;
+  private final ColumnRef leftJoinColumn;
+  private final ExecutionStep<KTableHolder<K>> left;
+  private final ExecutionStep<KTableHolder<Struct>> right;
+
+  public TableTableForeignKeyJoin(
+      final ExecutionStepProperties properties,
+      final JoinType joinType,
+      final ColumnRef leftJoinColumn,
+      final ExecutionStep<KTableHolder<K>> left,
+      final ExecutionStep<KTableHolder<Struct>> right) {
+    this.properties = Objects.requireNonNull(properties, "properties");
+    this.joinType = Objects.requireNonNull(joinType, "joinType");
+    this.leftJoinColumn = Objects.requireNonNull(leftJoinColumn, "leftJoinColumn");
+    this.left = Objects.requireNonNull(left, "left");
+    this.right = Objects.requireNonNull(right, "right");
+  }
+
+  @Override
+  public ExecutionStepProperties getProperties() {
+    return properties;
+  }
+
+  @Override
+  public List<ExecutionStep<?>> getSources() {
+    return ImmutableList.of(left, right);
+  }
+
+  public ExecutionStep<KTableHolder<K>> getLeft() {
+    return left;
+  }
+
+  public ExecutionStep<KTableHolder<Struct>> getRight() {
+    return right;
+  }
+
+  public JoinType getJoinType() {
+    return joinType;
+  }
+
+  public ColumnRef getLeftJoinColumn() {
+    return leftJoinColumn;
+  }
+
+  @Override
+  public KTableHolder<K> build(final PlanBuilder builder) {
+    return builder.visitTableTableForeignKeyJoin(this);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final TableTableForeignKeyJoin<?> that = (TableTableForeignKeyJoin<?>) o;
+    return Objects.equals(properties, that.properties)
+        && joinType == that.joinType
+        && Objects.equals(leftJoinColumn, that.leftJoinColumn)
+        && Objects.equals(left, that.left)
+        && Objects.equals(right, that.right);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(properties, joinType, leftJoinColumn, left, right);
+  }
+}
@@ -28,6 +28,8 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.model.WindowType;
@@ -48,7 +50,9 @@ import io.confluent.ksql.util.KsqlConfig;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.kstream.Windowed;
@@ -94,6 +98,10 @@ public class KsqlQueryBuilderTest {
   @Mock
   private Serde<GenericRow> valueSerde;
   @Mock
+  private Serializer<GenericRow> valueSerializer;
+  @Mock
+  private Deserializer<GenericRow> valueDeserializer;
+  @Mock
   private Supplier<SchemaRegistryClient> srClientFactory;
   @Mock
   private KeySerdeFactory keySerdeFactory;
@@ -226,6 +234,40 @@ public class KsqlQueryBuilderTest {
     );
   }
 
+  @Test
+  public void shouldTimeValueSerdeIfLatencyMetricsEnabled() {
+    // Given:
+    QueryLatencyMetrics latencyMetrics = new QueryLatencyMetrics(1);
+    GenericRow row = new GenericRow(true);
+    when(valueSerde.serializer()).thenReturn(valueSerializer);
+    when(valueSerde.deserializer()).thenReturn(valueDeserializer);
+
+    Serde<GenericRow> serde = ksqlQueryBuilder
+        .withLatencyMetrics(Optional.of(latencyMetrics))
+        .buildValueSerde(FORMAT_INFO, SOME_SCHEMA, queryContext);
+
+    // When:
+    serde.serializer().serialize("topic", row);
+
+    // Then:
+    verify(valueSerializer).serialize("topic", row);
+    assertThat(latencyMetrics.getProcessingTime(Step.SERIALIZE).count(), is(1L));
+  }
+
+  @Test
+  public void shouldKeepLatencyMetricsWhenSwappingKsqlConfig() {
+    // Given:
+    Optional<QueryLatencyMetrics> latencyMetrics = Optional.of(new QueryLatencyMetrics(1));
+
+    // When:
+    KsqlQueryBuilder result = ksqlQueryBuilder
+        .withLatencyMetrics(latencyMetrics)
+        .withKsqlConfig(mock(KsqlConfig.class));
+
+    // Then:
+    assertThat(result.getLatencyMetrics(), is(latencyMetrics));
+  }
+
   @Test
   public void shouldTrackSchemasUsed() {
     // When:
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function.udaf;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.name.FunctionName;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@SuppressWarnings("unchecked")
+@RunWith(MockitoJUnitRunner.class)
+public class AccumulatorsTest {
+
+  private static final Schema AVG_LONG = SchemaBuilder.struct().optional()
+      .field("SUM", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  private static final Schema AVG_INT = SchemaBuilder.struct().optional()
+      .field("SUM", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  @Mock
+  private KsqlAggregateFunction function;
+
+  @Test
+  public void shouldSumLongsInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("SUM", Schema.OPTIONAL_INT64_SCHEMA, 0L);
+
+    // When:
+    accumulator.add(1L);
+    accumulator.add(null);
+    accumulator.add(2L);
+
+    // Then:
+    assertThat(accumulator.get(), is(3L));
+    verify(function, never()).aggregate(any(), any());
+  }
+
+  @Test
+  public void shouldSumIntegersInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("sum", Schema.OPTIONAL_INT32_SCHEMA, 5);
+
+    // When:
+    accumulator.add(1);
+    accumulator.add(2);
+
+    // Then:
+    assertThat(accumulator.get(), is(8));
+  }
+
+  @Test
+  public void shouldSumDoublesInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("SUM", Schema.OPTIONAL_FLOAT64_SCHEMA, 0.0);
+
+    // When:
+    accumulator.add(1.5);
+    accumulator.add(2.0);
+
+    // Then:
+    assertThat(accumulator.get(), is(3.5));
+  }
+
+  @Test
+  public void shouldCountNonNullValuesInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("COUNT", Schema.OPTIONAL_INT64_SCHEMA, 2L);
+
+    // When:
+    accumulator.add("a");
+    accumulator.add(null);
+    accumulator.add("b");
+
+    // Then:
+    assertThat(accumulator.get(), is(4L));
+  }
+
+  @Test
+  public void shouldReturnNullMinUntilValueAdded() {
+    // When:
+    final Accumulator accumulator = givenAccumulator("MIN", Schema.OPTIONAL_INT64_SCHEMA, null);
+
+    // Then:
+    assertThat(accumulator.get(), is(nullValue()));
+  }
+
+  @Test
+  public void shouldTrackMinInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("MIN", Schema.OPTIONAL_INT64_SCHEMA, null);
+
+    // When:
+    accumulator.add(5L);
+    accumulator.add(null);
+    accumulator.add(3L);
+    accumulator.add(4L);
+
+    // Then:
+    assertThat(accumulator.get(), is(3L));
+  }
+
+  @Test
+  public void shouldTrackMaxInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("MAX", Schema.OPTIONAL_INT32_SCHEMA, 4);
+
+    // When:
+    accumulator.add(2);
+    accumulator.add(7);
+    accumulator.add(6);
+
+    // Then:
+    assertThat(accumulator.get(), is(7));
+  }
+
+  @Test
+  public void shouldTrackDoubleMaxInPlace() {
+    // Given:
+    final Accumulator accumulator = givenAccumulator("MAX", Schema.OPTIONAL_FLOAT64_SCHEMA, null);
+
+    // When:
+    accumulator.add(-2.0);
+    accumulator.add(-1.0);
+
+    // Then:
+    assertThat(accumulator.get(), is(-1.0));
+  }
+
+  @Test
+  public void shouldAverageLongsInPlace() {
+    // Given:
+    final Accumulator accumulator =
+        givenAccumulator("AVG", AVG_LONG, new Struct(AVG_LONG).put("SUM", 1L).put("COUNT", 1L));
+
+    // When:
+    accumulator.add(2L);
+    accumulator.add(null);
+    accumulator.add(4L);
+
+    // Then:
+    assertThat(accumulator.get(), is(new Struct(AVG_LONG).put("SUM", 7L).put("COUNT", 3L)));
+  }
+
+  @Test
+  public void shouldAverageIntegersInPlace() {
+    // Given:
+    final Accumulator accumulator =
+        givenAccumulator("AVG", AVG_INT, new Struct(AVG_INT).put("SUM", 0).put("COUNT", 0L));
+
+    // When:
+    accumulator.add(2);
+    accumulator.add(3);
+
+    // Then:
+    assertThat(accumulator.get(), is(new Struct(AVG_INT).put("SUM", 5).put("COUNT", 2L)));
+  }
+
+  @Test
+  public void shouldUseFunctionForDecimals() {
+    // Given:
+    final Schema decimal = DecimalUtil.builder(4, 2).build();
+    final Accumulator accumulator =
+        givenAccumulator("SUM", decimal, new BigDecimal("1.00"));
+    when(function.aggregate(new BigDecimal("2.00"), new BigDecimal("1.00")))
+        .thenReturn(new BigDecimal("3.00"));
+
+    // When:
+    accumulator.add(new BigDecimal("2.00"));
+
+    // Then:
+    assertThat(accumulator.get(), is(new BigDecimal("3.00")));
+  }
+
+  @Test
+  public void shouldUseFunctionForOtherFunctions() {
+    // Given:
+    final Accumulator accumulator =
+        givenAccumulator("TOPK", Schema.OPTIONAL_INT64_SCHEMA, 1L);
+    when(function.aggregate(2L, 1L)).thenReturn(9L);
+
+    // When:
+    accumulator.add(2L);
+
+    // Then:
+    assertThat(accumulator.get(), is(9L));
+  }
+
+  private Accumulator givenAccumulator(
+      final String name,
+      final Schema aggregateType,
+      final Object initial
+  ) {
+    when(function.getFunctionName()).thenReturn(FunctionName.of(name));
+    when(function.getAggregateType()).thenReturn(aggregateType);
+
+    final Accumulator accumulator = Accumulators.factoryFor(function).get();
+    accumulator.set(initial);
+    return accumulator;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.function.udaf;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.name.FunctionName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Function;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Merger;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.easymock.EasyMock;
+import org.easymock.EasyMockRunner;
+import org.easymock.Mock;
+import org.easymock.MockType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@SuppressWarnings("unchecked")
+@RunWith(EasyMockRunner.class)
+public class KudafAggregatorTest {
+
+  private static final Struct KEY = null;
+
+  @Mock(MockType.NICE)
+  private KsqlAggregateFunction sumFunc;
+
+  @Test
+  public void shouldAggregateIntoExistingRow() {
+    // Given:
+    EasyMock.expect(sumFunc.getArgIndexInValue()).andReturn(1).anyTimes();
+    EasyMock.expect(sumFunc.aggregate(2L, 10L)).andReturn(12L);
+    EasyMock.replay(sumFunc);
+
+    final KudafAggregator aggregator = new KudafAggregator(2, ImmutableList.of(sumFunc));
+    final GenericRow aggRow = new GenericRow(new ArrayList<>(Arrays.asList("a", 1L, 10L)));
+
+    // When:
+    final GenericRow result = aggregator.apply(KEY, new GenericRow("b", 2L), aggRow);
+
+    // Then:
+    assertThat(result, is(sameInstance(aggRow)));
+    assertThat(result, is(new GenericRow("b", 2L, 12L)));
+  }
+
+  @Test
+  public void shouldOnlyGetMergerOnce() {
+    // Given:
+    final Merger<Struct, Object> merger = (key, one, two) -> (Long) one + (Long) two;
+    EasyMock.expect(sumFunc.getMerger()).andReturn(merger).once();
+    EasyMock.replay(sumFunc);
+
+    final Merger<Struct, GenericRow> rowMerger =
+        new KudafAggregator(1, ImmutableList.of(sumFunc)).getMerger();
+
+    // When:
+    rowMerger.apply(KEY, new GenericRow(null, 1L), new GenericRow("a", 2L));
+    final GenericRow result =
+        rowMerger.apply(KEY, new GenericRow("b", 3L), new GenericRow("c", 4L));
+
+    // Then:
+    assertThat(result, is(new GenericRow("b", 7L)));
+    EasyMock.verify(sumFunc);
+  }
+
+  @Test
+  public void shouldOnlyGetResultMapperOnce() {
+    // Given:
+    final Function<Object, Object> mapper = agg -> "mapped-" + agg;
+    EasyMock.expect(sumFunc.getResultMapper()).andReturn(mapper).once();
+    EasyMock.replay(sumFunc);
+
+    final ValueMapper<GenericRow, GenericRow> resultMapper =
+        new KudafAggregator(1, ImmutableList.of(sumFunc)).getResultMapper();
+
+    // When:
+    resultMapper.apply(new GenericRow("a", 1L));
+    final GenericRow result = resultMapper.apply(new GenericRow("b", 2L));
+
+    // Then:
+    assertThat(result, is(new GenericRow("b", "mapped-2")));
+    EasyMock.verify(sumFunc);
+  }
+
+  @Test
+  public void shouldAccumulateInPlaceAsApplyWould() {
+    // Given:
+    EasyMock.expect(sumFunc.getArgIndexInValue()).andReturn(1).anyTimes();
+    EasyMock.expect(sumFunc.getFunctionName()).andReturn(FunctionName.of("SUM")).anyTimes();
+    EasyMock.expect(sumFunc.getAggregateType()).andReturn(Schema.OPTIONAL_INT64_SCHEMA).anyTimes();
+    EasyMock.replay(sumFunc);
+
+    final Function<GenericRow, KudafAccumulator> factory =
+        new KudafAggregator(2, ImmutableList.of(sumFunc)).getAccumulatorFactory();
+    final KudafAccumulator accumulator = factory.apply(new GenericRow("a", 1L, 10L));
+
+    // When:
+    accumulator.add(new GenericRow("b", 2L));
+    accumulator.add(new GenericRow("c", 3L));
+
+    // Then:
+    assertThat(accumulator.toRow(), is(new GenericRow("c", 3L, 15L)));
+  }
+}
@@ -71,6 +71,40 @@ public class KudtfFlatMapperTest {
     assertThat(iter.hasNext(), is(false));
   }
 
+  @Test
+  public void shouldNotAffectSiblingRowsWhenSettingParentColumn() {
+    // Given:
+    TableFunctionApplier applier = createApplier(Arrays.asList(10, 20));
+    KudtfFlatMapper flatMapper = new KudtfFlatMapper(Arrays.asList(applier));
+    GenericRow row = new GenericRow(1, 2, 3);
+    Iterator<GenericRow> iter = flatMapper.apply(row).iterator();
+    GenericRow first = iter.next();
+    GenericRow second = iter.next();
+
+    // When:
+    first.getColumns().set(0, 100);
+    first.getColumns().set(3, 11);
+
+    // Then:
+    assertThat(first.getColumns(), is(Arrays.asList(100, 2, 3, 11)));
+    assertThat(second.getColumns(), is(Arrays.asList(1, 2, 3, 20)));
+    assertThat(row.getColumns(), is(Arrays.asList(1, 2, 3)));
+  }
+
+  @Test
+  public void shouldBeIterableMoreThanOnce() {
+    // Given:
+    TableFunctionApplier applier = createApplier(Arrays.asList(10, 20));
+    KudtfFlatMapper flatMapper = new KudtfFlatMapper(Arrays.asList(applier));
+
+    // When:
+    Iterable<GenericRow> iterable = flatMapper.apply(new GenericRow(1));
+
+    // Then:
+    assertThat(iterable.iterator().next().getColumns(), is(Arrays.asList(1, 10)));
+    assertThat(iterable.iterator().next().getColumns(), is(Arrays.asList(1, 10)));
+  }
+
   private <T> TableFunctionApplier createApplier(List<T> list) {
     TableFunctionApplier applier = mock(TableFunctionApplier.class);
     Mockito.doReturn(list).when(applier).apply(any());
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.kstream.Aggregator;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueJoiner;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryLatencyMetricsTest {
+
+  private static final Map<String, String> TAGS = ImmutableMap.of("query-id", "q1");
+
+  private QueryLatencyMetrics latencyMetrics;
+
+  @Before
+  public void setUp() {
+    latencyMetrics = new QueryLatencyMetrics(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnNonPositiveSampleInterval() {
+    new QueryLatencyMetrics(0);
+  }
+
+  @Test
+  public void shouldTimePredicate() {
+    // Given:
+    final Predicate<String, String> predicate =
+        latencyMetrics.timePredicate(Step.FILTER, (k, v) -> v.equals("a"));
+
+    // When:
+    final boolean result = predicate.test("k", "a");
+
+    // Then:
+    assertThat(result, is(true));
+    assertThat(latencyMetrics.getProcessingTime(Step.FILTER).count(), is(1L));
+    assertThat(latencyMetrics.getProcessingTime(Step.PROJECT).count(), is(0L));
+  }
+
+  @Test
+  public void shouldTimeMapper() {
+    // Given:
+    final ValueMapper<String, String> mapper =
+        latencyMetrics.timeMapper(Step.PROJECT, v -> v + "!");
+
+    // When:
+    final String result = mapper.apply("a");
+
+    // Then:
+    assertThat(result, is("a!"));
+    assertThat(latencyMetrics.getProcessingTime(Step.PROJECT).count(), is(1L));
+  }
+
+  @Test
+  public void shouldTimeAggregatorAndJoiner() {
+    // Given:
+    final Aggregator<String, Long, Long> aggregator =
+        latencyMetrics.timeAggregator(Step.AGGREGATE, (k, v, agg) -> agg + v);
+    final ValueJoiner<String, String, String> joiner =
+        latencyMetrics.timeJoiner(Step.JOIN, (l, r) -> l + r);
+
+    // When:
+    final Long aggregate = aggregator.apply("k", 1L, 2L);
+    final String joined = joiner.apply("a", "b");
+
+    // Then:
+    assertThat(aggregate, is(3L));
+    assertThat(joined, is("ab"));
+    assertThat(latencyMetrics.getProcessingTime(Step.AGGREGATE).count(), is(1L));
+    assertThat(latencyMetrics.getProcessingTime(Step.JOIN).count(), is(1L));
+  }
+
+  @Test
+  public void shouldTimeSerde() {
+    // Given:
+    final Serde<String> serde = latencyMetrics.timeSerde(Serdes.String());
+
+    // When:
+    final byte[] bytes = serde.serializer().serialize("t", "a");
+    final String result = serde.deserializer().deserialize("t", bytes);
+
+    // Then:
+    assertThat(result, is("a"));
+    assertThat(latencyMetrics.getProcessingTime(Step.SERIALIZE).count(), is(1L));
+    assertThat(latencyMetrics.getProcessingTime(Step.DESERIALIZE).count(), is(1L));
+  }
+
+  @Test
+  public void shouldOnlyTimeSampleOfSerdeCalls() {
+    // Given:
+    final QueryLatencyMetrics sampled = new QueryLatencyMetrics(1_000_000);
+    final Serde<String> sampledSerde = sampled.timeSerde(Serdes.String());
+
+    // When:
+    for (int i = 0; i < 100; i++) {
+      sampledSerde.deserializer().deserialize("t", sampledSerde.serializer().serialize("t", "a"));
+    }
+
+    // Then:
+    assertThat(sampled.getProcessingTime(Step.SERIALIZE).count(), is(lessThan(100L)));
+    assertThat(sampled.getProcessingTime(Step.DESERIALIZE).count(), is(lessThan(100L)));
+  }
+
+  @Test
+  public void shouldRegisterPercentileGauges() {
+    // Given:
+    final Metrics metrics = new Metrics();
+    latencyMetrics.getEndToEndLatency().record(10);
+
+    // When:
+    final List<MetricName> names = latencyMetrics.register(metrics, "group", TAGS);
+
+    // Then:
+    final MetricName p99 = metrics.metricName("end-to-end-latency-ms-p99", "group", TAGS);
+    assertThat(names, hasSize((Step.values().length + 1) * 4));
+    assertThat(names, hasItem(p99));
+    assertThat(metrics.metric(p99).metricValue(), is(10L));
+    metrics.close();
+  }
+}
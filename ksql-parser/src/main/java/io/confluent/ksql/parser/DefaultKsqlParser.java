@@ -19,16 +19,19 @@ import io.confluent.ksql.metastore.TypeRegistry;
 import io.confluent.ksql.parser.SqlBaseParser.SingleStatementContext;
 import io.confluent.ksql.parser.exception.ParseFailedException;
 import io.confluent.ksql.parser.tree.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
-import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.Interval;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
@@ -37,6 +40,11 @@ import org.antlr.v4.runtime.misc.ParseCancellationException;
 public class DefaultKsqlParser implements KsqlParser {
   // CHECKSTYLE_RULES.ON: ClassDataAbstractionCoupling
 
+  private static final String STATEMENT_TERMINATOR = ";";
+
+  // Statements at or above this count are parsed in parallel:
+  private static final int PARALLEL_PARSE_THRESHOLD = 32;
+
   private static final BaseErrorListener ERROR_LISTENER = new BaseErrorListener() {
     @Override
     public void syntaxError(
@@ -54,10 +62,20 @@ public class DefaultKsqlParser implements KsqlParser {
   @Override
   public List<ParsedStatement> parse(final String sql) {
     try {
-      final SqlBaseParser.StatementsContext statementsContext = getParseTree(sql);
+      final List<StatementText> statements = splitStatements(sql);
+
+      if (statements.size() >= PARALLEL_PARSE_THRESHOLD) {
+        try {
+          return statements.parallelStream()
+              .map(DefaultKsqlParser::parseStatement)
+              .collect(Collectors.toList());
+        } catch (final RuntimeException e) {
+          // Parse again in order, below, so that the first invalid statement is reported.
+        }
+      }
 
-      return statementsContext.singleStatement().stream()
-          .map(stmt -> ParsedStatement.of(getStatementString(stmt), stmt))
+      return statements.stream()
+          .map(DefaultKsqlParser::parseStatement)
           .collect(Collectors.toList());
 
     } catch (final Exception e) {
@@ -87,10 +105,60 @@ public class DefaultKsqlParser implements KsqlParser {
     }
   }
 
-  private static SqlBaseParser.StatementsContext getParseTree(final String sql) {
-
+  /**
+   * Split the supplied sql into the text of its statements.
+   *
+   * <p>The sql is only lexed, which is cheap compared to parsing, to find the semicolons that
+   * terminate each statement. Any trailing text that is not terminated is returned as a final
+   * statement, so that parsing it reports the missing semicolon.
+   */
+  private static List<StatementText> splitStatements(final String sql) {
     final SqlBaseLexer sqlBaseLexer = new SqlBaseLexer(
         new CaseInsensitiveStream(CharStreams.fromString(sql)));
+
+    sqlBaseLexer.removeErrorListeners();
+    sqlBaseLexer.addErrorListener(ERROR_LISTENER);
+
+    final List<StatementText> statements = new ArrayList<>();
+    Token first = null;
+    Token last = null;
+    for (Token token = sqlBaseLexer.nextToken();
+        token.getType() != Token.EOF;
+        token = sqlBaseLexer.nextToken()) {
+      if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+        continue;
+      }
+
+      if (first == null) {
+        first = token;
+      }
+      last = token;
+
+      if (STATEMENT_TERMINATOR.equals(token.getText())) {
+        statements.add(StatementText.of(first, last));
+        first = null;
+      }
+    }
+
+    if (first != null) {
+      statements.add(StatementText.of(first, last));
+    }
+
+    return statements;
+  }
+
+  private static ParsedStatement parseStatement(final StatementText statement) {
+    return ParsedStatement.of(statement.text, getParseTree(statement));
+  }
+
+  private static SingleStatementContext getParseTree(final StatementText statement) {
+    // Lex the statement on its own, starting from its position in the sql, so that error
+    // locations remain correct:
+    final SqlBaseLexer sqlBaseLexer = new SqlBaseLexer(
+        new CaseInsensitiveStream(CharStreams.fromString(statement.text)));
+    sqlBaseLexer.setLine(statement.line);
+    sqlBaseLexer.setCharPositionInLine(statement.charPositionInLine);
+
     final CommonTokenStream tokenStream = new CommonTokenStream(sqlBaseLexer);
     final SqlBaseParser sqlBaseParser = new SqlBaseParser(tokenStream);
 
@@ -98,29 +166,48 @@ public class DefaultKsqlParser implements KsqlParser {
     sqlBaseLexer.addErrorListener(ERROR_LISTENER);
 
     sqlBaseParser.removeErrorListeners();
-    sqlBaseParser.addErrorListener(ERROR_LISTENER);
 
-    final Function<SqlBaseParser, ParserRuleContext> parseFunction = SqlBaseParser::statements;
+    final Function<SqlBaseParser, SqlBaseParser.StatementsContext> parseFunction =
+        SqlBaseParser::statements;
 
+    SqlBaseParser.StatementsContext statementsContext;
     try {
-      // first, try parsing with potentially faster SLL mode
+      // first, try parsing with potentially faster SLL mode, bailing out on any error
+      sqlBaseParser.setErrorHandler(new BailErrorStrategy());
       sqlBaseParser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-      return (SqlBaseParser.StatementsContext)parseFunction.apply(sqlBaseParser);
+      statementsContext = parseFunction.apply(sqlBaseParser);
     } catch (final ParseCancellationException ex) {
-      // if we fail, parse with LL mode
+      // if we fail, parse this statement with LL mode, which also reports any syntax error
       tokenStream.seek(0); // rewind input stream
       sqlBaseParser.reset();
 
+      sqlBaseParser.setErrorHandler(new DefaultErrorStrategy());
+      sqlBaseParser.addErrorListener(ERROR_LISTENER);
       sqlBaseParser.getInterpreter().setPredictionMode(PredictionMode.LL);
-      return (SqlBaseParser.StatementsContext)parseFunction.apply(sqlBaseParser);
+      statementsContext = parseFunction.apply(sqlBaseParser);
     }
+
+    return statementsContext.singleStatement(0);
   }
 
-  private static String getStatementString(final SingleStatementContext singleStatementContext) {
-    final CharStream charStream = singleStatementContext.start.getInputStream();
-    return charStream.getText(Interval.of(
-        singleStatementContext.start.getStartIndex(),
-        singleStatementContext.stop.getStopIndex()
-    ));
+  private static final class StatementText {
+
+    private final String text;
+    private final int line;
+    private final int charPositionInLine;
+
+    static StatementText of(final Token first, final Token last) {
+      return new StatementText(
+          first.getInputStream().getText(Interval.of(first.getStartIndex(), last.getStopIndex())),
+          first.getLine(),
+          first.getCharPositionInLine()
+      );
+    }
+
+    private StatementText(final String text, final int line, final int charPositionInLine) {
+      this.text = Objects.requireNonNull(text, "text");
+      this.line = line;
+      this.charPositionInLine = charPositionInLine;
+    }
   }
 }
@@ -50,6 +50,7 @@ import io.confluent.ksql.metastore.model.KsqlStream;
 import io.confluent.ksql.metastore.model.KsqlTable;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
 import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.exception.ParseFailedException;
 import io.confluent.ksql.parser.tree.AliasedRelation;
@@ -97,10 +98,12 @@ import io.confluent.ksql.serde.ValueFormat;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.MetaStoreFixture;
 import io.confluent.ksql.util.timestamp.MetadataTimestampExtractionPolicy;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
@@ -1206,6 +1209,67 @@ public class KsqlParserTest {
     assertThat(searchedCaseExpression.getDefaultValue().isPresent(), equalTo(false));
   }
 
+  @Test
+  public void shouldParseEachStatementWithItsText() {
+    // When:
+    final List<ParsedStatement> statements = KsqlParserTestUtil.parse(
+        "SHOW STREAMS;\n"
+            + "-- a comment\n"
+            + "  SHOW   TABLES ;");
+
+    // Then:
+    assertThat(statements.stream().map(ParsedStatement::getStatementText)
+        .collect(Collectors.toList()), contains("SHOW STREAMS;", "SHOW   TABLES ;"));
+  }
+
+  @Test
+  public void shouldReportErrorLocationWithinWholeText() {
+    // Then:
+    expectedException.expect(ParseFailedException.class);
+    expectedException.expectMessage("line 2:22: extraneous input ';' expecting {',', 'FROM'}");
+
+    // When:
+    KsqlParserTestUtil.parse("SHOW STREAMS;\n SELECT ONLY, COLUMNS;");
+  }
+
+  @Test
+  public void shouldReportFirstInvalidStatementOfManyStatements() {
+    // Given:
+    final StringBuilder sql = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      sql.append(i == 50 || i == 75 ? "SHOW STREEMS;\n" : "SHOW STREAMS;\n");
+    }
+
+    // Then:
+    expectedException.expect(ParseFailedException.class);
+    expectedException.expectMessage("line 51:");
+
+    // When:
+    KsqlParserTestUtil.parse(sql.toString());
+  }
+
+  @Test
+  public void shouldParseManyStatements() {
+    // Given:
+    final String sql = String.join("", Collections.nCopies(100, "SHOW STREAMS;\n"));
+
+    // When:
+    final List<ParsedStatement> statements = KsqlParserTestUtil.parse(sql);
+
+    // Then:
+    assertThat(statements, hasSize(100));
+  }
+
+  @Test
+  public void shouldReportMissingSemicolonOnLastStatement() {
+    // Then:
+    expectedException.expect(ParseFailedException.class);
+    expectedException.expectMessage("line 2:12:");
+
+    // When:
+    KsqlParserTestUtil.parse("SHOW STREAMS;\nSHOW TABLES");
+  }
+
   // https://github.com/confluentinc/ksql/issues/2287
   @Test
   public void shouldThrowHelpfulErrorMessageIfKeyFieldNotQuoted() {
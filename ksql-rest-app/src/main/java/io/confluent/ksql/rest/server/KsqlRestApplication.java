@@ -96,6 +96,8 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -142,6 +144,7 @@ public final class KsqlRestApplication extends ExecutableApplication<KsqlRestCon
   private final List<KsqlServerPrecondition> preconditions;
   private final List<KsqlConfigurable> configurables;
   private final Consumer<KsqlConfig> rocksDBConfigSetterHandler;
+  private final ScheduledExecutorService asyncExecutor;
 
   public static SourceName getCommandsStreamName() {
     return COMMANDS_STREAM_NAME;
@@ -168,7 +171,8 @@ public final class KsqlRestApplication extends ExecutableApplication<KsqlRestCon
       final ProcessingLogContext processingLogContext,
       final List<KsqlServerPrecondition> preconditions,
       final List<KsqlConfigurable> configurables,
-      final Consumer<KsqlConfig> rocksDBConfigSetterHandler
+      final Consumer<KsqlConfig> rocksDBConfigSetterHandler,
+      final ScheduledExecutorService asyncExecutor
   ) {
     super(config);
 
@@ -191,6 +195,7 @@ public final class KsqlRestApplication extends ExecutableApplication<KsqlRestCon
     this.configurables = requireNonNull(configurables, "configurables");
     this.rocksDBConfigSetterHandler =
         requireNonNull(rocksDBConfigSetterHandler, "rocksDBConfigSetterHandler");
+    this.asyncExecutor = requireNonNull(asyncExecutor, "asyncExecutor");
   }
 
   @Override
@@ -298,6 +303,12 @@ public final class KsqlRestApplication extends ExecutableApplication<KsqlRestCon
       log.error("Exception while waiting for CommandRunner thread to complete", e);
     }
 
+    try {
+      asyncExecutor.shutdownNow();
+    } catch (final Exception e) {
+      log.error("Exception while shutting down async request threads", e);
+    }
+
     try {
       serviceContext.close();
     } catch (final Exception e) {
@@ -501,12 +512,23 @@ public final class KsqlRestApplication extends ExecutableApplication<KsqlRestCon
         authorizationValidator
     );
 
+    final ScheduledThreadPoolExecutor asyncExecutor = new ScheduledThreadPoolExecutor(
+        restConfig.getInt(KsqlRestConfig.KSQL_SERVER_ASYNC_NUM_THREADS),
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("ksql-async-request-thread-%d")
+            .build()
+    );
+    // Request timeouts are cancelled once their request completes, which is the usual case:
+    asyncExecutor.setRemoveOnCancelPolicy(true);
+
     final KsqlResource ksqlResource = new KsqlResource(
         ksqlEngine,
         commandStore,
         Duration.ofMillis(restConfig.getLong(DISTRIBUTED_COMMAND_RESPONSE_TIMEOUT_MS_CONFIG)),
         versionChecker::updateLastRequestTime,
-        authorizationValidator
+        authorizationValidator,
+        asyncExecutor
     );
 
     final List<String> managedTopics = new LinkedList<>();
@@ -554,7 +576,8 @@ public final class KsqlRestApplication extends ExecutableApplication<KsqlRestCon
         processingLogContext,
         preconditions,
         configurables,
-        rocksDBConfigSetterHandler
+        rocksDBConfigSetterHandler,
+        asyncExecutor
     );
   }
 
@@ -57,6 +57,13 @@ public class KsqlRestConfig extends RestConfig {
   private static final String KSQL_WEBSOCKETS_NUM_THREADS_DOC =
       "The number of websocket threads to handle query results";
 
+  static final String KSQL_SERVER_ASYNC_NUM_THREADS =
+      KSQL_CONFIG_PREFIX + "server.async.num.threads";
+  private static final String KSQL_SERVER_ASYNC_NUM_THREADS_DOC =
+      "The number of threads used to continue statement requests once the commands they are "
+      + "waiting on have been executed, or have timed out. Request threads are not held while "
+      + "waiting on commands.";
+
   static final String KSQL_SERVER_PRECONDITIONS =
       KSQL_CONFIG_PREFIX + "server.preconditions";
   private static final String KSQL_SERVER_PRECONDITIONS_DOC =
@@ -104,6 +111,12 @@ public class KsqlRestConfig extends RestConfig {
         5,
         Importance.LOW,
         KSQL_WEBSOCKETS_NUM_THREADS_DOC
+    ).define(
+        KSQL_SERVER_ASYNC_NUM_THREADS,
+        Type.INT,
+        5,
+        Importance.LOW,
+        KSQL_SERVER_ASYNC_NUM_THREADS_DOC
     ).define(
         KSQL_SERVER_PRECONDITIONS,
         Type.LIST,
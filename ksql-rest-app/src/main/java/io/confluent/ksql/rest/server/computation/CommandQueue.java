@@ -19,6 +19,7 @@ import io.confluent.ksql.statement.ConfiguredStatement;
 import java.io.Closeable;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -74,6 +75,17 @@ public interface CommandQueue extends Closeable {
   void ensureConsumedPast(long seqNum, Duration timeout)
       throws InterruptedException, TimeoutException;
 
+  /**
+   * Non-blocking equivalent of {@link #ensureConsumedPast}.
+   *
+   * <p>The returned future may be completed on the thread consuming the queue, so any
+   * continuations should be run on a different executor.
+   *
+   * @param seqNum  the required minimum sequence number to wait for
+   * @return a future that completes once the queue has been consumed past {@code seqNum}
+   */
+  CompletableFuture<Void> whenConsumedPast(long seqNum);
+
   /**
    * @return whether or not there are any enqueued commands
    */
@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 public class CommandStatusFuture {
   private static final CommandStatus INITIAL_STATUS = new CommandStatus(
@@ -59,6 +60,10 @@ public class CommandStatusFuture {
     }
   }
 
+  CompletableFuture<CommandStatus> whenFinalStatus() {
+    return finalStatusFuture.thenApply(Function.identity());
+  }
+
   void setStatus(final CommandStatus status) {
     this.currentStatus = Objects.requireNonNull(status);
   }
@@ -31,6 +31,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import org.apache.kafka.clients.producer.RecordMetadata;
 
 /**
@@ -188,6 +189,13 @@ public class CommandStore implements CommandQueue, Closeable {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> whenConsumedPast(final long seqNum) {
+    // Return a dependent future, so that callers can not complete the shared one:
+    return sequenceNumberFutureStore.getFutureForSequenceNumber(seqNum)
+        .thenApply(Function.identity());
+  }
+
   public boolean isEmpty() {
     return commandTopic.getEndOffset() == 0;
   }
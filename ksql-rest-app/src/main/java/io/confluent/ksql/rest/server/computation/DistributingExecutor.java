@@ -21,6 +21,7 @@ import io.confluent.ksql.rest.entity.CommandStatus;
 import io.confluent.ksql.rest.entity.CommandStatusEntity;
 import io.confluent.ksql.rest.entity.KsqlEntity;
 import io.confluent.ksql.rest.server.execution.StatementExecutor;
+import io.confluent.ksql.rest.util.FutureUtil;
 import io.confluent.ksql.security.KsqlAuthorizationValidator;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
@@ -30,6 +31,10 @@ import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 
 /**
@@ -37,6 +42,8 @@ import java.util.function.BiFunction;
  * enqueue messages for asynchronous execution. It will optionally wait a
  * duration for the command to be executed remotely if configured with a
  * {@code distributedCmdResponseTimeout}.
+ *
+ * <p>{@link #executeAsync} does not block while waiting for the command to be executed.
  */
 public class DistributingExecutor implements StatementExecutor<Statement> {
 
@@ -44,12 +51,14 @@ public class DistributingExecutor implements StatementExecutor<Statement> {
   private final Duration distributedCmdResponseTimeout;
   private final BiFunction<KsqlExecutionContext, ServiceContext, Injector> injectorFactory;
   private final KsqlAuthorizationValidator authorizationValidator;
+  private final ScheduledExecutorService asyncExecutor;
 
   public DistributingExecutor(
       final CommandQueue commandQueue,
       final Duration distributedCmdResponseTimeout,
       final BiFunction<KsqlExecutionContext, ServiceContext, Injector> injectorFactory,
-      final KsqlAuthorizationValidator authorizationValidator
+      final KsqlAuthorizationValidator authorizationValidator,
+      final ScheduledExecutorService asyncExecutor
   ) {
     this.commandQueue = Objects.requireNonNull(commandQueue, "commandQueue");
     this.distributedCmdResponseTimeout =
@@ -57,6 +66,7 @@ public class DistributingExecutor implements StatementExecutor<Statement> {
     this.injectorFactory = Objects.requireNonNull(injectorFactory, "injectorFactory");
     this.authorizationValidator =
         Objects.requireNonNull(authorizationValidator, "authorizationValidator");
+    this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "asyncExecutor");
   }
 
   @Override
@@ -65,28 +75,66 @@ public class DistributingExecutor implements StatementExecutor<Statement> {
       final Map<String, Object> mutableScopedProperties,
       final KsqlExecutionContext executionContext,
       final ServiceContext serviceContext) {
+    return FutureUtil.join(
+        executeAsync(statement, mutableScopedProperties, executionContext, serviceContext));
+  }
+
+  /**
+   * Enqueue the statement, without blocking while waiting for it to be executed.
+   *
+   * <p>The statement is injected, authorized and written to the command topic on the calling
+   * thread. The returned future completes, on the {@code asyncExecutor}, once the command has
+   * been executed or the {@code distributedCmdResponseTimeout} elapses, whichever is first.
+   */
+  public CompletableFuture<Optional<KsqlEntity>> executeAsync(
+      final ConfiguredStatement<Statement> statement,
+      final Map<String, Object> mutableScopedProperties,
+      final KsqlExecutionContext executionContext,
+      final ServiceContext serviceContext) {
     final ConfiguredStatement<?> injected = injectorFactory
         .apply(executionContext, serviceContext)
         .inject(statement);
 
     checkAuthorization(injected, serviceContext, executionContext);
 
+    final QueuedCommandStatus queuedCommandStatus;
     try {
-      final QueuedCommandStatus queuedCommandStatus = commandQueue.enqueueCommand(injected);
-      final CommandStatus commandStatus = queuedCommandStatus
-          .tryWaitForFinalStatus(distributedCmdResponseTimeout);
-
-      return Optional.of(new CommandStatusEntity(
-          injected.getStatementText(),
-          queuedCommandStatus.getCommandId(),
-          commandStatus,
-          queuedCommandStatus.getCommandSequenceNumber()
-      ));
+      queuedCommandStatus = commandQueue.enqueueCommand(injected);
     } catch (final Exception e) {
-      throw new KsqlServerException(String.format(
-          "Could not write the statement '%s' into the command topic: " + e.getMessage(),
-          statement.getStatementText()), e);
+      throw writeFailure(statement, e);
     }
+
+    return FutureUtil
+        .withTimeout(
+            queuedCommandStatus.whenFinalStatus(),
+            distributedCmdResponseTimeout,
+            asyncExecutor)
+        .handle((finalStatus, e) -> {
+          final CommandStatus commandStatus;
+          if (e == null) {
+            commandStatus = finalStatus;
+          } else if (FutureUtil.unwrap(e) instanceof TimeoutException) {
+            commandStatus = queuedCommandStatus.getStatus();
+          } else {
+            throw new CompletionException(writeFailure(statement, FutureUtil.unwrap(e)));
+          }
+
+          return Optional.of(new CommandStatusEntity(
+              injected.getStatementText(),
+              queuedCommandStatus.getCommandId(),
+              commandStatus,
+              queuedCommandStatus.getCommandSequenceNumber()
+          ));
+        });
+  }
+
+  private static KsqlServerException writeFailure(
+      final ConfiguredStatement<?> statement,
+      final Throwable e
+  ) {
+    return new KsqlServerException(String.format(
+        "Could not write the statement '%s' into the command topic: " + e.getMessage(),
+        statement.getStatementText()), e);
   }
 
   private void checkAuthorization(
@@ -19,6 +19,7 @@ import io.confluent.ksql.rest.entity.CommandId;
 import io.confluent.ksql.rest.entity.CommandStatus;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class QueuedCommandStatus {
   private final CommandStatusFuture commandStatusFuture;
@@ -46,4 +47,12 @@ public class QueuedCommandStatus {
   public CommandStatus tryWaitForFinalStatus(final Duration timeout) throws InterruptedException {
     return commandStatusFuture.tryWaitForFinalStatus(timeout);
   }
+
+  /**
+   * @return a future that completes with the final status of the command. The future may be
+   *         completed on the thread executing commands.
+   */
+  public CompletableFuture<CommandStatus> whenFinalStatus() {
+    return commandStatusFuture.whenFinalStatus();
+  }
 }
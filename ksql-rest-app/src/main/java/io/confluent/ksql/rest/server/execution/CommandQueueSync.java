@@ -17,6 +17,7 @@ package io.confluent.ksql.rest.server.execution;
 
 import io.confluent.ksql.parser.tree.Statement;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * {@code CommandQueueSync} provides encapsulated functionality to
@@ -29,8 +30,11 @@ public interface CommandQueueSync {
    *
    * @param previousCommands the list of previously executed commands
    * @param statementClass the type of statement that is being waited on
-   * @apiNote this is a blocking operation
+   * @return a future that completes once the previous commands have completed
+   * @apiNote this is a non-blocking operation
    */
-  void waitFor(KsqlEntityList previousCommands, Class<? extends Statement> statementClass);
+  CompletableFuture<Void> waitFor(
+      KsqlEntityList previousCommands,
+      Class<? extends Statement> statementClass);
 
 }
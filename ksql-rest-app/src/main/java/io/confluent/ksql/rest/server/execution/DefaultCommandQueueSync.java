@@ -22,10 +22,16 @@ import io.confluent.ksql.rest.entity.KsqlEntity;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.server.computation.CommandQueue;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
+import io.confluent.ksql.rest.util.FutureUtil;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 
@@ -34,6 +40,7 @@ public class DefaultCommandQueueSync implements CommandQueueSync {
   private final CommandQueue commandQueue;
   private final Duration timeout;
   private final Predicate<Class<? extends Statement>> mustSync;
+  private final ScheduledExecutorService executor;
 
   /**
    * @param commandQueue  the command queue
@@ -41,39 +48,53 @@ public class DefaultCommandQueueSync implements CommandQueueSync {
    *                      distributed statements to finish before handling (a value of
    *                      {@code true} will require synchronization)
    * @param timeout       the maximum amount of time to wait
+   * @param executor      the executor to time out on, and to complete waits on
    */
   public DefaultCommandQueueSync(
       final CommandQueue commandQueue,
       final Predicate<Class<? extends Statement>> mustSync,
-      final Duration timeout
+      final Duration timeout,
+      final ScheduledExecutorService executor
   ) {
     this.commandQueue = Objects.requireNonNull(commandQueue, "commandQueue");
     this.timeout = Objects.requireNonNull(timeout, "timeout");
     this.mustSync = Objects.requireNonNull(mustSync, "mustSync");
+    this.executor = Objects.requireNonNull(executor, "executor");
   }
 
   @Override
-  public void waitFor(
+  public CompletableFuture<Void> waitFor(
       final KsqlEntityList previousCommands,
       final Class<? extends Statement> statementClass) {
-    if (mustSync.test(statementClass)) {
-      final ArrayList<KsqlEntity> reversed = new ArrayList<>(previousCommands);
-      Collections.reverse(reversed);
+    if (!mustSync.test(statementClass)) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final ArrayList<KsqlEntity> reversed = new ArrayList<>(previousCommands);
+    Collections.reverse(reversed);
 
-      reversed.stream()
-          .filter(e -> e instanceof CommandStatusEntity)
-          .map(CommandStatusEntity.class::cast)
-          .map(CommandStatusEntity::getCommandSequenceNumber)
-          .findFirst()
-          .ifPresent(seqNum -> {
-            try {
-              commandQueue.ensureConsumedPast(seqNum, timeout);
-            } catch (final InterruptedException e) {
-              throw new KsqlRestException(Errors.serverShuttingDown());
-            } catch (final TimeoutException e) {
-              throw new KsqlRestException(Errors.commandQueueCatchUpTimeout(seqNum));
-            }
-          });
+    final Optional<Long> lastSeqNum = reversed.stream()
+        .filter(e -> e instanceof CommandStatusEntity)
+        .map(CommandStatusEntity.class::cast)
+        .map(CommandStatusEntity::getCommandSequenceNumber)
+        .findFirst();
+
+    if (!lastSeqNum.isPresent()) {
+      return CompletableFuture.completedFuture(null);
     }
+
+    final long seqNum = lastSeqNum.get();
+    return FutureUtil
+        .withTimeout(commandQueue.whenConsumedPast(seqNum), timeout, executor)
+        .exceptionally(e -> {
+          final Throwable cause = FutureUtil.unwrap(e);
+          if (cause instanceof RejectedExecutionException) {
+            throw new KsqlRestException(Errors.serverShuttingDown());
+          }
+          if (cause instanceof TimeoutException) {
+            throw new KsqlRestException(Errors.commandQueueCatchUpTimeout(seqNum));
+          }
+          throw new CompletionException(cause);
+        });
   }
 }
@@ -26,6 +26,7 @@ import io.confluent.ksql.services.KafkaTopicClient;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KafkaConsumerGroupClient;
+import io.confluent.ksql.util.KafkaConsumerGroupClient.ConsumerGroupSummary;
 import io.confluent.ksql.util.KafkaConsumerGroupClient.ConsumerSummary;
 import io.confluent.ksql.util.KafkaConsumerGroupClientImpl;
 import io.confluent.ksql.util.KsqlConfig;
@@ -138,14 +139,16 @@ public final class ListTopicsExecutor {
       final KafkaConsumerGroupClient consumerGroupClient
   ) {
 
-    final List<String> consumerGroups = consumerGroupClient.listGroups();
+    // Describe all groups in one batched request, rather than one request per group:
+    final Map<String, ConsumerGroupSummary> consumerGroups =
+        consumerGroupClient.describeConsumerGroups(consumerGroupClient.listGroups());
 
     final Map<String, AtomicInteger> topicConsumerCount = new HashMap<>();
     final Map<String, Set<String>> topicConsumerGroupCount = new HashMap<>();
 
-    for (final String group : consumerGroups) {
-      final Collection<ConsumerSummary> consumerSummaryList =
-          consumerGroupClient.describeConsumerGroup(group).consumers();
+    for (final Map.Entry<String, ConsumerGroupSummary> entry : consumerGroups.entrySet()) {
+      final String group = entry.getKey();
+      final Collection<ConsumerSummary> consumerSummaryList = entry.getValue().consumers();
 
       for (final KafkaConsumerGroupClientImpl.ConsumerSummary summary : consumerSummaryList) {
 
@@ -24,6 +24,7 @@ import io.confluent.ksql.parser.tree.Statement;
 import io.confluent.ksql.rest.entity.KsqlEntity;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.server.computation.DistributingExecutor;
+import io.confluent.ksql.rest.util.FutureUtil;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KsqlConfig;
@@ -34,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles prepared statements, resolving side-effects and delegates to any
@@ -74,51 +76,98 @@ public class RequestHandler {
       final ServiceContext serviceContext,
       final List<ParsedStatement> statements,
       final Map<String, Object> propertyOverrides
+  ) {
+    return FutureUtil.join(executeAsync(serviceContext, statements, propertyOverrides));
+  }
+
+  /**
+   * Execute the statements in order, without blocking while waiting on distributed commands.
+   *
+   * <p>Each statement is prepared and executed once the previous statement has completed. Any
+   * statement that must wait on a distributed command is continued on the thread that
+   * completes the wait.
+   *
+   * @return a future that completes with the entities returned by the statements
+   */
+  public CompletableFuture<KsqlEntityList> executeAsync(
+      final ServiceContext serviceContext,
+      final List<ParsedStatement> statements,
+      final Map<String, Object> propertyOverrides
   ) {
     final Map<String, Object> scopedPropertyOverrides = new HashMap<>(propertyOverrides);
     final KsqlEntityList entities = new KsqlEntityList();
+
+    CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
     for (ParsedStatement parsed : statements) {
-      final PreparedStatement<?> prepared = ksqlEngine.prepare(parsed);
-      if (prepared.getStatement() instanceof RunScript) {
-        final KsqlEntityList result = executeRunScript(serviceContext, prepared, propertyOverrides);
-        if (!result.isEmpty()) {
-          // This is to maintain backwards compatibility until we deprecate
-          // RunScript in the next major release - the expected behavior was
-          // to return only the last entity
-          entities.add(Iterables.getLast(result));
-        }
-      } else {
-        final ConfiguredStatement<?> configured = ConfiguredStatement.of(
-            prepared, scopedPropertyOverrides, ksqlConfig);
-        executeStatement(serviceContext, configured, scopedPropertyOverrides, entities)
-            .ifPresent(entities::add);
-      }
+      result = result.thenCompose(ignored -> executeParsed(
+          serviceContext,
+          parsed,
+          propertyOverrides,
+          scopedPropertyOverrides,
+          entities
+      ));
     }
-    return entities;
+    return result.thenApply(ignored -> entities);
+  }
+
+  private CompletableFuture<Void> executeParsed(
+      final ServiceContext serviceContext,
+      final ParsedStatement parsed,
+      final Map<String, Object> propertyOverrides,
+      final Map<String, Object> scopedPropertyOverrides,
+      final KsqlEntityList entities
+  ) {
+    final PreparedStatement<?> prepared = ksqlEngine.prepare(parsed);
+    if (prepared.getStatement() instanceof RunScript) {
+      return executeRunScript(serviceContext, prepared, propertyOverrides)
+          .thenAccept(result -> {
+            if (!result.isEmpty()) {
+              // This is to maintain backwards compatibility until we deprecate
+              // RunScript in the next major release - the expected behavior was
+              // to return only the last entity
+              entities.add(Iterables.getLast(result));
+            }
+          });
+    }
+
+    final ConfiguredStatement<?> configured = ConfiguredStatement.of(
+        prepared, scopedPropertyOverrides, ksqlConfig);
+    return executeStatement(serviceContext, configured, scopedPropertyOverrides, entities)
+        .thenAccept(entity -> entity.ifPresent(entities::add));
   }
 
   @SuppressWarnings("unchecked")
-  private <T extends Statement> Optional<KsqlEntity> executeStatement(
+  private <T extends Statement> CompletableFuture<Optional<KsqlEntity>> executeStatement(
       final ServiceContext serviceContext,
       final ConfiguredStatement<T> configured,
       final Map<String, Object> mutableScopedProperties,
       final KsqlEntityList entities
   ) {
     final Class<? extends Statement> statementClass = configured.getStatement().getClass();
-    commandQueueSync.waitFor(new KsqlEntityList(entities), statementClass);
-
     final StatementExecutor<T> executor = (StatementExecutor<T>)
-        customExecutors.getOrDefault(statementClass, distributor);
-
-    return executor.execute(
-        configured,
-        mutableScopedProperties,
-        ksqlEngine,
-        serviceContext
-    );
+        customExecutors.get(statementClass);
+
+    return commandQueueSync.waitFor(new KsqlEntityList(entities), statementClass)
+        .thenCompose(ignored -> {
+          if (executor == null) {
+            return distributor.executeAsync(
+                (ConfiguredStatement<Statement>) configured,
+                mutableScopedProperties,
+                ksqlEngine,
+                serviceContext
+            );
+          }
+
+          return CompletableFuture.completedFuture(executor.execute(
+              configured,
+              mutableScopedProperties,
+              ksqlEngine,
+              serviceContext
+          ));
+        });
   }
 
-  private KsqlEntityList executeRunScript(
+  private CompletableFuture<KsqlEntityList> executeRunScript(
       final ServiceContext serviceContext,
       final PreparedStatement<?> statement,
       final Map<String, Object> propertyOverrides) {
@@ -130,6 +179,6 @@ public class RequestHandler {
           "Request is missing script content", statement.getStatementText());
     }
 
-    return execute(serviceContext, ksqlEngine.parse(sql), propertyOverrides);
+    return executeAsync(serviceContext, ksqlEngine.parse(sql), propertyOverrides);
   }
 }
@@ -17,6 +17,7 @@ package io.confluent.ksql.rest.server.resources;
 
 import static java.util.regex.Pattern.compile;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.KsqlExecutionContext;
 import io.confluent.ksql.engine.KsqlEngine;
@@ -43,6 +44,7 @@ import io.confluent.ksql.rest.server.validation.CustomValidators;
 import io.confluent.ksql.rest.server.validation.RequestValidator;
 import io.confluent.ksql.rest.util.CommandStoreUtil;
 import io.confluent.ksql.rest.util.ErrorResponseUtil;
+import io.confluent.ksql.rest.util.FutureUtil;
 import io.confluent.ksql.rest.util.TerminateCluster;
 import io.confluent.ksql.security.KsqlAuthorizationValidator;
 import io.confluent.ksql.services.SandboxedServiceContext;
@@ -57,12 +59,16 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
 import java.util.regex.PatternSyntaxException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -98,16 +104,22 @@ public class KsqlResource implements KsqlConfigurable {
   private final ActivenessRegistrar activenessRegistrar;
   private final BiFunction<KsqlExecutionContext, ServiceContext, Injector> injectorFactory;
   private final KsqlAuthorizationValidator authorizationValidator;
+  private final ScheduledExecutorService asyncExecutor;
   private RequestValidator validator;
   private RequestHandler handler;
 
 
+  /**
+   * @param asyncExecutor the executor used to continue requests once the commands they wait on
+   *                      have been executed. Request threads are not held while waiting.
+   */
   public KsqlResource(
       final KsqlEngine ksqlEngine,
       final CommandQueue commandQueue,
       final Duration distributedCmdResponseTimeout,
       final ActivenessRegistrar activenessRegistrar,
-      final KsqlAuthorizationValidator authorizationValidator
+      final KsqlAuthorizationValidator authorizationValidator,
+      final ScheduledExecutorService asyncExecutor
   ) {
     this(
         ksqlEngine,
@@ -115,7 +127,8 @@ public class KsqlResource implements KsqlConfigurable {
         distributedCmdResponseTimeout,
         activenessRegistrar,
         Injectors.DEFAULT,
-        authorizationValidator
+        authorizationValidator,
+        asyncExecutor
     );
   }
 
@@ -125,7 +138,8 @@ public class KsqlResource implements KsqlConfigurable {
       final Duration distributedCmdResponseTimeout,
       final ActivenessRegistrar activenessRegistrar,
       final BiFunction<KsqlExecutionContext, ServiceContext, Injector> injectorFactory,
-      final KsqlAuthorizationValidator authorizationValidator
+      final KsqlAuthorizationValidator authorizationValidator,
+      final ScheduledExecutorService asyncExecutor
   ) {
     this.ksqlEngine = Objects.requireNonNull(ksqlEngine, "ksqlEngine");
     this.commandQueue = Objects.requireNonNull(commandQueue, "commandQueue");
@@ -136,6 +150,7 @@ public class KsqlResource implements KsqlConfigurable {
     this.injectorFactory = Objects.requireNonNull(injectorFactory, "injectorFactory");
     this.authorizationValidator = Objects
         .requireNonNull(authorizationValidator, "authorizationValidator");
+    this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "asyncExecutor");
   }
 
   @Override
@@ -157,14 +172,16 @@ public class KsqlResource implements KsqlConfigurable {
             commandQueue,
             distributedCmdResponseTimeout,
             injectorFactory,
-            authorizationValidator
+            authorizationValidator,
+            asyncExecutor
         ),
         ksqlEngine,
         config,
         new DefaultCommandQueueSync(
             commandQueue,
             KsqlResource::shouldSynchronize,
-            distributedCmdResponseTimeout
+            distributedCmdResponseTimeout,
+            asyncExecutor
         )
     );
   }
@@ -191,8 +208,34 @@ public class KsqlResource implements KsqlConfigurable {
   }
 
   @POST
-  public Response handleKsqlStatements(
+  public void handleKsqlStatements(
       @Context final ServiceContext serviceContext,
+      final KsqlRequest request,
+      @Suspended final AsyncResponse asyncResponse
+  ) {
+    handleKsqlStatementsAsync(serviceContext, request)
+        .whenComplete((response, e) -> {
+          if (e == null) {
+            asyncResponse.resume(response);
+          } else {
+            asyncResponse.resume(FutureUtil.unwrap(e));
+          }
+        });
+  }
+
+  /**
+   * Blocking equivalent of {@link #handleKsqlStatements(ServiceContext, KsqlRequest,
+   * AsyncResponse)}, for internal callers.
+   */
+  public Response handleKsqlStatements(
+      final ServiceContext serviceContext,
+      final KsqlRequest request
+  ) {
+    return FutureUtil.join(handleKsqlStatementsAsync(serviceContext, request));
+  }
+
+  private CompletableFuture<Response> handleKsqlStatementsAsync(
+      final ServiceContext serviceContext,
       final KsqlRequest request
   ) {
     LOG.info("Received: " + request);
@@ -201,12 +244,12 @@ public class KsqlResource implements KsqlConfigurable {
 
     activenessRegistrar.updateLastRequestTime();
 
-    try {
-      CommandStoreUtil.httpWaitForCommandSequenceNumber(
-          commandQueue,
-          request,
-          distributedCmdResponseTimeout);
-
+    return CommandStoreUtil.httpWaitForCommandSequenceNumberAsync(
+        commandQueue,
+        request,
+        distributedCmdResponseTimeout,
+        asyncExecutor
+    ).thenCompose(ignored -> {
       final List<ParsedStatement> statements = ksqlEngine.parse(request.getKsql());
       validator.validate(
           SandboxedServiceContext.create(serviceContext),
@@ -215,23 +258,35 @@ public class KsqlResource implements KsqlConfigurable {
           request.getKsql()
       );
 
-      final KsqlEntityList entities = handler.execute(
+      return handler.executeAsync(
           serviceContext,
           statements,
           request.getStreamsProperties()
       );
-      return Response.ok(entities).build();
-    } catch (final KsqlRestException e) {
-      throw e;
-    } catch (final KsqlStatementException e) {
-      return Errors.badStatement(e.getRawMessage(), e.getSqlStatement());
-    } catch (final KsqlException e) {
-      return ErrorResponseUtil.generateResponse(
-          e, Errors.badRequest(e));
-    } catch (final Exception e) {
+    }).handle((entities, e) -> e == null
+        ? Response.ok(entities).build()
+        : errorResponse(FutureUtil.unwrap(e), request)
+    );
+  }
+
+  private static Response errorResponse(final Throwable e, final KsqlRequest request) {
+    if (e instanceof KsqlRestException) {
+      throw (KsqlRestException) e;
+    }
+    if (e instanceof KsqlStatementException) {
+      final KsqlStatementException statementException = (KsqlStatementException) e;
+      return Errors.badStatement(
+          statementException.getRawMessage(), statementException.getSqlStatement());
+    }
+    if (e instanceof KsqlException) {
+      return ErrorResponseUtil.generateResponse((KsqlException) e, Errors.badRequest(e));
+    }
+    if (e instanceof Exception) {
       return ErrorResponseUtil.generateResponse(
-          e, Errors.serverErrorForStatement(e, request.getKsql()));
+          (Exception) e, Errors.serverErrorForStatement(e, request.getKsql()));
     }
+    Throwables.throwIfUnchecked(e);
+    throw new IllegalStateException(e);
   }
 
   private void throwIfNotConfigured() {
@@ -28,11 +28,14 @@ import io.confluent.ksql.services.ServiceContext;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.utils.Bytes;
@@ -109,23 +112,38 @@ public class PrintPublisher implements Flow.Publisher<Collection<String>> {
           return null;
         }
 
-        final Collection<String> formatted = formatter.format(records);
-        final Collection<String> limited = new LimitIntervalCollection<>(
-            formatted,
+        final List<ConsumerRecord<String, Bytes>> nonEmpty = new ArrayList<>(records.count());
+        for (final ConsumerRecord<String, Bytes> record : records.records(printTopic.getTopic())) {
+          if (RecordFormatter.hasValue(record)) {
+            nonEmpty.add(record);
+          }
+        }
+
+        // Sample before formatting, so that skipped records are never deserialized:
+        final Collection<ConsumerRecord<String, Bytes>> limited = new LimitIntervalCollection<>(
+            nonEmpty,
             printTopic.getLimit().orElse(Integer.MAX_VALUE) - numWritten,
             printTopic.getIntervalValue(),
             numPolled % printTopic.getIntervalValue()
         );
 
-        numPolled += formatted.size();
-        numWritten += limited.size();
+        final List<String> formatted = new ArrayList<>(limited.size());
+        for (final ConsumerRecord<String, Bytes> record : limited) {
+          final String value = formatter.format(record);
+          if (value != null) {
+            formatted.add(value);
+          }
+        }
+
+        numPolled += nonEmpty.size();
+        numWritten += formatted.size();
 
         if (printTopic.getLimit().isPresent()
             && numWritten >= printTopic.getLimit().getAsInt()) {
           setDone();
         }
 
-        return limited;
+        return formatted;
       } catch (final Exception e) {
         setError(e);
         return null;
@@ -25,7 +25,6 @@ import io.confluent.ksql.util.TransientQueryMetadata;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -40,7 +39,7 @@ class QueryStreamWriter implements StreamingOutput {
 
   private final TransientQueryMetadata queryMetadata;
   private final long disconnectCheckInterval;
-  private final ObjectMapper objectMapper;
+  private final StreamedRowEncoder encoder;
   private volatile Exception streamsException;
   private volatile boolean limitReached = false;
 
@@ -49,7 +48,15 @@ class QueryStreamWriter implements StreamingOutput {
       final long disconnectCheckInterval,
       final ObjectMapper objectMapper
   ) {
-    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    this(queryMetadata, disconnectCheckInterval, StreamedRowEncoder.json(objectMapper));
+  }
+
+  QueryStreamWriter(
+      final TransientQueryMetadata queryMetadata,
+      final long disconnectCheckInterval,
+      final StreamedRowEncoder encoder
+  ) {
+    this.encoder = Objects.requireNonNull(encoder, "encoder");
     this.disconnectCheckInterval = disconnectCheckInterval;
     this.queryMetadata = Objects.requireNonNull(queryMetadata, "queryMetadata");
     this.queryMetadata.setLimitHandler(new LimitHandler());
@@ -60,6 +67,8 @@ class QueryStreamWriter implements StreamingOutput {
   @Override
   public void write(final OutputStream out) {
     try {
+      encoder.writeHeader(out);
+
       while (queryMetadata.isRunning() && !limitReached) {
         final KeyValue<String, GenericRow> value = queryMetadata.getRowQueue().poll(
             disconnectCheckInterval,
@@ -69,8 +78,8 @@ class QueryStreamWriter implements StreamingOutput {
           write(out, value.value);
         } else {
           // If no new rows have been written, the user may have terminated the connection without
-          // us knowing. Check by trying to write a single newline.
-          out.write("\n".getBytes(StandardCharsets.UTF_8));
+          // us knowing. Check by trying to write a keep-alive, e.g. a single newline.
+          encoder.writeKeepAlive(out);
           out.flush();
         }
         drainAndThrowOnError(out);
@@ -79,8 +88,7 @@ class QueryStreamWriter implements StreamingOutput {
       drain(out);
 
       if (limitReached) {
-        objectMapper.writeValue(out, StreamedRow.finalMessage("Limit Reached"));
-        out.write("\n".getBytes(StandardCharsets.UTF_8));
+        encoder.writeMessage(out, StreamedRow.finalMessage("Limit Reached"));
         out.flush();
       }
     } catch (final EOFException exception) {
@@ -99,22 +107,20 @@ class QueryStreamWriter implements StreamingOutput {
   }
 
   private void write(final OutputStream output, final GenericRow row) throws IOException {
-    objectMapper.writeValue(output, StreamedRow.row(row));
-    output.write("\n".getBytes(StandardCharsets.UTF_8));
+    encoder.writeRow(output, row);
     output.flush();
   }
 
   private void outputException(final OutputStream out, final Throwable exception) {
     try {
-      out.write("\n".getBytes(StandardCharsets.UTF_8));
+      encoder.writeKeepAlive(out);
       if (exception.getCause() instanceof KsqlException) {
-        objectMapper.writeValue(out, StreamedRow
+        encoder.writeMessage(out, StreamedRow
             .error(exception.getCause(), Errors.ERROR_CODE_SERVER_ERROR));
       } else {
-        objectMapper.writeValue(out, StreamedRow
+        encoder.writeMessage(out, StreamedRow
             .error(exception, Errors.ERROR_CODE_SERVER_ERROR));
       }
-      out.write("\n".getBytes(StandardCharsets.UTF_8));
       out.flush();
     } catch (final IOException e) {
       log.debug("Client disconnected while attempting to write an error message");
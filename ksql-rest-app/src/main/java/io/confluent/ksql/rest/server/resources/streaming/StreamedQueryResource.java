@@ -129,6 +129,31 @@ public class StreamedQueryResource implements KsqlConfigurable {
   public Response streamQuery(
       @Context final ServiceContext serviceContext,
       final KsqlRequest request
+  ) {
+    return streamQuery(serviceContext, request, false);
+  }
+
+  /**
+   * Stream query results in the length-prefixed binary format.
+   *
+   * <p>Selected over {@link #streamQuery(ServiceContext, KsqlRequest)} when the client accepts
+   * {@link Versions#KSQL_V1_BINARY}. Only supported for queries, not PRINT statements.
+   *
+   * <p>The low source quality ensures clients that accept any content type continue to get JSON.
+   */
+  @POST
+  @Produces(Versions.KSQL_V1_BINARY + "; qs=0.1")
+  public Response streamQueryBinary(
+      @Context final ServiceContext serviceContext,
+      final KsqlRequest request
+  ) {
+    return streamQuery(serviceContext, request, true);
+  }
+
+  private Response streamQuery(
+      final ServiceContext serviceContext,
+      final KsqlRequest request,
+      final boolean binary
   ) {
     throwIfNotConfigured();
 
@@ -139,7 +164,7 @@ public class StreamedQueryResource implements KsqlConfigurable {
     CommandStoreUtil.httpWaitForCommandSequenceNumber(
         commandQueue, request, commandQueueCatchupTimeout);
 
-    return handleStatement(serviceContext, request, statement);
+    return handleStatement(serviceContext, request, statement, binary);
   }
 
   private void throwIfNotConfigured() {
@@ -165,7 +190,8 @@ public class StreamedQueryResource implements KsqlConfigurable {
   private Response handleStatement(
       final ServiceContext serviceContext,
       final KsqlRequest request,
-      final PreparedStatement<?> statement
+      final PreparedStatement<?> statement,
+      final boolean binary
   )  {
     try {
       authorizationValidator.checkAuthorization(
@@ -178,10 +204,17 @@ public class StreamedQueryResource implements KsqlConfigurable {
         return handleQuery(
             serviceContext,
             (PreparedStatement<Query>) statement,
-            request.getStreamsProperties()
+            request.getStreamsProperties(),
+            binary
         );
       }
 
+      if (binary) {
+        return Errors.badRequest(String.format(
+            "Statement type `%s' not supported for binary results",
+            statement.getClass().getName()));
+      }
+
       if (statement.getStatement() instanceof PrintTopic) {
         return handlePrintTopic(
             serviceContext,
@@ -203,7 +236,8 @@ public class StreamedQueryResource implements KsqlConfigurable {
   private Response handleQuery(
       final ServiceContext serviceContext,
       final PreparedStatement<Query> statement,
-      final Map<String, Object> streamsProperties
+      final Map<String, Object> streamsProperties,
+      final boolean binary
   ) {
     final ConfiguredStatement<Query> configured =
         ConfiguredStatement.of(statement, streamsProperties, ksqlConfig);
@@ -219,10 +253,14 @@ public class StreamedQueryResource implements KsqlConfigurable {
       ));
     }
 
+    final StreamedRowEncoder encoder = binary
+        ? StreamedRowEncoder.binary(query.getLogicalSchema())
+        : StreamedRowEncoder.json(objectMapper);
+
     final QueryStreamWriter queryStreamWriter = new QueryStreamWriter(
         (TransientQueryMetadata) query,
         disconnectCheckInterval.toMillis(),
-        objectMapper);
+        encoder);
 
     log.info("Streaming query '{}'", statement.getStatementText());
     return Response.ok().entity(queryStreamWriter).build();
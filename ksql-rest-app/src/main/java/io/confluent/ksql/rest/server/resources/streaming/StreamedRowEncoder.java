@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.resources.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.rest.binary.BinaryStreamedRowWriter;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Encodes the output of a streamed query in the content type negotiated with the client.
+ */
+interface StreamedRowEncoder {
+
+  static StreamedRowEncoder json(final ObjectMapper objectMapper) {
+    return new JsonEncoder(objectMapper);
+  }
+
+  static StreamedRowEncoder binary(final LogicalSchema schema) {
+    return new BinaryEncoder(schema);
+  }
+
+  void writeHeader(OutputStream out) throws IOException;
+
+  void writeRow(OutputStream out, GenericRow row) throws IOException;
+
+  void writeKeepAlive(OutputStream out) throws IOException;
+
+  void writeMessage(OutputStream out, StreamedRow message) throws IOException;
+
+  final class JsonEncoder implements StreamedRowEncoder {
+
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    private JsonEncoder(final ObjectMapper objectMapper) {
+      this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    }
+
+    @Override
+    public void writeHeader(final OutputStream out) {
+    }
+
+    @Override
+    public void writeRow(final OutputStream out, final GenericRow row) throws IOException {
+      writeMessage(out, StreamedRow.row(row));
+    }
+
+    @Override
+    public void writeKeepAlive(final OutputStream out) throws IOException {
+      out.write(NEW_LINE);
+    }
+
+    @Override
+    public void writeMessage(final OutputStream out, final StreamedRow message)
+        throws IOException {
+      objectMapper.writeValue(out, message);
+      out.write(NEW_LINE);
+    }
+  }
+
+  final class BinaryEncoder implements StreamedRowEncoder {
+
+    private final BinaryStreamedRowWriter writer;
+
+    private BinaryEncoder(final LogicalSchema schema) {
+      this.writer = new BinaryStreamedRowWriter(schema);
+    }
+
+    @Override
+    public void writeHeader(final OutputStream out) throws IOException {
+      writer.writeSchema(out);
+    }
+
+    @Override
+    public void writeRow(final OutputStream out, final GenericRow row) throws IOException {
+      writer.writeRow(out, row);
+    }
+
+    @Override
+    public void writeKeepAlive(final OutputStream out) throws IOException {
+      writer.writeKeepAlive(out);
+    }
+
+    @Override
+    public void writeMessage(final OutputStream out, final StreamedRow message)
+        throws IOException {
+      writer.writeMessage(out, message);
+    }
+  }
+}
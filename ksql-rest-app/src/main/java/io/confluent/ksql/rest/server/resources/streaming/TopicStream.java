@@ -23,17 +23,15 @@ import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import io.confluent.ksql.json.JsonMapper;
 import io.confluent.ksql.util.SchemaUtil;
 import java.io.IOException;
-import java.io.StringWriter;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -43,6 +41,9 @@ import org.slf4j.LoggerFactory;
 
 public final class TopicStream {
 
+  private static final byte AVRO_MAGIC_BYTE = 0x0;
+  private static final int AVRO_HEADER_LENGTH = 5;
+
   private TopicStream() {
   }
 
@@ -52,8 +53,10 @@ public final class TopicStream {
 
     private final KafkaAvroDeserializer avroDeserializer;
     private final String topicName;
-    private final DateFormat dateFormat =
-        SimpleDateFormat.getDateTimeInstance(3, 1, Locale.getDefault());
+    private final DateTimeFormatter dateFormat = DateTimeFormatter
+        .ofLocalizedDateTime(FormatStyle.SHORT, FormatStyle.LONG)
+        .withLocale(Locale.getDefault())
+        .withZone(ZoneId.systemDefault());
 
     private Formatter formatter;
 
@@ -64,25 +67,47 @@ public final class TopicStream {
     }
 
     public List<String> format(final ConsumerRecords<String, Bytes> records) {
-      return StreamSupport
-          .stream(records.records(topicName).spliterator(), false)
-          .filter(Objects::nonNull)
-          .filter(r -> r.value() != null)
-          .filter(r -> r.value().get() != null)
-          .filter(r -> r.value().get().length != 0)
-          .map((record) -> {
-            if (formatter == null) {
-              formatter = getFormatter(record);
-            }
-            try {
-              return formatter.print(record);
-            } catch (IOException e) {
-              log.warn("Exception formatting record", e);
-              return null;
-            }
-          })
-          .filter(Objects::nonNull)
-          .collect(Collectors.toList());
+      final List<String> formatted = new ArrayList<>(records.count());
+      for (final ConsumerRecord<String, Bytes> record : records.records(topicName)) {
+        if (!hasValue(record)) {
+          continue;
+        }
+
+        final String value = format(record);
+        if (value != null) {
+          formatted.add(value);
+        }
+      }
+      return formatted;
+    }
+
+    /**
+     * Format a single record.
+     *
+     * <p>Callers that sample the topic should check {@link #hasValue} and only format the records
+     * they will output.
+     *
+     * @param record the record to format, which must have a value.
+     * @return the formatted record, or {@code null} if it could not be formatted.
+     */
+    String format(final ConsumerRecord<String, Bytes> record) {
+      if (formatter == null) {
+        formatter = getFormatter(record);
+      }
+
+      try {
+        return formatter.print(record);
+      } catch (final IOException e) {
+        log.warn("Exception formatting record", e);
+        return null;
+      }
+    }
+
+    static boolean hasValue(final ConsumerRecord<String, Bytes> record) {
+      return record != null
+          && record.value() != null
+          && record.value().get() != null
+          && record.value().get().length != 0;
     }
 
     public Format getFormat() {
@@ -90,12 +115,16 @@ public final class TopicStream {
     }
 
     private Formatter getFormatter(final ConsumerRecord<String, Bytes> record) {
-      return Arrays.stream(Format.values())
-          .map(f -> f.maybeGetFormatter(topicName, record, avroDeserializer, dateFormat))
-          .filter(Optional::isPresent)
-          .map(Optional::get)
-          .findFirst()
-          .orElseThrow(() -> new RuntimeException("Unexpected"));
+      for (final Format format : Format.values()) {
+        final Optional<Formatter> maybeFormatter =
+            format.maybeGetFormatter(topicName, record, avroDeserializer, dateFormat);
+
+        if (maybeFormatter.isPresent()) {
+          return maybeFormatter.get();
+        }
+      }
+
+      throw new RuntimeException("Unexpected");
     }
   }
 
@@ -115,7 +144,11 @@ public final class TopicStream {
           final String topicName,
           final ConsumerRecord<String, Bytes> record,
           final KafkaAvroDeserializer avroDeserializer,
-          final DateFormat dateFormat) {
+          final DateTimeFormatter dateFormat) {
+        if (!hasAvroHeader(record.value().get())) {
+          return Optional.empty();
+        }
+
         try {
           avroDeserializer.deserialize(topicName, record.value().get());
           return Optional.of(createFormatter(topicName, avroDeserializer, dateFormat));
@@ -124,13 +157,18 @@ public final class TopicStream {
         }
       }
 
+      private boolean hasAvroHeader(final byte[] value) {
+        // Confluent wire format: magic byte followed by a four byte schema id:
+        return value.length > AVRO_HEADER_LENGTH && value[0] == AVRO_MAGIC_BYTE;
+      }
+
       private Formatter createFormatter(final String topicName,
                                         final KafkaAvroDeserializer avroDeserializer,
-                                        final DateFormat dateFormat) {
+                                        final DateTimeFormatter dateFormat) {
         return new Formatter() {
           @Override
           public String print(final ConsumerRecord<String, Bytes> consumerRecord) {
-            final String time = dateFormat.format(new Date(consumerRecord.timestamp()));
+            final String time = dateFormat.format(Instant.ofEpochMilli(consumerRecord.timestamp()));
 
             final GenericRecord record = (GenericRecord) avroDeserializer.deserialize(
                 topicName, consumerRecord.value().get());
@@ -152,7 +190,11 @@ public final class TopicStream {
           final String topicName,
           final ConsumerRecord<String, Bytes> record,
           final KafkaAvroDeserializer avroDeserializer,
-          final DateFormat dateFormat) {
+          final DateTimeFormatter dateFormat) {
+        if (!startsWithObject(record.value().get())) {
+          return Optional.empty();
+        }
+
         try {
           final JsonNode jsonNode = JsonMapper.INSTANCE.mapper.readTree(record.value().toString());
 
@@ -168,6 +210,15 @@ public final class TopicStream {
         }
       }
 
+      private boolean startsWithObject(final byte[] value) {
+        for (final byte b : value) {
+          if (!Character.isWhitespace(b)) {
+            return b == '{';
+          }
+        }
+        return false;
+      }
+
       private Formatter createFormatter() {
         return new Formatter() {
           @Override
@@ -183,9 +234,7 @@ public final class TopicStream {
             objectNode.put(SchemaUtil.ROWKEY_NAME.name(), key);
             objectNode.setAll((ObjectNode) jsonNode);
 
-            final StringWriter stringWriter = new StringWriter();
-            objectMapper.writeValue(stringWriter, objectNode);
-            return stringWriter.toString() + "\n";
+            return objectMapper.writeValueAsString(objectNode) + "\n";
           }
 
           @Override
@@ -201,19 +250,19 @@ public final class TopicStream {
           final String topicName,
           final ConsumerRecord<String, Bytes> record,
           final KafkaAvroDeserializer avroDeserializer,
-          final DateFormat dateFormat) {
+          final DateTimeFormatter dateFormat) {
         // STRING always returns a formatter because its last in the enum list
         return Optional.of(createFormatter(dateFormat));
       }
 
-      private Formatter createFormatter(final DateFormat dateFormat) {
+      private Formatter createFormatter(final DateTimeFormatter dateFormat) {
         return new Formatter() {
 
           @Override
           public String print(final ConsumerRecord<String, Bytes> record) {
             final String key = record.key() != null ? record.key() : "NULL";
             final String value = record.value() != null ? record.value().toString() : "NULL";
-            return dateFormat.format(new Date(record.timestamp())) + " , " + key
+            return dateFormat.format(Instant.ofEpochMilli(record.timestamp())) + " , " + key
                    + " , " + value + "\n";
           }
 
@@ -229,7 +278,7 @@ public final class TopicStream {
         final String topicName,
         final ConsumerRecord<String, Bytes> record,
         final KafkaAvroDeserializer avroDeserializer,
-        final DateFormat dateFormat) {
+        final DateTimeFormatter dateFormat) {
       return Optional.empty();
     }
   }
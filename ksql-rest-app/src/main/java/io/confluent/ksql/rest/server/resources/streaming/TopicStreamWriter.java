@@ -24,11 +24,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalInt;
 import javax.ws.rs.core.StreamingOutput;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.utils.Bytes;
@@ -90,30 +90,56 @@ public class TopicStreamWriter implements StreamingOutput {
   public void write(final OutputStream out) {
     try {
       final RecordFormatter formatter = new RecordFormatter(schemaRegistryClient, topicName);
+      final StringBuilder batch = new StringBuilder();
       boolean printFormat = true;
       while (true) {
         final ConsumerRecords<String, Bytes> records = topicConsumer.poll(disconnectCheckInterval);
         if (records.isEmpty()) {
           out.write("\n".getBytes(StandardCharsets.UTF_8));
           out.flush();
-        } else {
-          final List<String> values = formatter.format(records);
-          for (final String value : values) {
-            if (printFormat) {
-              printFormat = false;
-              out.write(("Format:" + formatter.getFormat().name() + "\n")
-                            .getBytes(StandardCharsets.UTF_8));
-            }
-            if (messagesPolled++ % interval == 0) {
-              messagesWritten++;
-              out.write(value.getBytes(StandardCharsets.UTF_8));
-              out.flush();
-            }
-
-            if (limit.isPresent() && messagesWritten >= limit.getAsInt()) {
-              return;
-            }
+          continue;
+        }
+
+        batch.setLength(0);
+        boolean limitReached = false;
+
+        for (final ConsumerRecord<String, Bytes> record : records.records(topicName)) {
+          if (!RecordFormatter.hasValue(record)) {
+            continue;
+          }
+
+          // Sample before formatting, so that skipped records are never deserialized:
+          if (messagesPolled++ % interval != 0) {
+            continue;
+          }
+
+          final String value = formatter.format(record);
+          if (value == null) {
+            continue;
+          }
+
+          if (printFormat) {
+            printFormat = false;
+            out.write(("Format:" + formatter.getFormat().name() + "\n")
+                .getBytes(StandardCharsets.UTF_8));
           }
+
+          messagesWritten++;
+          batch.append(value);
+
+          if (limit.isPresent() && messagesWritten >= limit.getAsInt()) {
+            limitReached = true;
+            break;
+          }
+        }
+
+        if (batch.length() != 0) {
+          out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+          out.flush();
+        }
+
+        if (limitReached) {
+          return;
         }
       }
     } catch (final EOFException exception) {
@@ -22,6 +22,10 @@ import io.confluent.ksql.rest.server.computation.CommandQueue;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 
 public final class CommandStoreUtil {
@@ -49,6 +53,38 @@ public final class CommandStoreUtil {
     }
   }
 
+  /**
+   * Non-blocking equivalent of {@link #httpWaitForCommandSequenceNumber}.
+   *
+   * @return a future that completes once the command queue has been consumed past the
+   *         request's sequence number, or fails with a {@link KsqlRestException}.
+   */
+  public static CompletableFuture<Void> httpWaitForCommandSequenceNumberAsync(
+      final CommandQueue commandQueue,
+      final KsqlRequest request,
+      final Duration timeout,
+      final ScheduledExecutorService executor
+  ) {
+    final Optional<Long> commandSequenceNumber = request.getCommandSequenceNumber();
+    if (!commandSequenceNumber.isPresent()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final long seqNum = commandSequenceNumber.get();
+    return FutureUtil
+        .withTimeout(commandQueue.whenConsumedPast(seqNum), timeout, executor)
+        .exceptionally(e -> {
+          final Throwable cause = FutureUtil.unwrap(e);
+          if (cause instanceof TimeoutException) {
+            throw new KsqlRestException(Errors.commandQueueCatchUpTimeout(seqNum));
+          }
+          if (cause instanceof RejectedExecutionException) {
+            throw new KsqlRestException(Errors.serverShuttingDown());
+          }
+          throw new CompletionException(cause);
+        });
+  }
+
   public static void waitForCommandSequenceNumber(
       final CommandQueue commandQueue,
       final KsqlRequest request,
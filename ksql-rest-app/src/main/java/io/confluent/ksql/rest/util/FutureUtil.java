@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.util;
+
+import com.google.common.base.Throwables;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers for chaining request handling on {@link CompletableFuture}s.
+ */
+public final class FutureUtil {
+
+  private FutureUtil() {
+  }
+
+  /**
+   * Bound the time spent waiting on a future, without blocking.
+   *
+   * <p>Futures handed out by the command queue are completed on the thread that consumes the
+   * command topic. To ensure no continuation runs on that thread, the returned future is always
+   * completed on the supplied {@code executor}, unless {@code future} is already done.
+   *
+   * @param future the future to wait on.
+   * @param timeout the maximum time to wait.
+   * @param executor the executor used to time out and complete the returned future.
+   * @return a future that completes with the result of {@code future}, or fails with a
+   *         {@link TimeoutException} if {@code timeout} elapses first, or with a
+   *         {@link RejectedExecutionException} if the executor has been shut down.
+   */
+  public static <T> CompletableFuture<T> withTimeout(
+      final CompletableFuture<T> future,
+      final Duration timeout,
+      final ScheduledExecutorService executor
+  ) {
+    if (future.isDone()) {
+      return future;
+    }
+
+    final CompletableFuture<T> result = new CompletableFuture<>();
+
+    final ScheduledFuture<?> timer;
+    try {
+      timer = executor.schedule(
+          () -> result.completeExceptionally(new TimeoutException(
+              "Timed out after " + timeout.toMillis() + " ms")),
+          timeout.toMillis(),
+          TimeUnit.MILLISECONDS
+      );
+    } catch (final RejectedExecutionException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+
+    future.whenComplete((value, error) -> {
+      timer.cancel(false);
+
+      try {
+        executor.execute(() -> complete(result, value, error));
+      } catch (final RejectedExecutionException e) {
+        result.completeExceptionally(e);
+      }
+    });
+
+    return result;
+  }
+
+  /**
+   * Wait for a future to complete, rethrowing the cause of any failure.
+   *
+   * @param future the future to wait on.
+   * @return the result of the future.
+   */
+  public static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      final Throwable cause = unwrap(e);
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /**
+   * @param e the failure of a future, as passed to a continuation.
+   * @return the underlying cause of the failure.
+   */
+  public static Throwable unwrap(final Throwable e) {
+    Throwable cause = e;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  private static <T> void complete(
+      final CompletableFuture<T> result,
+      final T value,
+      final Throwable error
+  ) {
+    if (error == null) {
+      result.complete(value);
+    } else {
+      result.completeExceptionally(unwrap(error));
+    }
+  }
+}
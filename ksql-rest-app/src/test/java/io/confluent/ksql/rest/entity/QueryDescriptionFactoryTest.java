@@ -116,6 +116,8 @@ public class QueryDescriptionFactoryTest {
         QUERY_ID,
         DataSourceType.KSTREAM,
         Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
         "app id",
         sinkTopic,
         topology,
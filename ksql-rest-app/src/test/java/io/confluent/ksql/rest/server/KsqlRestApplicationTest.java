@@ -61,6 +61,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import javax.ws.rs.core.Configurable;
 import org.junit.Before;
@@ -126,6 +127,8 @@ public class KsqlRestApplicationTest {
   private PreparedStatement<?> preparedStatement;
   @Mock
   private Consumer<KsqlConfig> rocksDBConfigSetterHandler;
+  @Mock
+  private ScheduledExecutorService asyncExecutor;
   private PreparedStatement<?> logCreateStatement;
   private KsqlRestApplication app;
 
@@ -178,7 +181,8 @@ public class KsqlRestApplicationTest {
         processingLogContext,
         ImmutableList.of(precondition1, precondition2),
         ImmutableList.of(ksqlResource, streamedQueryResource),
-        rocksDBConfigSetterHandler
+        rocksDBConfigSetterHandler,
+        asyncExecutor
     );
   }
 
@@ -191,6 +195,15 @@ public class KsqlRestApplicationTest {
     verify(serviceContext).close();
   }
 
+  @Test
+  public void shouldShutdownAsyncExecutorOnClose() {
+    // When:
+    app.triggerShutdown();
+
+    // Then:
+    verify(asyncExecutor).shutdownNow();
+  }
+
   @Test
   public void shouldCloseSecurityExtensionOnClose() {
     // When:
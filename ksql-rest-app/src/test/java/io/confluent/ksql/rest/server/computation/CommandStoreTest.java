@@ -266,6 +266,35 @@ public class CommandStoreTest {
     inOrder.verify(commandTopic).getNewCommands(any());
   }
 
+  @Test
+  public void shouldCompleteWhenConsumedPastOnceSequenceNumberReached() {
+    // Given:
+    final CompletableFuture<Void> seqNumFuture = new CompletableFuture<>();
+    when(sequenceNumberFutureStore.getFutureForSequenceNumber(2L)).thenReturn(seqNumFuture);
+
+    final CompletableFuture<Void> result = commandStore.whenConsumedPast(2L);
+    assertThat(result.isDone(), is(false));
+
+    // When:
+    seqNumFuture.complete(null);
+
+    // Then:
+    assertThat(result.isDone(), is(true));
+  }
+
+  @Test
+  public void shouldNotAllowCallersToCompleteSequenceNumberFuture() {
+    // Given:
+    final CompletableFuture<Void> seqNumFuture = new CompletableFuture<>();
+    when(sequenceNumberFutureStore.getFutureForSequenceNumber(2L)).thenReturn(seqNumFuture);
+
+    // When:
+    commandStore.whenConsumedPast(2L).complete(null);
+
+    // Then:
+    assertThat(seqNumFuture.isDone(), is(false));
+  }
+
   @Test
   public void shouldComputeNotEmptyCorrectly() {
     // Given:
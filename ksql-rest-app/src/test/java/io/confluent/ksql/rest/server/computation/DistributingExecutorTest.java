@@ -39,6 +39,7 @@ import io.confluent.ksql.rest.entity.CommandId.Type;
 import io.confluent.ksql.rest.entity.CommandStatus;
 import io.confluent.ksql.rest.entity.CommandStatus.Status;
 import io.confluent.ksql.rest.entity.CommandStatusEntity;
+import io.confluent.ksql.rest.entity.KsqlEntity;
 import io.confluent.ksql.security.KsqlAuthorizationValidator;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
@@ -50,7 +51,11 @@ import io.confluent.ksql.util.KsqlServerException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -88,13 +93,16 @@ public class DistributingExecutorTest {
   private DistributingExecutor distributor;
   private AtomicLong scnCounter;
 
+  private final ScheduledExecutorService asyncExecutor =
+      Executors.newSingleThreadScheduledExecutor();
+
   @Before
-  public void setUp() throws InterruptedException {
+  public void setUp() {
     scnCounter = new AtomicLong();
     when(schemaInjector.inject(any())).thenAnswer(inv -> inv.getArgument(0));
     when(topicInjector.inject(any())).thenAnswer(inv -> inv.getArgument(0));
     when(queue.enqueueCommand(any())).thenReturn(status);
-    when(status.tryWaitForFinalStatus(any())).thenReturn(SUCCESS_STATUS);
+    when(status.whenFinalStatus()).thenReturn(CompletableFuture.completedFuture(SUCCESS_STATUS));
     when(status.getCommandId()).thenReturn(CS_COMMAND);
     when(status.getCommandSequenceNumber()).thenAnswer(inv -> scnCounter.incrementAndGet());
     when(executionContext.getMetaStore()).thenReturn(metaStore);
@@ -104,12 +112,18 @@ public class DistributingExecutorTest {
         queue,
         DURATION_10_MS,
         (ec, sc) -> InjectorChain.of(schemaInjector, topicInjector),
-        authorizationValidator
+        authorizationValidator,
+        asyncExecutor
     );
   }
 
+  @After
+  public void tearDown() {
+    asyncExecutor.shutdownNow();
+  }
+
   @Test
-  public void shouldEnqueueSuccessfulCommand() throws InterruptedException {
+  public void shouldEnqueueSuccessfulCommand() {
     // When:
     distributor.execute(EMPTY_STATEMENT, ImmutableMap.of(), executionContext, serviceContext);
 
@@ -144,6 +158,39 @@ public class DistributingExecutorTest {
 
   }
 
+  @Test
+  public void shouldNotBlockWhileWaitingForFinalStatus() {
+    // Given:
+    final CompletableFuture<CommandStatus> finalStatus = new CompletableFuture<>();
+    when(status.whenFinalStatus()).thenReturn(finalStatus);
+
+    final CompletableFuture<Optional<KsqlEntity>> result = distributor.executeAsync(
+        EMPTY_STATEMENT, ImmutableMap.of(), executionContext, serviceContext);
+    assertThat(result.isDone(), is(false));
+
+    // When:
+    finalStatus.complete(SUCCESS_STATUS);
+
+    // Then:
+    assertThat(result.join(), is(Optional.of(
+        new CommandStatusEntity("", CS_COMMAND, SUCCESS_STATUS, 1L))));
+  }
+
+  @Test
+  public void shouldReturnCurrentStatusIfFinalStatusTimesOut() {
+    // Given:
+    final CommandStatus queued = new CommandStatus(Status.QUEUED, "queued");
+    when(status.whenFinalStatus()).thenReturn(new CompletableFuture<>());
+    when(status.getStatus()).thenReturn(queued);
+
+    // When:
+    final Optional<KsqlEntity> result = distributor.execute(
+        EMPTY_STATEMENT, ImmutableMap.of(), executionContext, serviceContext);
+
+    // Then:
+    assertThat(result, is(Optional.of(new CommandStatusEntity("", CS_COMMAND, queued, 1L))));
+  }
+
   @Test
   public void shouldThrowExceptionOnFailureToEnqueue() {
     // Given:
@@ -63,6 +63,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import org.apache.kafka.streams.StreamsConfig;
@@ -85,6 +88,8 @@ public class RecoveryTest {
   private final HybridQueryIdGenerator hybridQueryIdGenerator =
       new HybridQueryIdGenerator();
   private final ServiceContext serviceContext = TestServiceContext.create(topicClient);
+  private final ScheduledExecutorService asyncExecutor =
+      Executors.newSingleThreadScheduledExecutor();
   private final KsqlServer server1 = new KsqlServer(commands);
   private final KsqlServer server2 = new KsqlServer(commands);
 
@@ -93,6 +98,7 @@ public class RecoveryTest {
     server1.close();
     server2.close();
     serviceContext.close();
+    asyncExecutor.shutdownNow();
   }
 
   private KsqlEngine createKsqlEngine() {
@@ -150,6 +156,11 @@ public class RecoveryTest {
     public void ensureConsumedPast(final long seqNum, final Duration timeout) {
     }
 
+    @Override
+    public CompletableFuture<Void> whenConsumedPast(final long seqNum) {
+      return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public boolean isEmpty() {
       return commandLog.isEmpty();
@@ -183,7 +194,8 @@ public class RecoveryTest {
           Duration.ofMillis(0),
           ()->{},
           (sc, metastore, statement) -> {
-          }
+          },
+          asyncExecutor
       );
 
       this.statementExecutor = new InteractiveStatementExecutor(
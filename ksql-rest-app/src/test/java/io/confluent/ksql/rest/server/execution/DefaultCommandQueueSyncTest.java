@@ -15,9 +15,13 @@
 
 package io.confluent.ksql.rest.server.execution;
 
-import static org.mockito.ArgumentMatchers.any;
+import static io.confluent.ksql.rest.entity.KsqlErrorMessageMatchers.errorCode;
+import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionErrorMessage;
+import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionStatusCode;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,13 +30,20 @@ import static org.mockito.Mockito.when;
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.parser.tree.CreateStreamAsSelect;
 import io.confluent.ksql.parser.tree.Statement;
+import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.entity.CommandStatusEntity;
 import io.confluent.ksql.rest.entity.KsqlEntity;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.server.computation.CommandQueue;
+import io.confluent.ksql.rest.server.resources.KsqlRestException;
+import io.confluent.ksql.rest.util.FutureUtil;
 import java.time.Duration;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Predicate;
+import org.eclipse.jetty.http.HttpStatus.Code;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -50,76 +61,151 @@ public class DefaultCommandQueueSyncTest {
 
   @Mock CommandQueue commandQueue;
 
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
   private DefaultCommandQueueSync commandQueueSync;
   private KsqlEntityList entities;
 
   @Before
-  public void setUp() throws TimeoutException, InterruptedException {
+  public void setUp() {
     when(commandStatusEntity1.getCommandSequenceNumber()).thenReturn(1L);
     when(commandStatusEntity2.getCommandSequenceNumber()).thenReturn(2L);
 
-    doNothing().when(commandQueue).ensureConsumedPast(anyLong(), any());
+    when(commandQueue.whenConsumedPast(anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
   }
 
   @Test
-  public void shouldWaitForDistributedStatements() throws Exception {
+  public void shouldWaitForDistributedStatements() {
     // Given:
     givenSyncWithPredicate(clazz -> true);
     givenEntities(commandStatusEntity1);
 
     // When:
-    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class);
+    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class).join();
 
     // Then:
-    verify(commandQueue, times(1)).ensureConsumedPast(1L, Duration.ZERO);
+    verify(commandQueue, times(1)).whenConsumedPast(1L);
   }
 
   @Test
-  public void shouldOnlyWaitForMostRecentDistributedStatements() throws Exception {
+  public void shouldOnlyWaitForMostRecentDistributedStatements() {
     // Given:
     givenSyncWithPredicate(clazz -> true);
     givenEntities(entity1, commandStatusEntity1, entity2, commandStatusEntity2);
 
     // When:
-    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class);
+    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class).join();
 
     // Then:
-    verify(commandQueue, times(1)).ensureConsumedPast(2L, Duration.ZERO);
-    verify(commandQueue, never()).ensureConsumedPast(1L, Duration.ZERO);
+    verify(commandQueue, times(1)).whenConsumedPast(2L);
+    verify(commandQueue, never()).whenConsumedPast(1L);
   }
 
   @Test
-  public void shouldNotWaitForNonCommandStatusEntity() throws Exception {
+  public void shouldNotWaitForNonCommandStatusEntity() {
     // Given:
     givenSyncWithPredicate(clazz -> true);
     givenEntities(entity1);
 
     // When:
-    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class);
+    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class).join();
 
     // Then:
-    verify(commandQueue, never()).ensureConsumedPast(anyLong(), any());
+    verify(commandQueue, never()).whenConsumedPast(anyLong());
   }
 
   @Test
-  public void shouldNotWaitIfNotMustSync() throws Exception {
+  public void shouldNotWaitIfNotMustSync() {
     // Given:
     givenSyncWithPredicate(clazz -> false);
     givenEntities(commandStatusEntity1);
 
     // When:
-    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class);
+    commandQueueSync.waitFor(entities, CreateStreamAsSelect.class).join();
+
+    // Then:
+    verify(commandQueue, never()).whenConsumedPast(anyLong());
+  }
+
+  @Test
+  public void shouldNotBlockWhileWaiting() {
+    // Given:
+    final CompletableFuture<Void> consumed = new CompletableFuture<>();
+    when(commandQueue.whenConsumedPast(1L)).thenReturn(consumed);
+    givenSyncWithPredicate(clazz -> true, Duration.ofMinutes(1));
+    givenEntities(commandStatusEntity1);
+
+    final CompletableFuture<Void> result =
+        commandQueueSync.waitFor(entities, CreateStreamAsSelect.class);
+    assertThat(result.isDone(), is(false));
+
+    // When:
+    consumed.complete(null);
 
     // Then:
-    verify(commandQueue, never()).ensureConsumedPast(anyLong(), any());
+    result.join();
+  }
+
+  @Test
+  public void shouldFailWithCatchUpTimeoutOnTimeout() {
+    // Given:
+    when(commandQueue.whenConsumedPast(1L)).thenReturn(new CompletableFuture<>());
+    givenSyncWithPredicate(clazz -> true);
+    givenEntities(commandStatusEntity1);
+
+    // When:
+    final Throwable e = failureOf(commandQueueSync.waitFor(entities, CreateStreamAsSelect.class));
+
+    // Then:
+    assertThat(e, is(instanceOf(KsqlRestException.class)));
+    assertThat((KsqlRestException) e, exceptionStatusCode(is(Code.SERVICE_UNAVAILABLE)));
+    assertThat((KsqlRestException) e, exceptionErrorMessage(
+        errorCode(is(Errors.ERROR_CODE_COMMAND_QUEUE_CATCHUP_TIMEOUT))));
+  }
+
+  @Test
+  public void shouldFailWithShuttingDownIfExecutorShutdown() {
+    // Given:
+    when(commandQueue.whenConsumedPast(1L)).thenReturn(new CompletableFuture<>());
+    givenSyncWithPredicate(clazz -> true);
+    givenEntities(commandStatusEntity1);
+    executor.shutdown();
+
+    // When:
+    final Throwable e = failureOf(commandQueueSync.waitFor(entities, CreateStreamAsSelect.class));
+
+    // Then:
+    assertThat(e, is(instanceOf(KsqlRestException.class)));
+    assertThat((KsqlRestException) e, exceptionErrorMessage(
+        errorCode(is(Errors.ERROR_CODE_SERVER_SHUTTING_DOWN))));
   }
 
   private void givenSyncWithPredicate(final Predicate<Class<? extends Statement>> mustSync) {
-    commandQueueSync = new DefaultCommandQueueSync(commandQueue, mustSync, Duration.ZERO);
+    givenSyncWithPredicate(mustSync, Duration.ZERO);
+  }
+
+  private void givenSyncWithPredicate(
+      final Predicate<Class<? extends Statement>> mustSync,
+      final Duration timeout
+  ) {
+    commandQueueSync = new DefaultCommandQueueSync(commandQueue, mustSync, timeout, executor);
   }
 
   private void givenEntities(final KsqlEntity... entities) {
     this.entities = new KsqlEntityList(ImmutableList.copyOf(entities));
   }
 
+  private static Throwable failureOf(final CompletableFuture<?> future) {
+    try {
+      future.join();
+    } catch (final Exception e) {
+      return FutureUtil.unwrap(e);
+    }
+    throw new AssertionError("Expected future to fail");
+  }
 }
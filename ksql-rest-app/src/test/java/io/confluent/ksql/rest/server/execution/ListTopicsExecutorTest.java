@@ -17,11 +17,15 @@ package io.confluent.ksql.rest.server.execution;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.rest.entity.KafkaTopicInfo;
 import io.confluent.ksql.rest.entity.KafkaTopicInfoExtended;
 import io.confluent.ksql.rest.entity.KafkaTopicsList;
@@ -29,10 +33,20 @@ import io.confluent.ksql.rest.entity.KafkaTopicsListExtended;
 import io.confluent.ksql.rest.server.TemporaryEngine;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.services.TestServiceContext;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
 import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.DescribeConsumerGroupsResult;
 import org.apache.kafka.clients.admin.ListConsumerGroupsResult;
+import org.apache.kafka.clients.admin.MemberAssignment;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.internals.KafkaFutureImpl;
 import org.junit.Rule;
 import org.junit.Test;
@@ -114,4 +128,68 @@ public class ListTopicsExecutorTest {
     ));
   }
 
+  @Test
+  public void shouldDescribeAllConsumerGroupsInOneRequest() {
+    // Given:
+    engine.givenKafkaTopic("topic1");
+    engine.givenKafkaTopic("topic2");
+
+    final AdminClient mockAdminClient = mock(AdminClient.class);
+    final ListConsumerGroupsResult listResult = mock(ListConsumerGroupsResult.class);
+    final KafkaFutureImpl<Collection<ConsumerGroupListing>> groups = new KafkaFutureImpl<>();
+    when(listResult.all()).thenReturn(groups);
+    when(mockAdminClient.listConsumerGroups()).thenReturn(listResult);
+    groups.complete(ImmutableList.of(
+        new ConsumerGroupListing("group1", false),
+        new ConsumerGroupListing("group2", false)
+    ));
+
+    final DescribeConsumerGroupsResult describeResult = mock(DescribeConsumerGroupsResult.class);
+    final KafkaFutureImpl<Map<String, ConsumerGroupDescription>> descriptions =
+        new KafkaFutureImpl<>();
+    when(describeResult.all()).thenReturn(descriptions);
+    when(mockAdminClient.describeConsumerGroups(any())).thenReturn(describeResult);
+    descriptions.complete(ImmutableMap.of(
+        "group1", consumerGroup("group1", "consumer1", "consumer2"),
+        "group2", consumerGroup("group2", "consumer3")
+    ));
+
+    final ServiceContext serviceContext = TestServiceContext.create(
+        engine.getServiceContext().getKafkaClientSupplier(),
+        mockAdminClient,
+        engine.getServiceContext().getTopicClient(),
+        engine.getServiceContext().getSchemaRegistryClientFactory(),
+        engine.getServiceContext().getConnectClient()
+    );
+
+    // When:
+    final KafkaTopicsListExtended topicsList =
+        (KafkaTopicsListExtended) CustomExecutors.LIST_TOPICS.execute(
+            engine.configure("LIST TOPICS EXTENDED;"),
+            ImmutableMap.of(),
+            engine.getEngine(),
+            serviceContext
+        ).orElseThrow(IllegalStateException::new);
+
+    // Then:
+    assertThat(topicsList.getTopics(), containsInAnyOrder(
+        new KafkaTopicInfoExtended("topic1", ImmutableList.of(1), 3, 2),
+        new KafkaTopicInfoExtended("topic2", ImmutableList.of(1), 0, 0)
+    ));
+    verify(mockAdminClient, times(1)).describeConsumerGroups(any());
+  }
+
+  private static ConsumerGroupDescription consumerGroup(
+      final String groupId,
+      final String... consumerIds
+  ) {
+    final List<MemberDescription> members = new ArrayList<>();
+    for (final String consumerId : consumerIds) {
+      members.add(new MemberDescription(consumerId, consumerId, "host", new MemberAssignment(
+          ImmutableSet.of(new TopicPartition("topic1", 0)))));
+    }
+
+    return new ConsumerGroupDescription(
+        groupId, false, members, "range", ConsumerGroupState.STABLE, Node.noNode());
+  }
 }
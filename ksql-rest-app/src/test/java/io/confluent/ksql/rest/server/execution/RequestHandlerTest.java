@@ -24,8 +24,8 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,6 +50,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -83,8 +84,9 @@ public class RequestHandlerTest {
     when(ksqlEngine.prepare(any()))
         .thenAnswer(invocation ->
             new DefaultKsqlParser().prepare(invocation.getArgument(0), metaStore));
-    when(distributor.execute(any(), any(), any(), any())).thenReturn(Optional.of(entity));
-    doNothing().when(sync).waitFor(any(), any());
+    when(distributor.executeAsync(any(), any(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(Optional.of(entity)));
+    when(sync.waitFor(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
   }
 
   @Test
@@ -126,7 +128,7 @@ public class RequestHandlerTest {
     // Then
     assertThat(entities, contains(entity));
     verify(distributor, times(1))
-        .execute(argThat(is(configured(
+        .executeAsync(argThat(is(configured(
             preparedStatement(instanceOf(CreateStream.class)),
             ImmutableMap.of(),
             ksqlConfig))),
@@ -153,7 +155,7 @@ public class RequestHandlerTest {
     // Then
     assertThat(entities, contains(entity));
     verify(distributor, times(1))
-        .execute(argThat(is(configured(
+        .executeAsync(argThat(is(configured(
             preparedStatement(instanceOf(CreateStream.class)),
             ImmutableMap.of("x", "y"),
             ksqlConfig))),
@@ -193,6 +195,32 @@ public class RequestHandlerTest {
     verify(sync, times(3)).waitFor(any(), any());
   }
 
+  @Test
+  public void shouldNotExecuteNextStatementUntilDistributedStatementCompletes() {
+    // Given:
+    final CompletableFuture<Optional<KsqlEntity>> distributed = new CompletableFuture<>();
+    when(distributor.executeAsync(any(), any(), any(), any())).thenReturn(distributed);
+
+    final KsqlEntity entity1 = mock(KsqlEntity.class);
+    final StatementExecutor<CreateStream> customExecutor =
+        givenReturningExecutor(CreateStream.class, entity1);
+    givenRequestHandler(ImmutableMap.of(CreateStream.class, customExecutor));
+
+    final List<ParsedStatement> statements = new DefaultKsqlParser().parse(
+        "CREATE TABLE t WITH (value_format='json', kafka_topic='t');" + SOME_STREAM_SQL);
+
+    final CompletableFuture<KsqlEntityList> result =
+        handler.executeAsync(serviceContext, statements, ImmutableMap.of());
+
+    verify(customExecutor, never()).execute(any(), any(), any(), any());
+
+    // When:
+    distributed.complete(Optional.of(entity));
+
+    // Then:
+    assertThat(result.join(), contains(entity, entity1));
+  }
+
   @Test
   public void shouldInlineRunScriptStatements() {
     // Given:
@@ -49,10 +49,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
@@ -156,9 +156,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 import org.apache.avro.Schema.Type;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -174,6 +179,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
@@ -266,6 +272,8 @@ public class KsqlResourceTest {
 
   private KsqlResource ksqlResource;
   private SchemaRegistryClient schemaRegistryClient;
+  private final ScheduledExecutorService asyncExecutor =
+      Executors.newSingleThreadScheduledExecutor();
   private QueuedCommandStatus commandStatus;
   private QueuedCommandStatus commandStatus1;
   private MetaStoreImpl metaStore;
@@ -307,6 +315,8 @@ public class KsqlResourceTest {
         .thenReturn(commandStatus)
         .thenReturn(commandStatus1)
         .thenReturn(commandStatus2);
+    when(commandStore.whenConsumedPast(anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(null));
 
     streamName = KsqlIdentifierTestUtil.uniqueIdentifierName();
 
@@ -331,6 +341,7 @@ public class KsqlResourceTest {
   public void tearDown() {
     realEngine.close();
     serviceContext.close();
+    asyncExecutor.shutdownNow();
   }
 
   @Test(expected = IllegalArgumentException.class)
@@ -354,7 +365,8 @@ public class KsqlResourceTest {
             schemaInjectorFactory.apply(sc),
             topicInjectorFactory.apply(ec),
             new TopicDeleteInjector(ec, sc)),
-        authorizationValidator
+        authorizationValidator,
+        asyncExecutor
     );
 
     // Then:
@@ -382,7 +394,8 @@ public class KsqlResourceTest {
             schemaInjectorFactory.apply(sc),
             topicInjectorFactory.apply(ec),
             new TopicDeleteInjector(ec, sc)),
-        authorizationValidator
+        authorizationValidator,
+        asyncExecutor
     );
 
     // Then:
@@ -994,12 +1007,8 @@ public class KsqlResourceTest {
     // Given:
     final String csasSql = "CREATE STREAM S AS SELECT * FROM test_stream;";
 
-    doAnswer(executeAgainstEngine(csasSql))
-        .when(commandStore)
-        .ensureConsumedPast(
-            commandStatus1.getCommandSequenceNumber(),
-            DISTRIBUTED_COMMAND_RESPONSE_TIMEOUT
-        );
+    when(commandStore.whenConsumedPast(commandStatus1.getCommandSequenceNumber()))
+        .thenAnswer(executeAgainstEngine(csasSql));
 
     // When:
     final List<KsqlEntity> results = makeMultipleRequest(
@@ -1010,8 +1019,7 @@ public class KsqlResourceTest {
     );
 
     // Then:
-    verify(commandStore).ensureConsumedPast(
-        commandStatus1.getCommandSequenceNumber(), DISTRIBUTED_COMMAND_RESPONSE_TIMEOUT);
+    verify(commandStore).whenConsumedPast(commandStatus1.getCommandSequenceNumber());
 
     assertThat(results, hasSize(3));
     assertThat(results.get(2), is(instanceOf(SourceDescriptionEntity.class)));
@@ -1027,7 +1035,7 @@ public class KsqlResourceTest {
     );
 
     // Then:
-    verify(commandStore, never()).ensureConsumedPast(anyLong(), any());
+    verify(commandStore, never()).whenConsumedPast(anyLong());
   }
 
   @Test
@@ -1054,18 +1062,15 @@ public class KsqlResourceTest {
       );
 
       // Then:
-      verify(commandStore, never()).ensureConsumedPast(anyLong(), any());
+      verify(commandStore, never()).whenConsumedPast(anyLong());
     }
   }
 
   @Test
-  public void shouldThrowShutdownIfInterruptedWhileAwaitingPreviousCmdInMultiStatementRequest()
-      throws Exception
-  {
+  public void shouldThrowShutdownIfShutDownWhileAwaitingPreviousCmdInMultiStatementRequest() {
     // Given:
-    doThrow(new InterruptedException("oh no!"))
-        .when(commandStore)
-        .ensureConsumedPast(anyLong(), any());
+    when(commandStore.whenConsumedPast(anyLong()))
+        .thenReturn(failedFuture(new RejectedExecutionException("oh no!")));
 
     // Then:
     expectedException.expect(KsqlRestException.class);
@@ -1088,9 +1093,8 @@ public class KsqlResourceTest {
       throws Exception
   {
     // Given:
-    doThrow(new TimeoutException("oh no!"))
-        .when(commandStore)
-        .ensureConsumedPast(anyLong(), any());
+    when(commandStore.whenConsumedPast(anyLong()))
+        .thenReturn(failedFuture(new TimeoutException("oh no!")));
 
     // Then:
     expectedException.expect(KsqlRestException.class);
@@ -1612,7 +1616,7 @@ public class KsqlResourceTest {
     makeSingleRequestWithSequenceNumber("list properties;", null, PropertiesList.class);
 
     // Then:
-    verify(commandStore, never()).ensureConsumedPast(anyLong(), any());
+    verify(commandStore, never()).whenConsumedPast(anyLong());
   }
 
   @Test
@@ -1621,15 +1625,15 @@ public class KsqlResourceTest {
     makeSingleRequestWithSequenceNumber("list properties;", 2L, PropertiesList.class);
 
     // Then:
-    verify(commandStore).ensureConsumedPast(eq(2L), any());
+    verify(commandStore).whenConsumedPast(2L);
   }
 
   @Test
   public void shouldReturnServiceUnavailableIfTimeoutWaitingForCommandSequenceNumber()
       throws Exception {
     // Given:
-    doThrow(new TimeoutException("timed out!"))
-        .when(commandStore).ensureConsumedPast(anyLong(), any());
+    when(commandStore.whenConsumedPast(anyLong()))
+        .thenReturn(failedFuture(new TimeoutException("timed out!")));
 
     // When:
     final KsqlErrorMessage result =
@@ -1642,6 +1646,49 @@ public class KsqlResourceTest {
     assertThat(result.getMessage(), containsString("command sequence number: 2"));
   }
 
+  @Test
+  public void shouldResumeAsyncResponseWithResponseOnSuccess() {
+    // Given:
+    final AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+    // When:
+    ksqlResource.handleKsqlStatements(
+        serviceContext,
+        new KsqlRequest("LIST PROPERTIES;", emptyMap(), 2L),
+        asyncResponse
+    );
+
+    // Then:
+    final ArgumentCaptor<Object> response = ArgumentCaptor.forClass(Object.class);
+    verify(asyncResponse, timeout(30_000)).resume(response.capture());
+    assertThat(response.getValue(), instanceOf(Response.class));
+    assertThat(((Response) response.getValue()).getStatus(), is(Code.OK.getCode()));
+    assertThat(((Response) response.getValue()).getEntity(), instanceOf(KsqlEntityList.class));
+  }
+
+  @Test
+  public void shouldResumeAsyncResponseWithExceptionOnError() {
+    // Given:
+    final AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    when(commandStore.whenConsumedPast(anyLong()))
+        .thenReturn(failedFuture(new TimeoutException("timed out!")));
+
+    // When:
+    ksqlResource.handleKsqlStatements(
+        serviceContext,
+        new KsqlRequest("LIST PROPERTIES;", emptyMap(), 2L),
+        asyncResponse
+    );
+
+    // Then:
+    final ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+    verify(asyncResponse, timeout(30_000)).resume(error.capture());
+    assertThat(error.getValue(), instanceOf(KsqlRestException.class));
+    final KsqlErrorMessage message =
+        (KsqlErrorMessage) ((KsqlRestException) error.getValue()).getResponse().getEntity();
+    assertThat(message.getErrorCode(), is(Errors.ERROR_CODE_COMMAND_QUEUE_CATCHUP_TIMEOUT));
+  }
+
   @Test
   public void shouldUpdateTheLastRequestTime() {
     // When:
@@ -1848,10 +1895,16 @@ public class KsqlResourceTest {
   private Answer<?> executeAgainstEngine(final String sql) {
     return invocation -> {
       KsqlEngineTestUtil.execute(serviceContext, ksqlEngine, sql, ksqlConfig, emptyMap());
-      return null;
+      return CompletableFuture.completedFuture(null);
     };
   }
 
+  private static <T> CompletableFuture<T> failedFuture(final Throwable e) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(e);
+    return future;
+  }
+
   @SuppressWarnings("SameParameterValue")
   private SourceInfo.Table sourceTable(final String name) {
     final KsqlTable<?> table = (KsqlTable) ksqlEngine.getMetaStore().getSource(SourceName.of(name));
@@ -2050,7 +2103,8 @@ public class KsqlResourceTest {
             schemaInjectorFactory.apply(sc),
             topicInjectorFactory.apply(ec),
             new TopicDeleteInjector(ec, sc)),
-        authorizationValidator
+        authorizationValidator,
+        asyncExecutor
     );
 
     ksqlResource.configure(ksqlConfig);
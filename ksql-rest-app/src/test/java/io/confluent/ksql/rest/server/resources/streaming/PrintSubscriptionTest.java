@@ -3,8 +3,12 @@ package io.confluent.ksql.rest.server.resources.streaming;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Charsets;
@@ -18,6 +22,7 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.concurrent.Executors;
+import java.util.function.Function;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.utils.Bytes;
@@ -32,13 +37,14 @@ public class PrintSubscriptionTest {
 
   @Mock public KafkaConsumer<String, Bytes> kafkaConsumer;
   @Mock public SchemaRegistryClient schemaRegistry;
+  private Function<Integer, byte[]> values = i -> ("value" + i).getBytes(Charsets.UTF_8);
 
   @Before
   public void setup() {
     final Iterator<ConsumerRecords<String, Bytes>> records = StreamingTestUtils.generate(
         "topic",
         i -> "key" + i,
-        i -> new Bytes(("value" + i).getBytes(Charsets.UTF_8)));
+        i -> new Bytes(values.apply(i)));
 
     final Iterator<ConsumerRecords<String, Bytes>> partitioned =
         StreamingTestUtils.partition(records, 3);
@@ -180,5 +186,99 @@ public class PrintSubscriptionTest {
     assertThat(results4, empty());
   }
 
+  @Test
+  public void testPrintPublisherIntervalAndLimitWithUnformattableRecords() {
+    // Given:
+    values = i -> (i == 2 ? "{not json" : "{\"v\": " + i + "}").getBytes(Charsets.UTF_8);
+    TestSubscriber<Collection<String>> subscriber = new TestSubscriber<>();
+    PrintSubscription subscription = new PrintSubscription(
+        MoreExecutors.listeningDecorator(Executors.newScheduledThreadPool(1)),
+        StreamingTestUtils.printTopic("topic", true, 2, 2),
+        subscriber,
+        kafkaConsumer,
+        new RecordFormatter(schemaRegistry, "topic")
+    );
+
+    // When:
+    Collection<String> results = subscription.poll();
+    Collection<String> results2 = subscription.poll();
+
+    // Then:
+    // key2 is sampled but can not be formatted. It still counts towards the interval, so key4,
+    // not key3, is sampled next, but not towards the limit:
+    assertThat(results, contains(
+        containsString("\"ROWKEY\":\"key0\"")
+    ));
+    assertThat(results2, contains(
+        containsString("\"ROWKEY\":\"key4\"")
+    ));
+  }
+
+  @Test
+  public void testPrintPublisherDoesNotQuerySchemaRegistryWithoutAvroMagicByte() {
+    // Given:
+    TestSubscriber<Collection<String>> subscriber = new TestSubscriber<>();
+    PrintSubscription subscription = new PrintSubscription(
+        MoreExecutors.listeningDecorator(Executors.newScheduledThreadPool(1)),
+        StreamingTestUtils.printTopic("topic", true, null, 1),
+        subscriber,
+        kafkaConsumer,
+        new RecordFormatter(schemaRegistry, "topic")
+    );
+
+    // When:
+    Collection<String> results = subscription.poll();
+
+    // Then:
+    assertThat(results, contains(
+        containsString("key0 , value0")
+    ));
+    verifyZeroInteractions(schemaRegistry);
+  }
+
+  @Test
+  public void testPrintPublisherFallsBackToStringForAvroMagicByteThatIsNotAvro() {
+    // Given:
+    values = i -> new byte[]{0, 0, 0, 0, 1, 'x'};
+    TestSubscriber<Collection<String>> subscriber = new TestSubscriber<>();
+    PrintSubscription subscription = new PrintSubscription(
+        MoreExecutors.listeningDecorator(Executors.newScheduledThreadPool(1)),
+        StreamingTestUtils.printTopic("topic", true, null, 1),
+        subscriber,
+        kafkaConsumer,
+        new RecordFormatter(schemaRegistry, "topic")
+    );
+
+    // When:
+    Collection<String> results = subscription.poll();
+
+    // Then:
+    assertThat(results, contains(
+        containsString("key0 , ")
+    ));
+    assertThat(mockingDetails(schemaRegistry).getInvocations(), is(not(empty())));
+  }
+
+  @Test
+  public void testPrintPublisherOnlyPrintsJsonForValuesStartingWithAnObject() {
+    // Given:
+    values = i -> ("[" + i + "]").getBytes(Charsets.UTF_8);
+    TestSubscriber<Collection<String>> subscriber = new TestSubscriber<>();
+    PrintSubscription subscription = new PrintSubscription(
+        MoreExecutors.listeningDecorator(Executors.newScheduledThreadPool(1)),
+        StreamingTestUtils.printTopic("topic", true, null, 1),
+        subscriber,
+        kafkaConsumer,
+        new RecordFormatter(schemaRegistry, "topic")
+    );
+
+    // When:
+    Collection<String> results = subscription.poll();
+
+    // Then:
+    assertThat(results, contains(
+        containsString("key0 , [0]")
+    ));
+  }
 }
 
@@ -20,8 +20,12 @@ import static io.confluent.ksql.rest.entity.KsqlErrorMessageMatchers.errorCode;
 import static io.confluent.ksql.rest.entity.KsqlErrorMessageMatchers.errorMessage;
 import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionErrorMessage;
 import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionStatusCode;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItemInArray;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -45,10 +49,13 @@ import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.PrintTopic;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Statement;
+import io.confluent.ksql.query.LimitHandler;
 import io.confluent.ksql.rest.Errors;
+import io.confluent.ksql.rest.binary.BinaryStreamedRowReader;
 import io.confluent.ksql.rest.entity.KsqlErrorMessage;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.Versions;
 import io.confluent.ksql.rest.server.StatementParser;
 import io.confluent.ksql.rest.server.computation.CommandQueue;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
@@ -63,6 +70,8 @@ import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.TransientQueryMetadata;
 import io.confluent.ksql.version.metrics.ActivenessRegistrar;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.PipedInputStream;
@@ -71,11 +80,14 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import javax.ws.rs.Produces;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.kafka.common.acl.AclOperation;
@@ -563,4 +575,88 @@ public class StreamedQueryResourceTest {
         new KsqlRequest(printString, Collections.emptyMap(), null)
     );
   }
+
+  @Test
+  public void shouldStreamRowsInBinaryFormat() throws Exception {
+    // Given:
+    final AtomicReference<LimitHandler> limitHandler = new AtomicReference<>();
+    final LinkedBlockingQueue<KeyValue<String, GenericRow>> rowQueue =
+        new LinkedBlockingQueue<>();
+    rowQueue.add(new KeyValue<>("0", new GenericRow(Collections.singletonList(0))));
+    rowQueue.add(new KeyValue<>("1", new GenericRow(Collections.singletonList(1))));
+
+    statement = PreparedStatement.of("query", mock(Query.class));
+    when(mockStatementParser.parseSingleStatement(queryString)).thenReturn(statement);
+    when(mockKsqlEngine.execute(serviceContext,
+        ConfiguredStatement.of(statement, Collections.emptyMap(), VALID_CONFIG)))
+        .thenReturn(ExecuteResult.of(new TransientQueryMetadata(
+            queryString,
+            mock(KafkaStreams.class),
+            SOME_SCHEMA,
+            Collections.emptySet(),
+            limitHandler::set,
+            "",
+            rowQueue,
+            "",
+            mock(Topology.class),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            queryCloseCallback)));
+
+    final Response response = testResource.streamQueryBinary(
+        serviceContext,
+        new KsqlRequest(queryString, Collections.emptyMap(), null)
+    );
+    limitHandler.get().limitReached();
+
+    // When:
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(out);
+
+    // Then:
+    final BinaryStreamedRowReader reader =
+        new BinaryStreamedRowReader(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(reader.read(), is(Optional.of(
+        StreamedRow.row(new GenericRow(Collections.singletonList(0))))));
+    assertThat(reader.getSchema().get().value(), is(SOME_SCHEMA.value()));
+    assertThat(reader.read(), is(Optional.of(
+        StreamedRow.row(new GenericRow(Collections.singletonList(1))))));
+    assertThat(reader.read(), is(Optional.of(StreamedRow.finalMessage("Limit Reached"))));
+    assertThat(reader.read(), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldRejectPrintTopicForBinaryResults() {
+    // Given:
+    statement = PreparedStatement.of("print", mock(PrintTopic.class));
+    when(mockStatementParser.parseSingleStatement(printString)).thenReturn(statement);
+
+    // When:
+    final Response response = testResource.streamQueryBinary(
+        serviceContext,
+        new KsqlRequest(printString, Collections.emptyMap(), null)
+    );
+
+    // Then:
+    assertThat(response.getStatus(), is(HttpStatus.BAD_REQUEST_400));
+    assertThat(((KsqlErrorMessage) response.getEntity()).getMessage(),
+        containsString("not supported for binary results"));
+    verify(mockKafkaTopicClient, never()).isTopicExists(any());
+  }
+
+  @Test
+  public void shouldOnlyProduceBinaryFromBinaryEndpoint() throws Exception {
+    // When:
+    final Produces jsonProduces = StreamedQueryResource.class.getAnnotation(Produces.class);
+    final Produces binaryProduces = StreamedQueryResource.class
+        .getMethod("streamQueryBinary", ServiceContext.class, KsqlRequest.class)
+        .getAnnotation(Produces.class);
+
+    // Then:
+    assertThat(jsonProduces.value(), not(hasItemInArray(Versions.KSQL_V1_BINARY)));
+    assertThat(binaryProduces.value(), arrayContaining(Versions.KSQL_V1_BINARY + "; qs=0.1"));
+    assertThat(StreamedQueryResource.class
+        .getMethod("streamQuery", ServiceContext.class, KsqlRequest.class)
+        .getAnnotation(Produces.class), is((Produces) null));
+  }
 }
@@ -36,8 +36,9 @@ import io.confluent.ksql.rest.server.resources.streaming.TopicStream.Format;
 import io.confluent.ksql.rest.server.resources.streaming.TopicStream.RecordFormatter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -143,6 +144,30 @@ public class TopicStreamTest {
     assertThat(result.format, is(not(Format.JSON)));
   }
 
+  @Test
+  public void shouldNotMatchAvroFormatterWithoutMagicByte() {
+    // Given:
+    replay(schemaRegistryClient);
+
+    // When:
+    final Result result = getFormattedResult(new byte[]{1, 0, 0, 0, 1, 2});
+
+    // Then:
+    assertThat(result.format, is(Format.STRING));
+  }
+
+  @Test
+  public void shouldFormatJsonWithLeadingWhitespace() {
+    // Given:
+    replay(schemaRegistryClient);
+
+    // When:
+    final Result result = getFormattedResult("  {\"name\": \"myrecord\"}");
+
+    // Then:
+    assertThat(result.format, is(Format.JSON));
+  }
+
   @Test
   public void shouldMatchStringFormatWithOneColumnValues() {
     // Given:
@@ -195,8 +220,10 @@ public class TopicStreamTest {
 
   @Test
   public void shouldHandleNullValuesFromSTRINGPrint() throws IOException {
-    final DateFormat dateFormat =
-        SimpleDateFormat.getDateTimeInstance(3, 1, Locale.getDefault());
+    final DateTimeFormatter dateFormat = DateTimeFormatter
+        .ofLocalizedDateTime(FormatStyle.SHORT, FormatStyle.LONG)
+        .withLocale(Locale.getDefault())
+        .withZone(ZoneId.systemDefault());
 
     final ConsumerRecord<String, Bytes> record = new ConsumerRecord<>(
         TOPIC_NAME, 1, 1, "key", null);
@@ -17,8 +17,13 @@ package io.confluent.ksql.rest.server.resources.streaming;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Charsets;
@@ -30,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.function.Function;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.utils.Bytes;
@@ -45,13 +51,14 @@ public class TopicStreamWriterTest {
   @Mock public KafkaConsumer<String, Bytes> kafkaConsumer;
   @Mock public SchemaRegistryClient schemaRegistry;
   private ValidatingOutputStream out;
+  private Function<Integer, byte[]> values = i -> ("value" + i).getBytes(Charsets.UTF_8);
 
   @Before
   public void setup() {
     final Iterator<ConsumerRecords<String, Bytes>> records = StreamingTestUtils.generate(
         "topic",
         i -> "key" + i,
-        i -> new Bytes(("value" + i).getBytes(Charsets.UTF_8)));
+        i -> new Bytes(values.apply(i)));
     when(kafkaConsumer.poll(any(Duration.class)))
         .thenAnswer(invocation -> records.next());
     out = new ValidatingOutputStream();
@@ -106,6 +113,92 @@ public class TopicStreamWriterTest {
     out.assertWrites(expected);
   }
 
+  @Test
+  public void shouldSampleUnformattableRecordsButNotCountThemTowardsLimit() {
+    // Given:
+    values = i -> (i == 2 ? "{not json" : "{\"v\": " + i + "}").getBytes(Charsets.UTF_8);
+    final TopicStreamWriter writer = new TopicStreamWriter(
+        schemaRegistry,
+        kafkaConsumer,
+        "topic",
+        2,
+        Duration.ZERO,
+        OptionalInt.of(2)
+    );
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    final List<String> expected = ImmutableList.of(
+        "Format:JSON",
+        "\"ROWKEY\":\"key0\"",
+        "\"ROWKEY\":\"key4\""
+    );
+    out.assertWrites(expected);
+  }
+
+  @Test
+  public void shouldNotQuerySchemaRegistryForValuesWithoutAvroMagicByte() {
+    // Given:
+    final TopicStreamWriter writer = new TopicStreamWriter(
+        schemaRegistry,
+        kafkaConsumer,
+        "topic",
+        1,
+        Duration.ZERO,
+        OptionalInt.of(1)
+    );
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    out.assertWrites(ImmutableList.of("Format:STRING", "key0 , value0"));
+    verifyZeroInteractions(schemaRegistry);
+  }
+
+  @Test
+  public void shouldFallBackToStringForValuesWithAvroMagicByteThatAreNotAvro() {
+    // Given:
+    values = i -> new byte[]{0, 0, 0, 0, 1, 'x'};
+    final TopicStreamWriter writer = new TopicStreamWriter(
+        schemaRegistry,
+        kafkaConsumer,
+        "topic",
+        1,
+        Duration.ZERO,
+        OptionalInt.of(1)
+    );
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    out.assertWrites(ImmutableList.of("Format:STRING", "key0 , "));
+    assertThat(mockingDetails(schemaRegistry).getInvocations(), is(not(empty())));
+  }
+
+  @Test
+  public void shouldOnlyPrintJsonForValuesStartingWithAnObject() {
+    // Given:
+    values = i -> ("[" + i + "]").getBytes(Charsets.UTF_8);
+    final TopicStreamWriter writer = new TopicStreamWriter(
+        schemaRegistry,
+        kafkaConsumer,
+        "topic",
+        1,
+        Duration.ZERO,
+        OptionalInt.of(1)
+    );
+
+    // When:
+    writer.write(out);
+
+    // Then:
+    out.assertWrites(ImmutableList.of("Format:STRING", "key0 , [0]"));
+  }
+
   private static class ValidatingOutputStream extends OutputStream {
 
     private final List<byte[]> recordedWrites;
@@ -20,6 +20,7 @@ import static io.confluent.ksql.rest.entity.KsqlErrorMessageMatchers.errorMessag
 import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionErrorMessage;
 import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionStatusCode;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -33,6 +34,8 @@ import io.confluent.ksql.rest.server.computation.CommandQueue;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 import org.eclipse.jetty.http.HttpStatus.Code;
 import org.junit.Rule;
@@ -55,6 +58,8 @@ public class CommandStoreUtilTest {
   private CommandQueue commandQueue;
   @Mock
   private KsqlRequest request;
+  @Mock
+  private ScheduledExecutorService executor;
 
   @Test
   public void shouldNotWaitIfNoSequenceNumberSpecified() throws Exception {
@@ -98,4 +103,53 @@ public class CommandStoreUtilTest {
     // When:
     CommandStoreUtil.httpWaitForCommandSequenceNumber(commandQueue, request, TIMEOUT);
   }
+
+  @Test
+  public void shouldNotWaitAsyncIfNoSequenceNumberSpecified() {
+    // Given:
+    when(request.getCommandSequenceNumber()).thenReturn(Optional.empty());
+
+    // When:
+    final CompletableFuture<Void> result = CommandStoreUtil
+        .httpWaitForCommandSequenceNumberAsync(commandQueue, request, TIMEOUT, executor);
+
+    // Then:
+    assertThat(result.isDone(), is(true));
+    verify(commandQueue, never()).whenConsumedPast(anyLong());
+  }
+
+  @Test
+  public void shouldCompleteAsyncOnceSequenceNumberConsumed() {
+    // Given:
+    when(request.getCommandSequenceNumber()).thenReturn(Optional.of(SEQUENCE_NUMBER));
+    when(commandQueue.whenConsumedPast(SEQUENCE_NUMBER))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // When:
+    final CompletableFuture<Void> result = CommandStoreUtil
+        .httpWaitForCommandSequenceNumberAsync(commandQueue, request, TIMEOUT, executor);
+
+    // Then:
+    assertThat(result.isDone(), is(true));
+    assertThat(result.isCompletedExceptionally(), is(false));
+  }
+
+  @Test
+  public void shouldFailAsyncWithKsqlRestExceptionOnTimeout() {
+    // Given:
+    when(request.getCommandSequenceNumber()).thenReturn(Optional.of(SEQUENCE_NUMBER));
+    final CompletableFuture<Void> timedOut = new CompletableFuture<>();
+    timedOut.completeExceptionally(new TimeoutException("uh oh"));
+    when(commandQueue.whenConsumedPast(SEQUENCE_NUMBER)).thenReturn(timedOut);
+
+    // Expect:
+    expectedException.expect(KsqlRestException.class);
+    expectedException.expect(exceptionStatusCode(is(Code.SERVICE_UNAVAILABLE)));
+    expectedException.expect(exceptionErrorMessage(errorMessage(
+        containsString("command sequence number: 2"))));
+
+    // When:
+    FutureUtil.join(CommandStoreUtil
+        .httpWaitForCommandSequenceNumberAsync(commandQueue, request, TIMEOUT, executor));
+  }
 }
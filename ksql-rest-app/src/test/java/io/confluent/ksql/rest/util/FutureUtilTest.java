@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class FutureUtilTest {
+
+  private static final Duration LONG_TIMEOUT = Duration.ofMinutes(1);
+
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
+  private final AtomicReference<Thread> executorThread = new AtomicReference<>();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(recordingThreadFactory());
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldReturnCompletedFutureAsIs() {
+    // Given:
+    final CompletableFuture<String> future = CompletableFuture.completedFuture("done");
+
+    // When:
+    final CompletableFuture<String> result = FutureUtil.withTimeout(future, LONG_TIMEOUT, executor);
+
+    // Then:
+    assertThat(result, is(sameInstance(future)));
+  }
+
+  @Test
+  public void shouldCompleteOnExecutorThread() {
+    // Given:
+    final CompletableFuture<String> future = new CompletableFuture<>();
+    final CompletableFuture<String> result = FutureUtil.withTimeout(future, LONG_TIMEOUT, executor);
+    final CompletableFuture<Thread> completedOn = result.thenApply(v -> Thread.currentThread());
+
+    // When:
+    future.complete("done");
+
+    // Then:
+    assertThat(result.join(), is("done"));
+    assertThat(completedOn.join(), is(executorThread.get()));
+    assertThat(completedOn.join(), is(not(Thread.currentThread())));
+  }
+
+  @Test
+  public void shouldPropagateFailure() {
+    // Given:
+    final CompletableFuture<String> future = new CompletableFuture<>();
+    final CompletableFuture<String> result = FutureUtil.withTimeout(future, LONG_TIMEOUT, executor);
+    final IllegalStateException cause = new IllegalStateException("boom");
+
+    // Expect:
+    expectedException.expect(is(sameInstance(cause)));
+
+    // When:
+    future.completeExceptionally(cause);
+    FutureUtil.join(result);
+  }
+
+  @Test
+  public void shouldFailWithTimeoutIfNotCompletedInTime() {
+    // Given:
+    final CompletableFuture<String> future = new CompletableFuture<>();
+
+    // When:
+    final CompletableFuture<String> result =
+        FutureUtil.withTimeout(future, Duration.ofMillis(10), executor);
+
+    // Then:
+    assertThat(failureOf(result), is(instanceOf(TimeoutException.class)));
+  }
+
+  @Test
+  public void shouldFailWithRejectedIfExecutorShutdown() {
+    // Given:
+    executor.shutdown();
+
+    // When:
+    final CompletableFuture<String> result =
+        FutureUtil.withTimeout(new CompletableFuture<>(), LONG_TIMEOUT, executor);
+
+    // Then:
+    assertThat(failureOf(result), is(instanceOf(RejectedExecutionException.class)));
+  }
+
+  @Test
+  public void shouldUnwrapCompletionExceptions() {
+    // Given:
+    final IllegalStateException cause = new IllegalStateException("boom");
+
+    // When:
+    final Throwable result = FutureUtil.unwrap(
+        new CompletionException(new CompletionException(cause)));
+
+    // Then:
+    assertThat(result, is(sameInstance(cause)));
+  }
+
+  private ThreadFactory recordingThreadFactory() {
+    return runnable -> {
+      final Thread thread = new Thread(runnable);
+      executorThread.set(thread);
+      return thread;
+    };
+  }
+
+  private static Throwable failureOf(final CompletableFuture<?> future) {
+    try {
+      future.join();
+    } catch (final Exception e) {
+      return FutureUtil.unwrap(e);
+    }
+    throw new AssertionError("Expected future to fail");
+  }
+}
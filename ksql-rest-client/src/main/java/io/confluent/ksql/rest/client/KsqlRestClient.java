@@ -41,6 +41,7 @@ public class KsqlRestClient implements Closeable {
   private final LocalProperties localProperties;
 
   private List<URI> serverAddresses;
+  private volatile boolean binaryQueryResults;
 
   /**
    * @param serverAddress the address of the KSQL server to connect to.
@@ -103,7 +104,17 @@ public class KsqlRestClient implements Closeable {
   }
 
   public RestResponse<QueryStream> makeQueryRequest(final String ksql, final Long commandSeqNum) {
-    return target().postQueryRequest(ksql, Optional.ofNullable(commandSeqNum));
+    return binaryQueryResults
+        ? target().postBinaryQueryRequest(ksql, Optional.ofNullable(commandSeqNum))
+        : target().postQueryRequest(ksql, Optional.ofNullable(commandSeqNum));
+  }
+
+  /**
+   * @param binary whether query results should be requested in the compact binary format,
+   *               rather than JSON.
+   */
+  public void setBinaryQueryResults(final boolean binary) {
+    this.binaryQueryResults = binary;
   }
 
   public RestResponse<InputStream> makePrintTopicRequest(
@@ -17,6 +17,7 @@ package io.confluent.ksql.rest.client;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.properties.LocalProperties;
 import io.confluent.ksql.rest.entity.CommandStatus;
 import io.confluent.ksql.rest.entity.CommandStatuses;
@@ -24,6 +25,7 @@ import io.confluent.ksql.rest.entity.HealthCheckResponse;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.ServerInfo;
+import io.confluent.ksql.rest.entity.Versions;
 import java.io.InputStream;
 import java.net.SocketTimeoutException;
 import java.util.Optional;
@@ -48,6 +50,12 @@ public final class KsqlTarget {
   private static final String KSQL_PATH = "/ksql";
   private static final String QUERY_PATH = "/query";
 
+  // JSON is still accepted, at a lower quality, as errors are always returned as JSON:
+  private static final MediaType[] BINARY_QUERY_RESULTS = {
+      Versions.KSQL_V1_BINARY_TYPE,
+      new MediaType("application", "json", ImmutableMap.of("q", "0.5"))
+  };
+
   private final WebTarget target;
   private final LocalProperties localProperties;
   private final Optional<String> authHeader;
@@ -108,6 +116,25 @@ public final class KsqlTarget {
     );
   }
 
+  /**
+   * Issue a query request, requesting the results in the compact binary format.
+   *
+   * @see Versions#KSQL_V1_BINARY
+   */
+  public RestResponse<QueryStream> postBinaryQueryRequest(
+      final String ksql,
+      final Optional<Long> previousCommandSeqNum
+  ) {
+    return post(
+        QUERY_PATH,
+        ksqlRequest(ksql, previousCommandSeqNum),
+        Optional.of(QueryStream.READ_TIMEOUT_MS),
+        false,
+        QueryStream::binary,
+        BINARY_QUERY_RESULTS
+    );
+  }
+
   public RestResponse<InputStream> postPrintTopicRequest(
       final String ksql,
       final Optional<Long> previousCommandSeqNum
@@ -151,13 +178,31 @@ public final class KsqlTarget {
       final Optional<Integer> readTimeoutMs,
       final boolean closeResponse,
       final Function<Response, T> mapper
+  ) {
+    return post(
+        path,
+        jsonEntity,
+        readTimeoutMs,
+        closeResponse,
+        mapper,
+        new MediaType[]{MediaType.APPLICATION_JSON_TYPE}
+    );
+  }
+
+  private <T> RestResponse<T> post(
+      final String path,
+      final Object jsonEntity,
+      final Optional<Integer> readTimeoutMs,
+      final boolean closeResponse,
+      final Function<Response, T> mapper,
+      final MediaType[] accept
   ) {
     Response response = null;
 
     try {
       response = target
           .path(path)
-          .request(MediaType.APPLICATION_JSON_TYPE)
+          .request(accept)
           .property(ClientProperties.READ_TIMEOUT, readTimeoutMs.orElse(0))
           .headers(headers())
           .post(Entity.json(jsonEntity));
@@ -165,7 +210,8 @@ public final class KsqlTarget {
       return KsqlClientUtil.toRestResponse(response, path, mapper);
     } catch (final ProcessingException e) {
       if (shouldRetry(readTimeoutMs, e)) {
-        return post(path, jsonEntity, calcReadTimeout(readTimeoutMs), closeResponse, mapper);
+        return post(
+            path, jsonEntity, calcReadTimeout(readTimeoutMs), closeResponse, mapper, accept);
       }
       throw new KsqlRestClientException("Error issuing POST to KSQL server. path:" + path, e);
     } catch (final Exception e) {
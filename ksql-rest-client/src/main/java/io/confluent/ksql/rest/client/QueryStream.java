@@ -17,8 +17,10 @@ package io.confluent.ksql.rest.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.confluent.ksql.json.JsonMapper;
+import io.confluent.ksql.rest.binary.BinaryStreamedRowReader;
 import io.confluent.ksql.rest.entity.StreamedRow;
 import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -39,18 +41,28 @@ public final class QueryStream implements Closeable, Iterator<StreamedRow> {
   private final ObjectMapper objectMapper;
   private final Scanner responseScanner;
   private final InputStreamReader isr;
+  private final BinaryStreamedRowReader binaryReader;
 
   private StreamedRow bufferedRow;
   private volatile boolean closed = false;
 
   QueryStream(final Response response) {
+    this(response, false);
+  }
+
+  static QueryStream binary(final Response response) {
+    return new QueryStream(response, true);
+  }
+
+  private QueryStream(final Response response, final boolean binary) {
     this.response = response;
 
     this.objectMapper = JsonMapper.INSTANCE.mapper;
-    this.isr = new InputStreamReader(
-        (InputStream) response.getEntity(),
-        StandardCharsets.UTF_8
-    );
+    final InputStream entity = (InputStream) response.getEntity();
+    this.isr = new InputStreamReader(entity, StandardCharsets.UTF_8);
+    this.binaryReader = binary
+        ? new BinaryStreamedRowReader(new ReadTimeoutRetryingInputStream(entity))
+        : null;
     this.responseScanner = new Scanner((buf) -> {
       while (true) {
         try {
@@ -109,6 +121,10 @@ public final class QueryStream implements Closeable, Iterator<StreamedRow> {
   }
 
   private boolean bufferNextRow() {
+    if (binaryReader != null) {
+      return bufferNextBinaryRow();
+    }
+
     try {
       while (responseScanner.hasNextLine()) {
         final String responseLine = responseScanner.nextLine().trim();
@@ -135,4 +151,51 @@ public final class QueryStream implements Closeable, Iterator<StreamedRow> {
       throw e;
     }
   }
+
+  private boolean bufferNextBinaryRow() {
+    try {
+      bufferedRow = binaryReader.read().orElse(null);
+      return bufferedRow != null;
+    } catch (final IOException e) {
+      if (closed) {
+        return false;
+      }
+      throw new RuntimeException(e);
+    }
+  }
+
+  private final class ReadTimeoutRetryingInputStream extends FilterInputStream {
+
+    ReadTimeoutRetryingInputStream(final InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      while (true) {
+        try {
+          return super.read();
+        } catch (final SocketTimeoutException e) {
+          // Read timeout:
+          if (closed) {
+            return -1;
+          }
+        }
+      }
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      while (true) {
+        try {
+          return super.read(b, off, len);
+        } catch (final SocketTimeoutException e) {
+          // Read timeout:
+          if (closed) {
+            return -1;
+          }
+        }
+      }
+    }
+  }
 }
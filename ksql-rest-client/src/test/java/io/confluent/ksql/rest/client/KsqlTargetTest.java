@@ -20,6 +20,8 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -33,6 +35,7 @@ import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.KsqlErrorMessage;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.ServerInfo;
+import io.confluent.ksql.rest.entity.Versions;
 import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
@@ -291,6 +294,27 @@ public class KsqlTargetTest {
     verify(invocationBuilder).post(jsonKsqlRequest("query request", Optional.of(42L)));
   }
 
+  @Test
+  public void shouldPostBinaryQueryRequest() {
+    // Given:
+    final InputStream is = mock(InputStream.class);
+    when(response.getEntity()).thenReturn(is);
+    when(webTarget.request(any(MediaType.class), any(MediaType.class)))
+        .thenReturn(invocationBuilder);
+
+    // When:
+    target
+        .postBinaryQueryRequest("query request", NO_PREVIOUS_CMD);
+
+    // Then:
+    verify(webTarget).path("/query");
+    verify(webTarget).request(
+        eq(Versions.KSQL_V1_BINARY_TYPE),
+        argThat(type -> type.isCompatible(MediaType.APPLICATION_JSON_TYPE)));
+    verify(invocationBuilder).post(jsonKsqlRequest("query request", NO_PREVIOUS_CMD));
+    verify(response, never()).close();
+  }
+
   @Test
   public void shouldPostPrintTopicRequest() {
     // Given:
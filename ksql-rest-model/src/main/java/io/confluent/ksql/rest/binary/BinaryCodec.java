@@ -0,0 +1,314 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.binary;
+
+import io.confluent.ksql.schema.ksql.types.Field;
+import io.confluent.ksql.schema.ksql.types.SqlArray;
+import io.confluent.ksql.schema.ksql.types.SqlDecimal;
+import io.confluent.ksql.schema.ksql.types.SqlMap;
+import io.confluent.ksql.schema.ksql.types.SqlStruct;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Encoding of sql types and their values used by the binary wire format.
+ *
+ * <p>Values are written without any type information: the reader is expected to know the type
+ * from the schema frame. Nested values, i.e. array elements, map values and struct fields, are
+ * each preceded by a single presence byte, as they may be null.
+ */
+final class BinaryCodec {
+
+  private static final byte BOOLEAN = 1;
+  private static final byte INTEGER = 2;
+  private static final byte BIGINT = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte STRING = 5;
+  private static final byte DECIMAL = 6;
+  private static final byte ARRAY = 7;
+  private static final byte MAP = 8;
+  private static final byte STRUCT = 9;
+
+  private BinaryCodec() {
+  }
+
+  static void writeType(final DataOutput out, final SqlType type) throws IOException {
+    switch (type.baseType()) {
+      case BOOLEAN:
+        out.writeByte(BOOLEAN);
+        break;
+      case INTEGER:
+        out.writeByte(INTEGER);
+        break;
+      case BIGINT:
+        out.writeByte(BIGINT);
+        break;
+      case DOUBLE:
+        out.writeByte(DOUBLE);
+        break;
+      case STRING:
+        out.writeByte(STRING);
+        break;
+      case DECIMAL:
+        out.writeByte(DECIMAL);
+        out.writeInt(((SqlDecimal) type).getPrecision());
+        out.writeInt(((SqlDecimal) type).getScale());
+        break;
+      case ARRAY:
+        out.writeByte(ARRAY);
+        writeType(out, ((SqlArray) type).getItemType());
+        break;
+      case MAP:
+        out.writeByte(MAP);
+        writeType(out, ((SqlMap) type).getValueType());
+        break;
+      case STRUCT:
+        out.writeByte(STRUCT);
+        final List<Field> fields = ((SqlStruct) type).fields();
+        out.writeInt(fields.size());
+        for (final Field field : fields) {
+          out.writeUTF(field.name());
+          writeType(out, field.type());
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Unsupported sql type: " + type);
+    }
+  }
+
+  static SqlType readType(final DataInput in) throws IOException {
+    final byte code = in.readByte();
+    switch (code) {
+      case BOOLEAN:
+        return SqlTypes.BOOLEAN;
+      case INTEGER:
+        return SqlTypes.INTEGER;
+      case BIGINT:
+        return SqlTypes.BIGINT;
+      case DOUBLE:
+        return SqlTypes.DOUBLE;
+      case STRING:
+        return SqlTypes.STRING;
+      case DECIMAL:
+        final int precision = in.readInt();
+        return SqlTypes.decimal(precision, in.readInt());
+      case ARRAY:
+        return SqlTypes.array(readType(in));
+      case MAP:
+        return SqlTypes.map(readType(in));
+      case STRUCT:
+        final int fieldCount = in.readInt();
+        final SqlStruct.Builder builder = SqlTypes.struct();
+        for (int i = 0; i < fieldCount; i++) {
+          final String name = in.readUTF();
+          builder.field(name, readType(in));
+        }
+        return builder.build();
+      default:
+        throw new IOException("Unknown type code in binary stream: " + code);
+    }
+  }
+
+  static void writeValue(
+      final DataOutput out,
+      final SqlType type,
+      final Object value
+  ) throws IOException {
+    switch (type.baseType()) {
+      case BOOLEAN:
+        out.writeBoolean((Boolean) value);
+        break;
+      case INTEGER:
+        out.writeInt(((Number) value).intValue());
+        break;
+      case BIGINT:
+        out.writeLong(((Number) value).longValue());
+        break;
+      case DOUBLE:
+        out.writeDouble(((Number) value).doubleValue());
+        break;
+      case STRING:
+        writeString(out, value.toString());
+        break;
+      case DECIMAL:
+        writeDecimal(out, (SqlDecimal) type, (BigDecimal) value);
+        break;
+      case ARRAY:
+        writeArray(out, (SqlArray) type, (List<?>) value);
+        break;
+      case MAP:
+        writeMap(out, (SqlMap) type, (Map<?, ?>) value);
+        break;
+      case STRUCT:
+        writeStruct(out, (SqlStruct) type, value);
+        break;
+      default:
+        throw new UnsupportedOperationException("Unsupported sql type: " + type);
+    }
+  }
+
+  static Object readValue(final DataInput in, final SqlType type) throws IOException {
+    switch (type.baseType()) {
+      case BOOLEAN:
+        return in.readBoolean();
+      case INTEGER:
+        return in.readInt();
+      case BIGINT:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case STRING:
+        return readString(in);
+      case DECIMAL:
+        return readDecimal(in, (SqlDecimal) type);
+      case ARRAY:
+        return readArray(in, (SqlArray) type);
+      case MAP:
+        return readMap(in, (SqlMap) type);
+      case STRUCT:
+        return readStruct(in, (SqlStruct) type);
+      default:
+        throw new UnsupportedOperationException("Unsupported sql type: " + type);
+    }
+  }
+
+  private static void writeNullable(
+      final DataOutput out,
+      final SqlType type,
+      final Object value
+  ) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      writeValue(out, type, value);
+    }
+  }
+
+  private static Object readNullable(final DataInput in, final SqlType type) throws IOException {
+    return in.readBoolean() ? readValue(in, type) : null;
+  }
+
+  private static void writeString(final DataOutput out, final String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final DataInput in) throws IOException {
+    final byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeDecimal(
+      final DataOutput out,
+      final SqlDecimal type,
+      final BigDecimal value
+  ) throws IOException {
+    final byte[] unscaled = value
+        .setScale(type.getScale(), RoundingMode.HALF_UP)
+        .unscaledValue()
+        .toByteArray();
+
+    out.writeByte(unscaled.length);
+    out.write(unscaled);
+  }
+
+  private static BigDecimal readDecimal(final DataInput in, final SqlDecimal type)
+      throws IOException {
+    final byte[] unscaled = new byte[in.readUnsignedByte()];
+    in.readFully(unscaled);
+    return new BigDecimal(new BigInteger(unscaled), type.getScale());
+  }
+
+  private static void writeArray(
+      final DataOutput out,
+      final SqlArray type,
+      final List<?> value
+  ) throws IOException {
+    out.writeInt(value.size());
+    for (final Object element : value) {
+      writeNullable(out, type.getItemType(), element);
+    }
+  }
+
+  private static List<?> readArray(final DataInput in, final SqlArray type) throws IOException {
+    final int size = in.readInt();
+    final List<Object> array = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      array.add(readNullable(in, type.getItemType()));
+    }
+    return array;
+  }
+
+  private static void writeMap(
+      final DataOutput out,
+      final SqlMap type,
+      final Map<?, ?> value
+  ) throws IOException {
+    out.writeInt(value.size());
+    for (final Map.Entry<?, ?> entry : value.entrySet()) {
+      writeString(out, String.valueOf(entry.getKey()));
+      writeNullable(out, type.getValueType(), entry.getValue());
+    }
+  }
+
+  private static Map<String, ?> readMap(final DataInput in, final SqlMap type)
+      throws IOException {
+    final int size = in.readInt();
+    final Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      final String key = readString(in);
+      map.put(key, readNullable(in, type.getValueType()));
+    }
+    return map;
+  }
+
+  private static void writeStruct(
+      final DataOutput out,
+      final SqlStruct type,
+      final Object value
+  ) throws IOException {
+    for (final Field field : type.fields()) {
+      final Object fieldValue = value instanceof Struct
+          ? ((Struct) value).get(field.name())
+          : ((Map<?, ?>) value).get(field.name());
+
+      writeNullable(out, field.type(), fieldValue);
+    }
+  }
+
+  private static Map<String, ?> readStruct(final DataInput in, final SqlStruct type)
+      throws IOException {
+    // Structs are decoded to maps, matching what JSON clients see:
+    final Map<String, Object> struct = new LinkedHashMap<>();
+    for (final Field field : type.fields()) {
+      struct.put(field.name(), readNullable(in, field.type()));
+    }
+    return struct;
+  }
+}
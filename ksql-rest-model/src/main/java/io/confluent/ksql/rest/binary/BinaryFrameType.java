@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.binary;
+
+import java.util.Optional;
+
+/**
+ * The types of frame in the binary wire format.
+ */
+enum BinaryFrameType {
+
+  /**
+   * Empty frame, written periodically to detect disconnected clients.
+   */
+  KEEP_ALIVE(0),
+
+  /**
+   * The column names and types of the rows that follow.
+   */
+  SCHEMA(1),
+
+  /**
+   * A single row of values.
+   */
+  ROW(2),
+
+  /**
+   * A JSON encoded, terminal {@link io.confluent.ksql.rest.entity.StreamedRow}, i.e. an error or
+   * final message.
+   */
+  MESSAGE(3);
+
+  private static final BinaryFrameType[] TYPES = values();
+
+  private final byte code;
+
+  BinaryFrameType(final int code) {
+    this.code = (byte) code;
+  }
+
+  byte code() {
+    return code;
+  }
+
+  static Optional<BinaryFrameType> fromCode(final int code) {
+    for (final BinaryFrameType type : TYPES) {
+      if (type.code == code) {
+        return Optional.of(type);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.binary;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.json.JsonMapper;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.schema.ksql.Column;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads query results written by {@link BinaryStreamedRowWriter}.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class BinaryStreamedRowReader {
+
+  private final DataInputStream in;
+  private byte[] frame = new byte[1024];
+  private LogicalSchema schema;
+  private List<Column> columns;
+
+  public BinaryStreamedRowReader(final InputStream in) {
+    this.in = new DataInputStream(requireNonNull(in, "in"));
+  }
+
+  /**
+   * @return the schema of the rows, once the schema frame has been read.
+   */
+  public Optional<LogicalSchema> getSchema() {
+    return Optional.ofNullable(schema);
+  }
+
+  /**
+   * Read the next row or terminal message from the stream.
+   *
+   * <p>Schema and keep-alive frames are consumed internally, as are frames of unknown type.
+   *
+   * @return the next row or message, or empty at the end of the stream.
+   * @throws IOException on failure to read from the stream, or on malformed input.
+   */
+  public Optional<StreamedRow> read() throws IOException {
+    while (true) {
+      final int code = in.read();
+      if (code < 0) {
+        return Optional.empty();
+      }
+
+      final int length = in.readInt();
+      if (length < 0) {
+        throw new IOException("Invalid frame length in binary stream: " + length);
+      }
+
+      if (frame.length < length) {
+        frame = new byte[Math.max(length, frame.length * 2)];
+      }
+      in.readFully(frame, 0, length);
+
+      final Optional<BinaryFrameType> type = BinaryFrameType.fromCode(code);
+      if (!type.isPresent()) {
+        continue;
+      }
+
+      final DataInputStream payload =
+          new DataInputStream(new ByteArrayInputStream(frame, 0, length));
+
+      switch (type.get()) {
+        case SCHEMA:
+          readSchema(payload);
+          break;
+        case ROW:
+          return Optional.of(StreamedRow.row(readRow(payload)));
+        case MESSAGE:
+          return Optional.of(JsonMapper.INSTANCE.mapper.readValue(payload, StreamedRow.class));
+        default:
+          break;
+      }
+    }
+  }
+
+  private void readSchema(final DataInputStream payload) throws IOException {
+    final int columnCount = payload.readInt();
+    final LogicalSchema.Builder builder = LogicalSchema.builder().noImplicitColumns();
+    for (int i = 0; i < columnCount; i++) {
+      final String name = payload.readUTF();
+      builder.valueColumn(ColumnName.of(name), BinaryCodec.readType(payload));
+    }
+
+    schema = builder.build();
+    columns = ImmutableList.copyOf(schema.value());
+  }
+
+  private GenericRow readRow(final DataInputStream payload) throws IOException {
+    if (columns == null) {
+      throw new IOException("Binary stream contained a row before the schema");
+    }
+
+    final int columnCount = columns.size();
+    final byte[] nulls = new byte[(columnCount + Byte.SIZE - 1) / Byte.SIZE];
+    payload.readFully(nulls);
+
+    final List<Object> values = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      final boolean isNull = (nulls[i / Byte.SIZE] & (1 << (i % Byte.SIZE))) != 0;
+      values.add(isNull ? null : BinaryCodec.readValue(payload, columns.get(i).type()));
+    }
+    return new GenericRow(values);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.binary;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.json.JsonMapper;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.schema.ksql.Column;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes query results in the {@link io.confluent.ksql.rest.entity.Versions#KSQL_V1_BINARY}
+ * wire format.
+ *
+ * <p>The stream is a sequence of frames. Each frame is a single frame type byte, followed by a
+ * four byte payload length and the payload. The first frame holds the names and types of the
+ * value columns. Each row frame then holds a null bitmap followed by the non-null values, encoded
+ * according to their column type. Neither column names nor type information is repeated per row.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class BinaryStreamedRowWriter {
+
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  private final List<Column> columns;
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+  private final DataOutputStream payload = new DataOutputStream(buffer);
+  private final byte[] header = new byte[5];
+
+  public BinaryStreamedRowWriter(final LogicalSchema schema) {
+    this.columns = ImmutableList.copyOf(requireNonNull(schema, "schema").value());
+  }
+
+  public void writeSchema(final OutputStream out) throws IOException {
+    buffer.reset();
+    payload.writeInt(columns.size());
+    for (final Column column : columns) {
+      payload.writeUTF(column.ref().aliasedFieldName());
+      BinaryCodec.writeType(payload, column.type());
+    }
+    writeFrame(out, BinaryFrameType.SCHEMA);
+  }
+
+  public void writeRow(final OutputStream out, final GenericRow row) throws IOException {
+    final List<Object> values = row.getColumns();
+    if (values.size() != columns.size()) {
+      throw new IllegalArgumentException("column count mismatch."
+          + " expected: " + columns.size()
+          + ", got: " + values.size()
+      );
+    }
+
+    buffer.reset();
+    writeNullBitmap(values);
+
+    for (int i = 0; i < values.size(); i++) {
+      final Object value = values.get(i);
+      if (value != null) {
+        BinaryCodec.writeValue(payload, columns.get(i).type(), value);
+      }
+    }
+    writeFrame(out, BinaryFrameType.ROW);
+  }
+
+  public void writeKeepAlive(final OutputStream out) throws IOException {
+    buffer.reset();
+    writeFrame(out, BinaryFrameType.KEEP_ALIVE);
+  }
+
+  public void writeMessage(final OutputStream out, final StreamedRow message) throws IOException {
+    if (message.getRow() != null) {
+      throw new IllegalArgumentException("rows should be written via writeRow");
+    }
+
+    buffer.reset();
+    JsonMapper.INSTANCE.mapper.writeValue((OutputStream) payload, message);
+    writeFrame(out, BinaryFrameType.MESSAGE);
+  }
+
+  private void writeNullBitmap(final List<Object> values) throws IOException {
+    int bits = 0;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) == null) {
+        bits |= 1 << (i % Byte.SIZE);
+      }
+
+      if (i % Byte.SIZE == Byte.SIZE - 1) {
+        payload.writeByte(bits);
+        bits = 0;
+      }
+    }
+
+    if (values.size() % Byte.SIZE != 0) {
+      payload.writeByte(bits);
+    }
+  }
+
+  private void writeFrame(final OutputStream out, final BinaryFrameType type) throws IOException {
+    payload.flush();
+
+    final int length = buffer.size();
+    header[0] = type.code();
+    header[1] = (byte) (length >>> 24);
+    header[2] = (byte) (length >>> 16);
+    header[3] = (byte) (length >>> 8);
+    header[4] = (byte) length;
+
+    out.write(header);
+    buffer.writeTo(out);
+  }
+}
@@ -22,6 +22,10 @@ public final class Versions {
   public static final MediaType KSQL_V1_JSON_TYPE =
       new MediaType("application", "vnd.ksql.v1+json");
 
+  public static final String KSQL_V1_BINARY = "application/vnd.ksql.v1+binary";
+  public static final MediaType KSQL_V1_BINARY_TYPE =
+      new MediaType("application", "vnd.ksql.v1+binary");
+
   public static final String KSQL_V1_WS = "1";
   public static final String KSQL_V1_WS_PARAM = "version";
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.binary;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.json.JsonMapper;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.SchemaConverters;
+import io.confluent.ksql.schema.ksql.types.SqlStruct;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinaryStreamedRowWriterTest {
+
+  private static final SqlStruct ADDRESS = SqlTypes.struct()
+      .field("STREET", SqlTypes.STRING)
+      .field("NUMBER", SqlTypes.INTEGER)
+      .build();
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("B"), SqlTypes.BOOLEAN)
+      .valueColumn(ColumnName.of("I"), SqlTypes.INTEGER)
+      .valueColumn(ColumnName.of("L"), SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("D"), SqlTypes.DOUBLE)
+      .valueColumn(ColumnName.of("S"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("DEC"), SqlTypes.decimal(4, 2))
+      .valueColumn(ColumnName.of("A"), SqlTypes.array(SqlTypes.BIGINT))
+      .valueColumn(ColumnName.of("M"), SqlTypes.map(SqlTypes.STRING))
+      .valueColumn(ColumnName.of("ADDRESS"), ADDRESS)
+      .build();
+
+  private BinaryStreamedRowWriter writer;
+  private ByteArrayOutputStream out;
+
+  @Before
+  public void setUp() {
+    writer = new BinaryStreamedRowWriter(SCHEMA);
+    out = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void shouldRoundTripSchema() throws Exception {
+    // When:
+    writer.writeSchema(out);
+    final BinaryStreamedRowReader reader = reader();
+
+    // Then:
+    assertThat(reader.read(), is(Optional.empty()));
+    assertThat(reader.getSchema().get().value(), is(SCHEMA.value()));
+  }
+
+  @Test
+  public void shouldRoundTripRows() throws Exception {
+    // Given:
+    final Schema addressSchema = SchemaConverters.sqlToConnectConverter()
+        .toConnectSchema(ADDRESS);
+
+    final GenericRow row = new GenericRow(
+        true,
+        10,
+        100L,
+        1.5d,
+        "foo",
+        new BigDecimal("12.34"),
+        Arrays.asList(1L, null, 3L),
+        ImmutableMap.of("k", "v"),
+        new Struct(addressSchema).put("STREET", "Main St").put("NUMBER", 1)
+    );
+
+    // When:
+    writer.writeSchema(out);
+    writer.writeRow(out, row);
+    final BinaryStreamedRowReader reader = reader();
+
+    // Then:
+    final Map<String, Object> address = new LinkedHashMap<>();
+    address.put("STREET", "Main St");
+    address.put("NUMBER", 1);
+
+    assertThat(reader.read(), is(Optional.of(StreamedRow.row(new GenericRow(
+        true,
+        10,
+        100L,
+        1.5d,
+        "foo",
+        new BigDecimal("12.34"),
+        Arrays.asList(1L, null, 3L),
+        ImmutableMap.of("k", "v"),
+        address
+    )))));
+    assertThat(reader.read(), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldRoundTripNulls() throws Exception {
+    // Given:
+    final GenericRow row = new GenericRow(Arrays.asList(
+        null, null, null, null, null, null, null, null, null));
+
+    // When:
+    writer.writeSchema(out);
+    writer.writeRow(out, row);
+
+    // Then:
+    assertThat(reader().read(), is(Optional.of(StreamedRow.row(row))));
+  }
+
+  @Test
+  public void shouldSkipKeepAlives() throws Exception {
+    // When:
+    writer.writeSchema(out);
+    writer.writeKeepAlive(out);
+    writer.writeMessage(out, StreamedRow.finalMessage("Limit Reached"));
+
+    // Then:
+    assertThat(reader().read(), is(Optional.of(StreamedRow.finalMessage("Limit Reached"))));
+  }
+
+  @Test
+  public void shouldBeSmallerThanJson() throws Exception {
+    // Given:
+    final LogicalSchema schema = LogicalSchema.builder()
+        .valueColumn(ColumnName.of("ID"), SqlTypes.BIGINT)
+        .valueColumn(ColumnName.of("PRICE"), SqlTypes.DOUBLE)
+        .build();
+
+    final GenericRow row = new GenericRow(ImmutableList.of(123456789L, 1234.5678d));
+    final byte[] json = JsonMapper.INSTANCE.mapper.writeValueAsBytes(StreamedRow.row(row));
+
+    // When:
+    new BinaryStreamedRowWriter(schema).writeRow(out, row);
+
+    // Then:
+    assertThat(out.size(), is(lessThan(json.length)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnColumnCountMismatch() throws Exception {
+    writer.writeRow(out, new GenericRow(ImmutableList.of(true)));
+  }
+
+  private BinaryStreamedRowReader reader() {
+    return new BinaryStreamedRowReader(new ByteArrayInputStream(out.toByteArray()));
+  }
+}
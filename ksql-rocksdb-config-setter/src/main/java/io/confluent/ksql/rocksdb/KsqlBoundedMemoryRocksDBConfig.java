@@ -15,11 +15,15 @@
 
 package io.confluent.ksql.rocksdb;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
+import org.apache.kafka.common.config.ConfigDef.Range;
 import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigException;
 
 public class KsqlBoundedMemoryRocksDBConfig extends AbstractConfig {
 
@@ -42,6 +46,29 @@ public class KsqlBoundedMemoryRocksDBConfig extends AbstractConfig {
       "Percentage of the RocksDB block cache to set aside for high-priority entries, i.e., "
       + "index and filter blocks.";
 
+  public static final String CACHE_PARTITIONS_CONFIG = CONFIG_PREFIX + "cache.partitions";
+  private static final String CACHE_PARTITIONS_DOC =
+      "List of <name>:<weight> pairs, each defining a separate block cache and write buffer "
+      + "budget. A store is placed in the first partition whose name matches the id of its "
+      + "query, either exactly, e.g. CTAS_ORDERS_3, or without the id's trailing counter, e.g. "
+      + "CTAS_ORDERS, which matches CTAS_ORDERS_3 but not CTAS_ORDERS_ENRICHED_4. Names are "
+      + "matched from the start of the query id, so ORDERS does not match CTAS_ORDERS_3. Only "
+      + "queries started with the default ksql.persistent.prefix of query_ are matched. The total "
+      + "memory is divided between the partitions, and the default partition, in proportion to "
+      + "their weights.";
+
+  public static final String DEFAULT_PARTITION_WEIGHT_CONFIG =
+      CONFIG_PREFIX + "cache.default.weight";
+  private static final String DEFAULT_PARTITION_WEIGHT_DOC =
+      "Weight of the default partition, which holds all stores that do not match any of the "
+      + "partitions in " + CACHE_PARTITIONS_CONFIG + ".";
+
+  public static final String STATS_ENABLED_CONFIG = CONFIG_PREFIX + "stats.enabled";
+  private static final String STATS_ENABLED_DOC =
+      "Whether to collect RocksDB statistics for each store and report them over JMX, "
+      + "e.g. block cache hit ratio, flush and compaction bytes, and write stall time. "
+      + "Collecting statistics has a small performance overhead.";
+
   private static final ConfigDef CONFIG_DEF = new ConfigDef()
       .define(
           TOTAL_OFF_HEAP_MEMORY_CONFIG,
@@ -60,10 +87,60 @@ public class KsqlBoundedMemoryRocksDBConfig extends AbstractConfig {
           Type.DOUBLE,
           INDEX_FILTER_BLOCK_RATIO_DEFAULT,
           Importance.LOW,
-          INDEX_FILTER_BLOCK_RATIO_DOC
+          INDEX_FILTER_BLOCK_RATIO_DOC)
+      .define(
+          CACHE_PARTITIONS_CONFIG,
+          Type.LIST,
+          "",
+          Importance.LOW,
+          CACHE_PARTITIONS_DOC)
+      .define(
+          DEFAULT_PARTITION_WEIGHT_CONFIG,
+          Type.INT,
+          1,
+          Range.atLeast(1),
+          Importance.LOW,
+          DEFAULT_PARTITION_WEIGHT_DOC)
+      .define(
+          STATS_ENABLED_CONFIG,
+          Type.BOOLEAN,
+          false,
+          Importance.LOW,
+          STATS_ENABLED_DOC
       );
 
   public KsqlBoundedMemoryRocksDBConfig(final Map<?, ?> properties) {
     super(CONFIG_DEF, properties);
   }
+
+  /**
+   * @return the configured cache partitions, by name, in the order they were defined.
+   */
+  public Map<String, Integer> getCachePartitionWeights() {
+    final List<String> entries = getList(CACHE_PARTITIONS_CONFIG);
+    final Map<String, Integer> weights = new LinkedHashMap<>();
+    for (final String entry : entries) {
+      final String[] parts = entry.split(":");
+      if (parts.length != 2 || parts[0].trim().isEmpty()) {
+        throw new ConfigException(CACHE_PARTITIONS_CONFIG, entry,
+            "Expected <name>:<weight>");
+      }
+
+      final int weight;
+      try {
+        weight = Integer.parseInt(parts[1].trim());
+      } catch (final NumberFormatException e) {
+        throw new ConfigException(CACHE_PARTITIONS_CONFIG, entry, "Weight must be an integer");
+      }
+
+      if (weight < 1) {
+        throw new ConfigException(CACHE_PARTITIONS_CONFIG, entry, "Weight must be at least 1");
+      }
+
+      if (weights.put(parts[0].trim(), weight) != null) {
+        throw new ConfigException(CACHE_PARTITIONS_CONFIG, entry, "Duplicate partition name");
+      }
+    }
+    return weights;
+  }
 }
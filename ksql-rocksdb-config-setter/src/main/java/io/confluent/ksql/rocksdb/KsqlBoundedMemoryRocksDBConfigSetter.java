@@ -16,9 +16,19 @@
 package io.confluent.ksql.rocksdb;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 import org.apache.kafka.common.Configurable;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.utils.Time;
+import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.state.RocksDBConfigSetter;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.Options;
@@ -29,12 +39,23 @@ import org.rocksdb.Options;
  * "ksql.plugins.rocksdb.total.memory", and also configures
  * the shared RocksDB thread pool to use "ksql.plugins.rocksdb.num.background.threads" threads.
  * </p>
+ * The memory may optionally be divided into weighted partitions, set via
+ * "ksql.plugins.rocksdb.cache.partitions", so that the stores of one query can not evict the
+ * blocks of all others. Per-store RocksDB statistics are reported over JMX when
+ * "ksql.plugins.rocksdb.stats.enabled" is set.
+ * </p>
  * See https://docs.confluent.io/5.3.0/streams/developer-guide/memory-mgmt.html#rocksdb.
  */
 public class KsqlBoundedMemoryRocksDBConfigSetter implements RocksDBConfigSetter, Configurable {
 
-  private static org.rocksdb.Cache cache;
-  private static org.rocksdb.WriteBufferManager writeBufferManager;
+  private static final String JMX_PREFIX = "io.confluent.ksql.rocksdb";
+  private static final String DEFAULT_PARTITION = "default";
+  // The default ksql.persistent.prefix, which precedes the query id in the application id:
+  private static final String QUERY_ID_PREFIX = "query_";
+
+  private static CachePartition defaultPartition;
+  private static List<CachePartition> partitions = Collections.emptyList();
+  private static RocksDBStoreMetrics storeMetrics;
   private static final AtomicBoolean configured = new AtomicBoolean(false);
 
   @Override
@@ -55,7 +76,8 @@ public class KsqlBoundedMemoryRocksDBConfigSetter implements RocksDBConfigSetter
 
       limitTotalMemory(pluginConfig);
       configureNumThreads(pluginConfig, options);
-    } catch (IllegalArgumentException e) {
+      configureStats(pluginConfig);
+    } catch (IllegalArgumentException | ConfigException e) {
       reset();
       throw e;
     }
@@ -63,19 +85,56 @@ public class KsqlBoundedMemoryRocksDBConfigSetter implements RocksDBConfigSetter
 
   @VisibleForTesting
   static void reset() {
+    if (storeMetrics != null) {
+      storeMetrics.close();
+      storeMetrics = null;
+    }
     configured.set(false);
   }
 
   private static void limitTotalMemory(final KsqlBoundedMemoryRocksDBConfig config) {
     final long totalOffHeapMemory =
         config.getLong(KsqlBoundedMemoryRocksDBConfig.TOTAL_OFF_HEAP_MEMORY_CONFIG);
-    final long totalMemtableMemory = totalOffHeapMemory / 2;
 
     final double indexFilterBlockRatio =
         config.getDouble(KsqlBoundedMemoryRocksDBConfig.INDEX_FILTER_BLOCK_RATIO_CONFIG);
 
-    cache = new org.rocksdb.LRUCache(totalOffHeapMemory, -1, false, indexFilterBlockRatio);
-    writeBufferManager = new org.rocksdb.WriteBufferManager(totalMemtableMemory, cache);
+    final Map<String, Integer> weights = config.getCachePartitionWeights();
+    final int defaultWeight =
+        config.getInt(KsqlBoundedMemoryRocksDBConfig.DEFAULT_PARTITION_WEIGHT_CONFIG);
+
+    long totalWeight = defaultWeight;
+    for (final int weight : weights.values()) {
+      totalWeight += weight;
+    }
+
+    final List<CachePartition> newPartitions = new ArrayList<>(weights.size());
+    for (final Map.Entry<String, Integer> e : weights.entrySet()) {
+      newPartitions.add(new CachePartition(
+          e.getKey(),
+          totalOffHeapMemory * e.getValue() / totalWeight,
+          indexFilterBlockRatio
+      ));
+    }
+
+    partitions = newPartitions;
+    defaultPartition = new CachePartition(
+        DEFAULT_PARTITION,
+        totalOffHeapMemory * defaultWeight / totalWeight,
+        indexFilterBlockRatio
+    );
+  }
+
+  private static void configureStats(final KsqlBoundedMemoryRocksDBConfig config) {
+    if (!config.getBoolean(KsqlBoundedMemoryRocksDBConfig.STATS_ENABLED_CONFIG)) {
+      return;
+    }
+
+    storeMetrics = new RocksDBStoreMetrics(new Metrics(
+        new MetricConfig(),
+        Collections.singletonList(new JmxReporter(JMX_PREFIX)),
+        Time.SYSTEM
+    ));
   }
 
   private static void configureNumThreads(
@@ -98,11 +157,14 @@ public class KsqlBoundedMemoryRocksDBConfigSetter implements RocksDBConfigSetter
           "Cannot use KsqlBoundedMemoryRocksDBConfigSetter before it's been configured.");
     }
 
+    final String applicationId = String.valueOf(configs.get(StreamsConfig.APPLICATION_ID_CONFIG));
+    final CachePartition partition = partitionFor(applicationId);
+
     final BlockBasedTableConfig tableConfig = (BlockBasedTableConfig)options.tableFormatConfig();
 
-    tableConfig.setBlockCache(cache);
+    tableConfig.setBlockCache(partition.cache);
     tableConfig.setCacheIndexAndFilterBlocks(true);
-    options.setWriteBufferManager(writeBufferManager);
+    options.setWriteBufferManager(partition.writeBufferManager);
 
     tableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
     tableConfig.setPinTopLevelIndexAndFilter(true);
@@ -110,9 +172,45 @@ public class KsqlBoundedMemoryRocksDBConfigSetter implements RocksDBConfigSetter
     options.setStatsDumpPeriodSec(0);
 
     options.setTableFormatConfig(tableConfig);
+
+    final RocksDBStoreMetrics metrics = storeMetrics;
+    if (metrics != null) {
+      metrics.register(applicationId, storeName, partition.name, options);
+    }
   }
 
   @Override
   public void close(final String storeName, final Options options) {
+    final RocksDBStoreMetrics metrics = storeMetrics;
+    if (metrics != null) {
+      metrics.unregister(options);
+    }
+  }
+
+  private static CachePartition partitionFor(final String applicationId) {
+    for (final CachePartition partition : partitions) {
+      if (partition.queryIdPattern.matcher(applicationId).find()) {
+        return partition;
+      }
+    }
+    return defaultPartition;
+  }
+
+  private static final class CachePartition {
+
+    private final String name;
+    private final Pattern queryIdPattern;
+    private final org.rocksdb.Cache cache;
+    private final org.rocksdb.WriteBufferManager writeBufferManager;
+
+    CachePartition(final String name, final long memory, final double indexFilterBlockRatio) {
+      this.name = name;
+      // The application id ends with query_ and the query id, e.g. query_CTAS_ORDERS_3. The name
+      // matches either the whole query id, or the query id without its trailing counter:
+      this.queryIdPattern = Pattern.compile(
+          Pattern.quote(QUERY_ID_PREFIX + name) + "(_[0-9]+)?$");
+      this.cache = new org.rocksdb.LRUCache(memory, -1, false, indexFilterBlockRatio);
+      this.writeBufferManager = new org.rocksdb.WriteBufferManager(memory / 2, cache);
+    }
   }
 }
\ No newline at end of file
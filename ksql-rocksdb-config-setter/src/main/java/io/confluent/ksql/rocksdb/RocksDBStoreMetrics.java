@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rocksdb;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.Metrics;
+import org.rocksdb.Options;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+
+/**
+ * Collects RocksDB {@link Statistics} for each store and reports them as metrics.
+ *
+ * <p>Kafka Streams creates one RocksDB instance per store per task, and per segment for windowed
+ * stores. The statistics of all instances of a store within a query are summed and reported under
+ * a single set of metrics, tagged with the query's application id, the store name and the name of
+ * the cache partition the store uses.
+ */
+final class RocksDBStoreMetrics {
+
+  static final String METRIC_GROUP = "ksql-rocksdb-store-metrics";
+
+  private final Metrics metrics;
+  private final Map<StoreKey, StoreStats> stores = new HashMap<>();
+  private final Map<Options, StoreStats> storesByOptions = new IdentityHashMap<>();
+
+  RocksDBStoreMetrics(final Metrics metrics) {
+    this.metrics = requireNonNull(metrics, "metrics");
+  }
+
+  synchronized void register(
+      final String applicationId,
+      final String storeName,
+      final String partitionName,
+      final Options options
+  ) {
+    final Statistics statistics = new Statistics();
+    options.setStatistics(statistics);
+
+    final StoreKey key = new StoreKey(applicationId, storeName);
+    final StoreStats store = stores.computeIfAbsent(key, k -> addMetrics(k, partitionName));
+    store.statistics.put(options, statistics);
+    storesByOptions.put(options, store);
+  }
+
+  synchronized void unregister(final Options options) {
+    final StoreStats store = storesByOptions.remove(options);
+    if (store == null) {
+      return;
+    }
+
+    final Statistics statistics = store.statistics.remove(options);
+    if (statistics != null) {
+      statistics.close();
+    }
+
+    if (store.statistics.isEmpty()) {
+      store.metricNames.forEach(metrics::removeMetric);
+      stores.remove(store.key);
+    }
+  }
+
+  synchronized void close() {
+    for (final StoreStats store : stores.values()) {
+      store.statistics.values().forEach(Statistics::close);
+      store.metricNames.forEach(metrics::removeMetric);
+    }
+    stores.clear();
+    storesByOptions.clear();
+    metrics.close();
+  }
+
+  private StoreStats addMetrics(final StoreKey key, final String partitionName) {
+    final StoreStats store = new StoreStats(key);
+    final Map<String, String> tags = ImmutableMap.of(
+        "application-id", key.applicationId,
+        "store-name", key.storeName,
+        "cache-partition", partitionName
+    );
+
+    addMetric(store, tags, "block-cache-hit-ratio",
+        "The ratio of block cache hits to block cache lookups",
+        (config, now) -> hitRatio(store));
+    addTickerMetric(store, tags, "memtable-flush-bytes",
+        "The total number of bytes written by memtable flushes",
+        TickerType.FLUSH_WRITE_BYTES);
+    addTickerMetric(store, tags, "compaction-read-bytes",
+        "The total number of bytes read by compactions",
+        TickerType.COMPACT_READ_BYTES);
+    addTickerMetric(store, tags, "compaction-write-bytes",
+        "The total number of bytes written by compactions",
+        TickerType.COMPACT_WRITE_BYTES);
+    addTickerMetric(store, tags, "write-stall-micros",
+        "The total time writes were stalled, in microseconds",
+        TickerType.STALL_MICROS);
+    return store;
+  }
+
+  private void addTickerMetric(
+      final StoreStats store,
+      final Map<String, String> tags,
+      final String name,
+      final String description,
+      final TickerType ticker
+  ) {
+    addMetric(store, tags, name, description, (config, now) -> sum(store, ticker));
+  }
+
+  private void addMetric(
+      final StoreStats store,
+      final Map<String, String> tags,
+      final String name,
+      final String description,
+      final Gauge<?> gauge
+  ) {
+    final MetricName metricName = metrics.metricName(name, METRIC_GROUP, description, tags);
+    metrics.addMetric(metricName, gauge);
+    store.metricNames.add(metricName);
+  }
+
+  private synchronized long sum(final StoreStats store, final TickerType ticker) {
+    long total = 0;
+    for (final Statistics statistics : store.statistics.values()) {
+      total += statistics.getTickerCount(ticker);
+    }
+    return total;
+  }
+
+  private synchronized double hitRatio(final StoreStats store) {
+    final long hits = sum(store, TickerType.BLOCK_CACHE_HIT);
+    final long lookups = hits + sum(store, TickerType.BLOCK_CACHE_MISS);
+    return lookups == 0 ? 0.0 : (double) hits / lookups;
+  }
+
+  private static final class StoreKey {
+
+    private final String applicationId;
+    private final String storeName;
+
+    StoreKey(final String applicationId, final String storeName) {
+      this.applicationId = requireNonNull(applicationId, "applicationId");
+      this.storeName = requireNonNull(storeName, "storeName");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final StoreKey that = (StoreKey) o;
+      return applicationId.equals(that.applicationId)
+          && storeName.equals(that.storeName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(applicationId, storeName);
+    }
+  }
+
+  private static final class StoreStats {
+
+    private final StoreKey key;
+    private final Map<Options, Statistics> statistics = new IdentityHashMap<>();
+    private final List<MetricName> metricNames = new ArrayList<>();
+
+    StoreStats(final StoreKey key) {
+      this.key = key;
+    }
+  }
+}
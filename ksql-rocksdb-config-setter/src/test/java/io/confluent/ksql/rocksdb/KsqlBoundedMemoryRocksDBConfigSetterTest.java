@@ -16,14 +16,17 @@
 package io.confluent.ksql.rocksdb;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.Collections;
 import java.util.Map;
+import org.apache.kafka.common.config.ConfigException;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -37,6 +40,7 @@ import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.Cache;
 import org.rocksdb.Env;
 import org.rocksdb.Options;
+import org.rocksdb.Statistics;
 import org.rocksdb.WriteBufferManager;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -176,6 +180,153 @@ public class KsqlBoundedMemoryRocksDBConfigSetterTest {
         sameInstance(secondWriteBufferManagerCaptor.getValue()));
   }
 
+  @Test
+  public void shouldUseSeparateCacheForMatchingPartition() {
+    // Given:
+    rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+        .putAll(CONFIG_PROPS)
+        .put("ksql.plugins.rocksdb.cache.partitions", "CTAS_HEAVY_JOIN:3")
+        .build());
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CTAS_HEAVY_JOIN_1"));
+    secondRocksDBConfig.setConfig("store_name", secondRocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CSAS_OTHER_2"));
+
+    // Then:
+    verify(tableConfig).setBlockCache(cacheCaptor.capture());
+    verify(secondTableConfig).setBlockCache(secondCacheCaptor.capture());
+    assertThat(cacheCaptor.getValue(), not(sameInstance(secondCacheCaptor.getValue())));
+  }
+
+  @Test
+  public void shouldShareDefaultPartitionBetweenUnmatchedStores() {
+    // Given:
+    rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+        .putAll(CONFIG_PROPS)
+        .put("ksql.plugins.rocksdb.cache.partitions", "CTAS_HEAVY_JOIN:3")
+        .build());
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CSAS_A_1"));
+    secondRocksDBConfig.setConfig("store_name", secondRocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CSAS_B_2"));
+
+    // Then:
+    verify(tableConfig).setBlockCache(cacheCaptor.capture());
+    verify(secondTableConfig).setBlockCache(secondCacheCaptor.capture());
+    assertThat(cacheCaptor.getValue(), sameInstance(secondCacheCaptor.getValue()));
+  }
+
+  @Test
+  public void shouldNotMatchPartitionThatIsOnlyPrefixOfQueryId() {
+    // Given:
+    rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+        .putAll(CONFIG_PROPS)
+        .put("ksql.plugins.rocksdb.cache.partitions", "CTAS_ORDERS:3,CTAS_ORDERS_1:2")
+        .build());
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CTAS_ORDERS_ENRICHED_4"));
+    secondRocksDBConfig.setConfig("store_name", secondRocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CTAS_ORDERS_10"));
+
+    // Then:
+    verify(tableConfig).setBlockCache(cacheCaptor.capture());
+    verify(secondTableConfig).setBlockCache(secondCacheCaptor.capture());
+    assertThat(cacheCaptor.getValue(), not(sameInstance(secondCacheCaptor.getValue())));
+  }
+
+  @Test
+  public void shouldNotMatchPartitionThatIsOnlySuffixOfQueryId() {
+    // Given:
+    rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+        .putAll(CONFIG_PROPS)
+        .put("ksql.plugins.rocksdb.cache.partitions", "ORDERS:3,ORDERS_3:2")
+        .build());
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CTAS_ORDERS_3"));
+    secondRocksDBConfig.setConfig("store_name", secondRocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CSAS_OTHER_2"));
+
+    // Then:
+    verify(tableConfig).setBlockCache(cacheCaptor.capture());
+    verify(secondTableConfig).setBlockCache(secondCacheCaptor.capture());
+    assertThat(cacheCaptor.getValue(), sameInstance(secondCacheCaptor.getValue()));
+  }
+
+  @Test
+  public void shouldMatchPartitionOnWholeQueryId() {
+    // Given:
+    rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+        .putAll(CONFIG_PROPS)
+        .put("ksql.plugins.rocksdb.cache.partitions", "CTAS_ORDERS_1:3")
+        .build());
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CTAS_ORDERS_10"));
+    secondRocksDBConfig.setConfig("store_name", secondRocksOptions,
+        ImmutableMap.of("application.id", "_confluent-ksql-default_query_CSAS_OTHER_2"));
+
+    // Then:
+    verify(tableConfig).setBlockCache(cacheCaptor.capture());
+    verify(secondTableConfig).setBlockCache(secondCacheCaptor.capture());
+    assertThat(cacheCaptor.getValue(), sameInstance(secondCacheCaptor.getValue()));
+  }
+
+  @Test
+  public void shouldAllowReconfigureAfterInvalidPartitions() {
+    // Given:
+    try {
+      rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+          .putAll(CONFIG_PROPS)
+          .put("ksql.plugins.rocksdb.cache.partitions", "CTAS_HEAVY_JOIN")
+          .build());
+    } catch (final ConfigException e) {
+      // expected
+    }
+
+    // When:
+    rocksDBConfig.configure(CONFIG_PROPS);
+
+    // Then: did not throw.
+  }
+
+  @Test
+  public void shouldCollectStatisticsWhenEnabled() {
+    // Given:
+    rocksDBConfig.configure(ImmutableMap.<String, Object>builder()
+        .putAll(CONFIG_PROPS)
+        .put("ksql.plugins.rocksdb.stats.enabled", true)
+        .build());
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions, Collections.emptyMap());
+
+    // Then:
+    verify(rocksOptions).setStatistics(any(Statistics.class));
+
+    rocksDBConfig.close("store_name", rocksOptions);
+  }
+
+  @Test
+  public void shouldNotCollectStatisticsByDefault() {
+    // Given:
+    rocksDBConfig.configure(CONFIG_PROPS);
+
+    // When:
+    rocksDBConfig.setConfig("store_name", rocksOptions, Collections.emptyMap());
+
+    // Then:
+    verify(rocksOptions, never()).setStatistics(any());
+  }
+
   @Test
   public void shouldSetNumThreads() {
     // When:
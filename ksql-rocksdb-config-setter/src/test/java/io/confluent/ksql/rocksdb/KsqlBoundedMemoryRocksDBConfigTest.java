@@ -105,4 +105,36 @@ public class KsqlBoundedMemoryRocksDBConfigTest {
         pluginConfig.getDouble(KsqlBoundedMemoryRocksDBConfig.INDEX_FILTER_BLOCK_RATIO_CONFIG),
         is(0.0));
   }
+
+  @Test
+  public void shouldParseCachePartitions() {
+    // Given:
+    final Map<String, Object> configs = ImmutableMap.of(
+        "ksql.plugins.rocksdb.total.memory", TOTAL_OFF_HEAP_MEMORY,
+        "ksql.plugins.rocksdb.cache.partitions", "CTAS_A:2, tenant_b:1"
+    );
+
+    // When:
+    final KsqlBoundedMemoryRocksDBConfig pluginConfig = new KsqlBoundedMemoryRocksDBConfig(configs);
+
+    // Then:
+    assertThat(pluginConfig.getCachePartitionWeights(),
+        is(ImmutableMap.of("CTAS_A", 2, "tenant_b", 1)));
+  }
+
+  @Test
+  public void shouldFailOnInvalidCachePartitionWeight() {
+    // Given:
+    final Map<String, Object> configs = ImmutableMap.of(
+        "ksql.plugins.rocksdb.total.memory", TOTAL_OFF_HEAP_MEMORY,
+        "ksql.plugins.rocksdb.cache.partitions", "CTAS_A:0"
+    );
+
+    // Expect:
+    expectedException.expect(ConfigException.class);
+    expectedException.expectMessage("Weight must be at least 1");
+
+    // When:
+    new KsqlBoundedMemoryRocksDBConfig(configs).getCachePartitionWeights();
+  }
 }
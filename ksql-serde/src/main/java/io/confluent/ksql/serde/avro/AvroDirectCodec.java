@@ -0,0 +1,531 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.ksql.util.DecimalUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.Encoder;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Compiles readers and writers that convert directly between Avro binary and KSQL values.
+ *
+ * <p>Readers are compiled once per writer schema. They resolve the writer's schema against the
+ * KSQL schema with the same rules as {@link io.confluent.ksql.serde.connect.ConnectDataTranslator}:
+ * struct fields are matched case-insensitively, missing fields are null and numeric types are
+ * widened. No intermediate Avro or Connect objects are created.
+ *
+ * <p>Maps with optional keys, which is every KSQL map, are written by Connect as an array of
+ * {@code MapEntry} key-value records. Both readers and writers handle this shape.
+ *
+ * <p>Schemas the compiler does not support, e.g. unions of more than one non-null type, cause
+ * it to throw {@link IllegalArgumentException}, in which case callers fall back to the
+ * converter based serde. This includes type mismatches, so that the fallback reports the error.
+ */
+final class AvroDirectCodec {
+
+  private static final String CONNECT_INTERNAL_TYPE_PROP = "connect.internal.type";
+  private static final String MAP_ENTRY_TYPE_NAME = "MapEntry";
+  private static final String MAP_ENTRY_NAMESPACE = "io.confluent.connect.avro";
+  private static final String MAP_ENTRY_KEY_FIELD = "key";
+  private static final String MAP_ENTRY_VALUE_FIELD = "value";
+
+  private AvroDirectCodec() {
+  }
+
+  interface ValueReader {
+
+    Object read(Decoder in) throws IOException;
+  }
+
+  interface ValueWriter {
+
+    void write(Encoder out, Object value) throws IOException;
+  }
+
+  /**
+   * Compile a reader of data written with {@code writerSchema}.
+   *
+   * @param writerSchema the schema the data was written with.
+   * @param ksqlSchema the KSQL schema of the values to read.
+   * @param compatibleSchema the Avro compatible version of {@code ksqlSchema}, whose field names
+   *                         are used to match struct fields.
+   * @return the reader.
+   */
+  static ValueReader compileReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema ksqlSchema,
+      final Schema compatibleSchema
+  ) {
+    switch (writerSchema.getType()) {
+      case UNION:
+        return unionReader(writerSchema, ksqlSchema, compatibleSchema);
+      case RECORD:
+        requireType(writerSchema, ksqlSchema, Schema.Type.STRUCT);
+        return structReader(writerSchema, ksqlSchema, compatibleSchema);
+      case ARRAY:
+        if (ksqlSchema.type() == Schema.Type.MAP) {
+          return mapEntriesReader(writerSchema, ksqlSchema, compatibleSchema);
+        }
+        requireType(writerSchema, ksqlSchema, Schema.Type.ARRAY);
+        return arrayReader(
+            compileReader(
+                writerSchema.getElementType(),
+                ksqlSchema.valueSchema(),
+                compatibleSchema.valueSchema()
+            )
+        );
+      case MAP:
+        requireType(writerSchema, ksqlSchema, Schema.Type.MAP);
+        requireType(writerSchema, ksqlSchema.keySchema(), Schema.Type.STRING);
+        return mapReader(
+            compileReader(
+                writerSchema.getValueType(),
+                ksqlSchema.valueSchema(),
+                compatibleSchema.valueSchema()
+            )
+        );
+      default:
+        return primitiveReader(writerSchema, ksqlSchema);
+    }
+  }
+
+  /**
+   * Compile a writer of KSQL values.
+   *
+   * @param avroSchema the Avro schema to write, as generated from {@code compatibleSchema}.
+   * @param compatibleSchema the Avro compatible version of the KSQL schema of the values.
+   * @return the writer.
+   */
+  static ValueWriter compileWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema
+  ) {
+    switch (avroSchema.getType()) {
+      case UNION:
+        return optionalWriter(avroSchema, compatibleSchema);
+      case RECORD:
+        return structWriter(avroSchema, compatibleSchema);
+      case ARRAY:
+        if (compatibleSchema.type() == Schema.Type.MAP) {
+          return mapEntriesWriter(avroSchema, compatibleSchema);
+        }
+        final ValueWriter elementWriter =
+            compileWriter(avroSchema.getElementType(), compatibleSchema.valueSchema());
+        return (out, value) -> {
+          final List<?> list = (List<?>) value;
+          out.writeArrayStart();
+          out.setItemCount(list.size());
+          for (final Object element : list) {
+            out.startItem();
+            elementWriter.write(out, element);
+          }
+          out.writeArrayEnd();
+        };
+      case MAP:
+        final ValueWriter valueWriter =
+            compileWriter(avroSchema.getValueType(), compatibleSchema.valueSchema());
+        return (out, value) -> {
+          final Map<?, ?> map = (Map<?, ?>) value;
+          out.writeMapStart();
+          out.setItemCount(map.size());
+          for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            out.startItem();
+            out.writeString((String) entry.getKey());
+            valueWriter.write(out, entry.getValue());
+          }
+          out.writeMapEnd();
+        };
+      default:
+        return primitiveWriter(avroSchema, compatibleSchema);
+    }
+  }
+
+  private static ValueReader unionReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema ksqlSchema,
+      final Schema compatibleSchema
+  ) {
+    final List<org.apache.avro.Schema> branches = writerSchema.getTypes();
+    final int nullIndex = nullBranchIndex(writerSchema);
+    if (branches.size() != 2 || nullIndex < 0) {
+      throw new IllegalArgumentException("Unsupported union: " + writerSchema);
+    }
+
+    final ValueReader valueReader =
+        compileReader(branches.get(1 - nullIndex), ksqlSchema, compatibleSchema);
+
+    return in -> {
+      if (in.readIndex() == nullIndex) {
+        in.readNull();
+        return null;
+      }
+      return valueReader.read(in);
+    };
+  }
+
+  private static ValueReader structReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema ksqlSchema,
+      final Schema compatibleSchema
+  ) {
+    // Match fields the same way as ConnectDataTranslator, where the last writer field wins:
+    final Map<String, Integer> writerFieldIndexes = new HashMap<>();
+    final List<org.apache.avro.Schema.Field> writerFields = writerSchema.getFields();
+    for (int i = 0; i < writerFields.size(); i++) {
+      writerFieldIndexes.put(writerFields.get(i).name().toUpperCase(), i);
+    }
+
+    final Field[] targets = new Field[writerFields.size()];
+    final ValueReader[] readers = new ValueReader[writerFields.size()];
+    final List<Field> ksqlFields = ksqlSchema.fields();
+    final List<Field> compatibleFields = compatibleSchema.fields();
+    for (int i = 0; i < compatibleFields.size(); i++) {
+      final Field compatible = compatibleFields.get(i);
+      final Integer writerIdx = writerFieldIndexes.get(compatible.name().toUpperCase());
+      if (writerIdx != null) {
+        targets[writerIdx] = ksqlFields.get(i);
+        readers[writerIdx] = compileReader(
+            writerFields.get(writerIdx).schema(),
+            ksqlFields.get(i).schema(),
+            compatible.schema()
+        );
+      }
+    }
+
+    return in -> {
+      final Struct struct = new Struct(ksqlSchema);
+      for (int i = 0; i < readers.length; i++) {
+        if (readers[i] == null) {
+          GenericDatumReader.skip(writerFields.get(i).schema(), in);
+        } else {
+          struct.put(targets[i], readers[i].read(in));
+        }
+      }
+      return struct;
+    };
+  }
+
+  private static ValueReader arrayReader(final ValueReader elementReader) {
+    return in -> {
+      final List<Object> list = new ArrayList<>();
+      for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+        for (long i = 0; i < n; i++) {
+          list.add(elementReader.read(in));
+        }
+      }
+      return list;
+    };
+  }
+
+  private static ValueReader mapReader(final ValueReader valueReader) {
+    return in -> {
+      final Map<Object, Object> map = new HashMap<>();
+      for (long n = in.readMapStart(); n != 0; n = in.mapNext()) {
+        for (long i = 0; i < n; i++) {
+          final String key = in.readString();
+          map.put(key, valueReader.read(in));
+        }
+      }
+      return map;
+    };
+  }
+
+  private static ValueReader mapEntriesReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema ksqlSchema,
+      final Schema compatibleSchema
+  ) {
+    final org.apache.avro.Schema entrySchema = requireMapEntry(writerSchema);
+    final boolean keyFirst = entrySchema.getField(MAP_ENTRY_KEY_FIELD).pos() == 0;
+
+    final ValueReader keyReader = compileReader(
+        entrySchema.getField(MAP_ENTRY_KEY_FIELD).schema(),
+        ksqlSchema.keySchema(),
+        compatibleSchema.keySchema()
+    );
+    final ValueReader valueReader = compileReader(
+        entrySchema.getField(MAP_ENTRY_VALUE_FIELD).schema(),
+        ksqlSchema.valueSchema(),
+        compatibleSchema.valueSchema()
+    );
+
+    return in -> {
+      final Map<Object, Object> map = new HashMap<>();
+      for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+        for (long i = 0; i < n; i++) {
+          if (keyFirst) {
+            final Object key = keyReader.read(in);
+            map.put(key, valueReader.read(in));
+          } else {
+            final Object value = valueReader.read(in);
+            map.put(keyReader.read(in), value);
+          }
+        }
+      }
+      return map;
+    };
+  }
+
+  // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
+  private static ValueReader primitiveReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema ksqlSchema
+  ) {
+    // CHECKSTYLE_RULES.ON: CyclomaticComplexity
+    final org.apache.avro.Schema.Type writerType = writerSchema.getType();
+    switch (ksqlSchema.type()) {
+      case BOOLEAN:
+        if (writerType == org.apache.avro.Schema.Type.BOOLEAN) {
+          return Decoder::readBoolean;
+        }
+        break;
+      case INT32:
+        if (writerType == org.apache.avro.Schema.Type.INT) {
+          return Decoder::readInt;
+        }
+        break;
+      case INT64:
+        if (writerType == org.apache.avro.Schema.Type.INT) {
+          return in -> (long) in.readInt();
+        }
+        if (writerType == org.apache.avro.Schema.Type.LONG) {
+          return Decoder::readLong;
+        }
+        break;
+      case FLOAT64:
+        if (writerType == org.apache.avro.Schema.Type.FLOAT) {
+          return in -> (double) in.readFloat();
+        }
+        if (writerType == org.apache.avro.Schema.Type.DOUBLE) {
+          return Decoder::readDouble;
+        }
+        break;
+      case STRING:
+        return stringReader(writerSchema);
+      case BYTES:
+        final LogicalType logicalType = writerSchema.getLogicalType();
+        if (writerType == org.apache.avro.Schema.Type.BYTES
+            && logicalType instanceof LogicalTypes.Decimal
+            && DecimalUtil.isDecimal(ksqlSchema)) {
+          final int scale = ((LogicalTypes.Decimal) logicalType).getScale();
+          return in -> {
+            final ByteBuffer buffer = in.readBytes(null);
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new BigDecimal(new BigInteger(bytes), scale);
+          };
+        }
+        break;
+      default:
+        break;
+    }
+
+    throw new IllegalArgumentException("Unsupported conversion from " + writerSchema
+        + " to " + ksqlSchema.type());
+  }
+
+  private static ValueReader stringReader(final org.apache.avro.Schema writerSchema) {
+    switch (writerSchema.getType()) {
+      case STRING:
+        return Decoder::readString;
+      case ENUM:
+        final List<String> symbols = writerSchema.getEnumSymbols();
+        return in -> symbols.get(in.readEnum());
+      case BOOLEAN:
+        return in -> String.valueOf(in.readBoolean());
+      case INT:
+        return in -> String.valueOf(in.readInt());
+      case LONG:
+        return in -> String.valueOf(in.readLong());
+      case FLOAT:
+        return in -> String.valueOf(in.readFloat());
+      case DOUBLE:
+        return in -> String.valueOf(in.readDouble());
+      default:
+        throw new IllegalArgumentException("Unsupported conversion from " + writerSchema
+            + " to STRING");
+    }
+  }
+
+  private static ValueWriter optionalWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema
+  ) {
+    final int nullIndex = nullBranchIndex(avroSchema);
+    if (avroSchema.getTypes().size() != 2 || nullIndex < 0) {
+      throw new IllegalArgumentException("Unsupported union: " + avroSchema);
+    }
+
+    final int valueIndex = 1 - nullIndex;
+    final ValueWriter valueWriter =
+        compileWriter(avroSchema.getTypes().get(valueIndex), compatibleSchema);
+
+    return (out, value) -> {
+      if (value == null) {
+        out.writeIndex(nullIndex);
+        out.writeNull();
+      } else {
+        out.writeIndex(valueIndex);
+        valueWriter.write(out, value);
+      }
+    };
+  }
+
+  private static ValueWriter mapEntriesWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema
+  ) {
+    final org.apache.avro.Schema entrySchema = requireMapEntry(avroSchema);
+    final boolean keyFirst = entrySchema.getField(MAP_ENTRY_KEY_FIELD).pos() == 0;
+
+    final ValueWriter keyWriter = compileWriter(
+        entrySchema.getField(MAP_ENTRY_KEY_FIELD).schema(),
+        compatibleSchema.keySchema()
+    );
+    final ValueWriter valueWriter = compileWriter(
+        entrySchema.getField(MAP_ENTRY_VALUE_FIELD).schema(),
+        compatibleSchema.valueSchema()
+    );
+
+    return (out, value) -> {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      out.writeArrayStart();
+      out.setItemCount(map.size());
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        out.startItem();
+        if (keyFirst) {
+          keyWriter.write(out, entry.getKey());
+          valueWriter.write(out, entry.getValue());
+        } else {
+          valueWriter.write(out, entry.getValue());
+          keyWriter.write(out, entry.getKey());
+        }
+      }
+      out.writeArrayEnd();
+    };
+  }
+
+  private static ValueWriter structWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema
+  ) {
+    if (compatibleSchema.type() != Schema.Type.STRUCT) {
+      throw new IllegalArgumentException("Unsupported schema: " + avroSchema);
+    }
+
+    final List<org.apache.avro.Schema.Field> avroFields = avroSchema.getFields();
+    final List<Field> fields = compatibleSchema.fields();
+    if (avroFields.size() != fields.size()) {
+      throw new IllegalArgumentException("Field count mismatch: " + avroSchema);
+    }
+
+    final ValueWriter[] writers = new ValueWriter[fields.size()];
+    for (int i = 0; i < writers.length; i++) {
+      writers[i] = compileWriter(avroFields.get(i).schema(), fields.get(i).schema());
+    }
+
+    return (out, value) -> {
+      // The value's schema is the KSQL schema, which has the same field positions:
+      final Struct struct = (Struct) value;
+      for (int i = 0; i < writers.length; i++) {
+        writers[i].write(out, struct.get(fields.get(i)));
+      }
+    };
+  }
+
+  private static ValueWriter primitiveWriter(
+      final org.apache.avro.Schema avroSchema,
+      final Schema compatibleSchema
+  ) {
+    switch (avroSchema.getType()) {
+      case BOOLEAN:
+        return (out, value) -> out.writeBoolean((Boolean) value);
+      case INT:
+        return (out, value) -> out.writeInt((Integer) value);
+      case LONG:
+        return (out, value) -> out.writeLong((Long) value);
+      case DOUBLE:
+        return (out, value) -> out.writeDouble((Double) value);
+      case STRING:
+        return (out, value) -> out.writeString((String) value);
+      case BYTES:
+        if (!DecimalUtil.isDecimal(compatibleSchema)) {
+          break;
+        }
+        return (out, value) ->
+            out.writeBytes(Decimal.fromLogical(compatibleSchema, (BigDecimal) value));
+      default:
+        break;
+    }
+
+    throw new IllegalArgumentException("Unsupported schema: " + avroSchema);
+  }
+
+  private static int nullBranchIndex(final org.apache.avro.Schema union) {
+    final List<org.apache.avro.Schema> branches = union.getTypes();
+    for (int i = 0; i < branches.size(); i++) {
+      if (branches.get(i).getType() == org.apache.avro.Schema.Type.NULL) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return the entry record of an array written by Connect for a map with optional keys.
+   */
+  private static org.apache.avro.Schema requireMapEntry(final org.apache.avro.Schema arraySchema) {
+    final org.apache.avro.Schema entrySchema = arraySchema.getElementType();
+    final boolean isMapEntry = entrySchema.getType() == org.apache.avro.Schema.Type.RECORD
+        && (MAP_ENTRY_TYPE_NAME.equals(entrySchema.getProp(CONNECT_INTERNAL_TYPE_PROP))
+            || (MAP_ENTRY_TYPE_NAME.equals(entrySchema.getName())
+                && MAP_ENTRY_NAMESPACE.equals(entrySchema.getNamespace())))
+        && entrySchema.getFields().size() == 2
+        && entrySchema.getField(MAP_ENTRY_KEY_FIELD) != null
+        && entrySchema.getField(MAP_ENTRY_VALUE_FIELD) != null;
+
+    if (!isMapEntry) {
+      throw new IllegalArgumentException("Unsupported map encoding: " + arraySchema);
+    }
+    return entrySchema;
+  }
+
+  private static void requireType(
+      final org.apache.avro.Schema writerSchema,
+      final Schema ksqlSchema,
+      final Schema.Type type
+  ) {
+    if (ksqlSchema.type() != type) {
+      throw new IllegalArgumentException("Unsupported conversion from " + writerSchema
+          + " to " + ksqlSchema.type());
+    }
+  }
+}
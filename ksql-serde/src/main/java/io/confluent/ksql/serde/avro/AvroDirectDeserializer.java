@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.serde.avro.AvroDirectCodec.ValueReader;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deserializer that reads Avro binary straight into KSQL values.
+ *
+ * <p>A reader is compiled, and cached, for each writer schema id seen. Data written with a
+ * schema the direct path does not support is deserialized by the {@code fallback}.
+ *
+ * <p>Instances are not thread-safe: use with {@link io.confluent.ksql.serde.tls}.
+ */
+class AvroDirectDeserializer implements Deserializer<Object> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AvroDirectDeserializer.class);
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+  private final SchemaRegistryClient srClient;
+  private final Schema ksqlSchema;
+  private final Schema compatibleSchema;
+  private final Deserializer<Object> fallback;
+  private final Map<Integer, Optional<ValueReader>> readers = new HashMap<>();
+  private BinaryDecoder decoder;
+
+  AvroDirectDeserializer(
+      final SchemaRegistryClient srClient,
+      final Schema ksqlSchema,
+      final Schema compatibleSchema,
+      final Deserializer<Object> fallback
+  ) {
+    this.srClient = Objects.requireNonNull(srClient, "srClient");
+    this.ksqlSchema = Objects.requireNonNull(ksqlSchema, "ksqlSchema");
+    this.compatibleSchema = Objects.requireNonNull(compatibleSchema, "compatibleSchema");
+    this.fallback = Objects.requireNonNull(fallback, "fallback");
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public Object deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != MAGIC_BYTE) {
+      return fallback.deserialize(topic, bytes);
+    }
+
+    final int schemaId = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+    final Optional<ValueReader> reader = readers.computeIfAbsent(schemaId, this::compile);
+    if (!reader.isPresent()) {
+      return fallback.deserialize(topic, bytes);
+    }
+
+    try {
+      decoder = DecoderFactory.get()
+          .binaryDecoder(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE, decoder);
+      return reader.get().read(decoder);
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error deserializing message from topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    fallback.close();
+  }
+
+  private Optional<ValueReader> compile(final int schemaId) {
+    try {
+      final org.apache.avro.Schema writerSchema = srClient.getById(schemaId);
+      return Optional.of(AvroDirectCodec.compileReader(writerSchema, ksqlSchema, compatibleSchema));
+    } catch (final Exception e) {
+      LOG.debug("Schema id {} not supported by direct Avro deserialization", schemaId, e);
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.serde.avro.AvroDirectCodec.ValueWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Serializer that writes KSQL values straight to Avro binary.
+ *
+ * <p>The written Avro schema is the one the converter based serializer would write, and is
+ * registered under the same subject, so the two are interchangeable.
+ *
+ * <p>Instances are not thread-safe: use with {@link io.confluent.ksql.serde.tls}.
+ */
+class AvroDirectSerializer implements Serializer<Object> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final String VALUE_SUBJECT_SUFFIX = "-value";
+
+  private final SchemaRegistryClient srClient;
+  private final org.apache.avro.Schema avroSchema;
+  private final ValueWriter writer;
+  private final boolean autoRegisterSchema;
+  private final Map<String, Integer> schemaIds = new HashMap<>();
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  private BinaryEncoder encoder;
+
+  AvroDirectSerializer(
+      final SchemaRegistryClient srClient,
+      final org.apache.avro.Schema avroSchema,
+      final ValueWriter writer,
+      final boolean autoRegisterSchema
+  ) {
+    this.srClient = Objects.requireNonNull(srClient, "srClient");
+    this.avroSchema = Objects.requireNonNull(avroSchema, "avroSchema");
+    this.writer = Objects.requireNonNull(writer, "writer");
+    this.autoRegisterSchema = autoRegisterSchema;
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final Object data) {
+    if (data == null) {
+      return null;
+    }
+
+    try {
+      final int schemaId = schemaId(topic);
+
+      buffer.reset();
+      buffer.write(MAGIC_BYTE);
+      buffer.write(ByteBuffer.allocate(Integer.BYTES).putInt(schemaId).array());
+
+      encoder = EncoderFactory.get().directBinaryEncoder(buffer, encoder);
+      writer.write(encoder, data);
+      encoder.flush();
+
+      return buffer.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error serializing message to topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private int schemaId(final String topic) throws Exception {
+    final Integer cached = schemaIds.get(topic);
+    if (cached != null) {
+      return cached;
+    }
+
+    final String subject = topic + VALUE_SUBJECT_SUFFIX;
+    final int schemaId = autoRegisterSchema
+        ? srClient.register(subject, avroSchema)
+        : srClient.getId(subject, avroSchema);
+
+    schemaIds.put(topic, schemaId);
+    return schemaId;
+  }
+}
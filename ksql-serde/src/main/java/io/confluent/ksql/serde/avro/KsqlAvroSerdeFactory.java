@@ -17,11 +17,13 @@ package io.confluent.ksql.serde.avro;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.connect.avro.AvroConverter;
+import io.confluent.connect.avro.AvroData;
 import io.confluent.connect.avro.AvroDataConfig;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
+import io.confluent.ksql.serde.avro.AvroDirectCodec.ValueWriter;
 import io.confluent.ksql.serde.connect.KsqlConnectDeserializer;
 import io.confluent.ksql.serde.connect.KsqlConnectSerializer;
 import io.confluent.ksql.serde.tls.ThreadLocalDeserializer;
@@ -34,6 +36,8 @@ import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.DataException;
 
 @Immutable
 public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
@@ -58,16 +62,15 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
       final KsqlConfig ksqlConfig,
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
   ) {
-    final Supplier<Serializer<Object>> serializerSupplier = () -> createConnectSerializer(
-        schema,
-        ksqlConfig,
-        schemaRegistryClientFactory
-    );
+    final boolean direct = ksqlConfig.getBoolean(KsqlConfig.KSQL_AVRO_DIRECT_SERDE_ENABLE_CONFIG);
+
+    final Supplier<Serializer<Object>> serializerSupplier = () -> direct
+        ? createDirectSerializer(schema, ksqlConfig, schemaRegistryClientFactory)
+        : createConnectSerializer(schema, ksqlConfig, schemaRegistryClientFactory);
 
-    final Supplier<Deserializer<Object>> deserializerSupplier = () -> createConnectDeserializer(
-        schema,
-        ksqlConfig,
-        schemaRegistryClientFactory);
+    final Supplier<Deserializer<Object>> deserializerSupplier = () -> direct
+        ? createDirectDeserializer(schema, ksqlConfig, schemaRegistryClientFactory)
+        : createConnectDeserializer(schema, ksqlConfig, schemaRegistryClientFactory);
 
     // Sanity check:
     serializerSupplier.get();
@@ -126,6 +129,60 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     return new KsqlConnectDeserializer(avroConverter, translator);
   }
 
+  private Serializer<Object> createDirectSerializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    final Map<String, Object> avroConfig = getAvroConfig(ksqlConfig);
+    if (avroConfig.containsKey(AbstractKafkaAvroSerDeConfig.VALUE_SUBJECT_NAME_STRATEGY)) {
+      // Only the default subject naming is supported by the direct serializer:
+      return createConnectSerializer(schema, ksqlConfig, schemaRegistryClientFactory);
+    }
+
+    final Schema compatibleSchema = createAvroTranslator(schema, ksqlConfig)
+        .getAvroCompatibleSchema();
+
+    final org.apache.avro.Schema avroSchema = new AvroData(new AvroDataConfig(avroConfig))
+        .fromConnectSchema(compatibleSchema);
+
+    final ValueWriter writer;
+    try {
+      writer = AvroDirectCodec.compileWriter(avroSchema, compatibleSchema);
+    } catch (final IllegalArgumentException | DataException e) {
+      return createConnectSerializer(schema, ksqlConfig, schemaRegistryClientFactory);
+    }
+
+    final boolean autoRegister = Boolean.parseBoolean(String.valueOf(avroConfig.getOrDefault(
+        AbstractKafkaAvroSerDeConfig.AUTO_REGISTER_SCHEMAS,
+        AbstractKafkaAvroSerDeConfig.AUTO_REGISTER_SCHEMAS_DEFAULT
+    )));
+
+    return new AvroDirectSerializer(
+        schemaRegistryClientFactory.get(),
+        avroSchema,
+        writer,
+        autoRegister
+    );
+  }
+
+  private Deserializer<Object> createDirectDeserializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    final SchemaRegistryClient srClient = schemaRegistryClientFactory.get();
+
+    final AvroDataTranslator translator = createAvroTranslator(schema, ksqlConfig);
+
+    return new AvroDirectDeserializer(
+        srClient,
+        schema.serializedSchema(),
+        translator.getAvroCompatibleSchema(),
+        createConnectDeserializer(schema, ksqlConfig, () -> srClient)
+    );
+  }
+
   private AvroDataTranslator createAvroTranslator(
       final PersistenceSchema schema,
       final KsqlConfig ksqlConfig
@@ -141,6 +198,11 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
   ) {
     final AvroConverter avroConverter = new AvroConverter(schemaRegistryClient);
 
+    avroConverter.configure(getAvroConfig(ksqlConfig), false);
+    return avroConverter;
+  }
+
+  private static Map<String, Object> getAvroConfig(final KsqlConfig ksqlConfig) {
     final Map<String, Object> avroConfig = ksqlConfig
         .originalsWithPrefix(KsqlConfig.KSQL_SCHEMA_REGISTRY_PREFIX);
 
@@ -149,7 +211,6 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
 
     avroConfig.put(AvroDataConfig.CONNECT_META_DATA_CONFIG, false);
 
-    avroConverter.configure(avroConfig, false);
-    return avroConverter;
+    return avroConfig;
   }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.compact;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Serde for an internal, compact binary row format.
+ *
+ * <p>The format is only for data that ksql both writes and reads, such as the values of state
+ * stores, and is never exposed to users. Unlike the user facing formats it is independent of
+ * the topic's value format and does not repeat column names in every row.
+ *
+ * <p>Each row is a format version byte and a flags byte, followed by the row body. The body is
+ * the column count, a null bitmap and then each non-null value, encoded according to the
+ * column's schema. Bodies of at least {@link #COMPRESSION_THRESHOLD} bytes are deflated, if
+ * doing so makes them smaller, in which case the flags byte records the compression and the
+ * body is preceded by its uncompressed length.
+ */
+public final class CompactRowSerde {
+
+  static final int COMPRESSION_THRESHOLD = 256;
+
+  private static final byte FORMAT_VERSION = 1;
+  private static final byte FLAG_DEFLATED = 0x1;
+  private static final int HEADER_SIZE = 2;
+
+  private CompactRowSerde() {
+  }
+
+  /**
+   * Create a serde for rows with the supplied value schema.
+   *
+   * @param valueSchema the struct schema of the row's value columns.
+   * @return the serde.
+   */
+  public static Serde<GenericRow> from(final ConnectSchema valueSchema) {
+    requireNonNull(valueSchema, "valueSchema");
+    if (valueSchema.type() != Schema.Type.STRUCT) {
+      throw new IllegalArgumentException("value schema must be a struct: " + valueSchema);
+    }
+
+    return Serdes.serdeFrom(
+        new CompactRowSerializer(valueSchema.fields()),
+        new CompactRowDeserializer(valueSchema.fields())
+    );
+  }
+
+  private static final class CompactRowSerializer implements Serializer<GenericRow> {
+
+    private final List<Field> fields;
+
+    CompactRowSerializer(final List<Field> fields) {
+      this.fields = requireNonNull(fields, "fields");
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final GenericRow row) {
+      if (row == null) {
+        return null;
+      }
+
+      final List<Object> values = row.getColumns();
+      if (values.size() != fields.size()) {
+        throw new SerializationException("Column count mismatch."
+            + " expected: " + fields.size()
+            + ", got: " + values.size());
+      }
+
+      try {
+        final byte[] body = writeBody(values);
+        if (body.length >= COMPRESSION_THRESHOLD) {
+          final byte[] deflated = deflate(body);
+          if (deflated != null) {
+            return deflated;
+          }
+        }
+
+        final byte[] result = new byte[HEADER_SIZE + body.length];
+        result[0] = FORMAT_VERSION;
+        result[1] = 0;
+        System.arraycopy(body, 0, result, HEADER_SIZE, body.length);
+        return result;
+      } catch (final Exception e) {
+        throw new SerializationException("Error serializing compact row for topic: " + topic, e);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private byte[] writeBody(final List<Object> values) throws IOException {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      final DataOutputStream out = new DataOutputStream(bytes);
+
+      CompactValueCodec.writeVarLong(out, values.size());
+
+      final byte[] nulls = new byte[(values.size() + Byte.SIZE - 1) / Byte.SIZE];
+      for (int i = 0; i < values.size(); i++) {
+        if (values.get(i) == null) {
+          nulls[i / Byte.SIZE] |= 1 << (i % Byte.SIZE);
+        }
+      }
+      out.write(nulls);
+
+      for (int i = 0; i < values.size(); i++) {
+        final Object value = values.get(i);
+        if (value != null) {
+          CompactValueCodec.writeValue(out, fields.get(i).schema(), value);
+        }
+      }
+
+      out.flush();
+      return bytes.toByteArray();
+    }
+
+    /**
+     * @return the complete deflated row, or {@code null} if deflating did not reduce its size.
+     */
+    private static byte[] deflate(final byte[] body) throws IOException {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length);
+      final DataOutputStream out = new DataOutputStream(bytes);
+      out.writeByte(FORMAT_VERSION);
+      out.writeByte(FLAG_DEFLATED);
+      CompactValueCodec.writeVarLong(out, body.length);
+
+      final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try (DeflaterOutputStream deflating = new DeflaterOutputStream(bytes, deflater)) {
+        deflating.write(body);
+      } finally {
+        deflater.end();
+      }
+
+      return bytes.size() < HEADER_SIZE + body.length ? bytes.toByteArray() : null;
+    }
+  }
+
+  private static final class CompactRowDeserializer implements Deserializer<GenericRow> {
+
+    private final List<Field> fields;
+
+    CompactRowDeserializer(final List<Field> fields) {
+      this.fields = requireNonNull(fields, "fields");
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+    }
+
+    @Override
+    public GenericRow deserialize(final String topic, final byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+
+      try {
+        return readRow(bytes);
+      } catch (final Exception e) {
+        throw new SerializationException("Error deserializing compact row for topic: " + topic, e);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private GenericRow readRow(final byte[] bytes) throws IOException {
+      if (bytes.length < HEADER_SIZE) {
+        throw new IOException("Row too short: " + bytes.length);
+      }
+
+      if (bytes[0] != FORMAT_VERSION) {
+        throw new IOException("Unsupported format version: " + bytes[0]);
+      }
+
+      final InputStream raw =
+          new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+
+      if ((bytes[1] & FLAG_DEFLATED) == 0) {
+        return readBody(new DataInputStream(raw));
+      }
+
+      final byte[] body = new byte[CompactValueCodec.readSize(new DataInputStream(raw))];
+      try (DataInputStream inflating = new DataInputStream(new InflaterInputStream(raw))) {
+        inflating.readFully(body);
+      }
+      return readBody(new DataInputStream(new ByteArrayInputStream(body)));
+    }
+
+    private GenericRow readBody(final DataInputStream in) throws IOException {
+      final int columnCount = CompactValueCodec.readSize(in);
+      if (columnCount != fields.size()) {
+        throw new IOException("Column count mismatch."
+            + " expected: " + fields.size()
+            + ", got: " + columnCount);
+      }
+
+      final byte[] nulls = new byte[(columnCount + Byte.SIZE - 1) / Byte.SIZE];
+      in.readFully(nulls);
+
+      final List<Object> values = new ArrayList<>(columnCount);
+      for (int i = 0; i < columnCount; i++) {
+        final boolean isNull = (nulls[i / Byte.SIZE] & (1 << (i % Byte.SIZE))) != 0;
+        values.add(isNull ? null : CompactValueCodec.readValue(in, fields.get(i).schema()));
+      }
+      return new GenericRow(values);
+    }
+  }
+}
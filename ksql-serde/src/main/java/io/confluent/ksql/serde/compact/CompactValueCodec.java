@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.compact;
+
+import io.confluent.ksql.util.DecimalUtil;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Encoding of connect values used by the compact row format.
+ *
+ * <p>Values are written without type information, as the reader knows the schema. Integers are
+ * written as zig-zag varints, as aggregate values such as counts are typically small. Nested
+ * values, i.e. array elements, map entries and struct fields, are each preceded by a presence
+ * byte, as they may be null.
+ */
+final class CompactValueCodec {
+
+  private CompactValueCodec() {
+  }
+
+  static void writeValue(
+      final DataOutput out,
+      final Schema schema,
+      final Object value
+  ) throws IOException {
+    switch (schema.type()) {
+      case BOOLEAN:
+        out.writeBoolean((Boolean) value);
+        break;
+      case INT32:
+        writeVarLong(out, (Integer) value);
+        break;
+      case INT64:
+        writeVarLong(out, (Long) value);
+        break;
+      case FLOAT64:
+        out.writeDouble((Double) value);
+        break;
+      case STRING:
+        writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        break;
+      case BYTES:
+        DecimalUtil.requireDecimal(schema);
+        writeBytes(out, ((BigDecimal) value)
+            .setScale(DecimalUtil.scale(schema), RoundingMode.HALF_UP)
+            .unscaledValue()
+            .toByteArray());
+        break;
+      case ARRAY:
+        final List<?> list = (List<?>) value;
+        writeVarLong(out, list.size());
+        for (final Object element : list) {
+          writeNullable(out, schema.valueSchema(), element);
+        }
+        break;
+      case MAP:
+        final Map<?, ?> map = (Map<?, ?>) value;
+        writeVarLong(out, map.size());
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+          writeNullable(out, schema.keySchema(), entry.getKey());
+          writeNullable(out, schema.valueSchema(), entry.getValue());
+        }
+        break;
+      case STRUCT:
+        final Struct struct = (Struct) value;
+        for (final Field field : schema.fields()) {
+          writeNullable(out, field.schema(), struct.get(field.name()));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported schema type: " + schema.type());
+    }
+  }
+
+  static Object readValue(final DataInput in, final Schema schema) throws IOException {
+    switch (schema.type()) {
+      case BOOLEAN:
+        return in.readBoolean();
+      case INT32:
+        return (int) readVarLong(in);
+      case INT64:
+        return readVarLong(in);
+      case FLOAT64:
+        return in.readDouble();
+      case STRING:
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+      case BYTES:
+        DecimalUtil.requireDecimal(schema);
+        return new BigDecimal(new BigInteger(readBytes(in)), DecimalUtil.scale(schema));
+      case ARRAY:
+        final int arraySize = readSize(in);
+        final List<Object> list = new ArrayList<>(arraySize);
+        for (int i = 0; i < arraySize; i++) {
+          list.add(readNullable(in, schema.valueSchema()));
+        }
+        return list;
+      case MAP:
+        final int mapSize = readSize(in);
+        final Map<Object, Object> map = new HashMap<>(mapSize * 4 / 3 + 1);
+        for (int i = 0; i < mapSize; i++) {
+          final Object key = readNullable(in, schema.keySchema());
+          map.put(key, readNullable(in, schema.valueSchema()));
+        }
+        return map;
+      case STRUCT:
+        final Struct struct = new Struct(schema);
+        for (final Field field : schema.fields()) {
+          struct.put(field, readNullable(in, field.schema()));
+        }
+        return struct;
+      default:
+        throw new IllegalArgumentException("Unsupported schema type: " + schema.type());
+    }
+  }
+
+  static void writeVarLong(final DataOutput out, final long value) throws IOException {
+    long zigZag = (value << 1) ^ (value >> 63);
+    while ((zigZag & ~0x7FL) != 0) {
+      out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+      zigZag >>>= 7;
+    }
+    out.writeByte((int) zigZag);
+  }
+
+  static long readVarLong(final DataInput in) throws IOException {
+    long zigZag = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      final byte b = in.readByte();
+      zigZag |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  static int readSize(final DataInput in) throws IOException {
+    final long size = readVarLong(in);
+    if (size < 0 || size > Integer.MAX_VALUE) {
+      throw new IOException("Invalid size: " + size);
+    }
+    return (int) size;
+  }
+
+  private static void writeNullable(
+      final DataOutput out,
+      final Schema schema,
+      final Object value
+  ) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      writeValue(out, schema, value);
+    }
+  }
+
+  private static Object readNullable(final DataInput in, final Schema schema) throws IOException {
+    return in.readBoolean() ? readValue(in, schema) : null;
+  }
+
+  private static void writeBytes(final DataOutput out, final byte[] bytes) throws IOException {
+    writeVarLong(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(final DataInput in) throws IOException {
+    final byte[] bytes = new byte[readSize(in)];
+    in.readFully(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlConstants;
+import java.math.BigDecimal;
+import java.util.Collections;
+import org.apache.avro.generic.GenericData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AvroDirectSerdeTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final ConnectSchema ORDER_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ORDERID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("PRICES", SchemaBuilder
+          .array(Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("TAGS", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_STRING_SCHEMA)
+          .optional()
+          .build())
+      .field("MISSING", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .optional()
+      .build();
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ZIP", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final ConnectSchema CUSTOMER_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("BALANCE", DecimalUtil.builder(4, 2).build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .field("ADDRESSES", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, ADDRESS_SCHEMA)
+          .optional()
+          .build())
+      .optional()
+      .build();
+
+  private static final org.apache.avro.Schema WRITER_SCHEMA =
+      new org.apache.avro.Schema.Parser().parse("{"
+          + "\"name\": \"orders\","
+          + "\"type\": \"record\","
+          + "\"fields\": ["
+          + " {\"name\": \"orderId\", \"type\": \"int\"},"
+          + " {\"name\": \"ignored\", \"type\": {\"type\": \"array\", \"items\": \"string\"}},"
+          + " {\"name\": \"itemId\", \"type\": [\"null\", \"string\"]},"
+          + " {\"name\": \"prices\", \"type\": {\"type\": \"array\", \"items\": \"float\"}},"
+          + " {\"name\": \"tags\", \"type\": {\"type\": \"map\", \"values\": \"string\"}}"
+          + " ]"
+          + "}");
+
+  private SchemaRegistryClient srClient;
+
+  @Before
+  public void setUp() {
+    srClient = new MockSchemaRegistryClient();
+  }
+
+  @Test
+  public void shouldDeserializeTheSameAsTheConnectPath() {
+    // Given:
+    final GenericData.Record record = new GenericData.Record(WRITER_SCHEMA);
+    record.put("orderId", 10);
+    record.put("ignored", ImmutableList.of("a", "b"));
+    record.put("itemId", "Item_1");
+    record.put("prices", ImmutableList.of(1.5f, 2.5f));
+    record.put("tags", ImmutableMap.of("k", "v"));
+
+    final byte[] bytes = givenAvroSerialized(record);
+
+    // When:
+    final Object direct = serde(true).deserializer().deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    final Struct expected = new Struct(ORDER_SCHEMA)
+        .put("ORDERID", 10L)
+        .put("ITEMID", "Item_1")
+        .put("PRICES", ImmutableList.of(1.5d, 2.5d))
+        .put("TAGS", ImmutableMap.of("k", "v"));
+
+    assertThat(direct, is(expected));
+    assertThat(direct, is(serde(false).deserializer().deserialize(SOME_TOPIC, bytes)));
+  }
+
+  @Test
+  public void shouldRoundTripViaDirectSerializer() {
+    // Given:
+    final Struct value = new Struct(ORDER_SCHEMA)
+        .put("ORDERID", 10L)
+        .put("PRICES", Collections.singletonList(null))
+        .put("TAGS", ImmutableMap.of("k", "v"))
+        .put("MISSING", true);
+
+    // When:
+    final byte[] bytes = serde(true).serializer().serialize(SOME_TOPIC, value);
+
+    // Then:
+    assertThat(serde(false).deserializer().deserialize(SOME_TOPIC, bytes), is(value));
+    assertThat(serde(true).deserializer().deserialize(SOME_TOPIC, bytes), is(value));
+  }
+
+  @Test
+  public void shouldSerializeTheSameAsTheConnectPath() {
+    // Given:
+    final Struct value = new Struct(ORDER_SCHEMA)
+        .put("ORDERID", 10L)
+        .put("ITEMID", "Item_1");
+
+    // When:
+    final byte[] direct = serde(true).serializer().serialize(SOME_TOPIC, value);
+
+    // Then:
+    assertThat(direct, is(serde(false).serializer().serialize(SOME_TOPIC, value)));
+  }
+
+  @Test
+  public void shouldRoundTripOptionalKeyMapsNestedStructsAndDecimalsViaDirectSerializer() {
+    // Given:
+    final Struct value = givenCustomer();
+
+    // When:
+    final byte[] bytes = serde(CUSTOMER_SCHEMA, true).serializer().serialize(SOME_TOPIC, value);
+
+    // Then:
+    assertThat(serde(CUSTOMER_SCHEMA, false).deserializer().deserialize(SOME_TOPIC, bytes),
+        is(value));
+    assertThat(serde(CUSTOMER_SCHEMA, true).deserializer().deserialize(SOME_TOPIC, bytes),
+        is(value));
+  }
+
+  @Test
+  public void shouldSerializeOptionalKeyMapsNestedStructsAndDecimalsTheSameAsTheConnectPath() {
+    // Given:
+    final Struct value = givenCustomer();
+
+    // When:
+    final byte[] direct = serde(CUSTOMER_SCHEMA, true).serializer().serialize(SOME_TOPIC, value);
+
+    // Then:
+    assertThat(direct,
+        is(serde(CUSTOMER_SCHEMA, false).serializer().serialize(SOME_TOPIC, value)));
+  }
+
+  @Test
+  public void shouldDeserializeOptionalKeyMapsWrittenByTheConnectPath() {
+    // Given:
+    final Struct value = givenCustomer();
+    final byte[] bytes = serde(CUSTOMER_SCHEMA, false).serializer().serialize(SOME_TOPIC, value);
+
+    // When:
+    final Object direct = serde(CUSTOMER_SCHEMA, true).deserializer()
+        .deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(direct, is(value));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void shouldFallBackToConnectPathOnUnknownMagicByte() {
+    serde(true).deserializer().deserialize(SOME_TOPIC, new byte[]{1, 0, 0, 0, 1, 2});
+  }
+
+  private static Struct givenCustomer() {
+    final Struct address = new Struct(ADDRESS_SCHEMA)
+        .put("STREET", "1 Main St")
+        .put("ZIP", 94301);
+
+    return new Struct(CUSTOMER_SCHEMA)
+        .put("BALANCE", new BigDecimal("12.34"))
+        .put("ADDRESS", address)
+        .put("ADDRESSES", ImmutableMap.of("home", address));
+  }
+
+  private byte[] givenAvroSerialized(final GenericData.Record record) {
+    final KafkaAvroSerializer serializer = new KafkaAvroSerializer(srClient, ImmutableMap.of(
+        AbstractKafkaAvroSerDeConfig.AUTO_REGISTER_SCHEMAS, true,
+        AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, ""
+    ));
+
+    return serializer.serialize(SOME_TOPIC, record);
+  }
+
+  private Serde<Object> serde(final boolean direct) {
+    return serde(ORDER_SCHEMA, direct);
+  }
+
+  private Serde<Object> serde(final ConnectSchema schema, final boolean direct) {
+    final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url",
+        KsqlConfig.KSQL_AVRO_DIRECT_SERDE_ENABLE_CONFIG, direct
+    ));
+
+    return new KsqlAvroSerdeFactory(KsqlConstants.DEFAULT_AVRO_SCHEMA_FULL_NAME).createSerde(
+        PersistenceSchema.from(schema, false),
+        ksqlConfig,
+        () -> srClient
+    );
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.compact;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+public class CompactRowSerdeTest {
+
+  private static final Schema AVG_SCHEMA = SchemaBuilder.struct()
+      .field("SUM", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT64_SCHEMA)
+      .optional()
+      .build();
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("B", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("I", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("L", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("D", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("S", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("DEC", DecimalUtil.builder(4, 2).optional().build())
+      .field("A", SchemaBuilder.array(Schema.OPTIONAL_INT64_SCHEMA).optional().build())
+      .field("M", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_INT32_SCHEMA)
+          .optional()
+          .build())
+      .field("AVG", AVG_SCHEMA)
+      .build();
+
+  private final Serde<GenericRow> serde = CompactRowSerde.from(SCHEMA);
+
+  @Test
+  public void shouldRoundTripRow() {
+    // Given:
+    final GenericRow row = new GenericRow(
+        true,
+        -10,
+        Long.MAX_VALUE,
+        1.5d,
+        "foo",
+        new BigDecimal("12.34"),
+        Arrays.asList(1L, null, -3L),
+        ImmutableMap.of("k", 1),
+        new Struct(AVG_SCHEMA).put("SUM", 10L).put("COUNT", 2L)
+    );
+
+    // When:
+    final GenericRow result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldRoundTripNulls() {
+    // Given:
+    final GenericRow row = new GenericRow(Collections.nCopies(9, null));
+
+    // When:
+    final GenericRow result = roundTrip(row);
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldRoundTripLargeCompressedRow() {
+    // Given:
+    final GenericRow row = rowWithString(String.join("", Collections.nCopies(1000, "a")));
+
+    // When:
+    final byte[] bytes = serde.serializer().serialize("t", row);
+
+    // Then:
+    assertThat(bytes.length, is(lessThan(CompactRowSerde.COMPRESSION_THRESHOLD)));
+    assertThat(serde.deserializer().deserialize("t", bytes), is(row));
+  }
+
+  @Test
+  public void shouldHandleNullRows() {
+    assertThat(serde.serializer().serialize("t", null), is(nullValue()));
+    assertThat(serde.deserializer().deserialize("t", null), is(nullValue()));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void shouldThrowOnColumnCountMismatch() {
+    serde.serializer().serialize("t", new GenericRow(ImmutableList.of(true)));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void shouldThrowOnUnknownFormatVersion() {
+    serde.deserializer().deserialize("t", new byte[]{99, 0});
+  }
+
+  private GenericRow roundTrip(final GenericRow row) {
+    final byte[] bytes = serde.serializer().serialize("t", row);
+    return serde.deserializer().deserialize("t", bytes);
+  }
+
+  private static GenericRow rowWithString(final String value) {
+    final GenericRow row = new GenericRow(new ArrayList<>(Collections.nCopies(9, null)));
+    row.getColumns().set(4, value);
+    return row;
+  }
+}
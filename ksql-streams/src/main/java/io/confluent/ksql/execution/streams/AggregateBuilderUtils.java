@@ -23,6 +23,7 @@ import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
 import io.confluent.ksql.execution.materialization.AggregatesInfo;
 import io.confluent.ksql.execution.materialization.MaterializationInfo;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
@@ -31,6 +32,7 @@ import java.util.List;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Aggregator;
 import org.apache.kafka.streams.kstream.Materialized;
 import org.apache.kafka.streams.state.KeyValueStore;
 
@@ -61,6 +63,14 @@ public final class AggregateBuilderUtils {
     return materializedFactory.create(keySerde, valueSerde, StreamsUtil.buildOpName(queryContext));
   }
 
+  static <K> Aggregator<K, GenericRow, GenericRow> timeAggregator(
+      final KsqlQueryBuilder queryBuilder,
+      final Aggregator<K, GenericRow, GenericRow> aggregator) {
+    return queryBuilder.getLatencyMetrics()
+        .map(metrics -> metrics.timeAggregator(Step.AGGREGATE, aggregator))
+        .orElse(aggregator);
+  }
+
   static MaterializationInfo.Builder materializationInfoBuilder(
       final QueryContext queryContext,
       final int nonFuncColumns,
@@ -45,6 +45,7 @@ import io.confluent.ksql.execution.plan.TableFilter;
 import io.confluent.ksql.execution.plan.TableGroupBy;
 import io.confluent.ksql.execution.plan.TableMapValues;
 import io.confluent.ksql.execution.plan.TableSink;
+import io.confluent.ksql.execution.plan.TableTableForeignKeyJoin;
 import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
 import io.confluent.ksql.execution.windows.KsqlWindowExpression;
@@ -319,6 +320,24 @@ public final class ExecutionStepFactory {
     );
   }
 
+  public static <K> TableTableForeignKeyJoin<K> tableTableForeignKeyJoin(
+      final QueryContext.Stacker stacker,
+      final JoinType joinType,
+      final ColumnRef leftJoinColumn,
+      final ExecutionStep<KTableHolder<K>> left,
+      final ExecutionStep<KTableHolder<Struct>> right,
+      final LogicalSchema resultSchema
+  ) {
+    final QueryContext queryContext = stacker.getQueryContext();
+    return new TableTableForeignKeyJoin<>(
+        new DefaultExecutionStepProperties(resultSchema, queryContext),
+        joinType,
+        leftJoinColumn,
+        left,
+        right
+    );
+  }
+
   public static StreamAggregate streamAggregate(
       final QueryContext.Stacker stacker,
       final ExecutionStep<KGroupedStream<Struct, GenericRow>> sourceStep,
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import java.util.Collections;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+
+/**
+ * Applies a filter and the projection that follows it within a single processor node.
+ *
+ * <p>Rows rejected by the predicate produce no output. Rows that pass are projected and emitted,
+ * preserving input order.
+ */
+final class FilterSelectValueMapper<K>
+    implements ValueMapperWithKey<K, GenericRow, Iterable<GenericRow>> {
+
+  private final Predicate<K, GenericRow> predicate;
+  private final ValueMapper<GenericRow, GenericRow> mapper;
+
+  FilterSelectValueMapper(
+      final Predicate<K, GenericRow> predicate,
+      final ValueMapper<GenericRow, GenericRow> mapper
+  ) {
+    this.predicate = requireNonNull(predicate, "predicate");
+    this.mapper = requireNonNull(mapper, "mapper");
+  }
+
+  @Override
+  public Iterable<GenericRow> apply(final K key, final GenericRow row) {
+    if (!predicate.test(key, row)) {
+      return Collections.emptyList();
+    }
+
+    return Collections.singletonList(mapper.apply(row));
+  }
+}
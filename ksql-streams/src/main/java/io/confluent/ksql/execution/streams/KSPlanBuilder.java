@@ -38,9 +38,11 @@ import io.confluent.ksql.execution.plan.TableFilter;
 import io.confluent.ksql.execution.plan.TableGroupBy;
 import io.confluent.ksql.execution.plan.TableMapValues;
 import io.confluent.ksql.execution.plan.TableSink;
+import io.confluent.ksql.execution.plan.TableTableForeignKeyJoin;
 import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
 import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.util.KsqlConfig;
 import java.util.Objects;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.KGroupedStream;
@@ -110,6 +112,14 @@ public final class KSPlanBuilder implements PlanBuilder {
   @Override
   public KTableHolder<Struct> visitStreamAggregate(
       final StreamAggregate streamAggregate) {
+    if (streamAggregate.getSource() instanceof StreamGroupBy
+        && isAggregateCombineEnabled()
+        && StreamCombinedAggregateBuilder.canCombine(streamAggregate)) {
+      return buildCombinedAggregate(
+          (StreamGroupBy<?>) streamAggregate.getSource(),
+          streamAggregate
+      );
+    }
     final KGroupedStream<Struct, GenericRow> source = streamAggregate.getSource().build(this);
     return StreamAggregateBuilder.build(
         source,
@@ -121,8 +131,21 @@ public final class KSPlanBuilder implements PlanBuilder {
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public <K> KStreamHolder<K> visitStreamMapValues(
       final StreamMapValues<K> streamMapValues) {
+    if (streamMapValues.getSource() instanceof StreamFilter && isStatelessFusionEnabled()) {
+      final StreamFilter<K> streamFilter = (StreamFilter<K>) streamMapValues.getSource();
+      final KStreamHolder<K> source = streamFilter.getSource().build(this);
+      return StreamFilterMapValuesBuilder.build(
+          source,
+          streamFilter,
+          streamMapValues,
+          queryBuilder,
+          sqlPredicateFactory
+      );
+    }
+
     final KStreamHolder<K> source = streamMapValues.getSource().build(this);
     return StreamMapValuesBuilder.build(source, streamMapValues, queryBuilder);
   }
@@ -259,4 +282,35 @@ public final class KSPlanBuilder implements PlanBuilder {
     final KTableHolder<K> right = tableTableJoin.getRight().build(this);
     return TableTableJoinBuilder.build(left, right, tableTableJoin);
   }
+
+  @Override
+  public <K> KTableHolder<K> visitTableTableForeignKeyJoin(
+      final TableTableForeignKeyJoin<K> tableTableForeignKeyJoin) {
+    final KTableHolder<K> left = tableTableForeignKeyJoin.getLeft().build(this);
+    final KTableHolder<Struct> right = tableTableForeignKeyJoin.getRight().build(this);
+    return TableTableForeignKeyJoinBuilder.build(left, right, tableTableForeignKeyJoin);
+  }
+
+  private <K> KTableHolder<Struct> buildCombinedAggregate(
+      final StreamGroupBy<K> groupBy,
+      final StreamAggregate streamAggregate) {
+    final KStreamHolder<K> source = groupBy.getSource().build(this);
+    return StreamCombinedAggregateBuilder.build(
+        source,
+        groupBy,
+        streamAggregate,
+        queryBuilder,
+        streamsFactories.getMaterializedFactory(),
+        streamsFactories.getGroupedFactory(),
+        aggregateParamFactory
+    );
+  }
+
+  private boolean isAggregateCombineEnabled() {
+    return queryBuilder.getKsqlConfig().getBoolean(KsqlConfig.KSQL_AGGREGATE_COMBINE_ENABLE_CONFIG);
+  }
+
+  private boolean isStatelessFusionEnabled() {
+    return queryBuilder.getKsqlConfig().getBoolean(KsqlConfig.KSQL_STATELESS_FUSION_ENABLE_CONFIG);
+  }
 }
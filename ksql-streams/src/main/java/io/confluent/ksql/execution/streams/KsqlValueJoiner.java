@@ -25,25 +25,29 @@ import org.apache.kafka.streams.kstream.ValueJoiner;
 public final class KsqlValueJoiner implements ValueJoiner<GenericRow, GenericRow, GenericRow> {
   private final LogicalSchema leftSchema;
   private final LogicalSchema rightSchema;
+  private final int leftCount;
+  private final int rightCount;
 
   KsqlValueJoiner(final LogicalSchema leftSchema, final LogicalSchema rightSchema) {
     this.leftSchema = Objects.requireNonNull(leftSchema, "leftSchema");
     this.rightSchema = Objects.requireNonNull(rightSchema, "rightSchema");
+    this.leftCount = leftSchema.value().size();
+    this.rightCount = rightSchema.value().size();
   }
 
   @Override
   public GenericRow apply(final GenericRow left, final GenericRow right) {
-    final List<Object> columns = new ArrayList<>();
+    final List<Object> columns = new ArrayList<>(leftCount + rightCount);
     if (left != null) {
       columns.addAll(left.getColumns());
     } else {
-      fillWithNulls(columns, leftSchema.value().size());
+      fillWithNulls(columns, leftCount);
     }
 
     if (right != null) {
       columns.addAll(right.getColumns());
     } else {
-      fillWithNulls(columns, rightSchema.value().size());
+      fillWithNulls(columns, rightCount);
     }
 
     return new GenericRow(columns);
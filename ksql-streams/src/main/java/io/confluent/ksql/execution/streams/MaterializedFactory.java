@@ -16,6 +16,8 @@
 package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.serde.compact.CompactRowSerde;
 import io.confluent.ksql.util.KsqlConfig;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.kstream.Materialized;
@@ -25,6 +27,15 @@ public interface MaterializedFactory {
   <K, S extends StateStore> Materialized<K, GenericRow, S> create(
       Serde<K> keySerde, Serde<GenericRow> valSerde, String name);
 
+  /**
+   * Get the serde for the values of a windowed aggregate's state store.
+   *
+   * @param schema the physical schema of the aggregation.
+   * @param formatSerde the serde for the query's value format.
+   * @return either {@code formatSerde} or a serde for the internal compact row format.
+   */
+  Serde<GenericRow> windowedStoreValueSerde(PhysicalSchema schema, Serde<GenericRow> formatSerde);
+
   static MaterializedFactory create(final KsqlConfig ksqlConfig) {
     return create(
         ksqlConfig,
@@ -48,27 +59,32 @@ public interface MaterializedFactory {
   static MaterializedFactory create(
       final KsqlConfig ksqlConfig,
       final Materializer materializer) {
-    if (StreamsUtil.useProvidedName(ksqlConfig)) {
-      return new MaterializedFactory() {
-        @Override
-        public <K, S extends StateStore> Materialized<K, GenericRow, S> create(
-            final Serde<K> keySerde,
-            final Serde<GenericRow> valSerde,
-            final String name) {
-          return materializer.<K, GenericRow, S>materializedAs(name)
-              .withKeySerde(keySerde)
-              .withValueSerde(valSerde);
-        }
-      };
-    }
+    final boolean useProvidedName = StreamsUtil.useProvidedName(ksqlConfig);
+    final boolean compactWindowedStores =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_WINDOWED_AGGREGATE_COMPACT_STORE_ENABLE_CONFIG);
+
     return new MaterializedFactory() {
       @Override
       public <K, S extends StateStore> Materialized<K, GenericRow, S> create(
           final Serde<K> keySerde,
           final Serde<GenericRow> valSerde,
           final String name) {
+        if (useProvidedName) {
+          return materializer.<K, GenericRow, S>materializedAs(name)
+              .withKeySerde(keySerde)
+              .withValueSerde(valSerde);
+        }
         return materializer.materializedWith(keySerde, valSerde);
       }
+
+      @Override
+      public Serde<GenericRow> windowedStoreValueSerde(
+          final PhysicalSchema schema,
+          final Serde<GenericRow> formatSerde) {
+        return compactWindowedStores
+            ? CompactRowSerde.from(schema.logicalSchema().valueConnectSchema())
+            : formatSerde;
+      }
     };
   }
 
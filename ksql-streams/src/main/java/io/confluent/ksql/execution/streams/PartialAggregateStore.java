@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.function.udaf.KudafAccumulator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.StoreBuilder;
+import org.apache.kafka.streams.state.TimestampedKeyValueStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+
+/**
+ * Store of the partial aggregates of a {@link PartialAggregateTransformer}.
+ *
+ * <p>Partial aggregates are held as mutable {@link KudafAccumulator}s, which are only written,
+ * and so serialized, to the wrapped store when Kafka Streams flushes the store ahead of a
+ * commit. The wrapped store is change logged, so that partials not yet forwarded are restored
+ * after a failure.
+ *
+ * <p>Each partial aggregate carries the largest timestamp of the rows accumulated into it, which
+ * is stored alongside it and passed on when it is drained.
+ */
+final class PartialAggregateStore implements StateStore {
+
+  private final TimestampedKeyValueStore<Struct, GenericRow> inner;
+  private final Map<Struct, Partial> partials = new LinkedHashMap<>();
+  private final Set<Struct> dirty = new HashSet<>();
+  private final Set<Struct> stored = new HashSet<>();
+
+  PartialAggregateStore(final TimestampedKeyValueStore<Struct, GenericRow> inner) {
+    this.inner = requireNonNull(inner, "inner");
+  }
+
+  /**
+   * Load any partial aggregates restored into the wrapped store.
+   *
+   * @param accumulatorFactory factory of accumulators from restored aggregate rows.
+   */
+  void load(final Function<GenericRow, KudafAccumulator> accumulatorFactory) {
+    try (KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> it = inner.all()) {
+      while (it.hasNext()) {
+        final KeyValue<Struct, ValueAndTimestamp<GenericRow>> next = it.next();
+        partials.put(
+            next.key,
+            new Partial(accumulatorFactory.apply(next.value.value()), next.value.timestamp())
+        );
+        stored.add(next.key);
+      }
+    }
+  }
+
+  KudafAccumulator get(final Struct key) {
+    final Partial partial = partials.get(key);
+    return partial == null ? null : partial.accumulator;
+  }
+
+  /**
+   * Store the partial aggregate of a key, after a row with the supplied timestamp has been
+   * accumulated into it.
+   *
+   * @param key the key.
+   * @param accumulator the partial aggregate.
+   * @param timestamp the timestamp of the row accumulated.
+   */
+  void put(final Struct key, final KudafAccumulator accumulator, final long timestamp) {
+    final Partial partial = partials.get(key);
+    if (partial == null || partial.accumulator != accumulator) {
+      partials.put(key, new Partial(accumulator, timestamp));
+    } else {
+      partial.timestamp = Math.max(partial.timestamp, timestamp);
+    }
+    dirty.add(key);
+  }
+
+  int size() {
+    return partials.size();
+  }
+
+  /**
+   * Remove all partial aggregates from the store, passing each to the supplied consumer in the
+   * order their keys were first added.
+   *
+   * @param consumer the consumer of the removed partial aggregates.
+   */
+  void drain(final PartialConsumer consumer) {
+    for (final Map.Entry<Struct, Partial> e : partials.entrySet()) {
+      if (stored.contains(e.getKey())) {
+        inner.delete(e.getKey());
+      }
+      final Partial partial = e.getValue();
+      consumer.accept(e.getKey(), partial.accumulator.toRow(), partial.timestamp);
+    }
+
+    partials.clear();
+    dirty.clear();
+    stored.clear();
+  }
+
+  @Override
+  public String name() {
+    return inner.name();
+  }
+
+  @Override
+  public void init(final ProcessorContext context, final StateStore root) {
+    inner.init(context, root);
+  }
+
+  @Override
+  public void flush() {
+    for (final Struct key : dirty) {
+      final Partial partial = partials.get(key);
+      inner.put(key, ValueAndTimestamp.make(partial.accumulator.toRow(), partial.timestamp));
+      stored.add(key);
+    }
+    dirty.clear();
+
+    inner.flush();
+  }
+
+  @Override
+  public void close() {
+    inner.close();
+  }
+
+  @Override
+  public boolean persistent() {
+    return inner.persistent();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return inner.isOpen();
+  }
+
+  /**
+   * Consumer of the partial aggregates drained from the store.
+   */
+  interface PartialConsumer {
+
+    void accept(Struct key, GenericRow partial, long timestamp);
+  }
+
+  private static final class Partial {
+
+    private final KudafAccumulator accumulator;
+    private long timestamp;
+
+    Partial(final KudafAccumulator accumulator, final long timestamp) {
+      this.accumulator = requireNonNull(accumulator, "accumulator");
+      this.timestamp = timestamp;
+    }
+  }
+
+  /**
+   * Builds a {@link PartialAggregateStore} wrapping the store of the supplied builder.
+   */
+  static final class Builder implements StoreBuilder<PartialAggregateStore> {
+
+    private final StoreBuilder<TimestampedKeyValueStore<Struct, GenericRow>> inner;
+
+    Builder(final StoreBuilder<TimestampedKeyValueStore<Struct, GenericRow>> inner) {
+      this.inner = requireNonNull(inner, "inner");
+    }
+
+    @Override
+    public Builder withCachingEnabled() {
+      inner.withCachingEnabled();
+      return this;
+    }
+
+    @Override
+    public Builder withCachingDisabled() {
+      inner.withCachingDisabled();
+      return this;
+    }
+
+    @Override
+    public Builder withLoggingEnabled(final Map<String, String> config) {
+      inner.withLoggingEnabled(config);
+      return this;
+    }
+
+    @Override
+    public Builder withLoggingDisabled() {
+      inner.withLoggingDisabled();
+      return this;
+    }
+
+    @Override
+    public PartialAggregateStore build() {
+      return new PartialAggregateStore(inner.build());
+    }
+
+    @Override
+    public Map<String, String> logConfig() {
+      return inner.logConfig();
+    }
+
+    @Override
+    public boolean loggingEnabled() {
+      return inner.loggingEnabled();
+    }
+
+    @Override
+    public String name() {
+      return inner.name();
+    }
+  }
+}
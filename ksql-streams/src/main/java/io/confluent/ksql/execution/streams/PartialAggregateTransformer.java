@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.function.udaf.KudafAccumulator;
+import io.confluent.ksql.execution.function.udaf.KudafAggregator;
+import io.confluent.ksql.execution.function.udaf.KudafInitializer;
+import java.time.Duration;
+import java.util.function.Function;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.KeyValueMapper;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.To;
+
+/**
+ * Combines rows into partial aggregates, keyed by their group by key, ahead of the repartition
+ * of a GROUP BY.
+ *
+ * <p>Partial aggregates are accumulated in place in a {@link PartialAggregateStore}, so that
+ * those not yet forwarded when the task commits are restored after a failure. They are
+ * forwarded, and removed from the store, once the store holds {@code maxEntries} keys and on
+ * each {@code flushInterval} of wall clock time.
+ *
+ * <p>Each partial is forwarded with the largest timestamp of the rows it combines, so its
+ * timestamp does not depend on when, or why, it was flushed.
+ */
+final class PartialAggregateTransformer<K>
+    implements Transformer<K, GenericRow, KeyValue<Struct, GenericRow>> {
+
+  private final KeyValueMapper<K, GenericRow, Struct> groupByMapper;
+  private final KudafInitializer initializer;
+  private final Function<GenericRow, KudafAccumulator> accumulatorFactory;
+  private final String storeName;
+  private final int maxEntries;
+  private final Duration flushInterval;
+
+  private ProcessorContext context;
+  private PartialAggregateStore partials;
+
+  PartialAggregateTransformer(
+      final KeyValueMapper<K, GenericRow, Struct> groupByMapper,
+      final KudafInitializer initializer,
+      final KudafAggregator aggregator,
+      final String storeName,
+      final int maxEntries,
+      final Duration flushInterval
+  ) {
+    this.groupByMapper = requireNonNull(groupByMapper, "groupByMapper");
+    this.initializer = requireNonNull(initializer, "initializer");
+    this.accumulatorFactory = requireNonNull(aggregator, "aggregator").getAccumulatorFactory();
+    this.storeName = requireNonNull(storeName, "storeName");
+    this.maxEntries = maxEntries;
+    this.flushInterval = requireNonNull(flushInterval, "flushInterval");
+  }
+
+  @Override
+  public void init(final ProcessorContext context) {
+    this.context = requireNonNull(context, "context");
+    this.partials = (PartialAggregateStore) context.getStateStore(storeName);
+
+    // The store may hold partials restored from its changelog:
+    partials.load(accumulatorFactory);
+
+    context.schedule(flushInterval, PunctuationType.WALL_CLOCK_TIME, timestamp -> flush());
+  }
+
+  @Override
+  public KeyValue<Struct, GenericRow> transform(final K key, final GenericRow row) {
+    if (row == null) {
+      return null;
+    }
+
+    final Struct groupKey = groupByMapper.apply(key, row);
+    if (groupKey == null) {
+      return null;
+    }
+
+    KudafAccumulator partial = partials.get(groupKey);
+    if (partial == null) {
+      partial = accumulatorFactory.apply(initializer.apply());
+    }
+
+    partial.add(row);
+    partials.put(groupKey, partial, context.timestamp());
+
+    if (partials.size() >= maxEntries) {
+      flush();
+    }
+    return null;
+  }
+
+  @Override
+  public void close() {
+    // Any partials still buffered remain in the store and are forwarded once restored.
+  }
+
+  private void flush() {
+    partials.drain((key, partial, timestamp) ->
+        context.forward(key, partial, To.all().withTimestamp(timestamp)));
+  }
+}
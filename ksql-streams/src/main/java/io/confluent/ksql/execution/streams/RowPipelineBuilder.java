@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamMapValues;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.StreamToTable;
+import io.confluent.ksql.execution.plan.TableFilter;
+import io.confluent.ksql.execution.plan.TableMapValues;
+import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+
+/**
+ * Builds the per-row logic of a simple stream or table plan, i.e. a projection over an optionally
+ * filtered {@link StreamSource}, as a plain function rather than as processor nodes.
+ *
+ * <p>This allows the rows read by a single source to be fed through several such plans.
+ */
+public final class RowPipelineBuilder {
+
+  private RowPipelineBuilder() {
+  }
+
+  /**
+   * Get the source of the supplied {@code plan}, if the plan can be built as a row pipeline.
+   *
+   * @param plan the plan to check.
+   * @return the source the plan reads from, or empty if the plan is not supported.
+   */
+  public static Optional<StreamSource> getSource(final ExecutionStep<?> plan) {
+    if (!(plan instanceof StreamMapValues)) {
+      return Optional.empty();
+    }
+
+    ExecutionStep<?> step = ((StreamMapValues<?>) plan).getSource();
+    if (step instanceof StreamFilter) {
+      step = ((StreamFilter<?>) step).getSource();
+    }
+
+    return step instanceof StreamSource
+        ? Optional.of((StreamSource) step)
+        : Optional.empty();
+  }
+
+  /**
+   * Build the supplied {@code plan} as a row pipeline.
+   *
+   * @param plan the plan to build, which must be supported by {@link #getSource}.
+   * @param queryBuilder the query builder.
+   * @return a mapper that returns the projected row, or {@code null} if the row is filtered out.
+   */
+  @SuppressWarnings("unchecked")
+  public static ValueMapperWithKey<Struct, GenericRow, GenericRow> build(
+      final ExecutionStep<?> plan,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    if (!getSource(plan).isPresent()) {
+      throw new IllegalArgumentException("Plan can not be built as a row pipeline: " + plan);
+    }
+
+    final StreamMapValues<Struct> mapValues = (StreamMapValues<Struct>) plan;
+    final ValueMapper<GenericRow, GenericRow> mapper =
+        StreamMapValuesBuilder.buildSelection(mapValues, queryBuilder).getMapper();
+
+    if (!(mapValues.getSource() instanceof StreamFilter)) {
+      return (key, row) -> mapper.apply(row);
+    }
+
+    final SqlPredicate predicate = StreamFilterBuilder.buildPredicate(
+        (StreamFilter<Struct>) mapValues.getSource(),
+        queryBuilder,
+        SqlPredicate::new
+    );
+
+    final Predicate<Struct, GenericRow> filter = predicate.getPredicate();
+    return (key, row) -> filter.test(key, row) ? mapper.apply(row) : null;
+  }
+
+  /**
+   * Get the source of the supplied table {@code plan}, if the plan can be built as a row pipeline.
+   *
+   * @param plan the plan to check.
+   * @return the source the table is read from, or empty if the plan is not supported.
+   */
+  public static Optional<StreamSource> getTableSource(final ExecutionStep<?> plan) {
+    if (!(plan instanceof TableMapValues)) {
+      return Optional.empty();
+    }
+
+    ExecutionStep<?> step = ((TableMapValues<?>) plan).getSource();
+    if (step instanceof TableFilter) {
+      step = ((TableFilter<?>) step).getSource();
+    }
+
+    if (!(step instanceof StreamToTable)) {
+      return Optional.empty();
+    }
+
+    step = ((StreamToTable<?>) step).getSource();
+    return step instanceof StreamSource
+        ? Optional.of((StreamSource) step)
+        : Optional.empty();
+  }
+
+  /**
+   * Get the filter applied by the supplied table {@code plan}, if any.
+   *
+   * @param plan the plan, which must be supported by {@link #getTableSource}.
+   * @return the filter expression, or empty if the plan does not filter.
+   */
+  public static Optional<Expression> getTableFilter(final ExecutionStep<?> plan) {
+    if (!getTableSource(plan).isPresent()) {
+      throw new IllegalArgumentException("Plan can not be built as a row pipeline: " + plan);
+    }
+
+    final ExecutionStep<?> step = ((TableMapValues<?>) plan).getSource();
+    return step instanceof TableFilter
+        ? Optional.of(((TableFilter<?>) step).getFilterExpression())
+        : Optional.empty();
+  }
+
+  /**
+   * Build the supplied table {@code plan} as a row pipeline.
+   *
+   * @param plan the plan to build, which must be supported by {@link #getTableSource}.
+   * @param queryBuilder the query builder.
+   * @return a mapper that returns the projected row, or {@code null} if the row is filtered out.
+   */
+  @SuppressWarnings("unchecked")
+  public static ValueMapperWithKey<Struct, GenericRow, GenericRow> buildTable(
+      final ExecutionStep<?> plan,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    if (!getTableSource(plan).isPresent()) {
+      throw new IllegalArgumentException("Plan can not be built as a row pipeline: " + plan);
+    }
+
+    final TableMapValues<Struct> mapValues = (TableMapValues<Struct>) plan;
+    final ValueMapper<GenericRow, GenericRow> mapper =
+        TableMapValuesBuilder.buildSelection(mapValues, queryBuilder).getMapper();
+
+    if (!(mapValues.getSource() instanceof TableFilter)) {
+      return (key, row) -> mapper.apply(row);
+    }
+
+    final SqlPredicate predicate = TableFilterBuilder.buildPredicate(
+        (TableFilter<Struct>) mapValues.getSource(),
+        queryBuilder,
+        SqlPredicate::new
+    );
+
+    final Predicate<Struct, GenericRow> filter = predicate.getPredicate();
+    return (key, row) -> filter.test(key, row) ? mapper.apply(row) : null;
+  }
+}
@@ -53,7 +53,7 @@ public class SelectValueMapper implements ValueMapper<GenericRow, GenericRow> {
       return null;
     }
 
-    final List<Object> newColumns = new ArrayList<>();
+    final List<Object> newColumns = new ArrayList<>(selects.size());
 
     for (int i = 0; i < selects.size(); i++) {
       newColumns.add(processColumn(i, row));
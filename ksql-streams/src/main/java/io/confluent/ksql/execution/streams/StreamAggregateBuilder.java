@@ -82,7 +82,7 @@ public final class StreamAggregateBuilder {
         );
     final KTable<Struct, GenericRow> aggregated = kgroupedStream.aggregate(
         aggregateParams.getInitializer(),
-        aggregateParams.getAggregator(),
+        AggregateBuilderUtils.timeAggregator(queryBuilder, aggregateParams.getAggregator()),
         materialized
     );
     final MaterializationInfo.Builder materializationBuilder =
@@ -196,10 +196,13 @@ public final class StreamAggregateBuilder {
           physicalSchema,
           queryContext
       );
-      valueSerde = queryBuilder.buildValueSerde(
-          formats.getValueFormat().getFormatInfo(),
+      valueSerde = materializedFactory.windowedStoreValueSerde(
           physicalSchema,
-          queryContext
+          queryBuilder.buildValueSerde(
+              formats.getValueFormat().getFormatInfo(),
+              physicalSchema,
+              queryContext
+          )
       );
     }
 
@@ -217,7 +220,7 @@ public final class StreamAggregateBuilder {
           .windowedBy(windows)
           .aggregate(
               aggregateParams.getInitializer(),
-              aggregateParams.getAggregator(),
+              AggregateBuilderUtils.timeAggregator(queryBuilder, aggregateParams.getAggregator()),
               materializedFactory.create(
                   keySerde, valueSerde, StreamsUtil.buildOpName(queryContext))
           );
@@ -234,7 +237,7 @@ public final class StreamAggregateBuilder {
           .windowedBy(windows)
           .aggregate(
               aggregateParams.getInitializer(),
-              aggregateParams.getAggregator(),
+              AggregateBuilderUtils.timeAggregator(queryBuilder, aggregateParams.getAggregator()),
               aggregateParams.getAggregator().getMerger(),
               materializedFactory.create(
                   keySerde, valueSerde, StreamsUtil.buildOpName(queryContext))
@@ -251,7 +254,7 @@ public final class StreamAggregateBuilder {
           .windowedBy(windows)
           .aggregate(
               aggregateParams.getInitializer(),
-              aggregateParams.getAggregator(),
+              AggregateBuilderUtils.timeAggregator(queryBuilder, aggregateParams.getAggregator()),
               materializedFactory.create(
                   keySerde, valueSerde, StreamsUtil.buildOpName(queryContext))
           );
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.codegen.CodeGenRunner;
+import io.confluent.ksql.execution.codegen.ExpressionMetadata;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.execution.materialization.MaterializationInfo;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.KTableHolder;
+import io.confluent.ksql.execution.plan.StreamAggregate;
+import io.confluent.ksql.execution.plan.StreamGroupBy;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.serde.KeySerde;
+import io.confluent.ksql.util.KsqlConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Merger;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.StoreBuilder;
+import org.apache.kafka.streams.state.Stores;
+
+/**
+ * Builds a non-windowed stream aggregation whose group by requires a repartition, combining
+ * rows into partial aggregates before the repartition.
+ *
+ * <p>The repartition topic carries partial aggregates, in the aggregation schema, rather than
+ * the source rows. These are merged into the aggregate using each function's merger.
+ */
+public final class StreamCombinedAggregateBuilder {
+
+  private static final Set<String> COMBINABLE_FUNCTIONS =
+      ImmutableSet.of("COUNT", "SUM", "MIN", "MAX", "AVG", "TOPK");
+
+  private static final String COMBINE_STORE_SUFFIX = "-Combine";
+
+  private StreamCombinedAggregateBuilder() {
+  }
+
+  /**
+   * @return {@code true} if partial results of all the aggregate's functions can be merged.
+   */
+  public static boolean canCombine(final StreamAggregate aggregate) {
+    for (final FunctionCall call : aggregate.getAggregations()) {
+      final String name = call.getName().name().toUpperCase(Locale.ROOT);
+      if (!COMBINABLE_FUNCTIONS.contains(name)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static <K> KTableHolder<Struct> build(
+      final KStreamHolder<K> source,
+      final StreamGroupBy<K> groupBy,
+      final StreamAggregate aggregate,
+      final KsqlQueryBuilder queryBuilder,
+      final MaterializedFactory materializedFactory,
+      final GroupedFactory groupedFactory,
+      final AggregateParams.Factory aggregateParamsFactory
+  ) {
+    final LogicalSchema sourceSchema = aggregate.getSources().get(0).getSchema();
+    final AggregateParams aggregateParams = aggregateParamsFactory.create(
+        sourceSchema,
+        aggregate.getNonFuncColumnCount(),
+        queryBuilder.getFunctionRegistry(),
+        aggregate.getAggregations()
+    );
+
+    final List<ExpressionMetadata> groupByExpressions = CodeGenRunner.compileExpressions(
+        groupBy.getGroupByExpressions().stream(),
+        "Group By",
+        groupBy.getSource().getSchema(),
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry()
+    );
+    final GroupByMapper<K> groupByMapper = new GroupByMapper<>(groupByExpressions);
+
+    // Partial aggregates are stored and repartitioned in the same format as the aggregate:
+    final QueryContext groupByContext = groupBy.getProperties().getQueryContext();
+    final Formats formats = aggregate.getFormats();
+    final PhysicalSchema partialSchema = PhysicalSchema.from(
+        aggregate.getAggregationSchema(),
+        formats.getOptions()
+    );
+    final KeySerde<Struct> keySerde = queryBuilder.buildKeySerde(
+        formats.getKeyFormat().getFormatInfo(),
+        partialSchema,
+        groupByContext
+    );
+    final Serde<GenericRow> partialSerde = queryBuilder.buildValueSerde(
+        formats.getValueFormat().getFormatInfo(),
+        partialSchema,
+        groupByContext
+    );
+
+    final String groupByOpName = StreamsUtil.buildOpName(groupByContext);
+    final String storeName = groupByOpName + COMBINE_STORE_SUFFIX;
+    // Partials are accumulated in place, and only serialized into the store on flush:
+    final StoreBuilder<PartialAggregateStore> storeBuilder = new PartialAggregateStore.Builder(
+        Stores.timestampedKeyValueStoreBuilder(
+            Stores.inMemoryKeyValueStore(storeName),
+            keySerde,
+            partialSerde
+        )
+    );
+    queryBuilder.getStreamsBuilder().addStateStore(storeBuilder);
+
+    final KsqlConfig ksqlConfig = queryBuilder.getKsqlConfig();
+    final int maxEntries =
+        ksqlConfig.getInt(KsqlConfig.KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_CONFIG);
+    final Duration flushInterval = Duration.ofMillis(
+        ksqlConfig.getLong(KsqlConfig.KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG));
+
+    final KGroupedStream<Struct, GenericRow> grouped = source.getStream()
+        .transform(
+            () -> new PartialAggregateTransformer<>(
+                groupByMapper,
+                aggregateParams.getInitializer(),
+                aggregateParams.getAggregator(),
+                storeName,
+                maxEntries,
+                flushInterval
+            ),
+            storeName
+        )
+        .groupByKey(groupedFactory.create(groupByOpName, keySerde, partialSerde));
+
+    final Materialized<Struct, GenericRow, KeyValueStore<Bytes, byte[]>> materialized =
+        AggregateBuilderUtils.buildMaterialized(
+            aggregate.getProperties().getQueryContext(),
+            aggregate.getAggregationSchema(),
+            aggregate.getFormats(),
+            queryBuilder,
+            materializedFactory
+        );
+    final Merger<Struct, GenericRow> merger = aggregateParams.getAggregator().getMerger();
+    final KTable<Struct, GenericRow> aggregated = grouped.aggregate(
+        aggregateParams.getInitializer(),
+        AggregateBuilderUtils.<Struct>timeAggregator(
+            queryBuilder,
+            (key, partial, aggRow) -> merger.apply(key, partial, aggRow)),
+        materialized
+    );
+
+    final MaterializationInfo.Builder materializationBuilder =
+        AggregateBuilderUtils.materializationInfoBuilder(
+            aggregate.getProperties().getQueryContext(),
+            aggregate.getNonFuncColumnCount(),
+            aggregate.getAggregations(),
+            sourceSchema,
+            aggregate.getAggregationSchema(),
+            aggregate.getSchema()
+        );
+    return KTableHolder.materialized(
+        aggregated.mapValues(aggregateParams.getAggregator().getResultMapper()),
+        (fmt, schema, ctx) -> queryBuilder.buildKeySerde(fmt.getFormatInfo(), schema, ctx),
+        materializationBuilder
+    );
+  }
+}
@@ -15,12 +15,15 @@
 
 package io.confluent.ksql.execution.streams;
 
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.StreamFilter;
 import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import org.apache.kafka.streams.kstream.Predicate;
 
 public final class StreamFilterBuilder {
   private StreamFilterBuilder() {
@@ -38,10 +41,24 @@ public final class StreamFilterBuilder {
       final StreamFilter<K> step,
       final KsqlQueryBuilder queryBuilder,
       final SqlPredicateFactory predicateFactory) {
+    final SqlPredicate predicate = buildPredicate(step, queryBuilder, predicateFactory);
+    final Predicate<K, GenericRow> filter = predicate.getPredicate();
+    return stream.withStream(
+        stream.getStream().filter(
+            queryBuilder.getLatencyMetrics()
+                .map(metrics -> metrics.timePredicate(Step.FILTER, filter))
+                .orElse(filter))
+    );
+  }
+
+  static SqlPredicate buildPredicate(
+      final StreamFilter<?> step,
+      final KsqlQueryBuilder queryBuilder,
+      final SqlPredicateFactory predicateFactory) {
     final QueryContext.Stacker contextStacker = QueryContext.Stacker.of(
         step.getProperties().getQueryContext()
     );
-    final SqlPredicate predicate = predicateFactory.create(
+    return predicateFactory.create(
         step.getFilterExpression(),
         step.getSource().getProperties().getSchema(),
         queryBuilder.getKsqlConfig(),
@@ -52,8 +69,5 @@ public final class StreamFilterBuilder {
                 contextStacker.push("FILTER").getQueryContext())
         )
     );
-    return stream.withStream(
-        stream.getStream().filter(predicate.getPredicate())
-    );
   }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamMapValues;
+import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import org.apache.kafka.streams.kstream.ValueMapperWithKey;
+
+/**
+ * Builds a {@link StreamFilter} and the {@link StreamMapValues} that consumes it as a single
+ * processor node.
+ */
+public final class StreamFilterMapValuesBuilder {
+  private StreamFilterMapValuesBuilder() {
+  }
+
+  public static <K> KStreamHolder<K> build(
+      final KStreamHolder<K> stream,
+      final StreamFilter<K> filter,
+      final StreamMapValues<K> mapValues,
+      final KsqlQueryBuilder queryBuilder,
+      final SqlPredicateFactory predicateFactory) {
+    final SqlPredicate predicate =
+        StreamFilterBuilder.buildPredicate(filter, queryBuilder, predicateFactory);
+    final Selection selection = StreamMapValuesBuilder.buildSelection(mapValues, queryBuilder);
+    final ValueMapperWithKey<K, GenericRow, Iterable<GenericRow>> mapper =
+        new FilterSelectValueMapper<>(predicate.<K>getPredicate(), selection.getMapper());
+    return stream.withStream(
+        stream.getStream().flatMapValues(
+            queryBuilder.getLatencyMetrics()
+                .map(metrics -> metrics.timeMapperWithKey(Step.PROJECT, mapper))
+                .orElse(mapper))
+    );
+  }
+}
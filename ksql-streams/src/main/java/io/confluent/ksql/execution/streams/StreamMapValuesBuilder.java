@@ -15,11 +15,14 @@
 
 package io.confluent.ksql.execution.streams;
 
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.StreamMapValues;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import org.apache.kafka.streams.kstream.ValueMapper;
 
 public final class StreamMapValuesBuilder {
   private StreamMapValuesBuilder() {
@@ -29,20 +32,29 @@ public final class StreamMapValuesBuilder {
       final KStreamHolder<K> stream,
       final StreamMapValues<K> step,
       final KsqlQueryBuilder queryBuilder) {
+    final Selection selection = buildSelection(step, queryBuilder);
+    final ValueMapper<GenericRow, GenericRow> mapper = selection.getMapper();
+    return stream.withStream(
+        stream.getStream().mapValues(
+            queryBuilder.getLatencyMetrics()
+                .map(metrics -> metrics.timeMapper(Step.PROJECT, mapper))
+                .orElse(mapper))
+    );
+  }
+
+  static Selection buildSelection(
+      final StreamMapValues<?> step,
+      final KsqlQueryBuilder queryBuilder) {
     final QueryContext queryContext = step.getProperties().getQueryContext();
     final LogicalSchema sourceSchema = step.getSource().getProperties().getSchema();
-    final Selection selection =
-        Selection.of(
-            queryBuilder.getQueryId(),
-            queryContext,
-            sourceSchema,
-            step.getSelectExpressions(),
-            queryBuilder.getKsqlConfig(),
-            queryBuilder.getFunctionRegistry(),
-            queryBuilder.getProcessingLogContext()
-        );
-    return stream.withStream(
-        stream.getStream().mapValues(selection.getMapper())
+    return Selection.of(
+        queryBuilder.getQueryId(),
+        queryContext,
+        sourceSchema,
+        step.getSelectExpressions(),
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry(),
+        queryBuilder.getProcessingLogContext()
     );
   }
 }
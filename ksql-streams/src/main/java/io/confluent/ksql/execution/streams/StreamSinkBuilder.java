@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.Produced;
 
 public final class StreamSinkBuilder {
@@ -56,7 +57,7 @@ public final class StreamSinkBuilder {
     final Set<Integer> rowkeyIndexes =
         SinkSchemaUtil.implicitAndKeyColumnIndexesInValueSchema(streamSink);
     final String kafkaTopicName = streamSink.getTopicName();
-    stream.getStream()
+    final KStream<K, GenericRow> sinkStream = stream.getStream()
         .mapValues(row -> {
           if (row == null) {
             return null;
@@ -68,6 +69,12 @@ public final class StreamSinkBuilder {
             }
           }
           return new GenericRow(columns);
-        }).to(kafkaTopicName, Produced.with(keySerde, valueSerde));
+        });
+
+    queryBuilder.getLatencyMetrics()
+        .map(metrics -> sinkStream.transformValues(
+            metrics.<K, GenericRow>endToEndLatencyRecorder()))
+        .orElse(sinkStream)
+        .to(kafkaTopicName, Produced.with(keySerde, valueSerde));
   }
 }
@@ -18,20 +18,28 @@ package io.confluent.ksql.execution.streams;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.StreamStreamJoin;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.serde.KeySerde;
+import io.confluent.ksql.util.KsqlConfig;
+import java.time.Duration;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.kstream.JoinWindows;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.StreamJoined;
+import org.apache.kafka.streams.kstream.ValueJoiner;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowBytesStoreSupplier;
 
 public final class StreamStreamJoinBuilder {
   private static final String LEFT_SERDE_CTX = "left";
   private static final String RIGHT_SERDE_CTX = "right";
+  private static final String LEFT_STORE_SUFFIX = "-left-store";
+  private static final String RIGHT_STORE_SUFFIX = "-right-store";
 
   private StreamStreamJoinBuilder() {
   }
@@ -71,15 +79,24 @@ public final class StreamStreamJoinBuilder {
         leftPhysicalSchema,
         queryContext
     );
-    final StreamJoined<K, GenericRow, GenericRow> joined = streamJoinedFactory.create(
-        keySerde,
-        leftSerde,
-        rightSerde,
+    final JoinWindows joinWindows = buildJoinWindows(join, queryBuilder.getKsqlConfig());
+    final StreamJoined<K, GenericRow, GenericRow> joined = withInMemoryStoresIfEnabled(
+        streamJoinedFactory.create(
+            keySerde,
+            leftSerde,
+            rightSerde,
+            StreamsUtil.buildOpName(queryContext),
+            StreamsUtil.buildOpName(queryContext)
+        ),
+        joinWindows,
         StreamsUtil.buildOpName(queryContext),
-        StreamsUtil.buildOpName(queryContext)
+        queryBuilder.getKsqlConfig()
     );
-    final KsqlValueJoiner joiner = new KsqlValueJoiner(leftSchema, rightSchema);
-    final JoinWindows joinWindows = JoinWindows.of(join.getBefore()).after(join.getAfter());
+    final ValueJoiner<GenericRow, GenericRow, GenericRow> valueJoiner =
+        new KsqlValueJoiner(leftSchema, rightSchema);
+    final ValueJoiner<GenericRow, GenericRow, GenericRow> joiner = queryBuilder.getLatencyMetrics()
+        .map(metrics -> metrics.timeJoiner(Step.JOIN, valueJoiner))
+        .orElse(valueJoiner);
     final KStream<K, GenericRow> result;
     switch (join.getJoinType()) {
       case LEFT:
@@ -96,4 +113,48 @@ public final class StreamStreamJoinBuilder {
     }
     return left.withStream(result);
   }
+
+  private static JoinWindows buildJoinWindows(
+      final StreamStreamJoin<?> join,
+      final KsqlConfig ksqlConfig
+  ) {
+    final JoinWindows joinWindows = JoinWindows.of(join.getBefore()).after(join.getAfter());
+    final Long graceMs = ksqlConfig.getLong(KsqlConfig.KSQL_STREAM_JOIN_GRACE_MS_CONFIG);
+    return graceMs == null ? joinWindows : joinWindows.grace(Duration.ofMillis(graceMs));
+  }
+
+  private static <K> StreamJoined<K, GenericRow, GenericRow> withInMemoryStoresIfEnabled(
+      final StreamJoined<K, GenericRow, GenericRow> joined,
+      final JoinWindows joinWindows,
+      final String opName,
+      final KsqlConfig ksqlConfig
+  ) {
+    final long maxRetentionMs = ksqlConfig.getLong(
+        KsqlConfig.KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_CONFIG);
+
+    // Kafka Streams requires the supplied stores to match the join windows exactly:
+    final long retentionMs = joinWindows.size() + joinWindows.gracePeriodMs();
+    if (maxRetentionMs <= 0 || retentionMs > maxRetentionMs) {
+      return joined;
+    }
+
+    return joined
+        .withThisStoreSupplier(
+            inMemoryStore(opName + LEFT_STORE_SUFFIX, joinWindows, retentionMs))
+        .withOtherStoreSupplier(
+            inMemoryStore(opName + RIGHT_STORE_SUFFIX, joinWindows, retentionMs));
+  }
+
+  private static WindowBytesStoreSupplier inMemoryStore(
+      final String name,
+      final JoinWindows joinWindows,
+      final long retentionMs
+  ) {
+    return Stores.inMemoryWindowStore(
+        name,
+        Duration.ofMillis(retentionMs),
+        Duration.ofMillis(joinWindows.size()),
+        true
+    );
+  }
 }
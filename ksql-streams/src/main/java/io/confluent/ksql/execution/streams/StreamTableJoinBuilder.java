@@ -18,6 +18,7 @@ package io.confluent.ksql.execution.streams;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
@@ -28,6 +29,7 @@ import io.confluent.ksql.serde.KeySerde;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.kstream.Joined;
 import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.ValueJoiner;
 
 public final class StreamTableJoinBuilder {
   private static final String SERDE_CTX = "left";
@@ -66,7 +68,11 @@ public final class StreamTableJoinBuilder {
         StreamsUtil.buildOpName(queryContext)
     );
     final LogicalSchema rightSchema = join.getRight().getProperties().getSchema();
-    final KsqlValueJoiner joiner = new KsqlValueJoiner(leftSchema, rightSchema);
+    final ValueJoiner<GenericRow, GenericRow, GenericRow> valueJoiner =
+        new KsqlValueJoiner(leftSchema, rightSchema);
+    final ValueJoiner<GenericRow, GenericRow, GenericRow> joiner = queryBuilder.getLatencyMetrics()
+        .map(metrics -> metrics.timeJoiner(Step.JOIN, valueJoiner))
+        .orElse(valueJoiner);
     final KStream<K, GenericRow> result;
     switch (join.getJoinType()) {
       case LEFT:
@@ -71,8 +71,8 @@ public final class TableAggregateBuilder {
         );
     final KTable<Struct, GenericRow> aggregated = kgroupedTable.aggregate(
         aggregateParams.getInitializer(),
-        aggregateParams.getAggregator(),
-        aggregateParams.getUndoAggregator(),
+        AggregateBuilderUtils.timeAggregator(queryBuilder, aggregateParams.getAggregator()),
+        AggregateBuilderUtils.timeAggregator(queryBuilder, aggregateParams.getUndoAggregator()),
         materialized
     ).mapValues(aggregateParams.getAggregator().getResultMapper());
     final MaterializationInfo.Builder materializationBuilder =
@@ -15,12 +15,15 @@
 
 package io.confluent.ksql.execution.streams;
 
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.TableFilter;
 import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import org.apache.kafka.streams.kstream.Predicate;
 
 public final class TableFilterBuilder {
   private TableFilterBuilder() {
@@ -38,10 +41,28 @@ public final class TableFilterBuilder {
       final TableFilter<K> step,
       final KsqlQueryBuilder queryBuilder,
       final SqlPredicateFactory sqlPredicateFactory) {
+    final SqlPredicate predicate = buildPredicate(step, queryBuilder, sqlPredicateFactory);
+    final Predicate<K, GenericRow> filter = predicate.getPredicate();
+    return table
+        .withTable(table.getTable().filter(
+            queryBuilder.getLatencyMetrics()
+                .map(metrics -> metrics.timePredicate(Step.FILTER, filter))
+                .orElse(filter)))
+        .withMaterialization(
+            table.getMaterializationBuilder().map(
+                b -> b.filter(step.getFilterExpression())
+            )
+        );
+  }
+
+  static SqlPredicate buildPredicate(
+      final TableFilter<?> step,
+      final KsqlQueryBuilder queryBuilder,
+      final SqlPredicateFactory sqlPredicateFactory) {
     final QueryContext.Stacker contextStacker = QueryContext.Stacker.of(
         step.getProperties().getQueryContext()
     );
-    final SqlPredicate predicate = sqlPredicateFactory.create(
+    return sqlPredicateFactory.create(
         step.getFilterExpression(),
         step.getSource().getProperties().getSchema(),
         queryBuilder.getKsqlConfig(),
@@ -52,12 +73,5 @@ public final class TableFilterBuilder {
                 contextStacker.push("FILTER").getQueryContext())
         )
     );
-    return table
-        .withTable(table.getTable().filter(predicate.getPredicate()))
-        .withMaterialization(
-            table.getMaterializationBuilder().map(
-                b -> b.filter(step.getFilterExpression())
-            )
-        );
   }
-}
\ No newline at end of file
+}
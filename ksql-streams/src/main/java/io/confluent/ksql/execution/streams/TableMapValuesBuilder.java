@@ -15,11 +15,14 @@
 
 package io.confluent.ksql.execution.streams;
 
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.metrics.QueryLatencyMetrics.Step;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.TableMapValues;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import org.apache.kafka.streams.kstream.ValueMapper;
 
 public final class TableMapValuesBuilder {
   private TableMapValuesBuilder() {
@@ -29,24 +32,33 @@ public final class TableMapValuesBuilder {
       final KTableHolder<K> table,
       final TableMapValues<K> step,
       final KsqlQueryBuilder queryBuilder) {
-    final QueryContext queryContext = step.getProperties().getQueryContext();
-    final LogicalSchema sourceSchema = step.getSource().getProperties().getSchema();
-    final Selection selection =
-        Selection.of(
-            queryBuilder.getQueryId(),
-            queryContext,
-            sourceSchema,
-            step.getSelectExpressions(),
-            queryBuilder.getKsqlConfig(),
-            queryBuilder.getFunctionRegistry(),
-            queryBuilder.getProcessingLogContext()
-        );
+    final Selection selection = buildSelection(step, queryBuilder);
+    final ValueMapper<GenericRow, GenericRow> mapper = selection.getMapper();
     return table
-        .withTable(table.getTable().mapValues(selection.getMapper()))
+        .withTable(table.getTable().mapValues(
+            queryBuilder.getLatencyMetrics()
+                .map(metrics -> metrics.timeMapper(Step.PROJECT, mapper))
+                .orElse(mapper)))
         .withMaterialization(
             table.getMaterializationBuilder().map(
                 b -> b.project(step.getSelectExpressions(), step.getSchema())
             )
         );
   }
+
+  static Selection buildSelection(
+      final TableMapValues<?> step,
+      final KsqlQueryBuilder queryBuilder) {
+    final QueryContext queryContext = step.getProperties().getQueryContext();
+    final LogicalSchema sourceSchema = step.getSource().getProperties().getSchema();
+    return Selection.of(
+        queryBuilder.getQueryId(),
+        queryContext,
+        sourceSchema,
+        step.getSelectExpressions(),
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry(),
+        queryBuilder.getProcessingLogContext()
+    );
+  }
 }
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.Produced;
 
 public final class TableSinkBuilder {
@@ -56,7 +57,7 @@ public final class TableSinkBuilder {
     final Set<Integer> rowkeyIndexes =
         SinkSchemaUtil.implicitAndKeyColumnIndexesInValueSchema(tableSink);
     final String kafkaTopicName = tableSink.getTopicName();
-    table.getTable().toStream()
+    final KStream<K, GenericRow> sinkStream = table.getTable().toStream()
         .mapValues(row -> {
               if (row == null) {
                 return null;
@@ -69,6 +70,12 @@ public final class TableSinkBuilder {
               }
               return new GenericRow(columns);
             }
-        ).to(kafkaTopicName, Produced.with(keySerde, valueSerde));
+        );
+
+    queryBuilder.getLatencyMetrics()
+        .map(metrics -> sinkStream.transformValues(
+            metrics.<K, GenericRow>endToEndLatencyRecorder()))
+        .orElse(sinkStream)
+        .to(kafkaTopicName, Produced.with(keySerde, valueSerde));
   }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.plan.KTableHolder;
+import io.confluent.ksql.execution.plan.TableTableForeignKeyJoin;
+import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.util.function.Function;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.kstream.Named;
+
+public final class TableTableForeignKeyJoinBuilder {
+  private TableTableForeignKeyJoinBuilder() {
+  }
+
+  public static <K> KTableHolder<K> build(
+      final KTableHolder<K> left,
+      final KTableHolder<Struct> right,
+      final TableTableForeignKeyJoin<K> join) {
+    final LogicalSchema leftSchema = join.getLeft().getProperties().getSchema();
+    final LogicalSchema rightSchema = join.getRight().getProperties().getSchema();
+    final int foreignKeyIndex = leftSchema.valueColumnIndex(join.getLeftJoinColumn())
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Invalid join column, not found in schema: " + join.getLeftJoinColumn()));
+
+    final ForeignKeyExtractor foreignKeyExtractor = new ForeignKeyExtractor(foreignKeyIndex);
+    final KsqlValueJoiner joiner = new KsqlValueJoiner(leftSchema, rightSchema);
+    final Named named = Named.as(
+        StreamsUtil.buildOpName(join.getProperties().getQueryContext()));
+
+    final KTable<K, GenericRow> result;
+    switch (join.getJoinType()) {
+      case LEFT:
+        result = left.getTable().leftJoin(right.getTable(), foreignKeyExtractor, joiner, named);
+        break;
+      case INNER:
+        result = left.getTable().join(right.getTable(), foreignKeyExtractor, joiner, named);
+        break;
+      default:
+        throw new IllegalStateException("invalid join type");
+    }
+    return left.withTable(result);
+  }
+
+  static final class ForeignKeyExtractor implements Function<GenericRow, Struct> {
+
+    private final int foreignKeyIndex;
+
+    ForeignKeyExtractor(final int foreignKeyIndex) {
+      this.foreignKeyIndex = foreignKeyIndex;
+    }
+
+    @Override
+    public Struct apply(final GenericRow row) {
+      // Table keys are always strings, so the foreign key is converted to match:
+      final Object foreignKey = row.getColumns().get(foreignKeyIndex);
+      return foreignKey == null ? null : StructKeyUtil.asStructKey(foreignKey.toString());
+    }
+  }
+}
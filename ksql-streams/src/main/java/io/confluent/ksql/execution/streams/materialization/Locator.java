@@ -17,6 +17,7 @@ package io.confluent.ksql.execution.streams.materialization;
 
 import java.net.URI;
 import java.util.Optional;
+import java.util.OptionalInt;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -38,6 +39,17 @@ public interface Locator {
    */
   Optional<KsqlNode> locate(Struct key);
 
+  /**
+   * Get the partition of the materialized store that holds the supplied {@code key}.
+   *
+   * <p>Implementations are free to return {@link OptionalInt#empty()} if the partition is not
+   * known at this time.
+   *
+   * @param key the required key.
+   * @return the partition, if known.
+   */
+  OptionalInt partition(Struct key);
+
 
   interface KsqlNode {
 
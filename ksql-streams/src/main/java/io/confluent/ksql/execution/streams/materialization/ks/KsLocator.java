@@ -22,7 +22,10 @@ import io.confluent.ksql.execution.streams.materialization.Locator;
 import java.net.URI;
 import java.net.URL;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.state.HostInfo;
@@ -63,6 +66,28 @@ final class KsLocator implements Locator {
     return Optional.of(asNode(hostInfo));
   }
 
+  @Override
+  public OptionalInt partition(final Struct key) {
+    final AtomicInteger partition = new AtomicInteger(-1);
+
+    // Partition the key as the default partitioner does, capturing the partition on the way:
+    final StreamsMetadata metadata = kafkaStreams.metadataForKey(
+        stateStoreName,
+        key,
+        (topic, k, value, numPartitions) -> {
+          final byte[] bytes = keySerializer.serialize(topic, k);
+          partition.set(Utils.toPositive(Utils.murmur2(bytes)) % numPartitions);
+          return partition.get();
+        }
+    );
+
+    if (metadata == StreamsMetadata.NOT_AVAILABLE || partition.get() < 0) {
+      return OptionalInt.empty();
+    }
+
+    return OptionalInt.of(partition.get());
+  }
+
   private KsqlNode asNode(final HostInfo hostInfo) {
     return new Node(
         isLocalHost(hostInfo),
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.GenericRow;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class FilterSelectValueMapperTest {
+
+  private static final GenericRow ROW = new GenericRow("a", 1);
+  private static final GenericRow PROJECTED = new GenericRow(1);
+
+  @Mock
+  private Struct key;
+  @Mock
+  private Predicate<Struct, GenericRow> predicate;
+  @Mock
+  private ValueMapper<GenericRow, GenericRow> mapper;
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private FilterSelectValueMapper<Struct> fused;
+
+  @Before
+  public void init() {
+    fused = new FilterSelectValueMapper<>(predicate, mapper);
+  }
+
+  @Test
+  public void shouldProjectRowsThatPassFilter() {
+    // Given:
+    when(predicate.test(key, ROW)).thenReturn(true);
+    when(mapper.apply(ROW)).thenReturn(PROJECTED);
+
+    // When:
+    final Iterable<GenericRow> result = fused.apply(key, ROW);
+
+    // Then:
+    assertThat(result, contains(PROJECTED));
+  }
+
+  @Test
+  public void shouldNotProjectRowsThatFailFilter() {
+    // Given:
+    when(predicate.test(key, ROW)).thenReturn(false);
+
+    // When:
+    final Iterable<GenericRow> result = fused.apply(key, ROW);
+
+    // Then:
+    assertThat(result, is(emptyIterable()));
+    verify(mapper, never()).apply(any());
+  }
+}
@@ -16,6 +16,8 @@
 package io.confluent.ksql.execution.streams;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -23,6 +25,11 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.SerdeOption;
 import io.confluent.ksql.util.KsqlConfig;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.StreamsConfig;
@@ -38,6 +45,14 @@ public class MaterializedFactoryTest {
 
   private static final String OP_NAME = "kdot";
 
+  private static final PhysicalSchema SCHEMA = PhysicalSchema.from(
+      LogicalSchema.builder()
+          .valueColumn(ColumnName.of("K"), SqlTypes.STRING)
+          .valueColumn(ColumnName.of("COUNT"), SqlTypes.BIGINT)
+          .build(),
+      SerdeOption.none()
+  );
+
   @Mock
   private Serde<String> keySerde;
   @Mock
@@ -96,4 +111,35 @@ public class MaterializedFactoryTest {
     verify(asName).withKeySerde(keySerde);
     verify(withKeySerde).withValueSerde(rowSerde);
   }
+
+  @Test
+  public void shouldUseFormatSerdeForWindowedStoresByDefault() {
+    // Given:
+    final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of());
+
+    // When:
+    final Serde<GenericRow> serde = MaterializedFactory.create(ksqlConfig, materializer)
+        .windowedStoreValueSerde(SCHEMA, rowSerde);
+
+    // Then:
+    assertThat(serde, is(sameInstance(rowSerde)));
+  }
+
+  @Test
+  public void shouldUseCompactSerdeForWindowedStoresIfEnabled() {
+    // Given:
+    final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_WINDOWED_AGGREGATE_COMPACT_STORE_ENABLE_CONFIG, true
+    ));
+    final GenericRow row = new GenericRow("k", 10L);
+
+    // When:
+    final Serde<GenericRow> serde = MaterializedFactory.create(ksqlConfig, materializer)
+        .windowedStoreValueSerde(SCHEMA, rowSerde);
+
+    // Then:
+    assertThat(serde, is(not(sameInstance(rowSerde))));
+    final byte[] bytes = serde.serializer().serialize("t", row);
+    assertThat(serde.deserializer().deserialize("t", bytes), is(row));
+  }
 }
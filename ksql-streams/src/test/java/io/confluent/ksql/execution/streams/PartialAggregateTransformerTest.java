@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.function.udaf.KudafAggregator;
+import io.confluent.ksql.execution.function.udaf.KudafInitializer;
+import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.function.KsqlAggregateFunction;
+import io.confluent.ksql.name.FunctionName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.KeyValueMapper;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.Punctuator;
+import org.apache.kafka.streams.processor.To;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.TimestampedKeyValueStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartialAggregateTransformerTest {
+
+  private static final String STORE_NAME = "combine-store";
+  private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+  private static final Struct KEY_A = StructKeyUtil.asStructKey("a");
+  private static final Struct KEY_B = StructKeyUtil.asStructKey("b");
+
+  @Mock
+  private KeyValueMapper<String, GenericRow, Struct> groupByMapper;
+  @Mock
+  private KudafInitializer initializer;
+  @Mock
+  private KsqlAggregateFunction<Long, Long, Long> sumFunction;
+  @Mock
+  private ProcessorContext context;
+  @Mock
+  private TimestampedKeyValueStore<Struct, GenericRow> store;
+
+  private final Map<Struct, ValueAndTimestamp<GenericRow>> storeContents = new LinkedHashMap<>();
+  private long rowTime = 10L;
+  private PartialAggregateStore partialStore;
+  private PartialAggregateTransformer<String> transformer;
+
+  @Before
+  public void init() {
+    partialStore = new PartialAggregateStore(store);
+    when(context.getStateStore(STORE_NAME)).thenReturn(partialStore);
+    when(store.all()).thenAnswer(inv -> new MapIterator(storeContents));
+    when(context.timestamp()).thenAnswer(inv -> rowTime);
+
+    when(groupByMapper.apply(any(), any()))
+        .thenAnswer(inv -> StructKeyUtil.asStructKey(inv.<String>getArgument(0)));
+    when(initializer.apply()).thenAnswer(inv -> new GenericRow(0L));
+    when(sumFunction.getArgIndexInValue()).thenReturn(0);
+    when(sumFunction.getFunctionName()).thenReturn(FunctionName.of("SUM"));
+    when(sumFunction.getAggregateType()).thenReturn(Schema.OPTIONAL_INT64_SCHEMA);
+  }
+
+  @Test
+  public void shouldBufferPartialsWithoutForwardingOrStoring() {
+    // Given:
+    givenTransformer();
+
+    // When:
+    final KeyValue<Struct, GenericRow> result = transformer.transform("a", new GenericRow(1L));
+    transformer.transform("a", new GenericRow(2L));
+
+    // Then:
+    assertThat(result, is((KeyValue<Struct, GenericRow>) null));
+    verify(store, never()).put(any(), any());
+    verify(context, never()).forward(any(), any(), any(To.class));
+  }
+
+  @Test
+  public void shouldStorePartialsWhenStoreFlushed() {
+    // Given:
+    givenStorePuts();
+    givenTransformer();
+    transformer.transform("a", new GenericRow(1L));
+    transformer.transform("a", new GenericRow(2L));
+
+    // When:
+    partialStore.flush();
+
+    // Then:
+    assertThat(storeContents.get(KEY_A), is(ValueAndTimestamp.make(new GenericRow(3L), 10L)));
+    verify(store).flush();
+  }
+
+  @Test
+  public void shouldOnlyStoreChangedPartialsWhenStoreFlushed() {
+    // Given:
+    givenStorePuts();
+    givenTransformer();
+    transformer.transform("a", new GenericRow(1L));
+    partialStore.flush();
+
+    // When:
+    partialStore.flush();
+
+    // Then:
+    verify(store).put(KEY_A, ValueAndTimestamp.make(new GenericRow(1L), 10L));
+  }
+
+  @Test
+  public void shouldForwardAndRemovePartialsOnceMaxEntriesReached() {
+    // Given:
+    givenStorePuts();
+    givenStoreDeletes();
+    givenTransformer();
+    transformer.transform("a", new GenericRow(1L));
+    partialStore.flush();
+    transformer.transform("a", new GenericRow(2L));
+
+    // When:
+    transformer.transform("b", new GenericRow(5L));
+
+    // Then:
+    verify(context).forward(KEY_A, new GenericRow(3L), To.all().withTimestamp(10L));
+    verify(context).forward(KEY_B, new GenericRow(5L), To.all().withTimestamp(10L));
+    verify(store, never()).delete(KEY_B);
+    assertThat(storeContents.isEmpty(), is(true));
+  }
+
+  @Test
+  public void shouldForwardPartialsOnPunctuation() {
+    // Given:
+    givenTransformer();
+    final ArgumentCaptor<Punctuator> punctuator = ArgumentCaptor.forClass(Punctuator.class);
+    verify(context)
+        .schedule(eq(FLUSH_INTERVAL), eq(PunctuationType.WALL_CLOCK_TIME), punctuator.capture());
+    transformer.transform("a", new GenericRow(1L));
+
+    // When:
+    punctuator.getValue().punctuate(1000L);
+
+    // Then:
+    verify(context).forward(KEY_A, new GenericRow(1L), To.all().withTimestamp(10L));
+    assertThat(partialStore.size(), is(0));
+  }
+
+  @Test
+  public void shouldForwardPartialsWithLargestTimestampOfTheirRows() {
+    // Given:
+    givenTransformer();
+    rowTime = 20L;
+    transformer.transform("a", new GenericRow(1L));
+    rowTime = 15L;
+    transformer.transform("a", new GenericRow(2L));
+
+    // When:
+    rowTime = 5L;
+    transformer.transform("b", new GenericRow(5L));
+
+    // Then:
+    verify(context).forward(KEY_A, new GenericRow(3L), To.all().withTimestamp(20L));
+    verify(context).forward(KEY_B, new GenericRow(5L), To.all().withTimestamp(5L));
+  }
+
+  @Test
+  public void shouldStoreLargestTimestampOfPartialRowsWhenStoreFlushed() {
+    // Given:
+    givenStorePuts();
+    givenTransformer();
+    rowTime = 20L;
+    transformer.transform("a", new GenericRow(1L));
+    rowTime = 15L;
+    transformer.transform("a", new GenericRow(2L));
+
+    // When:
+    partialStore.flush();
+
+    // Then:
+    assertThat(storeContents.get(KEY_A), is(ValueAndTimestamp.make(new GenericRow(3L), 20L)));
+  }
+
+  @Test
+  public void shouldAccumulateOntoRestoredPartials() {
+    // Given:
+    givenStoreDeletes();
+    storeContents.put(KEY_A, ValueAndTimestamp.make(new GenericRow(5L), 30L));
+    givenTransformer();
+    transformer.transform("a", new GenericRow(2L));
+
+    // When:
+    transformer.transform("b", new GenericRow(1L));
+
+    // Then:
+    verify(context).forward(KEY_A, new GenericRow(7L), To.all().withTimestamp(30L));
+    assertThat(storeContents.isEmpty(), is(true));
+  }
+
+  @Test
+  public void shouldIgnoreNullRows() {
+    // Given:
+    givenTransformer();
+
+    // When:
+    transformer.transform("a", null);
+    transformer.transform("b", new GenericRow(1L));
+
+    // Then:
+    assertThat(partialStore.size(), is(1));
+    assertThat(partialStore.get(KEY_A), is(nullValue()));
+  }
+
+  private void givenStorePuts() {
+    doAnswer(inv -> {
+      storeContents.put(inv.getArgument(0), inv.getArgument(1));
+      return null;
+    }).when(store).put(any(), any());
+  }
+
+  private void givenStoreDeletes() {
+    when(store.delete(any())).thenAnswer(inv -> storeContents.remove(inv.<Struct>getArgument(0)));
+  }
+
+  private void givenTransformer() {
+    transformer = new PartialAggregateTransformer<>(
+        groupByMapper,
+        initializer,
+        new KudafAggregator(0, ImmutableList.of(sumFunction)),
+        STORE_NAME,
+        2,
+        FLUSH_INTERVAL
+    );
+    transformer.init(context);
+  }
+
+  private static final class MapIterator
+      implements KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> {
+
+    private final Iterator<Map.Entry<Struct, ValueAndTimestamp<GenericRow>>> it;
+
+    MapIterator(final Map<Struct, ValueAndTimestamp<GenericRow>> map) {
+      final List<Map.Entry<Struct, ValueAndTimestamp<GenericRow>>> copy =
+          new ArrayList<>(map.entrySet());
+      this.it = copy.iterator();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public Struct peekNextKey() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return it.hasNext();
+    }
+
+    @Override
+    public KeyValue<Struct, ValueAndTimestamp<GenericRow>> next() {
+      final Map.Entry<Struct, ValueAndTimestamp<GenericRow>> next = it.next();
+      return KeyValue.pair(next.getKey(), next.getValue());
+    }
+  }
+}
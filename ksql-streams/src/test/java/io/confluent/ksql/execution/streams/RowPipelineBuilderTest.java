@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamMapValues;
+import io.confluent.ksql.execution.plan.StreamSelectKey;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.StreamToTable;
+import io.confluent.ksql.execution.plan.TableFilter;
+import io.confluent.ksql.execution.plan.TableMapValues;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class RowPipelineBuilderTest {
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock
+  private StreamSource source;
+  @Mock
+  private StreamFilter<Struct> filter;
+  @Mock
+  private StreamSelectKey<Struct> selectKey;
+  @Mock
+  private StreamMapValues<Struct> mapValues;
+  @Mock
+  private StreamToTable<Struct> toTable;
+  @Mock
+  private TableFilter<Struct> tableFilter;
+  @Mock
+  private TableMapValues<Struct> tableMapValues;
+  @Mock
+  private Expression filterExpression;
+  @Mock
+  private KsqlQueryBuilder queryBuilder;
+
+  @Test
+  public void shouldSupportProjectionOverSource() {
+    // Given:
+    when(mapValues.getSource()).thenReturn(source);
+
+    // When:
+    final Optional<StreamSource> result = RowPipelineBuilder.getSource(mapValues);
+
+    // Then:
+    assertThat(result, is(Optional.of(source)));
+  }
+
+  @Test
+  public void shouldSupportProjectionOverFilteredSource() {
+    // Given:
+    when(mapValues.getSource()).thenReturn(filter);
+    when(filter.getSource()).thenReturn(source);
+
+    // When:
+    final Optional<StreamSource> result = RowPipelineBuilder.getSource(mapValues);
+
+    // Then:
+    assertThat(result, is(Optional.of(source)));
+  }
+
+  @Test
+  public void shouldNotSupportOtherSteps() {
+    // Given:
+    when(mapValues.getSource()).thenReturn(selectKey);
+
+    // When:
+    final Optional<StreamSource> result = RowPipelineBuilder.getSource(mapValues);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotSupportPlansWithoutProjection() {
+    assertThat(RowPipelineBuilder.getSource(filter), is(Optional.empty()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnBuildingUnsupportedPlan() {
+    RowPipelineBuilder.build(filter, queryBuilder);
+  }
+
+  @Test
+  public void shouldSupportProjectionOverFilteredTable() {
+    // Given:
+    when(tableMapValues.getSource()).thenReturn(tableFilter);
+    when(tableFilter.getSource()).thenReturn(toTable);
+    when(toTable.getSource()).thenReturn(source);
+
+    // When:
+    final Optional<StreamSource> result = RowPipelineBuilder.getTableSource(tableMapValues);
+
+    // Then:
+    assertThat(result, is(Optional.of(source)));
+  }
+
+  @Test
+  public void shouldNotSupportTablesThatAreNotReadFromSource() {
+    // Given:
+    when(tableMapValues.getSource()).thenReturn(toTable);
+    when(toTable.getSource()).thenReturn(selectKey);
+
+    // When:
+    final Optional<StreamSource> result = RowPipelineBuilder.getTableSource(tableMapValues);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldGetTableFilter() {
+    // Given:
+    when(tableMapValues.getSource()).thenReturn(tableFilter);
+    when(tableFilter.getSource()).thenReturn(toTable);
+    when(toTable.getSource()).thenReturn(source);
+    when(tableFilter.getFilterExpression()).thenReturn(filterExpression);
+
+    // When:
+    final Optional<Expression> result = RowPipelineBuilder.getTableFilter(tableMapValues);
+
+    // Then:
+    assertThat(result, is(Optional.of(filterExpression)));
+  }
+
+  @Test
+  public void shouldGetNoTableFilterIfNotFiltered() {
+    // Given:
+    when(tableMapValues.getSource()).thenReturn(toTable);
+    when(toTable.getSource()).thenReturn(source);
+
+    // When:
+    final Optional<Expression> result = RowPipelineBuilder.getTableFilter(tableMapValues);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowOnBuildingUnsupportedTablePlan() {
+    RowPipelineBuilder.buildTable(mapValues, queryBuilder);
+  }
+}
@@ -172,6 +172,8 @@ public class StreamAggregateBuilderTest {
   @Mock
   private Serde<GenericRow> valueSerde;
   @Mock
+  private Serde<GenericRow> storeValueSerde;
+  @Mock
   private Materialized<Struct, GenericRow, KeyValueStore<Bytes, byte[]>> materialized;
   @Mock
   private Materialized<Struct, GenericRow, WindowStore<Bytes, byte[]>> timeWindowMaterialized;
@@ -230,6 +232,8 @@ public class StreamAggregateBuilderTest {
 
   @SuppressWarnings("unchecked")
   private void givenTimeWindowedAggregate() {
+    when(materializedFactory.windowedStoreValueSerde(any(), any()))
+        .thenAnswer(inv -> inv.getArgument(1));
     when(materializedFactory.<Struct, WindowStore<Bytes, byte[]>>create(any(), any(), any()))
         .thenReturn(timeWindowMaterialized);
     when(groupedStream.windowedBy(any(Windows.class))).thenReturn(timeWindowedStream);
@@ -271,6 +275,8 @@ public class StreamAggregateBuilderTest {
 
   @SuppressWarnings("unchecked")
   private void givenSessionWindowedAggregate() {
+    when(materializedFactory.windowedStoreValueSerde(any(), any()))
+        .thenAnswer(inv -> inv.getArgument(1));
     when(materializedFactory.<Struct, SessionStore<Bytes, byte[]>>create(any(), any(), any()))
         .thenReturn(sessionWindowMaterialized);
     when(groupedStream.windowedBy(any(SessionWindows.class))).thenReturn(sessionWindowedStream);
@@ -486,6 +492,27 @@ public class StreamAggregateBuilderTest {
     }
   }
 
+  @Test
+  public void shouldBuildMaterializedWithStoreValueSerdeForWindowedAggregate() {
+    for (final Runnable given : given()) {
+      // Given:
+      reset(groupedStream, timeWindowedStream, sessionWindowedStream, aggregated, materializedFactory);
+      given.run();
+      when(materializedFactory.windowedStoreValueSerde(any(), same(valueSerde)))
+          .thenReturn(storeValueSerde);
+
+      // When:
+      windowedAggregate.build(planBuilder);
+
+      // Then:
+      verify(materializedFactory).windowedStoreValueSerde(
+          PhysicalSchema.from(AGGREGATE_SCHEMA, SerdeOption.none()),
+          valueSerde
+      );
+      verify(materializedFactory).create(same(keySerde), same(storeValueSerde), any());
+    }
+  }
+
   @Test
   public void shouldBuildMaterializedWithCorrectNameForWindowedAggregate() {
     for (final Runnable given : given()) {
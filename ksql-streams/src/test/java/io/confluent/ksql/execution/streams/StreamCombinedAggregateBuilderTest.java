@@ -0,0 +1,373 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.execution.function.udaf.KudafAccumulator;
+import io.confluent.ksql.execution.function.udaf.KudafAggregator;
+import io.confluent.ksql.execution.function.udaf.KudafInitializer;
+import io.confluent.ksql.execution.plan.DefaultExecutionStepProperties;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.KTableHolder;
+import io.confluent.ksql.execution.plan.KeySerdeFactory;
+import io.confluent.ksql.execution.plan.StreamAggregate;
+import io.confluent.ksql.execution.plan.StreamGroupBy;
+import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.FunctionName;
+import io.confluent.ksql.schema.ksql.ColumnRef;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.Format;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.KeyFormat;
+import io.confluent.ksql.serde.KeySerde;
+import io.confluent.ksql.serde.SerdeOption;
+import io.confluent.ksql.serde.ValueFormat;
+import io.confluent.ksql.util.KsqlConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Aggregator;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Merger;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.kstream.TransformerSupplier;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.To;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.StoreBuilder;
+import org.apache.kafka.streams.state.TimestampedKeyValueStore;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@SuppressWarnings("unchecked")
+@RunWith(MockitoJUnitRunner.class)
+public class StreamCombinedAggregateBuilderTest {
+
+  private static final LogicalSchema INPUT_SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("REQUIRED0"), SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("ARGUMENT0"), SqlTypes.BIGINT)
+      .build();
+  private static final LogicalSchema AGGREGATE_SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("REQUIRED0"), SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("RESULT0"), SqlTypes.BIGINT)
+      .build();
+  private static final LogicalSchema OUTPUT_SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("REQUIRED0"), SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("OUTPUT0"), SqlTypes.BIGINT)
+      .build();
+  private static final List<Expression> GROUP_BY_EXPRESSIONS = ImmutableList.of(
+      new ColumnReferenceExp(ColumnRef.withoutSource(ColumnName.of("REQUIRED0")))
+  );
+  private static final FunctionCall SUM = functionCall("SUM");
+  private static final QueryContext GROUP_BY_CTX =
+      new QueryContext.Stacker().push("group").push("by").getQueryContext();
+  private static final QueryContext AGGREGATE_CTX =
+      new QueryContext.Stacker().push("agg").push("regate").getQueryContext();
+  private static final String STORE_NAME = "group-by-Combine";
+  private static final Formats FORMATS = Formats.of(
+      KeyFormat.nonWindowed(FormatInfo.of(Format.KAFKA)),
+      ValueFormat.of(FormatInfo.of(Format.JSON)),
+      SerdeOption.none()
+  );
+  private static final int MAX_ENTRIES = 3;
+  private static final long FLUSH_INTERVAL_MS = 250L;
+
+  @Mock
+  private ExecutionStep<KStreamHolder<Struct>> sourceStep;
+  @Mock
+  private KStream<Struct, GenericRow> sourceStream;
+  @Mock
+  private KStream<Struct, GenericRow> combinedStream;
+  @Mock
+  private KGroupedStream<Struct, GenericRow> groupedStream;
+  @Mock
+  private KTable<Struct, GenericRow> aggregated;
+  @Mock
+  private KTable<Struct, GenericRow> aggregatedWithResults;
+  @Mock
+  private KsqlQueryBuilder queryBuilder;
+  @Mock
+  private StreamsBuilder streamsBuilder;
+  @Mock
+  private FunctionRegistry functionRegistry;
+  @Mock
+  private AggregateParams.Factory aggregateParamsFactory;
+  @Mock
+  private AggregateParams aggregateParams;
+  @Mock
+  private KudafInitializer initializer;
+  @Mock
+  private KudafAggregator aggregator;
+  @Mock
+  private ValueMapper<GenericRow, GenericRow> resultMapper;
+  @Mock
+  private Merger<Struct, GenericRow> merger;
+  @Mock
+  private MaterializedFactory materializedFactory;
+  @Mock
+  private GroupedFactory groupedFactory;
+  @Mock
+  private Grouped<Struct, GenericRow> grouped;
+  @Mock
+  private KeySerde<Struct> keySerde;
+  @Mock
+  private Serde<GenericRow> valueSerde;
+  @Mock
+  private Materialized<Struct, GenericRow, KeyValueStore<Bytes, byte[]>> materialized;
+  @Captor
+  private ArgumentCaptor<TransformerSupplier> transformerCaptor;
+  @Captor
+  private ArgumentCaptor<Aggregator<Struct, GenericRow, GenericRow>> aggregatorCaptor;
+  @Captor
+  private ArgumentCaptor<StoreBuilder<?>> storeBuilderCaptor;
+
+  private StreamGroupBy<Struct> groupBy;
+  private StreamAggregate aggregate;
+
+  @Before
+  public void init() {
+    groupBy = new StreamGroupBy<>(
+        new DefaultExecutionStepProperties(INPUT_SCHEMA, GROUP_BY_CTX),
+        sourceStep,
+        FORMATS,
+        GROUP_BY_EXPRESSIONS
+    );
+    aggregate = new StreamAggregate(
+        new DefaultExecutionStepProperties(OUTPUT_SCHEMA, AGGREGATE_CTX),
+        groupBy,
+        FORMATS,
+        1,
+        ImmutableList.of(SUM),
+        AGGREGATE_SCHEMA
+    );
+  }
+
+  @Test
+  public void shouldCombineBeforeRepartition() {
+    // When:
+    build();
+
+    // Then:
+    verify(sourceStream).transform(any(TransformerSupplier.class), eq(STORE_NAME));
+    verify(groupedFactory).create("group-by", keySerde, valueSerde);
+    verify(combinedStream).groupByKey(grouped);
+  }
+
+  @Test
+  public void shouldAddCombineStore() {
+    // When:
+    build();
+
+    // Then:
+    verify(streamsBuilder).addStateStore(storeBuilderCaptor.capture());
+    assertThat(storeBuilderCaptor.getValue(), is(instanceOf(PartialAggregateStore.Builder.class)));
+    assertThat(storeBuilderCaptor.getValue().name(), is(STORE_NAME));
+  }
+
+  @Test
+  public void shouldMergePartialsIntoAggregate() {
+    // Given:
+    final Struct key = StructKeyUtil.asStructKey("a");
+    final GenericRow partial = new GenericRow(1L, 2L);
+    final GenericRow aggRow = new GenericRow(1L, 3L);
+    final GenericRow merged = new GenericRow(1L, 5L);
+    when(merger.apply(key, partial, aggRow)).thenReturn(merged);
+    build();
+    verify(groupedStream)
+        .aggregate(same(initializer), aggregatorCaptor.capture(), same(materialized));
+
+    // When:
+    final GenericRow result = aggregatorCaptor.getValue().apply(key, partial, aggRow);
+
+    // Then:
+    assertThat(result, is(merged));
+  }
+
+  @Test
+  public void shouldMapAggregateToResult() {
+    // When:
+    final KTableHolder<Struct> result = build();
+
+    // Then:
+    verify(aggregated).mapValues(resultMapper);
+    assertThat(result.getTable(), is(aggregatedWithResults));
+  }
+
+  @Test
+  public void shouldFlushCombinedPartialsOnConfiguredInterval() {
+    // Given:
+    final ProcessorContext context = mock(ProcessorContext.class);
+    final TimestampedKeyValueStore<Struct, GenericRow> inner =
+        mock(TimestampedKeyValueStore.class);
+    when(inner.all()).thenReturn(mock(KeyValueIterator.class));
+    when(context.getStateStore(STORE_NAME)).thenReturn(new PartialAggregateStore(inner));
+    when(aggregator.getAccumulatorFactory()).thenReturn(mock(Function.class));
+    build();
+    verify(sourceStream).transform(transformerCaptor.capture(), eq(STORE_NAME));
+    final Transformer<Struct, GenericRow, ?> transformer = transformerCaptor.getValue().get();
+
+    // When:
+    transformer.init(context);
+
+    // Then:
+    verify(context).schedule(
+        eq(Duration.ofMillis(FLUSH_INTERVAL_MS)),
+        eq(PunctuationType.WALL_CLOCK_TIME),
+        any()
+    );
+  }
+
+  @Test
+  public void shouldFlushCombinedPartialsOnceMaxEntriesBuffered() {
+    // Given:
+    final ProcessorContext context = mock(ProcessorContext.class);
+    final TimestampedKeyValueStore<Struct, GenericRow> inner =
+        mock(TimestampedKeyValueStore.class);
+    when(inner.all()).thenReturn(mock(KeyValueIterator.class));
+    when(context.getStateStore(STORE_NAME)).thenReturn(new PartialAggregateStore(inner));
+    final Function<GenericRow, KudafAccumulator> accumulatorFactory = mock(Function.class);
+    when(accumulatorFactory.apply(any())).thenAnswer(inv -> mock(KudafAccumulator.class));
+    when(aggregator.getAccumulatorFactory()).thenReturn(accumulatorFactory);
+    when(initializer.apply()).thenReturn(new GenericRow(0L, 0L));
+    build();
+    verify(sourceStream).transform(transformerCaptor.capture(), eq(STORE_NAME));
+    final Transformer<Struct, GenericRow, ?> transformer = transformerCaptor.getValue().get();
+    transformer.init(context);
+
+    // When:
+    for (long i = 0; i < MAX_ENTRIES; i++) {
+      transformer.transform(StructKeyUtil.asStructKey("k"), new GenericRow(i, i));
+    }
+
+    // Then:
+    verify(context, times(MAX_ENTRIES)).forward(any(), any(), any(To.class));
+  }
+
+  @Test
+  public void shouldCombineBuiltInAggregates() {
+    // Given:
+    final StreamAggregate combinable = aggregateOf(
+        functionCall("COUNT"), functionCall("sum"), functionCall("MIN"), functionCall("MAX"),
+        functionCall("AVG"), functionCall("TOPK"));
+
+    // Then:
+    assertThat(StreamCombinedAggregateBuilder.canCombine(combinable), is(true));
+  }
+
+  @Test
+  public void shouldNotCombineOtherAggregates() {
+    // Given:
+    final StreamAggregate notCombinable =
+        aggregateOf(functionCall("SUM"), functionCall("COLLECT_LIST"));
+
+    // Then:
+    assertThat(StreamCombinedAggregateBuilder.canCombine(notCombinable), is(false));
+  }
+
+  private KTableHolder<Struct> build() {
+    when(sourceStep.getSchema()).thenReturn(INPUT_SCHEMA);
+    when(queryBuilder.getKsqlConfig()).thenReturn(new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_AGGREGATE_COMBINE_MAX_ENTRIES_CONFIG, MAX_ENTRIES,
+        KsqlConfig.KSQL_AGGREGATE_COMBINE_FLUSH_INTERVAL_MS_CONFIG, FLUSH_INTERVAL_MS
+    )));
+    when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
+    when(queryBuilder.getStreamsBuilder()).thenReturn(streamsBuilder);
+    when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
+    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(aggregateParamsFactory.create(any(), anyInt(), any(), any())).thenReturn(aggregateParams);
+    when(aggregateParams.getInitializer()).thenReturn(initializer);
+    when(aggregateParams.getAggregator()).thenReturn(aggregator);
+    when(aggregator.getMerger()).thenReturn(merger);
+    when(aggregator.getResultMapper()).thenReturn(resultMapper);
+    when(groupedFactory.create(any(), any(KeySerde.class), any())).thenReturn(grouped);
+    when(materializedFactory.<Struct, KeyValueStore<Bytes, byte[]>>create(any(), any(), any()))
+        .thenReturn(materialized);
+    when(sourceStream.transform(any(TransformerSupplier.class), any(String.class)))
+        .thenReturn(combinedStream);
+    when(combinedStream.groupByKey(any(Grouped.class))).thenReturn(groupedStream);
+    when(groupedStream.aggregate(any(), any(), any(Materialized.class))).thenReturn(aggregated);
+    when(aggregated.mapValues(any(ValueMapper.class))).thenReturn(aggregatedWithResults);
+
+    return StreamCombinedAggregateBuilder.build(
+        new KStreamHolder<>(sourceStream, mock(KeySerdeFactory.class)),
+        groupBy,
+        aggregate,
+        queryBuilder,
+        materializedFactory,
+        groupedFactory,
+        aggregateParamsFactory
+    );
+  }
+
+  private StreamAggregate aggregateOf(final FunctionCall... functions) {
+    return new StreamAggregate(
+        new DefaultExecutionStepProperties(OUTPUT_SCHEMA, AGGREGATE_CTX),
+        groupBy,
+        FORMATS,
+        1,
+        ImmutableList.copyOf(functions),
+        AGGREGATE_SCHEMA
+    );
+  }
+
+  private static FunctionCall functionCall(final String name) {
+    return new FunctionCall(
+        FunctionName.of(name),
+        ImmutableList.of(
+            new ColumnReferenceExp(ColumnRef.withoutSource(ColumnName.of("ARGUMENT0"))))
+    );
+  }
+}
@@ -7,10 +7,12 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
@@ -34,15 +36,20 @@ import io.confluent.ksql.serde.KeyFormat;
 import io.confluent.ksql.serde.KeySerde;
 import io.confluent.ksql.serde.SerdeOption;
 import io.confluent.ksql.serde.ValueFormat;
+import io.confluent.ksql.util.KsqlConfig;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.JoinWindows;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.StreamJoined;
+import org.apache.kafka.streams.state.WindowBytesStoreSupplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -116,6 +123,7 @@ public class StreamStreamJoinBuilderTest {
   @Mock
   private Serde<GenericRow> rightSerde;
 
+  private KsqlConfig ksqlConfig = new KsqlConfig(Collections.emptyMap());
   private PlanBuilder planBuilder;
   private StreamStreamJoin<Struct> join;
 
@@ -125,6 +133,7 @@ public class StreamStreamJoinBuilderTest {
     when(left.getSchema()).thenReturn(LEFT_SCHEMA);
     when(right.getSchema()).thenReturn(RIGHT_SCHEMA);
     when(keySerdeFactory.buildKeySerde(any(KeyFormat.class), any(), any())).thenReturn(keySerde);
+    when(queryBuilder.getKsqlConfig()).thenAnswer(inv -> ksqlConfig);
     when(queryBuilder.buildValueSerde(eq(FormatInfo.of(Format.JSON)), any(), any()))
         .thenReturn(leftSerde);
     when(queryBuilder.buildValueSerde(eq(FormatInfo.of(Format.AVRO)), any(), any()))
@@ -302,4 +311,71 @@ public class StreamStreamJoinBuilderTest {
     final QueryContext leftCtx = QueryContext.Stacker.of(CTX).push("right").getQueryContext();
     verify(queryBuilder).buildValueSerde(FormatInfo.of(Format.AVRO), RIGHT_PHYSICAL, leftCtx);
   }
+
+  @Test
+  public void shouldApplyConfiguredGracePeriod() {
+    // Given:
+    givenConfig(ImmutableMap.of(KsqlConfig.KSQL_STREAM_JOIN_GRACE_MS_CONFIG, 500L));
+    givenInnerJoin();
+
+    // When:
+    join.build(planBuilder);
+
+    // Then:
+    verify(leftKStream).join(
+        same(rightKStream),
+        eq(new KsqlValueJoiner(LEFT_SCHEMA, RIGHT_SCHEMA)),
+        eq(WINDOWS.grace(Duration.ofMillis(500))),
+        same(joined)
+    );
+  }
+
+  @Test
+  public void shouldUseInMemoryStoresIfRetentionWithinLimit() {
+    // Given:
+    givenConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_STREAM_JOIN_GRACE_MS_CONFIG, 500L,
+        KsqlConfig.KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_CONFIG, 3500L
+    ));
+    when(joined.withThisStoreSupplier(any())).thenReturn(joined);
+    when(joined.withOtherStoreSupplier(any())).thenReturn(joined);
+    givenInnerJoin();
+
+    // When:
+    join.build(planBuilder);
+
+    // Then:
+    final ArgumentCaptor<WindowBytesStoreSupplier> leftStore =
+        ArgumentCaptor.forClass(WindowBytesStoreSupplier.class);
+    final ArgumentCaptor<WindowBytesStoreSupplier> rightStore =
+        ArgumentCaptor.forClass(WindowBytesStoreSupplier.class);
+    verify(joined).withThisStoreSupplier(leftStore.capture());
+    verify(joined).withOtherStoreSupplier(rightStore.capture());
+
+    assertThat(leftStore.getValue().name(), is("jo-in-left-store"));
+    assertThat(rightStore.getValue().name(), is("jo-in-right-store"));
+    assertThat(leftStore.getValue().retentionPeriod(), is(3500L));
+    assertThat(leftStore.getValue().windowSize(), is(3000L));
+    assertThat(leftStore.getValue().retainDuplicates(), is(true));
+  }
+
+  @Test
+  public void shouldNotUseInMemoryStoresIfRetentionExceedsLimit() {
+    // Given:
+    givenConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_STREAM_JOIN_IN_MEMORY_STORE_MAX_RETENTION_MS_CONFIG, 3500L
+    ));
+    givenInnerJoin();
+
+    // When:
+    join.build(planBuilder);
+
+    // Then:
+    verify(joined, never()).withThisStoreSupplier(any());
+    verify(joined, never()).withOtherStoreSupplier(any());
+  }
+
+  private void givenConfig(final Map<String, ?> props) {
+    ksqlConfig = new KsqlConfig(props);
+  }
 }
@@ -18,6 +18,7 @@ package io.confluent.ksql.execution.streams.materialization.ks;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,10 +30,13 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.Optional;
+import java.util.OptionalInt;
 import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.processor.StreamPartitioner;
 import org.apache.kafka.streams.state.HostInfo;
 import org.apache.kafka.streams.state.StreamsMetadata;
 import org.junit.Before;
@@ -183,6 +187,39 @@ public class KsLocatorTest {
     assertThat(result.map(KsqlNode::isLocal), is(Optional.of(false)));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldReturnPartitionOfKey() {
+    // Given:
+    final byte[] bytes = {1, 2, 3};
+    when(keySerializer.serialize("topic", SOME_KEY)).thenReturn(bytes);
+    when(kafkaStreams.metadataForKey(eq(STORE_NAME), eq(SOME_KEY), any(StreamPartitioner.class)))
+        .thenAnswer(inv -> {
+          inv.<StreamPartitioner<Struct, ?>>getArgument(2).partition("topic", SOME_KEY, null, 4);
+          return mock(StreamsMetadata.class);
+        });
+
+    // When:
+    final OptionalInt result = locator.partition(SOME_KEY);
+
+    // Then:
+    assertThat(result, is(OptionalInt.of(Utils.toPositive(Utils.murmur2(bytes)) % 4)));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldReturnNoPartitionIfOwnerNotKnown() {
+    // Given:
+    when(kafkaStreams.metadataForKey(eq(STORE_NAME), eq(SOME_KEY), any(StreamPartitioner.class)))
+        .thenReturn(StreamsMetadata.NOT_AVAILABLE);
+
+    // When:
+    final OptionalInt result = locator.partition(SOME_KEY);
+
+    // Then:
+    assertThat(result, is(OptionalInt.empty()));
+  }
+
   @SuppressWarnings("unchecked")
   private void givenOwnerMetadata(final Optional<HostInfo> hostInfo) {
     final StreamsMetadata metadata = hostInfo